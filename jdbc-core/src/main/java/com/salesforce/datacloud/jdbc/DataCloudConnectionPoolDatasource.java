@@ -0,0 +1,77 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc;
+
+import com.salesforce.datacloud.jdbc.core.DataCloudConnection;
+import com.salesforce.datacloud.jdbc.core.DataCloudPooledConnection;
+import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+import javax.sql.ConnectionPoolDataSource;
+import javax.sql.DataSource;
+import javax.sql.PooledConnection;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * A {@link ConnectionPoolDataSource} that creates {@link DataCloudPooledConnection}s from a {@link HyperDatasource}
+ * or a {@link DataSource} of the {@code jdbc} module, such as {@code DataCloudDatasource}.
+ *
+ * Use this with an application server's connection pool, or use {@link PooledDatasource} which builds on it.
+ */
+public class DataCloudConnectionPoolDatasource implements ConnectionPoolDataSource {
+    protected static final String NOT_SUPPORTED_IN_DATACLOUD_QUERY =
+            "Datasource method is not supported in Data Cloud query";
+
+    private final DataSource dataSource;
+
+    public DataCloudConnectionPoolDatasource(@NonNull DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public PooledConnection getPooledConnection() throws SQLException {
+        val connection = dataSource.getConnection();
+        try {
+            return new DataCloudPooledConnection(connection.unwrap(DataCloudConnection.class));
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public PooledConnection getPooledConnection(String user, String password) throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @SneakyThrows
+    @Override
+    public Logger getParentLogger() {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+}
@@ -110,9 +110,18 @@ private static DataCloudConnection createConnection(
             @NonNull GrpcChannelProperties grpcChannelProperties,
             JdbcURL jdbcUrl)
             throws SQLException {
-        port = port == -1 ? 7483 : port;
-        ManagedChannelBuilder<?> sslChannelBuilder = sslProperties.createChannelBuilder(host, port);
-        JdbcDriverStubProvider stubProvider = JdbcDriverStubProvider.of(sslChannelBuilder, grpcChannelProperties);
+        val finalPort = port == -1 ? 7483 : port;
+        JdbcDriverStubProvider stubProvider;
+        if (grpcChannelProperties.isChannelSharingEnabled()) {
+            stubProvider = JdbcDriverStubProvider.shared(
+                    host + ":" + finalPort,
+                    sslProperties.toProperties(),
+                    () -> sslProperties.createChannelBuilder(host, finalPort),
+                    grpcChannelProperties);
+        } else {
+            ManagedChannelBuilder<?> sslChannelBuilder = sslProperties.createChannelBuilder(host, finalPort);
+            stubProvider = JdbcDriverStubProvider.of(sslChannelBuilder, grpcChannelProperties);
+        }
         return DataCloudConnection.of(stubProvider, connectionProperties, jdbcUrl);
     }
 
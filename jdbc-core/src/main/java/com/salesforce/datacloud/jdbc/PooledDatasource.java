@@ -0,0 +1,313 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc;
+
+import com.salesforce.datacloud.jdbc.core.DataCloudPooledConnection;
+import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.DataSource;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * A pooling {@link DataSource} for {@link HyperDatasource} and {@code DataCloudDatasource}.
+ *
+ * Closing a connection obtained from this data source returns the physical connection to the pool, so that its
+ * gRPC channel, token and tenant / dataspace state is reused by the next {@link #getConnection()} instead of being
+ * set up again. Unlike generic pools, it resets the driver's per-connection state on return and validates idle
+ * connections with a cheap query only after they were unused for {@code validationInterval}.
+ *
+ * Use the `PooledDatasource.builder()` interface to configure the pool, and call {@link #prewarm()} at startup to
+ * open {@code minIdle} connections before the first request.
+ */
+@Slf4j
+@Builder
+public class PooledDatasource implements DataSource, AutoCloseable {
+    protected static final String NOT_SUPPORTED_IN_DATACLOUD_QUERY =
+            "Datasource method is not supported in Data Cloud query";
+
+    /** The data source that opens physical connections. */
+    @NonNull private final DataSource dataSource;
+
+    /** Number of connections opened by {@link #prewarm()}. */
+    @Builder.Default
+    private final int minIdle = 0;
+
+    /** Maximum number of idle connections kept open, further connections are closed when they are returned. */
+    @Builder.Default
+    private final int maxIdle = 8;
+
+    /** Maximum number of idle and borrowed connections. */
+    @Builder.Default
+    private final int maxTotal = 16;
+
+    /** How long {@link #getConnection()} waits for a connection once {@code maxTotal} connections are borrowed. */
+    @Builder.Default
+    private final Duration borrowTimeout = Duration.ofSeconds(30);
+
+    /** Idle connections unused for longer than this are validated before they are handed out. */
+    @Builder.Default
+    private final Duration validationInterval = Duration.ofSeconds(30);
+
+    /** The query timeout of the validation query. */
+    @Builder.Default
+    private final Duration validationTimeout = Duration.ofSeconds(5);
+
+    @Builder.Default
+    private final String validationQuery = "SELECT 1";
+
+    private final Object lock = new Object();
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final Listener listener = new Listener();
+    private final AtomicInteger total = new AtomicInteger();
+
+    private static final class IdleConnection {
+        private final DataCloudPooledConnection connection;
+        private final long returnedAtNanos;
+
+        private IdleConnection(DataCloudPooledConnection connection) {
+            this.connection = connection;
+            this.returnedAtNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Opens connections until {@code minIdle} connections are idle.
+     *
+     * @return this data source
+     */
+    public PooledDatasource prewarm() throws SQLException {
+        checkConfiguration();
+        while (true) {
+            synchronized (lock) {
+                checkOpen();
+                if (idle.size() >= minIdle || total.get() >= maxTotal) {
+                    return this;
+                }
+                total.incrementAndGet();
+            }
+            val connection = open();
+            synchronized (lock) {
+                idle.push(new IdleConnection(connection));
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkConfiguration();
+        val deadline = System.nanoTime() + borrowTimeout.toNanos();
+        while (true) {
+            IdleConnection candidate = null;
+            synchronized (lock) {
+                while (true) {
+                    checkOpen();
+                    // LIFO, so that the most recently used connection with the warmest channel is reused first
+                    candidate = idle.pollFirst();
+                    if (candidate != null) {
+                        break;
+                    }
+                    if (total.get() < maxTotal) {
+                        total.incrementAndGet();
+                        break;
+                    }
+                    val remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                    if (remainingMillis <= 0) {
+                        throw new SQLException(
+                                "Timed out waiting for a pooled connection after " + borrowTimeout.toMillis()
+                                        + "ms, all " + maxTotal + " connections are in use",
+                                "08001");
+                    }
+                    try {
+                        lock.wait(remainingMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a pooled connection", "08001", e);
+                    }
+                }
+            }
+
+            if (candidate == null) {
+                return open().getConnection();
+            }
+            if (isValid(candidate)) {
+                return candidate.connection.getConnection();
+            }
+            destroy(candidate.connection);
+        }
+    }
+
+    /** The number of idle connections. */
+    public int getIdleCount() {
+        synchronized (lock) {
+            return idle.size();
+        }
+    }
+
+    /** The number of idle and borrowed connections. */
+    public int getTotalCount() {
+        synchronized (lock) {
+            return total.get();
+        }
+    }
+
+    /**
+     * Closes all idle connections. Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        val toClose = new ArrayList<IdleConnection>();
+        synchronized (lock) {
+            toClose.addAll(idle);
+            idle.clear();
+            lock.notifyAll();
+        }
+        toClose.forEach(c -> destroy(c.connection));
+    }
+
+    private void checkConfiguration() throws SQLException {
+        if (minIdle < 0 || maxIdle < minIdle || maxTotal < Math.max(maxIdle, 1)) {
+            throw new SQLException(
+                    "Invalid pool configuration, expected 0 <= minIdle <= maxIdle <= maxTotal: minIdle="
+                            + minIdle + ", maxIdle=" + maxIdle + ", maxTotal=" + maxTotal,
+                    "HY000");
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Data source is closed", "08003");
+        }
+    }
+
+    /** Opens a physical connection for a slot that was already counted in {@code total}. */
+    private DataCloudPooledConnection open() throws SQLException {
+        try {
+            val connection = (DataCloudPooledConnection)
+                    new DataCloudConnectionPoolDatasource(dataSource).getPooledConnection();
+            connection.addConnectionEventListener(listener);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    private boolean isValid(IdleConnection candidate) {
+        val physical = candidate.connection.getPhysicalConnection();
+        if (physical.isClosed()) {
+            return false;
+        }
+        if (System.nanoTime() - candidate.returnedAtNanos < validationInterval.toNanos()) {
+            return true;
+        }
+        try (val statement = physical.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, validationTimeout.getSeconds()));
+            try (val resultSet = statement.executeQuery(validationQuery)) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            log.warn("Discarding pooled connection that failed validation: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(DataCloudPooledConnection connection) {
+        connection.removeConnectionEventListener(listener);
+        try {
+            connection.close();
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Failed to close pooled connection", e);
+        }
+        release();
+    }
+
+    private void release() {
+        synchronized (lock) {
+            total.decrementAndGet();
+            lock.notifyAll();
+        }
+    }
+
+    private final class Listener implements ConnectionEventListener {
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            val connection = (DataCloudPooledConnection) event.getSource();
+            synchronized (lock) {
+                if (!closed.get() && idle.size() < maxIdle) {
+                    idle.push(new IdleConnection(connection));
+                    lock.notifyAll();
+                    return;
+                }
+            }
+            destroy(connection);
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            destroy((DataCloudPooledConnection) event.getSource());
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @SneakyThrows
+    @Override
+    public Logger getParentLogger() {
+        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return null;
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return false;
+    }
+}
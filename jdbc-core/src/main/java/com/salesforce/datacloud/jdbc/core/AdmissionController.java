@@ -0,0 +1,393 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Client-side admission control for queries, shared by all connections in the JVM that use the same capacity.
+ *
+ * At most {@code maxConcurrentQueries} streams are admitted at once, and each workload can be further limited to
+ * fewer concurrent streams. When streams are waiting, a freed slot goes to the workload with the smallest virtual
+ * time, which advances by {@code 1 / weight} with every admission. A workload with weight 4 thus receives four times
+ * as many slots as a workload with weight 1 while both are waiting, and a batch workload cannot starve an interactive
+ * one. Streams that are still waiting when their deadline expires are rejected instead of being started late.
+ *
+ * The weight and limit of a workload follow its most recent stream. A stream that configures the workload differently
+ * changes them for the streams that are waiting or will arrive, while admitted streams keep their slots.
+ *
+ * Waiting does not need a thread: {@link #admit} calls back once the stream was admitted or rejected, and
+ * {@link #acquire} blocks on top of it. Use {@link #getStats()} to observe per-workload queue times.
+ */
+@Slf4j
+public final class AdmissionController {
+    private static final Map<Integer, AdmissionController> SHARED = new ConcurrentHashMap<>();
+
+    @Getter
+    private final int maxConcurrentQueries;
+
+    private final Map<String, Workload> workloads = new HashMap<>();
+    private int inFlight;
+    // The virtual time of the most recent admission, never moves backwards
+    private double virtualTime;
+
+    private AdmissionController(int maxConcurrentQueries) {
+        this.maxConcurrentQueries = maxConcurrentQueries;
+    }
+
+    private static final class Deadlines {
+        private static final ScheduledExecutorService INSTANCE =
+                Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("datacloud-jdbc-admission-deadline")
+                        .build());
+    }
+
+    /**
+     * Returns the controller shared by all connections configured with the given capacity.
+     *
+     * @param maxConcurrentQueries the maximum number of concurrently admitted streams, at least 1
+     */
+    public static AdmissionController shared(int maxConcurrentQueries) {
+        if (maxConcurrentQueries < 1) {
+            throw new IllegalArgumentException("maxConcurrentQueries must be at least 1");
+        }
+        return SHARED.computeIfAbsent(maxConcurrentQueries, AdmissionController::new);
+    }
+
+    /** Creates a controller that is not shared, e.g. for tests. */
+    static AdmissionController create(int maxConcurrentQueries) {
+        return new AdmissionController(maxConcurrentQueries);
+    }
+
+    /** Receives the outcome of {@link #admit}, called without holding any lock of the controller. */
+    public interface Admission {
+        /** The stream was admitted, the permit must be closed once the stream finished. */
+        void admitted(Permit permit);
+
+        /** The stream was rejected, with SQLState {@code HYT00} because no slot was free before its deadline. */
+        void rejected(SQLException ex);
+    }
+
+    /**
+     * A slot held by an admitted stream. Closing the permit releases the slot, repeated closes are ignored.
+     */
+    public final class Permit implements AutoCloseable {
+        private final Workload workload;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(Workload workload) {
+            this.workload = workload;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(workload);
+            }
+        }
+    }
+
+    /** A stream waiting for admission. */
+    public final class Ticket {
+        private final Workload workload;
+        private final Admission admission;
+        private final long enqueuedNanos = System.nanoTime();
+        // Guarded by the controller, set once the stream was admitted, rejected or withdrawn
+        private boolean done;
+        private ScheduledFuture<?> deadline;
+
+        private Ticket(Workload workload, Admission admission) {
+            this.workload = workload;
+            this.admission = admission;
+        }
+
+        /**
+         * Stops waiting, e.g. because the stream was cancelled. The stream counts as rejected, and its
+         * {@link Admission} is not called.
+         *
+         * @return {@code false} if the stream was already admitted or rejected
+         */
+        public boolean withdraw() {
+            synchronized (AdmissionController.this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                workload.queue.remove(this);
+                workload.rejected++;
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A snapshot of the admission statistics of one workload.
+     */
+    @Value
+    public static class WorkloadStats {
+        int inFlight;
+        int queued;
+        long admitted;
+        long rejected;
+        Duration totalQueueTime;
+        Duration maxQueueTime;
+
+        public Duration getAverageQueueTime() {
+            return admitted == 0 ? Duration.ZERO : totalQueueTime.dividedBy(admitted);
+        }
+    }
+
+    private static final class Workload {
+        private final String name;
+        private int weight;
+        private int limit;
+        private final Deque<Ticket> queue = new ArrayDeque<>();
+        private int inFlight;
+        private double virtualTime;
+        private long admitted;
+        private long rejected;
+        private long totalQueueNanos;
+        private long maxQueueNanos;
+
+        private Workload(String name, int weight, int limit) {
+            this.name = name;
+            this.weight = weight;
+            this.limit = limit;
+        }
+
+        private boolean canRun() {
+            return limit <= 0 || inFlight < limit;
+        }
+    }
+
+    /**
+     * Waits until the workload may start another stream.
+     *
+     * @param workload the workload of the stream
+     * @param weight the share of slots of the workload while other workloads are waiting, at least 1
+     * @param limit the maximum number of concurrent streams of the workload, or 0 for no limit besides the capacity
+     * @param timeoutNanos how long the stream may wait for a slot, or a negative value to wait without a deadline
+     * @return the permit that must be closed once the stream finished
+     * @throws SQLException with SQLState {@code HYT00} if no slot was free before the deadline, or {@code HY008} if
+     *     the thread was interrupted
+     */
+    public Permit acquire(@NonNull String workload, int weight, int limit, long timeoutNanos) throws SQLException {
+        val result = new CompletableFuture<Permit>();
+        val ticket = admit(workload, weight, limit, timeoutNanos, new Admission() {
+            @Override
+            public void admitted(Permit permit) {
+                result.complete(permit);
+            }
+
+            @Override
+            public void rejected(SQLException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (ticket.withdraw()) {
+                throw new SQLException("Interrupted while waiting for admission", "HY008", ex);
+            }
+            // Admitted or rejected at the same time, the outcome is about to be delivered
+            try {
+                return result.join();
+            } catch (CompletionException | CancellationException e) {
+                throw unwrap(e);
+            }
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    private static SQLException unwrap(Exception ex) {
+        val cause = ex.getCause();
+        return cause instanceof SQLException
+                ? (SQLException) cause
+                : new SQLException("Admission failed", "HY000", cause == null ? ex : cause);
+    }
+
+    /**
+     * Queues a stream of the workload and calls {@code admission} once it was admitted or rejected, possibly before
+     * this method returns. Never blocks.
+     *
+     * @param workload the workload of the stream
+     * @param weight the share of slots of the workload while other workloads are waiting, at least 1
+     * @param limit the maximum number of concurrent streams of the workload, or 0 for no limit besides the capacity
+     * @param timeoutNanos how long the stream may wait for a slot, or a negative value to wait without a deadline
+     * @return the ticket to withdraw the stream while it waits
+     */
+    public Ticket admit(
+            @NonNull String workload, int weight, int limit, long timeoutNanos, @NonNull Admission admission) {
+        final Ticket ticket;
+        final List<Ticket> admitted;
+        SQLException rejection = null;
+        synchronized (this) {
+            val state = workloads.computeIfAbsent(workload, name -> new Workload(name, Math.max(1, weight), limit));
+            if (state.weight != Math.max(1, weight) || state.limit != limit) {
+                log.info(
+                        "Reconfigured admission workload. workload={}, weight={}, limit={}, previousWeight={},"
+                                + " previousLimit={}",
+                        workload,
+                        weight,
+                        limit,
+                        state.weight,
+                        state.limit);
+                state.weight = Math.max(1, weight);
+                state.limit = limit;
+            }
+            ticket = new Ticket(state, admission);
+            if (state.queue.isEmpty() && state.inFlight == 0) {
+                // A workload that was idle must not catch up on the slots it did not use
+                state.virtualTime = Math.max(state.virtualTime, virtualTime);
+            }
+            state.queue.addLast(ticket);
+            // Also admits streams of the workload that a raised limit no longer holds back
+            admitted = dispatch();
+            if (!ticket.done && timeoutNanos == 0) {
+                rejection = reject(ticket, timeoutNanos);
+            } else if (!ticket.done && timeoutNanos > 0) {
+                ticket.deadline = Deadlines.INSTANCE.schedule(
+                        () -> expire(ticket, timeoutNanos), timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (rejection != null) {
+            admission.rejected(rejection);
+        }
+        notifyAdmitted(admitted);
+        return ticket;
+    }
+
+    private void expire(Ticket ticket, long timeoutNanos) {
+        final SQLException rejection;
+        synchronized (this) {
+            if (ticket.done) {
+                return;
+            }
+            rejection = reject(ticket, timeoutNanos);
+        }
+        ticket.admission.rejected(rejection);
+    }
+
+    private SQLException reject(Ticket ticket, long timeoutNanos) {
+        ticket.done = true;
+        ticket.workload.queue.remove(ticket);
+        ticket.workload.rejected++;
+        return new SQLException(
+                "Query of workload " + ticket.workload.name + " was rejected, no admission slot was free within "
+                        + Duration.ofNanos(timeoutNanos).toMillis() + "ms",
+                "HYT00");
+    }
+
+    /**
+     * Returns the admission statistics of all workloads that used this controller, keyed by workload name.
+     */
+    public synchronized Map<String, WorkloadStats> getStats() {
+        val result = new TreeMap<String, WorkloadStats>();
+        for (val workload : workloads.values()) {
+            result.put(
+                    workload.name,
+                    new WorkloadStats(
+                            workload.inFlight,
+                            workload.queue.size(),
+                            workload.admitted,
+                            workload.rejected,
+                            Duration.ofNanos(workload.totalQueueNanos),
+                            Duration.ofNanos(workload.maxQueueNanos)));
+        }
+        return result;
+    }
+
+    private void release(Workload workload) {
+        final List<Ticket> admitted;
+        synchronized (this) {
+            workload.inFlight--;
+            inFlight--;
+            admitted = dispatch();
+        }
+        notifyAdmitted(admitted);
+    }
+
+    /**
+     * Admits waiting streams while slots are free, always from the runnable workload that is furthest behind. The
+     * caller notifies the admitted streams once it released the lock.
+     */
+    private List<Ticket> dispatch() {
+        val admitted = new ArrayList<Ticket>();
+        while (inFlight < maxConcurrentQueries) {
+            Workload next = null;
+            for (val candidate : workloads.values()) {
+                if (!candidate.queue.isEmpty()
+                        && candidate.canRun()
+                        && (next == null || candidate.virtualTime < next.virtualTime)) {
+                    next = candidate;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            val ticket = next.queue.pollFirst();
+            ticket.done = true;
+            if (ticket.deadline != null) {
+                ticket.deadline.cancel(false);
+            }
+            // A workload that was held back by its limit is behind, but must not take other workloads back in time
+            virtualTime = Math.max(virtualTime, next.virtualTime);
+            next.virtualTime += 1.0 / next.weight;
+            next.inFlight++;
+            next.admitted++;
+            inFlight++;
+
+            val queuedNanos = System.nanoTime() - ticket.enqueuedNanos;
+            next.totalQueueNanos += queuedNanos;
+            next.maxQueueNanos = Math.max(next.maxQueueNanos, queuedNanos);
+            log.debug("Admitted query. workload={}, queueTimeMs={}", next.name, queuedNanos / 1_000_000);
+            admitted.add(ticket);
+        }
+        return admitted;
+    }
+
+    private void notifyAdmitted(List<Ticket> admitted) {
+        for (val ticket : admitted) {
+            val permit = new Permit(ticket.workload);
+            try {
+                ticket.admission.admitted(permit);
+            } catch (RuntimeException ex) {
+                log.warn("Admission callback failed, releasing its slot. workload={}", ticket.workload.name, ex);
+                permit.close();
+            }
+        }
+    }
+}
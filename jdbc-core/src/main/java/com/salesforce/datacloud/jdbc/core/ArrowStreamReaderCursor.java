@@ -11,6 +11,7 @@
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.ZoneId;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -20,10 +21,12 @@
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 
 /**
- * Row cursor over an {@link ArrowStreamReader} that drives the {@link DataCloudResultSet}.
+ * Row cursor over an {@link ArrowStreamReader}, or any other {@link ArrowReader} such as the direct reader of
+ * client-generated result sets, that drives the {@link DataCloudResultSet}.
  *
  * <p>The cursor owns the supplied {@link BufferAllocator} alongside the reader: closing the
  * cursor closes the reader (which releases ArrowBuf accounting) and then the allocator (which
@@ -36,7 +39,7 @@ class ArrowStreamReaderCursor implements AutoCloseable {
 
     private static final int INIT_ROW_NUMBER = -1;
 
-    private final ArrowStreamReader reader;
+    private final ArrowReader reader;
     private final BufferAllocator allocator;
     private final ZoneId sessionZone;
 
@@ -45,7 +48,9 @@ class ArrowStreamReaderCursor implements AutoCloseable {
 
     private final AtomicInteger currentIndex = new AtomicInteger(INIT_ROW_NUMBER);
 
-    ArrowStreamReaderCursor(ArrowStreamReader reader, BufferAllocator allocator, ZoneId sessionZone) {
+    private List<QueryJDBCAccessor> accessors = Collections.emptyList();
+
+    ArrowStreamReaderCursor(ArrowReader reader, BufferAllocator allocator, ZoneId sessionZone) {
         this.reader = reader;
         this.allocator = allocator;
         this.sessionZone = sessionZone;
@@ -57,9 +62,14 @@ private VectorSchemaRoot getSchemaRoot() {
     }
 
     List<QueryJDBCAccessor> createAccessors() {
-        return getSchemaRoot().getFieldVectors().stream()
+        accessors = getSchemaRoot().getFieldVectors().stream()
                 .map(rethrowFunction(this::createAccessor))
                 .collect(Collectors.toList());
+        return accessors;
+    }
+
+    private void releaseBatch() {
+        accessors.forEach(QueryJDBCAccessor::beforeBatchRelease);
     }
 
     private QueryJDBCAccessor createAccessor(FieldVector vector) throws SQLException {
@@ -70,6 +80,7 @@ private QueryJDBCAccessor createAccessor(FieldVector vector) throws SQLException
      * Load the next batch that has at least one row, skipping any zero-row batches in between.
      */
     private boolean loadNextNonEmptyBatch() throws IOException {
+        releaseBatch();
         while (reader.loadNextBatch()) {
             if (getSchemaRoot().getRowCount() > 0) {
                 currentIndex.set(0);
@@ -108,8 +119,10 @@ public void close() {
         // allocator. If both throw, Java attaches the second as suppressed onto the first
         // instead of dropping the reader exception via the standard try/finally semantics.
         try (BufferAllocator a = allocator;
-                ArrowStreamReader r = reader) {
-            // resource cleanup happens at exit
+                ArrowReader r = reader) {
+            // Detach lazy views (e.g. arrays) while the current batch is still loaded; resource
+            // cleanup happens at exit.
+            releaseBatch();
         }
     }
 }
@@ -0,0 +1,142 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import lombok.val;
+
+/**
+ * The rows of a catalog query, indexed by name columns so that JDBC search patterns can be answered in memory.
+ *
+ * Patterns follow SQL {@code LIKE} as used by {@link java.sql.DatabaseMetaData}: {@code %} matches any sequence,
+ * {@code _} matches one character and {@code \} escapes the next character. Patterns without wildcards are exact map
+ * lookups, and only the names that share a pattern's literal prefix are matched against the full pattern. Rows are
+ * always returned in their original order.
+ */
+final class CatalogIndex {
+    private static final char ESCAPE = '\\';
+
+    private final List<Object> rows;
+    private final int[] columns;
+    private final List<NavigableMap<String, BitSet>> indexes = new ArrayList<>();
+
+    /**
+     * @param rows the rows, each a {@code List<Object>}
+     * @param columns the positions of the name columns to index, in the order of the patterns passed to
+     *     {@link #filter(String...)}
+     */
+    CatalogIndex(List<Object> rows, int... columns) {
+        this.rows = rows;
+        this.columns = columns.clone();
+        for (val column : columns) {
+            val index = new TreeMap<String, BitSet>();
+            for (int row = 0; row < rows.size(); row++) {
+                val value = ((List<?>) rows.get(row)).get(column);
+                if (value != null) {
+                    index.computeIfAbsent(value.toString(), k -> new BitSet()).set(row);
+                }
+            }
+            indexes.add(index);
+        }
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns the rows whose indexed columns match all patterns. A {@code null} or empty pattern matches every row,
+     * including rows with a {@code null} name.
+     */
+    List<Object> filter(String... patterns) {
+        BitSet selected = null;
+        for (int i = 0; i < columns.length && i < patterns.length; i++) {
+            val pattern = patterns[i];
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            val matching = match(indexes.get(i), pattern);
+            if (selected == null) {
+                selected = matching;
+            } else {
+                selected.and(matching);
+            }
+        }
+        if (selected == null) {
+            return new ArrayList<>(rows);
+        }
+        val result = new ArrayList<Object>(selected.cardinality());
+        for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+            result.add(rows.get(row));
+        }
+        return result;
+    }
+
+    private static BitSet match(NavigableMap<String, BitSet> index, String pattern) {
+        val prefix = new StringBuilder();
+        boolean wildcard = false;
+        for (int i = 0; i < pattern.length() && !wildcard; i++) {
+            val ch = pattern.charAt(i);
+            if (ch == ESCAPE && i + 1 < pattern.length()) {
+                prefix.append(pattern.charAt(++i));
+            } else if (ch == '%' || ch == '_') {
+                wildcard = true;
+            } else {
+                prefix.append(ch);
+            }
+        }
+
+        val result = new BitSet();
+        if (!wildcard) {
+            val exact = index.get(prefix.toString());
+            if (exact != null) {
+                result.or(exact);
+            }
+            return result;
+        }
+
+        val regex = toRegex(pattern);
+        for (Map.Entry<String, BitSet> entry : index.tailMap(prefix.toString(), true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix.toString())) {
+                break;
+            }
+            if (regex.matcher(entry.getKey()).matches()) {
+                result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    static Pattern toRegex(String pattern) {
+        val regex = new StringBuilder();
+        val literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            val ch = pattern.charAt(i);
+            if (ch == ESCAPE && i + 1 < pattern.length()) {
+                literal.append(pattern.charAt(++i));
+                continue;
+            }
+            if (ch != '%' && ch != '_') {
+                literal.append(ch);
+                continue;
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            regex.append(ch == '%' ? ".*" : ".");
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
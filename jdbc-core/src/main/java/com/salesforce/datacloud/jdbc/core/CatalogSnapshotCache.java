@@ -0,0 +1,96 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * Snapshots of the catalog queries behind {@link java.sql.DatabaseMetaData}, shared by all connections to the same
+ * endpoint with the same settings.
+ *
+ * Each kind of catalog query (schemas, columns, tables of a set of table types) is run once without search patterns
+ * and kept as a {@link CatalogIndex} for {@code catalogCacheTtl}, further calls only filter the snapshot in memory.
+ * {@link DataCloudConnection#invalidateCatalogCache()} drops the snapshots of an endpoint, e.g. after DDL.
+ */
+@Slf4j
+final class CatalogSnapshotCache {
+    private static final Cache<String, Map<String, Snapshot>> ENDPOINTS = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    @Value
+    private static class Snapshot {
+        CatalogIndex index;
+        long loadedAtNanos;
+    }
+
+    private final Map<String, Snapshot> snapshots;
+    private final Duration ttl;
+
+    private CatalogSnapshotCache(Map<String, Snapshot> snapshots, Duration ttl) {
+        this.snapshots = snapshots;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the snapshots of the connection's endpoint, or {@code null} if catalog caching is disabled for the
+     * connection.
+     */
+    static CatalogSnapshotCache of(Connection connection) throws SQLException {
+        if (!(connection instanceof DataCloudConnection)) {
+            return null;
+        }
+        val dataCloudConnection = (DataCloudConnection) connection;
+        val ttl = dataCloudConnection.getConnectionProperties().getCatalogCacheTtl();
+        if (ttl.isZero()) {
+            return null;
+        }
+        try {
+            val snapshots = ENDPOINTS.get(dataCloudConnection.getCatalogEndpointKey(), ConcurrentHashMap::new);
+            return new CatalogSnapshotCache(snapshots, ttl);
+        } catch (ExecutionException ex) {
+            throw new SQLException("Failed to access the catalog cache", "HY000", ex.getCause());
+        }
+    }
+
+    /** Drops all snapshots of the given endpoint. */
+    static void invalidate(String endpointKey) {
+        ENDPOINTS.invalidate(endpointKey);
+    }
+
+    /** Drops all snapshots. */
+    static void invalidateAll() {
+        ENDPOINTS.invalidateAll();
+    }
+
+    /**
+     * Returns the snapshot of the given kind, running {@code loader} if there is none or it is older than the TTL.
+     * Concurrent misses may load the same snapshot twice, the last one wins.
+     */
+    CatalogIndex get(String kind, ThrowingJdbcSupplier<CatalogIndex> loader) throws SQLException {
+        val cached = snapshots.get(kind);
+        if (cached != null && System.nanoTime() - cached.getLoadedAtNanos() < ttl.toNanos()) {
+            return cached.getIndex();
+        }
+        val loadedAtNanos = System.nanoTime();
+        val index = loader.get();
+        snapshots.put(kind, new Snapshot(index, loadedAtNanos));
+        log.debug("Loaded catalog snapshot. kind={}, rows={}", kind, index.size());
+        return index;
+    }
+}
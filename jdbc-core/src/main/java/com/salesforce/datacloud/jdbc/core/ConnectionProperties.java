@@ -6,11 +6,15 @@
 
 import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptional;
 import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalBoolean;
+import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalDuration;
+import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalInteger;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Properties;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.val;
 
 /**
  * Connection properties that control the JDBC connection behavior.
@@ -18,6 +22,9 @@
 @Getter
 @Builder
 public class ConnectionProperties {
+    private static final int DEFAULT_RESULT_CACHE_MAX_BYTES = 64 * 1024 * 1024;
+    private static final int DEFAULT_COALESCE_MAX_BUFFERED_BYTES = 16 * 1024 * 1024;
+
     /**
      * The workload to use for the connection (default: jdbcv3)
      */
@@ -37,6 +44,101 @@ public class ConnectionProperties {
     @Builder.Default
     private final boolean includeCustomerDetailInReason = true;
 
+    /**
+     * Whether a Data Cloud connection is returned before its token exchange finished, the first call on the
+     * connection then waits for it within the call's timeout and reports its errors (default: false)
+     */
+    @Builder.Default
+    private final boolean lazyConnect = false;
+
+    /**
+     * The maximum number of queries submitted through {@link DataCloudConnection#submitQuery} or
+     * {@code PreparedStatement.executeBatch} that run concurrently on the connection, further submissions wait for a
+     * slot (default: 100)
+     */
+    @Builder.Default
+    private final int maxConcurrentQueries = 100;
+
+    /**
+     * The capacity of the JVM-wide {@link AdmissionController} that admits the query streams of this connection,
+     * connections with the same capacity share one controller. 0 disables client-side admission control (default: 0)
+     */
+    @Builder.Default
+    private final int admissionMaxConcurrentQueries = 0;
+
+    /**
+     * The maximum number of concurrent query streams of this connection's workload across all connections sharing the
+     * admission controller, 0 means no limit besides the controller's capacity (default: 0). Like
+     * {@link #workloadWeight}, the most recent query of the workload on the controller sets it for the workload.
+     */
+    @Builder.Default
+    private final int workloadMaxConcurrentQueries = 0;
+
+    /**
+     * The share of admission slots of this connection's workload while other workloads are waiting (default: 1)
+     */
+    @Builder.Default
+    private final int workloadWeight = 1;
+
+    /**
+     * How long snapshots of the catalog behind {@link java.sql.DatabaseMetaData#getTables},
+     * {@link java.sql.DatabaseMetaData#getColumns} and {@link java.sql.DatabaseMetaData#getSchemas} are reused by
+     * connections to the same endpoint, zero disables the catalog cache (default: 0)
+     */
+    @Builder.Default
+    private final Duration catalogCacheTtl = Duration.ZERO;
+
+    /**
+     * How long result schemas learnt by {@code PreparedStatement.getMetaData} or by executing a prepared statement
+     * are reused for the same SQL and parameter types, zero disables the describe cache (default: 0)
+     */
+    @Builder.Default
+    private final Duration describeCacheTtl = Duration.ZERO;
+
+    /**
+     * How long the Arrow results of queries are replayed for the same SQL, parameters and settings instead of running
+     * the query again, zero disables the result cache (default: 0)
+     */
+    @Builder.Default
+    private final Duration resultCacheTtl = Duration.ZERO;
+
+    /**
+     * The capacity in bytes of the JVM-wide result cache, connections with the same capacity share one cache
+     * (default: 64 MiB)
+     */
+    @Builder.Default
+    private final int resultCacheMaxBytes = DEFAULT_RESULT_CACHE_MAX_BYTES;
+
+    /**
+     * Whether concurrent {@code executeQuery} calls with the same SQL, parameters and settings, on any connection with
+     * the same settings, share one server query and read its result at their own pace (default: false)
+     */
+    @Builder.Default
+    private final boolean coalesceQueries = false;
+
+    /**
+     * The size of the result, in bytes, up to which further executions can join a shared query. Beyond it, the
+     * buffered messages that some consumer has not read yet are limited to this size, consumers that lag further
+     * behind are detached and fetch the rest of the result through their own connection (default: 16 MiB)
+     */
+    @Builder.Default
+    private final int coalesceMaxBufferedBytes = DEFAULT_COALESCE_MAX_BUFFERED_BYTES;
+
+    /**
+     * The number of SQL texts whose prepared statement state, i.e. parameter vectors and result schema, is kept for
+     * the next {@code prepareStatement} call with the same SQL, least recently used first out. The result schema is
+     * only kept if {@link #describeCacheTtl} is set and expires after it. Zero disables the statement cache
+     * (default: 0)
+     */
+    @Builder.Default
+    private final int statementCacheSize = 0;
+
+    /**
+     * Prepared statements with longer SQL text, in characters, are not cached (default: 8192)
+     */
+    @Builder.Default
+    private final int statementCacheMaxSqlLength = 8192;
+
     /**
      * Statement properties associated with this connection
      */
@@ -62,6 +164,51 @@ public static ConnectionProperties ofDestructive(Properties props) throws SQLExc
         takeOptional(props, "workload").ifPresent(builder::workload);
         takeOptional(props, "externalClientContext").ifPresent(builder::externalClientContext);
         takeOptionalBoolean(props, "errorsIncludeCustomerDetails").ifPresent(builder::includeCustomerDetailInReason);
+        takeOptionalBoolean(props, "lazyConnect").ifPresent(builder::lazyConnect);
+        val maxConcurrentQueries = takeOptionalInteger(props, "maxConcurrentQueries");
+        if (maxConcurrentQueries.isPresent() && maxConcurrentQueries.get() < 1) {
+            throw new SQLException("maxConcurrentQueries must be at least 1", "HY000");
+        }
+        maxConcurrentQueries.ifPresent(builder::maxConcurrentQueries);
+        val admissionMaxConcurrentQueries = takeOptionalInteger(props, "admissionMaxConcurrentQueries");
+        if (admissionMaxConcurrentQueries.isPresent() && admissionMaxConcurrentQueries.get() < 0) {
+            throw new SQLException("admissionMaxConcurrentQueries must not be negative", "HY000");
+        }
+        admissionMaxConcurrentQueries.ifPresent(builder::admissionMaxConcurrentQueries);
+        val workloadMaxConcurrentQueries = takeOptionalInteger(props, "workloadMaxConcurrentQueries");
+        if (workloadMaxConcurrentQueries.isPresent() && workloadMaxConcurrentQueries.get() < 0) {
+            throw new SQLException("workloadMaxConcurrentQueries must not be negative", "HY000");
+        }
+        workloadMaxConcurrentQueries.ifPresent(builder::workloadMaxConcurrentQueries);
+        val workloadWeight = takeOptionalInteger(props, "workloadWeight");
+        if (workloadWeight.isPresent() && workloadWeight.get() < 1) {
+            throw new SQLException("workloadWeight must be at least 1", "HY000");
+        }
+        workloadWeight.ifPresent(builder::workloadWeight);
+        takeOptionalDuration(props, "catalogCacheTtl").ifPresent(builder::catalogCacheTtl);
+        takeOptionalDuration(props, "describeCacheTtl").ifPresent(builder::describeCacheTtl);
+        takeOptionalDuration(props, "resultCacheTtl").ifPresent(builder::resultCacheTtl);
+        val resultCacheMaxBytes = takeOptionalInteger(props, "resultCacheMaxBytes");
+        if (resultCacheMaxBytes.isPresent() && resultCacheMaxBytes.get() < 1) {
+            throw new SQLException("resultCacheMaxBytes must be at least 1", "HY000");
+        }
+        resultCacheMaxBytes.ifPresent(builder::resultCacheMaxBytes);
+        takeOptionalBoolean(props, "coalesceQueries").ifPresent(builder::coalesceQueries);
+        val coalesceMaxBufferedBytes = takeOptionalInteger(props, "coalesceMaxBufferedBytes");
+        if (coalesceMaxBufferedBytes.isPresent() && coalesceMaxBufferedBytes.get() < 1) {
+            throw new SQLException("coalesceMaxBufferedBytes must be at least 1", "HY000");
+        }
+        coalesceMaxBufferedBytes.ifPresent(builder::coalesceMaxBufferedBytes);
+        val statementCacheSize = takeOptionalInteger(props, "statementCacheSize");
+        if (statementCacheSize.isPresent() && statementCacheSize.get() < 0) {
+            throw new SQLException("statementCacheSize must not be negative", "HY000");
+        }
+        statementCacheSize.ifPresent(builder::statementCacheSize);
+        val statementCacheMaxSqlLength = takeOptionalInteger(props, "statementCacheMaxSqlLength");
+        if (statementCacheMaxSqlLength.isPresent() && statementCacheMaxSqlLength.get() < 0) {
+            throw new SQLException("statementCacheMaxSqlLength must not be negative", "HY000");
+        }
+        statementCacheMaxSqlLength.ifPresent(builder::statementCacheMaxSqlLength);
         builder.statementProperties(StatementProperties.ofDestructive(props));
 
         return builder.build();
@@ -84,6 +231,45 @@ public Properties toProperties() {
         if (!includeCustomerDetailInReason) {
             props.setProperty("errorsIncludeCustomerDetails", "false");
         }
+        if (lazyConnect) {
+            props.setProperty("lazyConnect", "true");
+        }
+        if (maxConcurrentQueries != 100) {
+            props.setProperty("maxConcurrentQueries", String.valueOf(maxConcurrentQueries));
+        }
+        if (admissionMaxConcurrentQueries != 0) {
+            props.setProperty("admissionMaxConcurrentQueries", String.valueOf(admissionMaxConcurrentQueries));
+        }
+        if (workloadMaxConcurrentQueries != 0) {
+            props.setProperty("workloadMaxConcurrentQueries", String.valueOf(workloadMaxConcurrentQueries));
+        }
+        if (workloadWeight != 1) {
+            props.setProperty("workloadWeight", String.valueOf(workloadWeight));
+        }
+        if (!catalogCacheTtl.isZero()) {
+            props.setProperty("catalogCacheTtl", String.valueOf(catalogCacheTtl.getSeconds()));
+        }
+        if (!describeCacheTtl.isZero()) {
+            props.setProperty("describeCacheTtl", String.valueOf(describeCacheTtl.getSeconds()));
+        }
+        if (!resultCacheTtl.isZero()) {
+            props.setProperty("resultCacheTtl", String.valueOf(resultCacheTtl.getSeconds()));
+        }
+        if (resultCacheMaxBytes != DEFAULT_RESULT_CACHE_MAX_BYTES) {
+            props.setProperty("resultCacheMaxBytes", String.valueOf(resultCacheMaxBytes));
+        }
+        if (coalesceQueries) {
+            props.setProperty("coalesceQueries", "true");
+        }
+        if (coalesceMaxBufferedBytes != DEFAULT_COALESCE_MAX_BUFFERED_BYTES) {
+            props.setProperty("coalesceMaxBufferedBytes", String.valueOf(coalesceMaxBufferedBytes));
+        }
+        if (statementCacheSize != 0) {
+            props.setProperty("statementCacheSize", String.valueOf(statementCacheSize));
+        }
+        if (statementCacheMaxSqlLength != 8192) {
+            props.setProperty("statementCacheMaxSqlLength", String.valueOf(statementCacheMaxSqlLength));
+        }
         props.putAll(statementProperties.toProperties());
 
         return props;
@@ -9,11 +9,18 @@
 import static com.salesforce.datacloud.jdbc.logging.ElapsedLogger.logTimedValue;
 import static com.salesforce.datacloud.jdbc.protocol.data.ArrowUtils.toColumnMetaData;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.Empty;
 import com.salesforce.datacloud.jdbc.core.metadata.DataCloudResultSetMetaData;
 import com.salesforce.datacloud.jdbc.core.partial.DataCloudQueryPolling;
 import com.salesforce.datacloud.jdbc.exception.DataCloudJDBCException;
 import com.salesforce.datacloud.jdbc.exception.QueryExceptionHandler;
+import com.salesforce.datacloud.jdbc.interceptor.AdmissionControlInterceptor;
 import com.salesforce.datacloud.jdbc.interceptor.NetworkTimeoutInterceptor;
 import com.salesforce.datacloud.jdbc.protocol.ChunkRangeIterator;
 import com.salesforce.datacloud.jdbc.protocol.QueryResultArrowStream;
@@ -27,9 +34,12 @@
 import com.salesforce.datacloud.jdbc.util.JdbcURL;
 import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
 import com.salesforce.datacloud.query.v3.QueryStatus;
+import io.grpc.ClientInterceptor;
 import io.grpc.Metadata;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.CallableStatement;
@@ -53,14 +63,20 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import salesforce.cdp.hyperdb.v1.CancelQueryParam;
@@ -91,6 +107,58 @@ public class DataCloudConnection implements Connection {
     @Getter(AccessLevel.PACKAGE)
     private ConnectionProperties connectionProperties;
 
+    // Row mappers generated for this connection, keyed by result schema and target type. Bounded, as applications
+    // that build ad-hoc queries can produce an unbounded number of schemas.
+    @Builder.Default
+    private final Cache<RowMapperKey, RowMapper<?>> rowMappers =
+            CacheBuilder.newBuilder().maximumSize(256).build();
+
+    // Limits the queries submitted through submitQuery() that are in flight, see ConnectionProperties.
+    @NonNull private final QuerySlots querySlots;
+
+    // Result schemas of this connection's prepared statements, see ConnectionProperties#describeCacheTtl.
+    @Getter(AccessLevel.PACKAGE)
+    @NonNull private final DescribeCache describeCache;
+
+    // State of this connection's prepared statements, see ConnectionProperties#statementCacheSize.
+    @Getter(AccessLevel.PACKAGE)
+    @NonNull private final PreparedStatementCache statementCache;
+
+    // Results replayed by executeQuery, see ConnectionProperties#resultCacheTtl. Null if disabled.
+    @Getter(AccessLevel.PACKAGE)
+    private final QueryResultCache resultCache;
+
+    // The stub and headers built from `connectionProperties`, see getStub().
+    private volatile CachedStub cachedStub;
+
+    @Value
+    private static class CachedStub {
+        ConnectionProperties properties;
+        ClientInterceptor[] interceptors;
+        HyperServiceGrpc.HyperServiceStub stub;
+    }
+
+    private static final class QueryExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("datacloud-jdbc-query-%d")
+                .build());
+    }
+
+    // Identifies the endpoint of connections without a JDBC URL by their stub provider, unlike identity hash codes the
+    // ids are never reused while the JVM-wide catalog and result caches may still hold entries for them
+    private static final class ProviderIds {
+        private static final AtomicLong NEXT = new AtomicLong();
+        private static final LoadingCache<HyperGrpcStubProvider, Long> INSTANCE =
+                CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(provider -> NEXT.incrementAndGet()));
+    }
+
+    @Value
+    private static class RowMapperKey {
+        List<ColumnMetadata> columns;
+        Class<?> type;
+    }
+
     /**
      * Creates a DataCloudConnection with the given stub provider, properties, lakehouse supplier, dataspaces supplier, and connection string.
      *
@@ -122,6 +190,16 @@ public static DataCloudConnection of(
                             .userName(userName)
                             .lakehouseSupplier(lakehouseSupplier)
                             .dataspacesSupplier(dataspacesSupplier)
+                            .querySlots(new QuerySlots(properties.getMaxConcurrentQueries()))
+                            .describeCache(new DescribeCache(properties.getDescribeCacheTtl()))
+                            .statementCache(new PreparedStatementCache(
+                                    properties.getStatementCacheSize(),
+                                    properties.getStatementCacheMaxSqlLength(),
+                                    properties.getDescribeCacheTtl()))
+                            .resultCache(
+                                    properties.getResultCacheTtl().isZero()
+                                            ? null
+                                            : QueryResultCache.shared(properties.getResultCacheMaxBytes()))
                             .build();
                 },
                 "DataCloudConnection::of creation",
@@ -138,25 +216,78 @@ public static DataCloudConnection of(
     }
 
     /**
-     * Initializes a stub with the appropriate interceptors based on the properties and timeout configured in the JDBC Connection.
+     * Returns a stub with the appropriate interceptors based on the properties and timeout configured in the JDBC
+     * Connection.
+     *
+     * The headers derived from the connection properties, and the stub itself if the provider allows it, are built
+     * once and reused for every call until the properties change. Only the per-call network timeout is layered on
+     * top of the cached stub.
+     *
      * @return the initialized stub
      */
     HyperServiceGrpc.HyperServiceStub getStub() {
-        HyperServiceGrpc.HyperServiceStub stub = stubProvider.getStub();
+        val properties = connectionProperties;
+        CachedStub cached = cachedStub;
+        if (cached == null || cached.getProperties() != properties) {
+            val metadata = deriveHeadersFromProperties(properties);
+            cached = new CachedStub(properties, deriveInterceptorsFromProperties(properties, metadata), null);
+            log.info(
+                    "Built stub headers={}, admissionMaxConcurrentQueries={}",
+                    metadata.keys(),
+                    properties.getAdmissionMaxConcurrentQueries());
+        }
 
-        // Attach headers derived from properties to the stub
-        val metadata = deriveHeadersFromProperties(connectionProperties);
-        stub = stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+        // Attach headers and admission control derived from properties to the stub
+        HyperServiceGrpc.HyperServiceStub stub = cached.getStub();
+        if (stub == null) {
+            stub = stubProvider.getStub().withInterceptors(cached.getInterceptors());
+            if (stubProvider.isStubReusable()) {
+                cached = new CachedStub(properties, cached.getInterceptors(), stub);
+            }
+        }
+        cachedStub = cached;
 
         // The interceptor will enforce the network timeout per gRPC call
         if (!networkTimeout.isZero()) {
             stub = stub.withInterceptors(new NetworkTimeoutInterceptor(networkTimeout));
         }
 
-        log.info("Built stub with networkTimeout={}, headers={}", networkTimeout, metadata.keys());
+        log.debug("Using stub with networkTimeout={}", networkTimeout);
         return stub;
     }
 
+    /**
+     * Returns a stub like {@link #getStub()} whose calls must complete before the given deadline.
+     *
+     * A connection opened with {@code lazyConnect} first waits for its bootstrap, see {@link DeferredStubProvider},
+     * and this wait counts towards the deadline as well.
+     *
+     * @param deadline the deadline of the caller
+     * @return the initialized stub
+     * @throws SQLException with state {@code HYT00} if the bootstrap did not finish before the deadline, or the
+     *     exception of the bootstrap, if it failed
+     */
+    HyperServiceGrpc.HyperServiceStub getStub(Deadline deadline) throws SQLException {
+        if (stubProvider instanceof DeferredStubProvider) {
+            ((DeferredStubProvider) stubProvider).await(deadline);
+        }
+        return getStub().withDeadlineAfter(deadline.getRemaining().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static ClientInterceptor[] deriveInterceptorsFromProperties(
+            ConnectionProperties properties, Metadata metadata) {
+        val headers = MetadataUtils.newAttachHeadersInterceptor(metadata);
+        if (properties.getAdmissionMaxConcurrentQueries() == 0) {
+            return new ClientInterceptor[] {headers};
+        }
+        val admission = new AdmissionControlInterceptor(
+                AdmissionController.shared(properties.getAdmissionMaxConcurrentQueries()),
+                properties.getWorkload(),
+                properties.getWorkloadWeight(),
+                properties.getWorkloadMaxConcurrentQueries());
+        return new ClientInterceptor[] {headers, admission};
+    }
+
     static Metadata deriveHeadersFromProperties(ConnectionProperties connectionProperties) {
         Metadata metadata = new Metadata();
         metadata.put(Metadata.Key.of("User-Agent", Metadata.ASCII_STRING_MARSHALLER), formatDriverInfo());
@@ -334,8 +465,7 @@ public QueryStatus waitFor(String queryId, Predicate<QueryStatus> predicate) thr
      */
     public QueryStatus waitFor(String queryId, Duration waitTimeout, Predicate<QueryStatus> predicate)
             throws SQLException {
-        val deadline = Deadline.of(waitTimeout);
-        val stub = getStub().withDeadlineAfter(deadline.getRemaining().toMillis(), TimeUnit.MILLISECONDS);
+        val stub = getStub(Deadline.of(waitTimeout));
         return DataCloudQueryPolling.of(
                         QueryAccessGrpcClient.of(queryId, stub),
                         connectionProperties.isIncludeCustomerDetailInReason(),
@@ -361,6 +491,217 @@ public void cancelQuery(String queryId) throws SQLException {
         }
     }
 
+    /**
+     * Sends a command to the server to cancel the query with the specified query id without waiting for the server's
+     * answer. Use this where the caller must not block, e.g. when closing a result set early; the returned future can
+     * be ignored for fire-and-forget cancellation.
+     * @param queryId The query id for the query you want to cancel
+     * @return a future that completes once the server acknowledged the cancellation, or completes exceptionally with
+     *     an {@link SQLException} if the cancellation failed
+     */
+    public CompletableFuture<Void> cancelQueryAsync(String queryId) {
+        val future = new CompletableFuture<Void>();
+        try {
+            val client = QueryAccessGrpcClient.of(queryId, getStub());
+            client.getStub().cancelQuery(client.getCancelQueryParamBuilder().build(), new StreamObserver<Empty>() {
+                @Override
+                public void onNext(Empty value) {}
+
+                @Override
+                public void onError(Throwable t) {
+                    future.completeExceptionally(new SQLException("Failed to cancel query, queryId=" + queryId, t));
+                }
+
+                @Override
+                public void onCompleted() {
+                    future.complete(null);
+                }
+            });
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(new SQLException("Failed to cancel query, queryId=" + queryId, ex));
+        }
+        return future;
+    }
+
+    /**
+     * Submits a query for concurrent execution on this connection and returns its result set asynchronously.
+     *
+     * Unlike {@link Statement}, which runs one query at a time, this method is thread-safe and can be called many
+     * times without waiting for earlier results: every query runs on its own statement and its own gRPC stream,
+     * multiplexed over the connection's channel. At most {@code maxConcurrentQueries} submitted queries are in flight
+     * at once, further submissions queue in submission order until a slot is free. A query holds its slot until its
+     * result set is closed, so always close the returned result sets.
+     *
+     * <pre>
+     *     val tiles = sqls.stream().map(connection::submitQuery).collect(Collectors.toList());
+     *     for (val tile : tiles) {
+     *         try (val resultSet = tile.join()) {
+     *             render(resultSet);
+     *         }
+     *     }
+     * </pre>
+     *
+     * @param sql the query to execute
+     * @return a future that completes with the result set, or completes exceptionally with an {@link SQLException}
+     *     if the query failed or the connection was closed while the query waited for a slot
+     */
+    public CompletableFuture<DataCloudResultSet> submitQuery(@NonNull String sql) {
+        return submitQuery(sql, QueryExecutor.INSTANCE);
+    }
+
+    /**
+     * Like {@link #submitQuery(String)}, but starts the query on the given executor once a slot is free. Queries
+     * waiting for a slot do not occupy a thread of the executor.
+     *
+     * @param sql the query to execute
+     * @param executor the executor that starts the query
+     * @return a future that completes with the result set
+     */
+    public CompletableFuture<DataCloudResultSet> submitQuery(@NonNull String sql, @NonNull Executor executor) {
+        val future = new CompletableFuture<DataCloudResultSet>();
+        querySlots.submit(executor, () -> runSubmittedQuery(sql, future), future::completeExceptionally);
+        return future;
+    }
+
+    /** Runs a submitted query with a slot, which the result set releases once it is closed. */
+    private void runSubmittedQuery(String sql, CompletableFuture<DataCloudResultSet> future) {
+        if (future.isDone()) {
+            // Cancelled by the caller while waiting for a slot
+            querySlots.release();
+            return;
+        }
+        if (isClosed()) {
+            querySlots.release();
+            future.completeExceptionally(new SQLException("Connection is closed", "08003"));
+            return;
+        }
+
+        val statement = new DataCloudStatement(this);
+        val released = new AtomicBoolean(false);
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                closeSubmittedStatement(statement);
+                querySlots.release();
+            }
+        };
+        try {
+            val resultSet = (DataCloudResultSet) statement.executeQuery(sql);
+            resultSet.setOnClose(release);
+            if (!future.complete(resultSet)) {
+                resultSet.close();
+            }
+        } catch (SQLException | RuntimeException ex) {
+            release.run();
+            future.completeExceptionally(ex);
+        }
+    }
+
+    private static void closeSubmittedStatement(DataCloudStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Failed to close the statement of a submitted query", ex);
+        }
+    }
+
+    /**
+     * Runs {@code task} on the query executor once one of the {@code maxConcurrentQueries} slots is free, and releases
+     * the slot when the task returns. Unlike {@link #submitQuery(String)}, the task must consume its results itself.
+     * A task whose future is cancelled before it got a slot does not run.
+     */
+    <T> CompletableFuture<T> submitTask(ThrowingJdbcSupplier<T> task) {
+        val future = new CompletableFuture<T>();
+        final Runnable run = () -> {
+            try {
+                if (future.isDone()) {
+                    // Cancelled while it waited for a slot
+                    return;
+                }
+                if (isClosed()) {
+                    throw new SQLException("Connection is closed", "08003");
+                }
+                future.complete(task.get());
+            } catch (SQLException | RuntimeException ex) {
+                future.completeExceptionally(ex);
+            } finally {
+                querySlots.release();
+            }
+        };
+        querySlots.submit(QueryExecutor.INSTANCE, run, future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * Drops the catalog snapshots that {@link DatabaseMetaData} reuses when {@code catalogCacheTtl} is set, for all
+     * connections to this connection's endpoint, and the prepared statement schemas this connection reuses when
+     * {@code describeCacheTtl} or {@code statementCacheSize} is set. With {@code resultCacheTtl} set, the cached
+     * query results of the endpoint are dropped as well. Call this after creating or altering tables, or after the
+     * data changed, so that the next metadata call or query sees the change.
+     */
+    public void invalidateCatalogCache() {
+        val endpointKey = getCatalogEndpointKey();
+        CatalogSnapshotCache.invalidate(endpointKey);
+        describeCache.invalidateAll();
+        statementCache.invalidateColumns();
+        if (resultCache != null) {
+            resultCache.invalidate(endpointKey);
+        }
+    }
+
+    /**
+     * Called once the server accepted {@code sql}, drops cached result schemas that DDL may have changed and cached
+     * query results that any statement other than a query may have changed.
+     */
+    void onExecute(String sql) {
+        describeCache.onExecute(sql);
+        statementCache.onExecute(sql);
+        if (resultCache != null && !QueryResultCache.isCacheable(sql)) {
+            resultCache.invalidate(getCatalogEndpointKey());
+        }
+    }
+
+    /**
+     * Identifies the catalog this connection sees: the endpoint, the user and every setting that can change the
+     * catalog. URL parameters may contain credentials and only enter the key as a hash.
+     */
+    String getCatalogEndpointKey() {
+        val endpoint = jdbcUrl != null
+                ? jdbcUrl.getUrlWithoutQuery() + "#"
+                        + Hashing.sha256()
+                                .hashString(new TreeMap<>(jdbcUrl.getParameters()).toString(), StandardCharsets.UTF_8)
+                : "connection@" + ProviderIds.INSTANCE.getUnchecked(stubProvider);
+        return endpoint + "|" + userName + "|" + new TreeMap<>(connectionProperties.toProperties());
+    }
+
+    /**
+     * Returns a {@link RowMapper} from the schema of {@code resultSet} to {@code type}. Mappers
+     * are generated once per (schema, type) pair and cached by this connection, up to the 256 most
+     * recently used pairs, so repeated queries of the same shape do not pay for the reflection again.
+     *
+     * <pre>
+     *     val mapper = connection.getRowMapper(resultSet, Customer.class);
+     *     List&lt;Customer&gt; customers = mapper.readAll(resultSet, 10_000);
+     * </pre>
+     *
+     * @param resultSet a result set produced by this driver
+     * @param type the class or record to map rows to
+     * @return the cached or newly generated mapper
+     * @throws SQLException if {@code type} cannot be mapped
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RowMapper<T> getRowMapper(@NonNull DataCloudResultSet resultSet, @NonNull Class<T> type)
+            throws SQLException {
+        val key = new RowMapperKey(resultSet.getColumns(), type);
+        val cached = rowMappers.getIfPresent(key);
+        if (cached != null) {
+            return (RowMapper<T>) cached;
+        }
+        // Generating twice under a race is harmless, the first mapper wins.
+        val generated = RowMapper.of(key.getColumns(), type);
+        val existing = rowMappers.asMap().putIfAbsent(key, generated);
+        return existing != null ? (RowMapper<T>) existing : generated;
+    }
+
     @Override
     public CallableStatement prepareCall(String sql) {
         return null;
@@ -389,6 +730,8 @@ public void rollback() {}
     public void close() {
         try {
             if (closed.compareAndSet(false, true)) {
+                querySlots.close();
+                statementCache.close();
                 stubProvider.close();
             }
         } catch (Exception e) {
@@ -609,6 +952,15 @@ public void setNetworkTimeout(Executor executor, int milliseconds) {
         networkTimeout = Duration.ofMillis(milliseconds);
     }
 
+    /**
+     * Restores the per-connection state that callers can change through the {@link Connection} interface, so that
+     * a pooled connection handed to the next caller behaves like a freshly opened one. Settings, workload and
+     * attached databases are fixed by the {@link ConnectionProperties} and the stub provider and need no reset.
+     */
+    void resetForReuse() {
+        networkTimeout = Duration.ZERO;
+    }
+
     /**
      * Returns the network timeout for this connection.
      * @return The network timeout for this connection in milliseconds.
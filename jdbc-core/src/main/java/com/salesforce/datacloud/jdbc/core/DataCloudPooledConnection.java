@@ -0,0 +1,235 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import javax.sql.StatementEventListener;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * A {@link PooledConnection} around a physical {@link DataCloudConnection}.
+ *
+ * <p>{@link #getConnection()} hands out a logical connection handle. Closing the handle does not close the
+ * physical connection but closes the statements created through the handle, resets the per-connection state and
+ * notifies the registered {@link ConnectionEventListener}s, so that a pool can hand the physical connection,
+ * including its gRPC channel and authentication state, to the next caller. Statements created through the handle
+ * return the handle from {@link Statement#getConnection()}. Errors with a connection exception SQLState
+ * (class {@code 08}) are reported as {@link ConnectionEventListener#connectionErrorOccurred}.
+ */
+@Slf4j
+public class DataCloudPooledConnection implements PooledConnection {
+    private static final String CONNECTION_CLOSED = "Connection is closed";
+
+    @Getter
+    private final DataCloudConnection physicalConnection;
+
+    private final List<ConnectionEventListener> listeners = new CopyOnWriteArrayList<>();
+    private Handle currentHandle;
+
+    public DataCloudPooledConnection(@NonNull DataCloudConnection physicalConnection) {
+        this.physicalConnection = physicalConnection;
+    }
+
+    /**
+     * Returns a new logical handle for the physical connection. As required by JDBC, a previously returned handle
+     * that is still open is closed first.
+     */
+    @Override
+    public synchronized Connection getConnection() throws SQLException {
+        if (physicalConnection.isClosed()) {
+            throw new SQLException(CONNECTION_CLOSED, "08003");
+        }
+        if (currentHandle != null) {
+            currentHandle.close(false);
+        }
+        currentHandle = new Handle();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, currentHandle);
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        if (currentHandle != null) {
+            currentHandle.close(false);
+            currentHandle = null;
+        }
+        physicalConnection.close();
+    }
+
+    @Override
+    public void addConnectionEventListener(ConnectionEventListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeConnectionEventListener(ConnectionEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Statement pooling is not supported, statement events are never fired. */
+    @Override
+    public void addStatementEventListener(StatementEventListener listener) {}
+
+    @Override
+    public void removeStatementEventListener(StatementEventListener listener) {}
+
+    private void fireClosed() {
+        val event = new ConnectionEvent(this);
+        listeners.forEach(l -> l.connectionClosed(event));
+    }
+
+    private void fireError(SQLException error) {
+        val event = new ConnectionEvent(this, error);
+        listeners.forEach(l -> l.connectionErrorOccurred(event));
+    }
+
+    /** Invokes {@code method} on a physical object, reporting connection errors to the listeners. */
+    private Object invokePhysical(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            val cause = e.getCause();
+            if (cause instanceof SQLException) {
+                val state = ((SQLException) cause).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    log.warn("Physical connection failed, reporting it to the pool. state={}", state);
+                    fireError((SQLException) cause);
+                }
+            }
+            throw cause;
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        // Read without the lock by invoke()
+        private volatile boolean closed;
+        // The open statements created through this handle, guarded by the pooled connection
+        private final Set<Statement> statements = new LinkedHashSet<>();
+
+        private void close(boolean notify) {
+            final List<Statement> open;
+            synchronized (DataCloudPooledConnection.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (currentHandle == this) {
+                    currentHandle = null;
+                }
+                open = new ArrayList<>(statements);
+                statements.clear();
+            }
+            // Their result sets would otherwise keep server queries and query slots into the next caller's session
+            for (val statement : open) {
+                try {
+                    statement.close();
+                } catch (SQLException | RuntimeException ex) {
+                    log.warn("Failed to close a statement of a pooled connection handle", ex);
+                }
+            }
+            physicalConnection.resetForReuse();
+            if (notify) {
+                fireClosed();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close(true);
+                    return null;
+                case "isClosed":
+                    return closed || physicalConnection.isClosed();
+                case "isValid":
+                    if (closed) {
+                        return false;
+                    }
+                    break;
+                case "toString":
+                    return "DataCloudPooledConnection.Handle(" + physicalConnection + ")";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    if (closed) {
+                        throw new SQLException(CONNECTION_CLOSED, "08003");
+                    }
+            }
+
+            val result = invokePhysical(physicalConnection, method, args);
+            if (result instanceof Statement && method.getReturnType().isInterface()) {
+                return track((Connection) proxy, method.getReturnType(), (Statement) result);
+            }
+            return result;
+        }
+
+        /** Wraps a statement created through the handle, so that it is closed with the handle. */
+        private Object track(Connection connection, Class<?> type, Statement statement) throws SQLException {
+            synchronized (DataCloudPooledConnection.this) {
+                if (!closed) {
+                    statements.add(statement);
+                    val handler = new StatementHandle(this, connection, statement);
+                    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+                }
+            }
+            // The handle was closed concurrently
+            statement.close();
+            throw new SQLException(CONNECTION_CLOSED, "08003");
+        }
+    }
+
+    private final class StatementHandle implements InvocationHandler {
+        private final Handle handle;
+        private final Connection connection;
+        private final Statement statement;
+
+        StatementHandle(Handle handle, Connection connection, Statement statement) {
+            this.handle = handle;
+            this.connection = connection;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return connection;
+                case "close":
+                    synchronized (DataCloudPooledConnection.this) {
+                        handle.statements.remove(statement);
+                    }
+                    break;
+                case "toString":
+                    return "DataCloudPooledConnection.StatementHandle(" + statement + ")";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+            return invokePhysical(statement, method, args);
+        }
+    }
+}
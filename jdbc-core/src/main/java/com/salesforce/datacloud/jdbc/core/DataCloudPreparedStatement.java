@@ -4,15 +4,19 @@
  */
 package com.salesforce.datacloud.jdbc.core;
 
-import static com.salesforce.datacloud.jdbc.protocol.data.ArrowUtils.toArrowByteArray;
 import static com.salesforce.datacloud.jdbc.util.DateTimeUtils.getUTCDateFromDateAndCalendar;
 import static com.salesforce.datacloud.jdbc.util.DateTimeUtils.getUTCTimeFromTimeAndCalendar;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.primitives.Primitives;
 import com.google.protobuf.ByteString;
+import com.salesforce.datacloud.jdbc.core.metadata.DataCloudResultSetMetaData;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
 import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
 import com.salesforce.datacloud.jdbc.protocol.data.ParameterAccumulator;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterBinding;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterEncoder;
 import com.salesforce.datacloud.jdbc.util.QueryTimeout;
 import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
 import java.io.IOException;
@@ -21,6 +25,7 @@
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -34,6 +39,7 @@
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLXML;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
@@ -42,9 +48,14 @@
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import salesforce.cdp.hyperdb.v1.QueryParam;
@@ -52,21 +63,43 @@
 
 @Slf4j
 public class DataCloudPreparedStatement extends DataCloudStatement implements PreparedStatement {
+    // Element types of ARRAY parameters, by Java element class.
+    private static final Map<Class<?>, HyperType> ARRAY_ELEMENT_TYPES = ImmutableMap.<Class<?>, HyperType>builder()
+            .put(Boolean.class, HyperType.bool(true))
+            .put(Byte.class, HyperType.int8(true))
+            .put(Short.class, HyperType.int16(true))
+            .put(Integer.class, HyperType.int32(true))
+            .put(Long.class, HyperType.int64(true))
+            .put(Float.class, HyperType.float4(true))
+            .put(Double.class, HyperType.float8(true))
+            .put(String.class, HyperType.varcharUnlimited(true))
+            .build();
+
     private String sql;
     // Package-private for tests that need to inspect bound parameters.
     final ParameterAccumulator parameters = new ParameterAccumulator();
     private final Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    // State checked out of the connection's statement cache, null if this statement is not cached.
+    private final PreparedStatementCache.Entry cacheEntry;
+    // Keeps the parameter vectors across executions, closed with the statement unless it belongs to cacheEntry.
+    private final ParameterEncoder parameterEncoder;
+    // Parameter sets added with addBatch(), in order.
+    private final List<List<ParameterBinding>> batch = new ArrayList<>();
     // True if we are currently fetching metadata from the server, this influences the query param generation
     // to not return any data.
     private boolean fetchingMetadata = false;
+    private boolean poolable = true;
+    private boolean closed = false;
 
     DataCloudPreparedStatement(DataCloudConnection connection) {
-        super(connection);
+        this(connection, null);
     }
 
     DataCloudPreparedStatement(DataCloudConnection connection, String sql) {
         super(connection);
         this.sql = sql;
+        this.cacheEntry = connection.getStatementCache().checkOut(sql);
+        this.parameterEncoder = cacheEntry == null ? new ParameterEncoder() : cacheEntry.getParameterEncoder();
     }
 
     private <T> void setParameter(int parameterIndex, HyperType type, T value) throws SQLException {
@@ -92,11 +125,15 @@ public boolean execute(String sql) throws SQLException {
     @Override
     protected QueryParam.Builder getQueryParamBuilder(
             String sql, QueryTimeout queryTimeout, QueryParam.TransferMode transferMode) throws SQLException {
+        if (closed) {
+            // A cached statement's parameter vectors may already belong to another statement
+            throw new SQLException("Prepared statement is closed", "HY010");
+        }
         val builder = super.getQueryParamBuilder(sql, queryTimeout, transferMode);
 
-        final byte[] encodedRow;
+        final ByteString encodedRow;
         try {
-            encodedRow = toArrowByteArray(parameters.getParameters(), calendar);
+            encodedRow = parameterEncoder.encode(parameters.getParameters(), calendar);
         } catch (IOException e) {
             throw new SQLException("Failed to encode parameters on prepared statement", e);
         } catch (IllegalArgumentException e) {
@@ -111,9 +148,7 @@ protected QueryParam.Builder getQueryParamBuilder(
         }
 
         return builder.setParamStyle(QueryParam.ParameterStyle.QUESTION_MARK)
-                .setArrowParameters(QueryParameterArrow.newBuilder()
-                        .setData(ByteString.copyFrom(encodedRow))
-                        .build());
+                .setArrowParameters(QueryParameterArrow.newBuilder().setData(encodedRow).build());
     }
 
     public boolean executeAsyncQuery() throws SQLException {
@@ -130,9 +165,56 @@ public boolean execute() throws SQLException {
     @Override
     public ResultSet executeQuery() throws SQLException {
         resultSet = super.executeQuery(sql);
+        // The execution describes the statement as well, later getMetaData() calls for this shape need no RPC
+        if (resultSet instanceof DataCloudResultSet) {
+            rememberColumns(((DataCloudResultSet) resultSet).getColumns());
+        }
         return resultSet;
     }
 
+    private void rememberColumns(List<ColumnMetadata> columns) {
+        connection.getDescribeCache().put(sql, parameters.getParameters(), columns);
+        if (cacheEntry != null) {
+            connection.getStatementCache().putColumns(cacheEntry, parameters.getParameters(), columns);
+        }
+    }
+
+    /**
+     * Closes the statement. If the connection's statement cache is enabled and the statement is poolable, its
+     * parameter vectors and result schema are kept for the next statement prepared with the same SQL.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            super.close();
+        } finally {
+            if (cacheEntry != null && poolable) {
+                connection.getStatementCache().checkIn(sql, cacheEntry);
+            } else {
+                parameterEncoder.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) {
+        this.poolable = poolable;
+    }
+
+    @Override
+    public boolean isPoolable() {
+        return poolable;
+    }
+
     @Override
     public int executeUpdate() throws SQLException {
         throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
@@ -249,6 +331,10 @@ public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQ
             setNull(parameterIndex, Types.NULL);
             return;
         }
+        if (targetSqlType == Types.ARRAY) {
+            setArrayObject(parameterIndex, x);
+            return;
+        }
         // TIMESTAMP (naive): apply wall-clock normalization for legacy Timestamp,
         // or store LocalDateTime digits directly.
         if (targetSqlType == Types.TIMESTAMP) {
@@ -274,7 +360,9 @@ public void setObject(int parameterIndex, Object x) throws SQLException {
         }
 
         TypeHandler handler = TypeHandlers.typeHandlerMap.get(x.getClass());
-        if (handler != null) {
+        if (handler == null && isArrayObject(x)) {
+            setArrayObject(parameterIndex, x);
+        } else if (handler != null) {
             handler.setParameter(this, parameterIndex, x);
         } else {
             String message = "Object type not supported for: " + x.getClass().getSimpleName() + " (value: " + x + ")";
@@ -284,7 +372,136 @@ public void setObject(int parameterIndex, Object x) throws SQLException {
 
     @Override
     public void addBatch() throws SQLException {
-        throw new SQLException(BATCH_EXECUTION_IS_NOT_SUPPORTED, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        batch.add(new ArrayList<>(parameters.getParameters()));
+    }
+
+    @Override
+    public void clearBatch() {
+        batch.clear();
+    }
+
+    /**
+     * Executes the statement once for every parameter set added with {@link #addBatch()}.
+     *
+     * The executions are pipelined over the connection's channel, at most {@code maxConcurrentQueries} of them are in
+     * flight at once. Their results are read and discarded, so every successful entry reports
+     * {@link Statement#SUCCESS_NO_INFO}. All entries are executed even if some fail; failed entries report
+     * {@link Statement#EXECUTE_FAILED} and the first failure is thrown as a {@link BatchUpdateException}. If the
+     * calling thread is interrupted, the entries that did not complete yet are cancelled and the interruption is
+     * thrown right away.
+     */
+    @Override
+    public int[] executeBatch() throws SQLException {
+        val parameterSets = new ArrayList<>(batch);
+        batch.clear();
+        val window = connection.getConnectionProperties().getMaxConcurrentQueries();
+
+        val updateCounts = new int[parameterSets.size()];
+        val inFlight = new ArrayDeque<CompletableFuture<Void>>();
+        val running = new BatchEntries();
+        SQLException firstFailure = null;
+        int submitted = 0;
+        for (int entry = 0; entry < parameterSets.size(); entry++) {
+            while (submitted < parameterSets.size() && submitted - entry < window) {
+                val parameterSet = parameterSets.get(submitted++);
+                inFlight.add(connection.submitTask(() -> executeBatchEntry(parameterSet, running)));
+            }
+            val next = inFlight.poll();
+            try {
+                awaitBatchEntry(next);
+                updateCounts[entry] = SUCCESS_NO_INFO;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                next.cancel(false);
+                inFlight.forEach(future -> future.cancel(false));
+                running.cancel();
+                throw new SQLException("Interrupted while waiting for the batch", "HY008", ex);
+            } catch (SQLException ex) {
+                log.warn("Batch entry failed. entry={}", entry, ex);
+                updateCounts[entry] = EXECUTE_FAILED;
+                if (firstFailure == null) {
+                    firstFailure = ex;
+                }
+            }
+        }
+
+        if (firstFailure != null) {
+            throw new BatchUpdateException(
+                    firstFailure.getMessage(),
+                    firstFailure.getSQLState(),
+                    firstFailure.getErrorCode(),
+                    updateCounts,
+                    firstFailure);
+        }
+        return updateCounts;
+    }
+
+    private Void executeBatchEntry(List<ParameterBinding> parameterSet, BatchEntries running) throws SQLException {
+        try (val entry = new DataCloudPreparedStatement(connection, sql)) {
+            entry.statementProperties = statementProperties;
+            for (int i = 0; i < parameterSet.size(); i++) {
+                val binding = parameterSet.get(i);
+                if (binding != null) {
+                    entry.setParameter(i + 1, binding.getType(), binding.getValue());
+                }
+            }
+            running.add(entry);
+            try (val resultSet = entry.executeQuery()) {
+                // A cancel that came before the query was registered with the entry is applied by closing the result
+                running.checkCancelled();
+                while (resultSet.next()) {}
+            } finally {
+                running.remove(entry);
+            }
+        }
+        return null;
+    }
+
+    private static void awaitBatchEntry(CompletableFuture<Void> future) throws SQLException, InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof SQLException) {
+                throw (SQLException) ex.getCause();
+            }
+            throw new SQLException("Batch entry failed: " + ex.getCause().getMessage(), "HY000", ex.getCause());
+        }
+    }
+
+    /** The entry statements of a batch that are executing, so that an interrupted batch can cancel them. */
+    private static final class BatchEntries {
+        private final List<DataCloudPreparedStatement> statements = new ArrayList<>();
+        private boolean cancelled;
+
+        synchronized void add(DataCloudPreparedStatement statement) throws SQLException {
+            checkCancelled();
+            statements.add(statement);
+        }
+
+        synchronized void checkCancelled() throws SQLException {
+            if (cancelled) {
+                throw new SQLException("Batch was cancelled", "HY008");
+            }
+        }
+
+        synchronized void remove(DataCloudPreparedStatement statement) {
+            statements.remove(statement);
+        }
+
+        void cancel() {
+            final List<DataCloudPreparedStatement> cancelling;
+            synchronized (this) {
+                cancelled = true;
+                cancelling = new ArrayList<>(statements);
+            }
+            for (val statement : cancelling) {
+                try {
+                    statement.cancel();
+                } catch (SQLException ex) {
+                    log.warn("Failed to cancel batch entry", ex);
+                }
+            }
+        }
     }
 
     @Override
@@ -307,9 +524,88 @@ public void setClob(int parameterIndex, Clob x) throws SQLException {
         throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
     }
 
+    /**
+     * Binds the array as a single Arrow list parameter, e.g. for {@code WHERE id = ANY(?)}. Arrays of booleans,
+     * integers, floating point numbers and strings are supported.
+     */
     @Override
     public void setArray(int parameterIndex, Array x) throws SQLException {
-        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        if (x == null) {
+            setNull(parameterIndex, Types.ARRAY);
+            return;
+        }
+        setArrayParameter(parameterIndex, toElementList(x.getArray()), hyperTypeForJdbcCode(x.getBaseType()));
+    }
+
+    /** Binds a {@link Array}, a Java array or a {@link List} as an ARRAY parameter. */
+    private void setArrayObject(int parameterIndex, Object x) throws SQLException {
+        if (x instanceof Array) {
+            setArray(parameterIndex, (Array) x);
+            return;
+        }
+        val elements = toElementList(x);
+        setArrayParameter(parameterIndex, elements, inferElementType(x, elements));
+    }
+
+    private void setArrayParameter(int parameterIndex, List<Object> elements, HyperType elementType)
+            throws SQLException {
+        if (!ARRAY_ELEMENT_TYPES.containsValue(elementType)) {
+            throw new SQLFeatureNotSupportedException(
+                    "ARRAY parameters with " + elementType.getKind() + " elements are not supported",
+                    SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        }
+        setParameter(parameterIndex, HyperType.array(elementType, true), elements);
+    }
+
+    private static boolean isArrayObject(Object x) {
+        // byte[] is binary data rather than an array of TINYINT
+        return x instanceof Array || x instanceof List || (x.getClass().isArray() && !(x instanceof byte[]));
+    }
+
+    private static List<Object> toElementList(Object array) throws SQLException {
+        if (array instanceof List) {
+            // Copied, the caller may reuse its list before the statement is executed
+            return new ArrayList<>((List<?>) array);
+        }
+        if (array == null || !array.getClass().isArray()) {
+            throw new SQLException("Cannot bind " + (array == null ? "null" : array.getClass().getSimpleName())
+                    + " as an ARRAY parameter, expected a Java array or a List");
+        }
+        val length = java.lang.reflect.Array.getLength(array);
+        val elements = new ArrayList<Object>(length);
+        for (int i = 0; i < length; i++) {
+            elements.add(java.lang.reflect.Array.get(array, i));
+        }
+        return elements;
+    }
+
+    private static HyperType inferElementType(Object array, List<Object> elements) throws SQLException {
+        Class<?> elementClass = array.getClass().isArray()
+                ? Primitives.wrap(array.getClass().getComponentType())
+                : Object.class;
+        if (elementClass == Object.class) {
+            // An untyped list or Object[], the first non-null element decides and all others must match
+            elementClass = String.class;
+            for (val element : elements) {
+                if (element != null) {
+                    elementClass = element.getClass();
+                    break;
+                }
+            }
+        }
+        val elementType = ARRAY_ELEMENT_TYPES.get(elementClass);
+        if (elementType == null) {
+            throw new SQLFeatureNotSupportedException(
+                    "ARRAY parameters with " + elementClass.getSimpleName() + " elements are not supported",
+                    SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        }
+        for (val element : elements) {
+            if (element != null && !elementClass.isInstance(element)) {
+                throw new SQLException("All elements of an ARRAY parameter must be of type "
+                        + elementClass.getSimpleName() + ", found " + element.getClass().getSimpleName());
+            }
+        }
+        return elementType;
     }
 
     @Override
@@ -317,10 +613,22 @@ public ResultSetMetaData getMetaData() throws SQLException {
         if ((resultSet != null) && !resultSet.isClosed()) {
             return resultSet.getMetaData();
         }
+        List<ColumnMetadata> cached = cacheEntry == null
+                ? null
+                : connection.getStatementCache().getColumns(cacheEntry, parameters.getParameters());
+        if (cached == null) {
+            cached = connection.getDescribeCache().get(sql, parameters.getParameters());
+        }
+        if (cached != null) {
+            return new DataCloudResultSetMetaData(cached);
+        }
         try {
             fetchingMetadata = true;
             val result = super.executeQuery(sql);
             val metadata = result.getMetaData();
+            if (result instanceof DataCloudResultSet) {
+                rememberColumns(((DataCloudResultSet) result).getColumns());
+            }
             result.close();
             return metadata;
         } finally {
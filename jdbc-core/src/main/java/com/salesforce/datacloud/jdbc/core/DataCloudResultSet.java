@@ -5,12 +5,14 @@
 package com.salesforce.datacloud.jdbc.core;
 
 import com.salesforce.datacloud.jdbc.core.accessor.QueryJDBCAccessor;
+import com.salesforce.datacloud.jdbc.core.accessor.impl.DecimalVectorAccessor;
 import com.salesforce.datacloud.jdbc.core.metadata.DataCloudResultSetMetaData;
 import com.salesforce.datacloud.jdbc.core.resultset.ForwardOnlyResultSet;
 import com.salesforce.datacloud.jdbc.core.resultset.ReadOnlyResultSet;
 import com.salesforce.datacloud.jdbc.core.resultset.ResultSetWithPositionalGetters;
 import com.salesforce.datacloud.jdbc.protocol.QueryResultArrowStream;
 import com.salesforce.datacloud.jdbc.protocol.data.ArrowToHyperTypeMapper;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
 import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
 import com.salesforce.datacloud.query.v3.QueryStatus;
 import java.io.IOException;
@@ -37,13 +39,15 @@
 import java.sql.Types;
 import java.time.ZoneId;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.arrow.memory.BufferAllocator;
-import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
 
 @Slf4j
 public class DataCloudResultSet implements ReadOnlyResultSet, ForwardOnlyResultSet, ResultSetWithPositionalGetters {
@@ -53,20 +57,28 @@ public class DataCloudResultSet implements ReadOnlyResultSet, ForwardOnlyResultS
 
     private final ArrowStreamReaderCursor cursor;
     private final QueryJDBCAccessor[] accessors;
+    private final List<ColumnMetadata> columns;
     private final DataCloudResultSetMetaData metadata;
     private final ColumnNameResolver columnNameResolver;
     ThrowingJdbcSupplier<QueryStatus> getQueryStatus;
+    // Invoked by close() when the result set is closed before all rows were read.
+    private Runnable onEarlyClose;
+    // Invoked by close() in any case, after onEarlyClose.
+    private Runnable onClose;
+    private boolean exhausted;
     private boolean wasNull;
     private boolean closed;
 
     private DataCloudResultSet(
             ArrowStreamReaderCursor cursor,
             String queryId,
+            List<ColumnMetadata> columns,
             DataCloudResultSetMetaData metadata,
             QueryJDBCAccessor[] accessors,
             ColumnNameResolver columnNameResolver) {
         this.cursor = cursor;
         this.queryId = queryId;
+        this.columns = Collections.unmodifiableList(columns);
         this.metadata = metadata;
         this.accessors = accessors;
         this.columnNameResolver = columnNameResolver;
@@ -91,16 +103,31 @@ private DataCloudResultSet(
      */
     public static DataCloudResultSet of(QueryResultArrowStream.Result arrowStream, String queryId, ZoneId sessionZone)
             throws SQLException {
+        return of(arrowStream.getReader(), arrowStream.getAllocator(), queryId, sessionZone);
+    }
+
+    /**
+     * Creates a DataCloudResultSet from any {@link ArrowReader}, e.g. one that populates its vectors directly
+     * instead of decoding an Arrow IPC stream. Ownership of the reader and the allocator transfers to the result set
+     * as for {@link #of(QueryResultArrowStream.Result, String, ZoneId)}.
+     *
+     * @param reader The reader, owned by the result set.
+     * @param allocator The allocator backing the reader, owned by the result set.
+     * @param queryId The query identifier (may be {@code null} for synthesized result sets).
+     * @param sessionZone The session timezone used for timestamp conversions.
+     */
+    public static DataCloudResultSet of(
+            ArrowReader reader, BufferAllocator allocator, String queryId, ZoneId sessionZone) throws SQLException {
         try {
-            return create(arrowStream.getReader(), arrowStream.getAllocator(), queryId, sessionZone);
+            return create(reader, allocator, queryId, sessionZone);
         } catch (SQLException | RuntimeException ex) {
             try {
-                arrowStream.getReader().close();
+                reader.close();
             } catch (Exception suppressed) {
                 ex.addSuppressed(suppressed);
             }
             try {
-                arrowStream.getAllocator().close();
+                allocator.close();
             } catch (Exception suppressed) {
                 ex.addSuppressed(suppressed);
             }
@@ -109,8 +136,7 @@ public static DataCloudResultSet of(QueryResultArrowStream.Result arrowStream, S
     }
 
     private static DataCloudResultSet create(
-            ArrowStreamReader reader, BufferAllocator allocator, String queryId, ZoneId sessionZone)
-            throws SQLException {
+            ArrowReader reader, BufferAllocator allocator, String queryId, ZoneId sessionZone) throws SQLException {
         try {
             val schemaRoot = reader.getVectorSchemaRoot();
             val columns = schemaRoot.getSchema().getFields().stream()
@@ -120,7 +146,7 @@ private static DataCloudResultSet create(
             val cursor = new ArrowStreamReaderCursor(reader, allocator, sessionZone);
             val accessors = cursor.createAccessors().toArray(new QueryJDBCAccessor[0]);
             val columnNameResolver = new ColumnNameResolver(columns);
-            return new DataCloudResultSet(cursor, queryId, metadata, accessors, columnNameResolver);
+            return new DataCloudResultSet(cursor, queryId, columns, metadata, accessors, columnNameResolver);
         } catch (IOException ex) {
             throw new SQLException("Unexpected error during ResultSet creation", "XX000", ex);
         } catch (IllegalArgumentException ex) {
@@ -134,7 +160,27 @@ private static DataCloudResultSet create(
     @Override
     public boolean next() throws SQLException {
         checkClosed();
-        return cursor.next();
+        val hasNext = cursor.next();
+        if (!hasNext) {
+            exhausted = true;
+        }
+        return hasNext;
+    }
+
+    /**
+     * Registers an action that {@link #close()} runs if the result set is closed before {@link #next()} returned
+     * {@code false}, e.g. to cancel the query on the server. The action must not block.
+     */
+    void setOnEarlyClose(Runnable onEarlyClose) {
+        this.onEarlyClose = onEarlyClose;
+    }
+
+    /**
+     * Registers an action that {@link #close()} runs once the result set is closed, e.g. to release resources that
+     * were reserved for the query. The action must not block.
+     */
+    void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
     }
 
     @Override
@@ -147,7 +193,20 @@ public void close() throws SQLException {
         // retried close becomes a no-op instead of double-closing the allocator. Standard
         // AutoCloseable idempotence pattern.
         closed = true;
-        cursor.close();
+        if (!exhausted && onEarlyClose != null) {
+            try {
+                onEarlyClose.run();
+            } catch (RuntimeException ex) {
+                log.warn("Early close action failed for queryId={}", queryId, ex);
+            }
+        }
+        try {
+            cursor.close();
+        } finally {
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
     }
 
     @Override
@@ -187,6 +246,17 @@ public boolean wasNull() throws SQLException {
 
     // --- Accessor dispatch: delegate to QueryJDBCAccessor ---
 
+    /** The result columns; used as the schema key of {@link RowMapper}. */
+    List<ColumnMetadata> getColumns() {
+        return columns;
+    }
+
+    /** The column accessors, for callers that bind column ordinals up-front ({@link RowMapper}). */
+    QueryJDBCAccessor[] getAccessors() throws SQLException {
+        checkClosed();
+        return accessors;
+    }
+
     private QueryJDBCAccessor getAccessor(int columnIndex) throws SQLException {
         checkClosed();
         if (columnIndex <= 0 || columnIndex > accessors.length) {
@@ -281,6 +351,29 @@ public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
         return result;
     }
 
+    /**
+     * Returns the unscaled value of a {@code DECIMAL} / {@code NUMERIC} column as a {@code long}
+     * without materializing a {@link BigDecimal}. Combine it with {@link
+     * ResultSetMetaData#getScale(int)} to reconstruct the value. This always succeeds for columns
+     * with a precision of at most 18.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return the unscaled value, or {@code 0} if the value is SQL {@code NULL}
+     * @throws SQLException if the column is not a decimal column, or with SQLState {@code 22003}
+     *     if the value does not fit into a {@code long}
+     */
+    public long getUnscaledLong(int columnIndex) throws SQLException {
+        val accessor = getAccessor(columnIndex);
+        if (!(accessor instanceof DecimalVectorAccessor)) {
+            throw new SQLFeatureNotSupportedException(
+                    "getUnscaledLong is only supported for decimal columns, column " + columnIndex + " is "
+                            + metadata.getColumnTypeName(columnIndex));
+        }
+        val result = ((DecimalVectorAccessor) accessor).getUnscaledLong();
+        updateWasNull(accessor);
+        return result;
+    }
+
     @Override
     public byte[] getBytes(int columnIndex) throws SQLException {
         val accessor = getAccessor(columnIndex);
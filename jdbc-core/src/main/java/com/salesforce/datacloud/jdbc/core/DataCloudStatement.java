@@ -8,6 +8,8 @@
 
 import com.salesforce.datacloud.jdbc.exception.QueryExceptionHandler;
 import com.salesforce.datacloud.jdbc.protocol.*;
+import com.salesforce.datacloud.jdbc.protocol.grpc.QueryAccessGrpcClient;
+import com.salesforce.datacloud.jdbc.util.Deadline;
 import com.salesforce.datacloud.jdbc.util.QueryTimeout;
 import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
 import com.salesforce.datacloud.query.v3.QueryStatus;
@@ -20,7 +22,6 @@
 import java.time.Duration;
 import java.time.ZoneId;
 import java.util.HashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -28,6 +29,7 @@
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import salesforce.cdp.hyperdb.v1.QueryParam;
+import salesforce.cdp.hyperdb.v1.QueryResult;
 import salesforce.cdp.hyperdb.v1.ResultRange;
 
 @Slf4j
@@ -129,6 +131,9 @@ protected QueryParam.Builder getQueryParamBuilder(
     /** Set on the adaptive path; null on the async path. Used by {@link #getResultSet()}. */
     private QueryResultIterator adaptiveIterator;
 
+    /** Set while the statement reads a query shared with other executions, see {@link QueryCoalescer}. */
+    private volatile QueryCoalescer.Member coalesced;
+
     private void assertQueryExecuted() throws SQLException {
         if (queryHandle == null) {
             throw new SQLException("a query was not executed before attempting to access results");
@@ -193,13 +198,63 @@ public ResultSet executeQuery(String sql) throws SQLException {
         val includeCustomerDetail = connection.getConnectionProperties().isIncludeCustomerDetailInReason();
         try {
             val sessionZone = resolveSessionTimeZone();
-            val iterator = executeAdaptiveQuery(sql);
-            // Resolve queryId once before allocator construction so a throw between arrowStream
-            // creation and DataCloudResultSet.of can't strand the allocator outside its try/catch.
-            val queryId = iterator.getQueryStatus().getQueryId();
-            val arrowStream = SQLExceptionQueryResultIterator.createSqlExceptionArrowStreamReader(
-                    iterator, includeCustomerDetail, queryId, sql);
-            resultSet = DataCloudResultSet.of(arrowStream, queryId, sessionZone);
+            val queryTimeout = QueryTimeout.of(
+                    statementProperties.getQueryTimeout(), statementProperties.getQueryTimeoutLocalEnforcementDelay());
+            val queryParam = buildAdaptiveQueryParam(sql, queryTimeout);
+            val properties = connection.getConnectionProperties();
+            val resultCache = connection.getResultCache();
+            val coalesce = properties.isCoalesceQueries();
+            val key = (resultCache != null || coalesce) && QueryResultCache.isCacheable(sql)
+                    ? new QueryResultCache.Key(connection.getCatalogEndpointKey(), queryParam)
+                    : null;
+            if (key != null && resultCache != null) {
+                val cached = resultCache.get(key, properties.getResultCacheTtl());
+                if (cached != null) {
+                    return replayCachedResult(cached, sessionZone);
+                }
+            }
+
+            QueryCoalescer.Member member = null;
+            if (key != null && coalesce) {
+                member = QueryCoalescer.join(
+                        key,
+                        properties.getCoalesceMaxBufferedBytes(),
+                        queryTimeout.getLocalDeadline(),
+                        this::resumeCoalescedResult);
+                if (!member.isLeader()) {
+                    if (member.awaitStart()) {
+                        return readCoalescedResult(member, sessionZone, sql);
+                    }
+                    // The leader failed to submit the query, run it without sharing
+                    member = null;
+                }
+            }
+
+            boolean started = false;
+            try {
+                val submittedAtMillis = System.currentTimeMillis();
+                val iterator = executeAdaptiveQuery(sql, queryTimeout, queryParam);
+                // Resolve queryId once before allocator construction so a throw between arrowStream
+                // creation and DataCloudResultSet.of can't strand the allocator outside its try/catch.
+                val queryId = iterator.getQueryStatus().getQueryId();
+                CloseableIterator<QueryResult> results = key == null || resultCache == null
+                        ? iterator
+                        : resultCache.record(key, iterator, iterator::getQueryStatus, submittedAtMillis);
+                if (member != null) {
+                    results = member.start(results, iterator::getQueryStatus);
+                    coalesced = member;
+                }
+                started = true;
+                val arrowStream = SQLExceptionQueryResultIterator.createSqlExceptionArrowStreamReader(
+                        results, includeCustomerDetail, queryId, sql);
+                val result = DataCloudResultSet.of(arrowStream, queryId, sessionZone);
+                // A shared query is cancelled once every execution sharing it closed its result set
+                resultSet = member == null ? cancelOnEarlyClose(result, queryId, iterator) : result;
+            } finally {
+                if (member != null && !started) {
+                    member.abandon();
+                }
+            }
             log.info(
                     "executeAdaptiveQuery completed. queryId={}, sessionZone={}",
                     queryHandle.getQueryStatus().getQueryId(),
@@ -214,23 +269,100 @@ public ResultSet executeQuery(String sql) throws SQLException {
         }
     }
 
+    /**
+     * Serves {@link #executeQuery(String)} from a result stored in the connection's {@link QueryResultCache}. The
+     * stored Arrow messages are read by the same stream reader as a live result, and the statement reports the
+     * status of the query that computed them.
+     */
+    private ResultSet replayCachedResult(QueryResultCache.Entry cached, ZoneId sessionZone) throws SQLException {
+        val status = cached.getStatus();
+        adaptiveIterator = null;
+        coalesced = null;
+        queryHandle = new QueryHandle() {
+            @Override
+            public salesforce.cdp.hyperdb.v1.QueryStatus getQueryStatus() {
+                return status;
+            }
+
+            @Override
+            public QueryStatus getStatus() throws SQLException {
+                return QueryStatus.of(status);
+            }
+        };
+        val arrowStream = QueryResultArrowStream.toArrowStreamReader(cached.replay());
+        resultSet = DataCloudResultSet.of(arrowStream, status.getQueryId(), sessionZone);
+        log.info("executeQuery served from the result cache. queryId={}", status.getQueryId());
+        return resultSet;
+    }
+
+    /**
+     * Serves {@link #executeQuery(String)} from a query that another execution submitted, see {@link QueryCoalescer}.
+     * The statement reports the status of the shared query, and the deadline of the shared stream applies, which the
+     * leader's execution started.
+     */
+    private ResultSet readCoalescedResult(QueryCoalescer.Member member, ZoneId sessionZone, String sql)
+            throws SQLException {
+        adaptiveIterator = null;
+        coalesced = member;
+        queryHandle = new QueryHandle() {
+            @Override
+            public salesforce.cdp.hyperdb.v1.QueryStatus getQueryStatus() {
+                return member.getQueryStatus();
+            }
+
+            @Override
+            public QueryStatus getStatus() throws SQLException {
+                return QueryStatus.of(member.getQueryStatus());
+            }
+        };
+        val queryId = member.getQueryStatus().getQueryId();
+        val includeCustomerDetail = connection.getConnectionProperties().isIncludeCustomerDetailInReason();
+        val arrowStream = SQLExceptionQueryResultIterator.createSqlExceptionArrowStreamReader(
+                member, includeCustomerDetail, queryId, sql);
+        resultSet = DataCloudResultSet.of(arrowStream, queryId, sessionZone);
+        log.info("executeQuery shares a running query. queryId={}", queryId);
+        return resultSet;
+    }
+
+    /**
+     * Fetches the rest of a shared query through this statement's connection once it continues on its own, see
+     * {@link QueryCoalescer}. Waits until the server produced the whole result, as row ranges can only be fetched
+     * once they are available.
+     */
+    private CloseableIterator<QueryResult> resumeCoalescedResult(
+            String queryId, long rowOffset, boolean omitSchema, Deadline deadline) throws SQLException {
+        val status = connection.waitFor(queryId, deadline.getRemaining(), QueryStatus::allResultsProduced);
+        val stub = connection.getStub(deadline);
+        return RowRangeIterator.of(
+                QueryAccessGrpcClient.of(queryId, stub),
+                rowOffset,
+                status.getRowCount() - rowOffset,
+                omitSchema,
+                QueryResultArrowStream.OUTPUT_FORMAT);
+    }
+
     private QueryResultIterator executeAdaptiveQuery(String sql) throws SQLException {
         val queryTimeout = QueryTimeout.of(
                 statementProperties.getQueryTimeout(), statementProperties.getQueryTimeoutLocalEnforcementDelay());
+        return executeAdaptiveQuery(sql, queryTimeout, buildAdaptiveQueryParam(sql, queryTimeout));
+    }
+
+    private QueryParam buildAdaptiveQueryParam(String sql, QueryTimeout queryTimeout) throws SQLException {
         val paramBuilder = getQueryParamBuilder(sql, queryTimeout, QueryParam.TransferMode.ADAPTIVE);
         if (targetMaxRows > 0) {
             val range = ResultRange.newBuilder().setRowLimit(targetMaxRows).setByteLimit(targetMaxBytes);
             paramBuilder.setResultRange(range);
             log.info("setting row limit query. maxRows={}, maxBytes={}", (long) targetMaxRows, (long) targetMaxBytes);
         }
-        QueryParam queryParam = paramBuilder.build();
+        return paramBuilder.build();
+    }
 
-        val stub = connection
-                .getStub()
-                .withDeadlineAfter(
-                        queryTimeout.getLocalDeadline().getRemaining().toMillis(), TimeUnit.MILLISECONDS);
+    private QueryResultIterator executeAdaptiveQuery(String sql, QueryTimeout queryTimeout, QueryParam queryParam)
+            throws SQLException {
+        val stub = connection.getStub(queryTimeout.getLocalDeadline());
         val iterator = QueryResultIterator.of(stub, queryParam);
         adaptiveIterator = iterator;
+        coalesced = null;
         queryHandle = new QueryHandle() {
             @Override
             public salesforce.cdp.hyperdb.v1.QueryStatus getQueryStatus() {
@@ -245,6 +377,7 @@ public QueryStatus getStatus() throws SQLException {
         };
         // Ensure query status is initialized
         iterator.hasNext();
+        connection.onExecute(sql);
         return iterator;
     }
 
@@ -255,10 +388,7 @@ protected void executeAsyncQueryInternal(String sql) throws SQLException {
                     statementProperties.getQueryTimeout(), statementProperties.getQueryTimeoutLocalEnforcementDelay());
             val paramBuilder = getQueryParamBuilder(sql, queryTimeout, QueryParam.TransferMode.ASYNC);
             QueryParam queryParam = paramBuilder.build();
-            val stub = connection
-                    .getStub()
-                    .withDeadlineAfter(
-                            queryTimeout.getLocalDeadline().getRemaining().toMillis(), TimeUnit.MILLISECONDS);
+            val stub = connection.getStub(queryTimeout.getLocalDeadline());
 
             // We set the deadline based off the query timeout here as the server-side doesn't properly enforce
             // the query timeout during the initial compilation phase. By setting the deadline, we can ensure
@@ -267,6 +397,8 @@ protected void executeAsyncQueryInternal(String sql) throws SQLException {
             // Seed the observable wrapper from the initial proto so callers see a non-null wrapper
             // before the result set is consumed.
             asyncLatestStatus.set(QueryStatus.of(handle.getQueryStatus()));
+            connection.onExecute(sql);
+            coalesced = null;
             queryHandle = new QueryHandle() {
                 @Override
                 public salesforce.cdp.hyperdb.v1.QueryStatus getQueryStatus() {
@@ -312,10 +444,42 @@ public void close() throws SQLException {
         if (resultSet != null) {
             resultSet.close();
             resultSet = null;
+        } else if (adaptiveIterator != null && statementProperties.isCancelQueryOnEarlyClose()) {
+            // The query was executed but its results were never requested
+            val status = adaptiveIterator.getQueryStatus();
+            if (status != null && !QueryStatus.allResultsProduced(status)) {
+                cancelAsync(status.getQueryId());
+            }
         }
         log.debug("Exiting close");
     }
 
+    /**
+     * Makes {@code result} cancel the query on the server when it is closed before all rows were read, if enabled
+     * through {@link StatementProperties#isCancelQueryOnEarlyClose()}. Queries that already produced all their
+     * results are not cancelled, even if not every row was read.
+     */
+    private DataCloudResultSet cancelOnEarlyClose(DataCloudResultSet result, String queryId, RawQueryHandle handle) {
+        if (statementProperties.isCancelQueryOnEarlyClose() && queryId != null) {
+            result.setOnEarlyClose(() -> {
+                val status = handle.getQueryStatus();
+                if (status == null || !QueryStatus.allResultsProduced(status)) {
+                    cancelAsync(queryId);
+                }
+            });
+        }
+        return result;
+    }
+
+    private void cancelAsync(String queryId) {
+        log.info("Cancelling query closed before its results were consumed. queryId={}", queryId);
+        connection.cancelQueryAsync(queryId).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                log.debug("Early-close cancellation failed. queryId={}", queryId, ex);
+            }
+        });
+    }
+
     @Override
     public int getMaxFieldSize() {
         return 0;
@@ -401,7 +565,8 @@ public void setQueryTimeout(int seconds) {
     }
 
     /**
-     * Cancels the most recently executed query from this statement.
+     * Cancels the most recently executed query from this statement. A query shared with other executions is only
+     * left by this statement, the server query is cancelled once no execution reads it anymore.
      */
     @Override
     public void cancel() throws SQLException {
@@ -410,6 +575,17 @@ public void cancel() throws SQLException {
             return;
         }
 
+        val shared = coalesced;
+        if (shared != null) {
+            try {
+                shared.cancel();
+            } catch (SQLException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new SQLException("Failed to cancel the shared query", "HY000", ex);
+            }
+            return;
+        }
         connection.cancelQuery(getQueryId());
     }
 
@@ -438,7 +614,10 @@ public ResultSet getResultSet() throws SQLException {
                             val queryId = adaptiveIterator.getQueryStatus().getQueryId();
                             val arrowStream = SQLExceptionQueryResultIterator.createSqlExceptionArrowStreamReader(
                                     adaptiveIterator, includeCustomerDetail, queryId, null);
-                            resultSet = DataCloudResultSet.of(arrowStream, queryId, sessionZone);
+                            resultSet = cancelOnEarlyClose(
+                                    DataCloudResultSet.of(arrowStream, queryId, sessionZone),
+                                    queryId,
+                                    adaptiveIterator);
                         } else if (resultSet == null) {
                             log.warn(
                                     "Prefer acquiring async result sets from helper methods DataCloudConnection::getChunkBasedResultSet and DataCloudConnection::getRowBasedResultSet. We will wait for the query's results to be produced in their entirety before returning a result set.");
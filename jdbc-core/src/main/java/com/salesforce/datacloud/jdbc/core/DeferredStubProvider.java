@@ -0,0 +1,123 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.salesforce.datacloud.jdbc.util.Deadline;
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import io.grpc.Status;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
+
+/**
+ * A {@link HyperGrpcStubProvider} whose delegate is created in the background, e.g. after the token exchange that
+ * determines the endpoint of the channel.
+ *
+ * This allows a connection to be returned before its bootstrap finished. Calls that have a deadline wait for the
+ * bootstrap through {@link #await(Deadline)} and time out with it, {@link #getStub()} waits for as long as the
+ * bootstrap takes and fails with {@link Status#UNAVAILABLE} if the bootstrap failed.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class DeferredStubProvider implements HyperGrpcStubProvider {
+    private static final class BootstrapExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("datacloud-jdbc-bootstrap-%d")
+                .build());
+    }
+
+    private final CompletableFuture<? extends HyperGrpcStubProvider> delegate;
+
+    /**
+     * Starts {@code bootstrap} on a background thread and returns a provider that waits for its result.
+     */
+    public static DeferredStubProvider start(ThrowingJdbcSupplier<? extends HyperGrpcStubProvider> bootstrap) {
+        val future = CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return bootstrap.get();
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                BootstrapExecutor.INSTANCE);
+        return new DeferredStubProvider(future);
+    }
+
+    /**
+     * Waits for the bootstrap to finish, at most until the deadline passed. A bootstrap that did not finish in time
+     * keeps running, so that later calls can still use it.
+     *
+     * @param deadline the deadline of the caller
+     * @throws SQLException with state {@code HYT00} if the deadline passed first, or the exception of the bootstrap,
+     *     if it failed
+     */
+    public HyperGrpcStubProvider await(Deadline deadline) throws SQLException {
+        try {
+            return delegate.get(deadline.getRemaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLException("Timed out waiting for the connection to be established", "HYT00", e);
+        } catch (ExecutionException e) {
+            val cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Failed to establish the connection: " + cause.getMessage(), "08001", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while establishing the connection", "08001", e);
+        }
+    }
+
+    @Override
+    public HyperServiceGrpc.HyperServiceStub getStub() {
+        try {
+            return await(Deadline.infinite()).getStub();
+        } catch (SQLException e) {
+            throw Status.UNAVAILABLE
+                    .withDescription("Failed to establish the connection: " + e.getMessage())
+                    .withCause(e)
+                    .asRuntimeException();
+        }
+    }
+
+    /**
+     * Reusable once the bootstrap succeeded and if the delegate's stub is reusable, so that a connection asks for the
+     * stub again after a failed bootstrap.
+     */
+    @Override
+    public boolean isStubReusable() {
+        return delegate.isDone() && !delegate.isCompletedExceptionally() && delegate.join().isStubReusable();
+    }
+
+    /**
+     * Closes the delegate, immediately if the bootstrap finished and otherwise once it finishes.
+     */
+    @Override
+    public void close() {
+        delegate.whenComplete((provider, error) -> {
+            if (provider == null) {
+                return;
+            }
+            try {
+                provider.close();
+            } catch (Exception e) {
+                log.warn("Failed to close stub provider", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterBinding;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * The result schemas of a connection's prepared statements, keyed by SQL text and bound parameter types.
+ *
+ * Filled by {@link DataCloudPreparedStatement#getMetaData()} and by every execution of a prepared statement, so
+ * describing a statement costs one describe query per shape, or none if the statement was already executed. Entries
+ * expire after {@code describeCacheTtl} and are dropped when the connection executes DDL or
+ * {@link DataCloudConnection#invalidateCatalogCache()} is called.
+ */
+final class DescribeCache {
+    private static final int MAXIMUM_SIZE = 1024;
+
+    // Statements that can change the result schema of other statements
+    private static final Pattern CATALOG_CHANGE =
+            Pattern.compile("^\\s*(CREATE|DROP|ALTER|ATTACH|DETACH)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Value
+    private static class Key {
+        String sql;
+        List<HyperType> parameterTypes;
+    }
+
+    private final Cache<Key, List<ColumnMetadata>> schemas;
+
+    /** @param ttl how long a schema is reused, zero disables the cache */
+    DescribeCache(Duration ttl) {
+        this.schemas = ttl.isZero()
+                ? null
+                : CacheBuilder.newBuilder()
+                        .maximumSize(MAXIMUM_SIZE)
+                        .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                        .build();
+    }
+
+    /** Returns the cached result schema, or {@code null} if there is none. */
+    List<ColumnMetadata> get(String sql, List<ParameterBinding> parameters) {
+        return schemas == null ? null : schemas.getIfPresent(key(sql, parameters));
+    }
+
+    void put(String sql, List<ParameterBinding> parameters, List<ColumnMetadata> columns) {
+        if (schemas != null) {
+            schemas.put(key(sql, parameters), columns);
+        }
+    }
+
+    /** Drops all schemas if {@code sql} can change the catalog. */
+    void onExecute(String sql) {
+        if (schemas != null && changesCatalog(sql)) {
+            invalidateAll();
+        }
+    }
+
+    /** Whether executing {@code sql} can change the result schema of other statements. */
+    static boolean changesCatalog(String sql) {
+        return sql != null && CATALOG_CHANGE.matcher(sql).find();
+    }
+
+    void invalidateAll() {
+        if (schemas != null) {
+            schemas.invalidateAll();
+        }
+    }
+
+    private static Key key(String sql, List<ParameterBinding> parameters) {
+        return new Key(sql, parameterTypes(parameters));
+    }
+
+    /** The types of {@code parameters}, {@code null} for unbound positions. */
+    static List<HyperType> parameterTypes(List<ParameterBinding> parameters) {
+        val types = new ArrayList<HyperType>(parameters.size());
+        for (val parameter : parameters) {
+            types.add(parameter == null ? null : parameter.getType());
+        }
+        return types;
+    }
+}
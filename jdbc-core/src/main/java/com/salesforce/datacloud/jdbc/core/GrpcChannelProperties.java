@@ -45,6 +45,11 @@
  * - grpc.retryPolicy.maxBackoff: setting for the defaultServiceConfig map's maxBackoff key default is 30s
  * - grpc.retryPolicy.backoffMultiplier: setting for the defaultServiceConfig map's backoffMultiplier key default is 2.0
  * - grpc.retryPolicy.retryableStatusCodes: setting for the defaultServiceConfig map's retryableStatusCodes key default is [UNAVAILABLE]
+ *
+ * - grpc.channelPoolSize: number of subchannels (each with its own HTTP/2 connection) that calls are striped over, default is 1
+ *
+ * - grpc.channelSharing: share one channel between URL-based connections to the same endpoint, default is true
+ * - grpc.channelSharing.idleSeconds: how long a shared channel stays open after its last connection closed, default is 60 seconds
  */
 @Getter
 @Builder
@@ -63,6 +68,11 @@ public class GrpcChannelProperties {
     public static final String GRPC_RETRY_POLICY_BACKOFF_MULTIPLIER = "grpc.retryPolicy.backoffMultiplier";
     public static final String GRPC_RETRY_POLICY_RETRYABLE_STATUS_CODES = "grpc.retryPolicy.retryableStatusCodes";
 
+    public static final String GRPC_CHANNEL_POOL_SIZE = "grpc.channelPoolSize";
+
+    public static final String GRPC_CHANNEL_SHARING_ENABLED = "grpc.channelSharing";
+    public static final String GRPC_CHANNEL_SHARING_IDLE_SECONDS = "grpc.channelSharing.idleSeconds";
+
     // Keep alive properties
     @Builder.Default
     private final boolean keepAliveEnabled = false;
@@ -98,6 +108,17 @@ public class GrpcChannelProperties {
     @Builder.Default
     private final List<String> retryableStatusCodes = Arrays.asList("UNAVAILABLE");
 
+    // Channel pool properties
+    @Builder.Default
+    private final int channelPoolSize = 1;
+
+    // Channel sharing properties
+    @Builder.Default
+    private final boolean channelSharingEnabled = true;
+
+    @Builder.Default
+    private final int channelSharingIdleSeconds = 60;
+
     public static GrpcChannelProperties defaultProperties() {
         return builder().build();
     }
@@ -156,6 +177,21 @@ public static GrpcChannelProperties ofDestructive(Properties props) throws SQLEx
                     "grpc.enableRetries must be set to true if grpc.retryPolicy.* properties are used", "HY000");
         }
 
+        // Channel pool properties
+        val poolSize = takeOptionalInteger(props, GRPC_CHANNEL_POOL_SIZE);
+        if (poolSize.isPresent() && poolSize.get() < 1) {
+            throw new SQLException(GRPC_CHANNEL_POOL_SIZE + " must be at least 1", "HY000");
+        }
+        poolSize.ifPresent(builder::channelPoolSize);
+
+        // Channel sharing properties
+        takeOptionalBoolean(props, GRPC_CHANNEL_SHARING_ENABLED).ifPresent(builder::channelSharingEnabled);
+        val idleSeconds = takeOptionalInteger(props, GRPC_CHANNEL_SHARING_IDLE_SECONDS);
+        if (idleSeconds.isPresent() && idleSeconds.get() < 0) {
+            throw new SQLException(GRPC_CHANNEL_SHARING_IDLE_SECONDS + " must not be negative", "HY000");
+        }
+        idleSeconds.ifPresent(builder::channelSharingIdleSeconds);
+
         return builder.build();
     }
 
@@ -200,6 +236,15 @@ public Properties toProperties() {
         if (!Arrays.asList("UNAVAILABLE").equals(retryableStatusCodes)) {
             props.setProperty(GRPC_RETRY_POLICY_RETRYABLE_STATUS_CODES, String.join(",", retryableStatusCodes));
         }
+        if (channelPoolSize != 1) {
+            props.setProperty(GRPC_CHANNEL_POOL_SIZE, String.valueOf(channelPoolSize));
+        }
+        if (!channelSharingEnabled) {
+            props.setProperty(GRPC_CHANNEL_SHARING_ENABLED, "false");
+        }
+        if (channelSharingIdleSeconds != 60) {
+            props.setProperty(GRPC_CHANNEL_SHARING_IDLE_SECONDS, String.valueOf(channelSharingIdleSeconds));
+        }
 
         return props;
     }
@@ -22,4 +22,15 @@ public interface HyperGrpcStubProvider extends AutoCloseable {
      * @return the stub
      */
     HyperServiceGrpc.HyperServiceStub getStub();
+
+    /**
+     * Whether a stub returned by {@link #getStub()} may be reused for all calls of a connection, so that the
+     * connection only asks for a stub once. Providers that pick a channel per stub, e.g. from a pool, must keep the
+     * default {@code false}.
+     *
+     * @return true if the stub may be cached
+     */
+    default boolean isStubReusable() {
+        return false;
+    }
 }
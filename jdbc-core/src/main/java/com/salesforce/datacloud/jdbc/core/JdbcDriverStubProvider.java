@@ -4,12 +4,29 @@
  */
 package com.salesforce.datacloud.jdbc.core;
 
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
 
 /**
@@ -24,12 +41,53 @@
 public class JdbcDriverStubProvider implements HyperGrpcStubProvider {
     private final ManagedChannel channel;
 
+    /** The lease on a channel shared with other connections, {@code null} if this provider owns the channel. */
+    private final SharedChannelRegistry.Lease lease;
+
+    /** Interceptors applied per stub, so that connection-specific headers work on shared channels. */
+    private final ClientInterceptor[] stubInterceptors;
+
+    /**
+     * The calls started through this provider's stubs on a shared channel, cancelled by {@link #close()} in place of
+     * shutting down the channel.
+     */
+    private final CallTracker calls = new CallTracker();
+
     /**
      * Configure required settings (inbound message size and user agent) in addition to optional keep alive and retry settings based on the provided properties.
      */
     public static JdbcDriverStubProvider of(ManagedChannelBuilder<?> builder, GrpcChannelProperties properties) {
-        properties.applyToChannel(builder);
-        return new JdbcDriverStubProvider(builder.build());
+        return new JdbcDriverStubProvider(build(builder, properties), null, new ClientInterceptor[0]);
+    }
+
+    /**
+     * Like {@link #of(ManagedChannelBuilder, GrpcChannelProperties)}, but reuses an open channel to the same
+     * {@code target} with the same {@code channelSettings} and {@code properties} if another connection holds one.
+     * The channel builder is only created when a new channel is needed. Closing the provider cancels the calls still
+     * in flight through its stubs and releases the channel, which is shut down once it has not been used by any
+     * connection for {@link GrpcChannelProperties#getChannelSharingIdleSeconds()}.
+     *
+     * @param channelSettings every setting that {@code builderFactory} uses besides {@code target}, e.g. TLS settings
+     * @param stubInterceptors connection-specific interceptors, applied to each stub rather than the shared channel
+     */
+    public static JdbcDriverStubProvider shared(
+            String target,
+            Properties channelSettings,
+            ThrowingJdbcSupplier<ManagedChannelBuilder<?>> builderFactory,
+            GrpcChannelProperties properties,
+            ClientInterceptor... stubInterceptors)
+            throws SQLException {
+        val settings = new Properties();
+        settings.putAll(channelSettings);
+        settings.putAll(properties.toProperties());
+        settings.remove(GrpcChannelProperties.GRPC_CHANNEL_SHARING_ENABLED);
+        settings.remove(GrpcChannelProperties.GRPC_CHANNEL_SHARING_IDLE_SECONDS);
+
+        val lease = SharedChannelRegistry.INSTANCE.acquire(
+                new SharedChannelRegistry.Key(target, settings),
+                Duration.ofSeconds(properties.getChannelSharingIdleSeconds()),
+                () -> build(builderFactory.get(), properties));
+        return new JdbcDriverStubProvider(lease.getChannel(), lease, stubInterceptors);
     }
 
     /**
@@ -39,16 +97,67 @@ public static JdbcDriverStubProvider of(ManagedChannelBuilder<?> builder) {
         return of(builder, GrpcChannelProperties.defaultProperties());
     }
 
+    /**
+     * Builds a single channel, or a {@link StripedManagedChannel} over
+     * {@link GrpcChannelProperties#getChannelPoolSize()} channels from the same builder if more than one is configured.
+     */
+    private static ManagedChannel build(ManagedChannelBuilder<?> builder, GrpcChannelProperties properties) {
+        properties.applyToChannel(builder);
+        if (properties.getChannelPoolSize() == 1) {
+            return builder.build();
+        }
+        val channels = new ArrayList<ManagedChannel>(properties.getChannelPoolSize());
+        for (int i = 0; i < properties.getChannelPoolSize(); i++) {
+            channels.add(builder.build());
+        }
+        return StripedManagedChannel.of(channels);
+    }
+
+    /**
+     * Starts connecting the channel, including name resolution and the TLS handshake, without waiting for it. This
+     * overlaps the connection setup with the caller's work before its first call.
+     *
+     * @return this provider
+     */
+    public JdbcDriverStubProvider warmUp() {
+        channel.getState(true);
+        return this;
+    }
+
     /**
      * Returns a new HyperServiceGrpc.HyperServiceBlockingStub using the configured channel.
      */
     @Override
     public HyperServiceGrpc.HyperServiceStub getStub() {
-        return HyperServiceGrpc.newStub(channel);
+        val stub = HyperServiceGrpc.newStub(channel);
+        if (lease == null) {
+            return stubInterceptors.length == 0 ? stub : stub.withInterceptors(stubInterceptors);
+        }
+        // The first interceptor is the one closest to the channel, so the tracker sees the calls as they go out
+        val interceptors = new ClientInterceptor[stubInterceptors.length + 1];
+        interceptors[0] = calls;
+        System.arraycopy(stubInterceptors, 0, interceptors, 1, stubInterceptors.length);
+        return stub.withInterceptors(interceptors);
+    }
+
+    /**
+     * The stub is bound to this provider's channel, which does not change until the provider is closed.
+     */
+    @Override
+    public boolean isStubReusable() {
+        return true;
     }
 
     @Override
     public void close() {
+        if (lease != null) {
+            // Other connections may still use the channel, so cancel only this connection's in-flight RPCs, like
+            // shutdownNow() does for an owned channel. The registry shuts the channel down once it is idle.
+            calls.cancelAll();
+            lease.close();
+            return;
+        }
+
         if (channel == null || channel.isShutdown() || channel.isTerminated()) {
             return;
         }
@@ -70,4 +179,66 @@ public void close() {
             Thread.currentThread().interrupt();
         }
     }
+
+    /** Tracks the calls in flight through a provider, so that they can be cancelled without the channel. */
+    private static final class CallTracker implements ClientInterceptor {
+        private final Set<TrackedCall<?, ?>> inFlight = new LinkedHashSet<>();
+        private boolean closed;
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+                MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            return new TrackedCall<>(next.newCall(method, callOptions));
+        }
+
+        /** Cancels the calls in flight, and every call started from now on. */
+        void cancelAll() {
+            final ArrayList<TrackedCall<?, ?>> cancelled;
+            synchronized (this) {
+                closed = true;
+                cancelled = new ArrayList<>(inFlight);
+                inFlight.clear();
+            }
+            for (val call : cancelled) {
+                call.cancel("Connection is closed", null);
+            }
+        }
+
+        private final class TrackedCall<ReqT, RespT>
+                extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+            // Guarded by the tracker, the call may complete before start() registered it
+            private boolean done;
+
+            TrackedCall(ClientCall<ReqT, RespT> delegate) {
+                super(delegate);
+            }
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                super.start(
+                        new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                synchronized (CallTracker.this) {
+                                    done = true;
+                                    inFlight.remove(TrackedCall.this);
+                                }
+                                super.onClose(status, trailers);
+                            }
+                        },
+                        headers);
+
+                final boolean cancel;
+                synchronized (CallTracker.this) {
+                    cancel = closed;
+                    if (!closed && !done) {
+                        inFlight.add(this);
+                    }
+                }
+                if (cancel) {
+                    cancel("Connection is closed", null);
+                }
+            }
+        }
+    }
 }
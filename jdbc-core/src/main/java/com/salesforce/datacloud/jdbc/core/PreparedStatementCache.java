@@ -0,0 +1,131 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterBinding;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterEncoder;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * The reusable state of a connection's prepared statements, keyed by SQL text and evicted least recently used first.
+ *
+ * {@link DataCloudConnection#prepareStatement(String)} checks out the entry cached for the SQL text, so the new
+ * statement starts with the parameter vectors, value setters and result schema of an earlier statement with the same
+ * text, and {@link DataCloudPreparedStatement#close()} checks it back in. An entry belongs to one statement at a time:
+ * while it is checked out, statements with the same SQL get a new entry, and only one entry per SQL text is kept.
+ * Like the {@link DescribeCache}, result schemas are only kept if {@code describeCacheTtl} is set, expire after it, and
+ * are forgotten when the connection executes DDL or {@link DataCloudConnection#invalidateCatalogCache()} is called.
+ */
+final class PreparedStatementCache {
+    /** The state a prepared statement leaves behind for the next statement with the same SQL. */
+    static final class Entry {
+        @Getter
+        private final ParameterEncoder parameterEncoder = new ParameterEncoder();
+
+        private List<HyperType> parameterTypes;
+        private List<ColumnMetadata> columns;
+        private long columnsGeneration;
+        private long columnsLearntNanos;
+    }
+
+    private final int maxSize;
+    private final int maxSqlLength;
+    private final long columnsTtlNanos;
+    private final LinkedHashMap<String, Entry> entries;
+    // Incremented on catalog changes, result schemas learnt in an earlier generation are stale
+    private volatile long generation;
+    private boolean closed;
+
+    /**
+     * @param maxSize the maximum number of cached entries, zero disables the cache
+     * @param maxSqlLength statements with longer SQL text are not cached
+     * @param columnsTtl how long a result schema is reused, zero disables caching result schemas
+     */
+    PreparedStatementCache(int maxSize, int maxSqlLength, Duration columnsTtl) {
+        this.maxSize = maxSize;
+        this.maxSqlLength = maxSqlLength;
+        this.columnsTtlNanos = columnsTtl.toNanos();
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= PreparedStatementCache.this.maxSize) {
+                    return false;
+                }
+                eldest.getValue().parameterEncoder.close();
+                return true;
+            }
+        };
+    }
+
+    /** Returns the entry for {@code sql}, or {@code null} if statements with this SQL are not cached. */
+    synchronized Entry checkOut(String sql) {
+        if (!isCacheable(sql) || closed) {
+            return null;
+        }
+        val entry = entries.remove(sql);
+        return entry == null ? new Entry() : entry;
+    }
+
+    /** Returns an entry obtained from {@link #checkOut}, releasing it if the cache does not keep it. */
+    synchronized void checkIn(String sql, Entry entry) {
+        if (closed || entries.containsKey(sql)) {
+            entry.parameterEncoder.close();
+            return;
+        }
+        entries.put(sql, entry);
+    }
+
+    /** Returns the result schema learnt for {@code parameters}' types, or {@code null} if there is none. */
+    List<ColumnMetadata> getColumns(Entry entry, List<ParameterBinding> parameters) {
+        if (entry.columns == null
+                || entry.columnsGeneration != generation
+                || System.nanoTime() - entry.columnsLearntNanos >= columnsTtlNanos
+                || !entry.parameterTypes.equals(DescribeCache.parameterTypes(parameters))) {
+            return null;
+        }
+        return entry.columns;
+    }
+
+    void putColumns(Entry entry, List<ParameterBinding> parameters, List<ColumnMetadata> columns) {
+        if (columnsTtlNanos == 0) {
+            return;
+        }
+        entry.parameterTypes = DescribeCache.parameterTypes(parameters);
+        entry.columns = columns;
+        entry.columnsGeneration = generation;
+        entry.columnsLearntNanos = System.nanoTime();
+    }
+
+    /** Forgets all result schemas if {@code sql} can change the catalog. */
+    void onExecute(String sql) {
+        if (maxSize > 0 && DescribeCache.changesCatalog(sql)) {
+            invalidateColumns();
+        }
+    }
+
+    synchronized void invalidateColumns() {
+        generation++;
+    }
+
+    /** Releases all idle entries, entries checked in later are released right away. */
+    synchronized void close() {
+        closed = true;
+        for (val entry : entries.values()) {
+            entry.parameterEncoder.close();
+        }
+        entries.clear();
+    }
+
+    private boolean isCacheable(String sql) {
+        return maxSize > 0 && sql != null && sql.length() <= maxSqlLength;
+    }
+}
@@ -0,0 +1,482 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.salesforce.datacloud.jdbc.protocol.CloseableIterator;
+import com.salesforce.datacloud.jdbc.util.Deadline;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import salesforce.cdp.hyperdb.v1.QueryResult;
+import salesforce.cdp.hyperdb.v1.QueryStatus;
+
+/**
+ * Shares one server query among concurrent executions of the same query in the JVM, enabled by the
+ * {@code coalesceQueries} connection property.
+ *
+ * Executions are identified by the same {@link QueryResultCache.Key} as cached results. The first execution of a key
+ * leads a flight: it submits the query and hands the result stream to the flight. Executions of the same key that
+ * arrive while the flight is running become members of it instead of submitting their own query, and each member
+ * reads the result messages at its own pace. The member that needs a message no one has received yet pulls it from
+ * the server; received messages are buffered until every member has read them.
+ *
+ * Members can join as long as the buffer still holds the result from its first message, i.e. until the result grew
+ * beyond {@code coalesceMaxBufferedBytes} or was received completely. Beyond that size, a member that needs a new
+ * message while the buffer is full does not wait for the others: the members that lag furthest behind are detached
+ * from the flight until the buffer has room. A detached member continues on its own through its {@link Resumer},
+ * which fetches the rest of the result by query id from the first row the member has not read yet. Members also
+ * continue on their own if the shared stream fails, e.g. because the leader's connection was closed and cancelled it.
+ * Members never wait longer than their own query timeout.
+ *
+ * The query timeout is part of the key, but the deadline of the shared stream starts when the leader submits the
+ * query, so a member that joins later has less time left than its own execution would have had. A member that is
+ * cancelled leaves the flight. The server query is cancelled once every member left it, including the members that
+ * continue on their own, and only then.
+ */
+@Slf4j
+final class QueryCoalescer {
+    private static final Map<QueryResultCache.Key, Flight> FLIGHTS = new ConcurrentHashMap<>();
+
+    private QueryCoalescer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /** Fetches the result of a shared query for a member that continues on its own. */
+    @FunctionalInterface
+    interface Resumer {
+        /**
+         * @param queryId the id of the shared query
+         * @param rowOffset the first row that the member did not read yet
+         * @param omitSchema whether the member already read the schema message
+         * @param deadline the local deadline of the member's execution
+         */
+        CloseableIterator<QueryResult> resume(String queryId, long rowOffset, boolean omitSchema, Deadline deadline)
+                throws SQLException;
+    }
+
+    /**
+     * Joins the running flight of {@code key}, or starts a new flight whose leader the returned member is.
+     *
+     * @param maxBufferedBytes the buffer size up to which members can join a new flight
+     * @param deadline the local deadline of the execution, bounds how long the member waits for the others
+     * @param resumer fetches the rest of the result if the member continues on its own
+     */
+    static Member join(QueryResultCache.Key key, int maxBufferedBytes, Deadline deadline, Resumer resumer) {
+        while (true) {
+            val flight = FLIGHTS.computeIfAbsent(key, k -> new Flight(k, maxBufferedBytes));
+            val member = flight.join(deadline, resumer);
+            if (member != null) {
+                return member;
+            }
+            // The flight stopped accepting members between the lookup and the join
+            FLIGHTS.remove(key, flight);
+        }
+    }
+
+    private enum State {
+        PENDING,
+        STREAMING,
+        ABANDONED
+    }
+
+    private static final class Flight {
+        private final QueryResultCache.Key key;
+        private final int maxBufferedBytes;
+        private final List<Member> members = new ArrayList<>();
+        // Members that continue on their own, the source is kept open until they are done
+        private final List<Member> detached = new ArrayList<>();
+        // Received messages from position `base` on that some member has not read yet
+        private final List<QueryResult> buffer = new ArrayList<>();
+        private long base;
+        private long bufferedBytes;
+        private State state = State.PENDING;
+        private CloseableIterator<QueryResult> source;
+        private Supplier<QueryStatus> status;
+        private boolean joinable = true;
+        private boolean pulling;
+        private boolean exhausted;
+        // Whether the source was closed after the last member left
+        private boolean released;
+        private RuntimeException failure;
+
+        Flight(QueryResultCache.Key key, int maxBufferedBytes) {
+            this.key = key;
+            this.maxBufferedBytes = maxBufferedBytes;
+        }
+
+        synchronized Member join(Deadline deadline, Resumer resumer) {
+            if (!joinable) {
+                return null;
+            }
+            val member = new Member(this, members.isEmpty() && state == State.PENDING, deadline, resumer);
+            members.add(member);
+            return member;
+        }
+
+        synchronized void start(CloseableIterator<QueryResult> source, Supplier<QueryStatus> status) {
+            this.source = source;
+            this.status = status;
+            state = State.STREAMING;
+            notifyAll();
+        }
+
+        synchronized void abandon() {
+            state = State.ABANDONED;
+            stopJoining();
+            notifyAll();
+        }
+
+        synchronized boolean awaitStart(Member member) throws SQLException {
+            while (state == State.PENDING) {
+                if (!awaitChange(member)) {
+                    members.remove(member);
+                    throw new SQLException("Timed out waiting for the shared query to be submitted", "HYT00");
+                }
+            }
+            if (state == State.ABANDONED) {
+                members.remove(member);
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Whether there is a message at the member's position, receiving it if no member has yet.
+         *
+         * @return {@code false} if the result ended, or if the member was detached and has to continue on its own
+         */
+        @SneakyThrows
+        boolean available(Member member) {
+            synchronized (this) {
+                while (true) {
+                    if (member.dropped != null) {
+                        throw member.dropped;
+                    }
+                    if (member.detached) {
+                        return false;
+                    }
+                    if (member.position < base + buffer.size()) {
+                        return true;
+                    }
+                    if (failure != null) {
+                        detach(member);
+                        return false;
+                    }
+                    if (exhausted) {
+                        return false;
+                    }
+                    if (!pulling) {
+                        makeRoom();
+                        pulling = true;
+                        break;
+                    }
+                    if (!awaitChange(member)) {
+                        drop(member, new SQLException("Timed out waiting for the shared query result", "HYT00"));
+                    }
+                }
+            }
+
+            // Receive outside the lock, so that the other members keep reading buffered messages meanwhile
+            QueryResult received = null;
+            RuntimeException error = null;
+            try {
+                if (source.hasNext()) {
+                    received = source.next();
+                }
+            } catch (RuntimeException ex) {
+                error = ex;
+            }
+
+            synchronized (this) {
+                pulling = false;
+                notifyAll();
+                if (error != null) {
+                    log.warn("The shared query stream failed, its members continue on their own", error);
+                    failure = error;
+                    stopJoining();
+                    detach(member);
+                    return false;
+                }
+                if (received == null) {
+                    // Later executions are served by the result cache, if enabled, or run their own query
+                    exhausted = true;
+                    stopJoining();
+                    return false;
+                }
+                buffer.add(received);
+                bufferedBytes += received.getSerializedSize();
+                return true;
+            }
+        }
+
+        /** @return {@code null} if the member was detached since it checked for the message */
+        @SneakyThrows
+        synchronized QueryResult read(Member member) {
+            if (member.dropped != null) {
+                throw member.dropped;
+            }
+            if (member.detached) {
+                return null;
+            }
+            val result = buffer.get((int) (member.position - base));
+            member.position++;
+            if (!joinable) {
+                trim();
+            }
+            return result;
+        }
+
+        /** Removes the member, cancelling the query if it was the last one. */
+        void leave(Member member, SQLException reason) throws Exception {
+            CloseableIterator<QueryResult> abandonedSource = null;
+            synchronized (this) {
+                if (reason != null && member.dropped == null) {
+                    member.dropped = reason;
+                }
+                members.remove(member);
+                detached.remove(member);
+                if (members.isEmpty() && detached.isEmpty() && !released) {
+                    released = true;
+                    stopJoining();
+                    buffer.clear();
+                    bufferedBytes = 0;
+                    abandonedSource = source;
+                } else {
+                    trim();
+                }
+                notifyAll();
+            }
+            if (abandonedSource != null) {
+                abandonedSource.close();
+            }
+        }
+
+        /**
+         * Detaches the members that lag furthest behind until the buffer is below its limit. Called by a member that
+         * read every buffered message, so the buffer is empty at the latest when only such members are left.
+         */
+        private void makeRoom() {
+            if (bufferedBytes < maxBufferedBytes) {
+                return;
+            }
+            // New members need the result from its first message, which the buffer no longer keeps
+            stopJoining();
+            trim();
+            while (bufferedBytes >= maxBufferedBytes) {
+                Member slowest = null;
+                for (val member : members) {
+                    if (slowest == null || member.position < slowest.position) {
+                        slowest = member;
+                    }
+                }
+                log.info(
+                        "Detaching a slow reader from a shared query. bufferedBytes={}, position={}",
+                        bufferedBytes,
+                        slowest.position);
+                detach(slowest);
+            }
+        }
+
+        synchronized boolean isDetached(Member member) {
+            return member.detached;
+        }
+
+        @SneakyThrows
+        synchronized void checkDropped(Member member) {
+            if (member.dropped != null) {
+                throw member.dropped;
+            }
+        }
+
+        /** Detaches the member from the shared stream, it continues on its own from its next read on. */
+        private void detach(Member member) {
+            member.detached = true;
+            members.remove(member);
+            detached.add(member);
+            trim();
+            notifyAll();
+        }
+
+        /** Removes the member from the flight, its next read fails with {@code reason}. */
+        private void drop(Member member, SQLException reason) {
+            member.dropped = reason;
+            members.remove(member);
+            trim();
+            notifyAll();
+        }
+
+        /** Drops the messages that every member has read. */
+        private void trim() {
+            long slowest = base + buffer.size();
+            for (val member : members) {
+                slowest = Math.min(slowest, member.position);
+            }
+            val read = (int) (slowest - base);
+            if (read > 0) {
+                for (val result : buffer.subList(0, read)) {
+                    bufferedBytes -= result.getSerializedSize();
+                }
+                buffer.subList(0, read).clear();
+                base = slowest;
+                notifyAll();
+            }
+        }
+
+        private void stopJoining() {
+            if (joinable) {
+                joinable = false;
+                FLIGHTS.remove(key, this);
+            }
+        }
+
+        /** @return {@code false} if the member's deadline passed */
+        @SneakyThrows
+        private boolean awaitChange(Member member) {
+            val remaining = member.deadline.getRemaining().toNanos();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a coalesced query result", "HY008", ex);
+            }
+        }
+    }
+
+    /** One execution's view of a flight, reading the shared result from the start. */
+    static final class Member implements CloseableIterator<QueryResult> {
+        private final Flight flight;
+        private final boolean leader;
+        private final Deadline deadline;
+        private final Resumer resumer;
+        private long position;
+        // The rows in the messages read from the shared stream, where the member continues on its own
+        private long rowsRead;
+        // Guarded by the flight, set once the member was removed from it
+        private SQLException dropped;
+        // Guarded by the flight, set once the member has to continue on its own
+        private boolean detached;
+        // The rest of the result once the member continues on its own
+        private volatile CloseableIterator<QueryResult> own;
+        private volatile boolean closed;
+
+        private Member(Flight flight, boolean leader, Deadline deadline, Resumer resumer) {
+            this.flight = flight;
+            this.leader = leader;
+            this.deadline = deadline;
+            this.resumer = resumer;
+        }
+
+        /** Whether this execution has to submit the query and {@link #start} the flight. */
+        boolean isLeader() {
+            return leader;
+        }
+
+        /** Shares the leader's result stream with the flight, returns the leader's own view of it. */
+        CloseableIterator<QueryResult> start(CloseableIterator<QueryResult> source, Supplier<QueryStatus> status) {
+            flight.start(source, status);
+            return this;
+        }
+
+        /** Called by the leader if submitting the query failed, the other members then run their own query. */
+        void abandon() {
+            flight.abandon();
+        }
+
+        /**
+         * Waits until the leader submitted the query, at most until the member's deadline.
+         *
+         * @return {@code false} if the leader failed to, the caller then has to run the query itself
+         */
+        boolean awaitStart() throws SQLException {
+            return flight.awaitStart(this);
+        }
+
+        /** The status of the shared query, as far as its result was received. */
+        QueryStatus getQueryStatus() {
+            return flight.status.get();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (own == null) {
+                if (flight.available(this)) {
+                    return true;
+                }
+                if (!flight.isDetached(this)) {
+                    return false;
+                }
+                own = resume();
+            }
+            flight.checkDropped(this);
+            return own.hasNext();
+        }
+
+        @Override
+        public QueryResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (own == null) {
+                val result = flight.read(this);
+                if (result != null) {
+                    rowsRead += result.getResultPartRowCount();
+                    return result;
+                }
+                // Detached since the check above
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+            }
+            return own.next();
+        }
+
+        @SneakyThrows
+        private CloseableIterator<QueryResult> resume() {
+            val queryId = flight.status.get().getQueryId();
+            log.info("Continuing a shared query on its own. queryId={}, rowOffset={}", queryId, rowsRead);
+            // The first message of the shared stream carries the schema
+            return resumer.resume(queryId, rowsRead, position > 0, deadline);
+        }
+
+        /**
+         * Leaves the flight on behalf of a cancelled execution, whose next read fails. The shared query is only
+         * cancelled if no other member is left.
+         */
+        void cancel() throws Exception {
+            flight.leave(this, new SQLException("Query was cancelled", "HY008"));
+            val resumed = own;
+            if (resumed != null) {
+                resumed.close();
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (!closed) {
+                closed = true;
+                flight.leave(this, null);
+                val resumed = own;
+                if (resumed != null) {
+                    resumed.close();
+                }
+            }
+        }
+    }
+}
@@ -56,6 +56,7 @@ final class QueryMetadataUtil {
     private static final int SOURCE_DATA_TYPE_INDEX = 21;
     private static final int AUTO_INCREMENT_INDEX = 22;
     private static final int GENERATED_COLUMN_INDEX = 23;
+    private static final int COLUMN_PAGE_ROWS = 4096;
 
     private QueryMetadataUtil() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -63,15 +64,27 @@ private QueryMetadataUtil() {
 
     public static ResultSet createTableResultSet(
             String schemaPattern, String tableNamePattern, String[] types, Connection connection) throws SQLException {
-        final List<Object> data;
+        val cache = CatalogSnapshotCache.of(connection);
+        if (cache != null) {
+            val kind = "tables" + (types == null ? "" : Arrays.toString(types));
+            val index = cache.get(
+                    kind,
+                    () -> new CatalogIndex(
+                            queryTableData(null, null, types, connection), TABLE_SCHEMA_INDEX, TABLE_NAME_INDEX));
+            return getMetadataResultSet(MetadataSchemas.TABLES, index.filter(schemaPattern, tableNamePattern));
+        }
+
+        return getMetadataResultSet(
+                MetadataSchemas.TABLES, queryTableData(schemaPattern, tableNamePattern, types, connection));
+    }
 
+    private static List<Object> queryTableData(
+            String schemaPattern, String tableNamePattern, String[] types, Connection connection) throws SQLException {
         try (val statement = connection.createStatement()) {
             val tablesQuery = getTablesQuery(schemaPattern, tableNamePattern, types);
             val resultSet = statement.executeQuery(tablesQuery);
-            data = constructTableData(resultSet);
+            return constructTableData(resultSet);
         }
-
-        return getMetadataResultSet(MetadataSchemas.TABLES, data);
     }
 
     static ResultSet getMetadataResultSet(List<ColumnMetadata> columns, List<Object> data) throws SQLException {
@@ -128,16 +141,57 @@ private static String getTablesQuery(String schemaPattern, String tableNamePatte
     public static ResultSet createColumnResultSet(
             String schemaPattern, String tableNamePattern, String columnNamePattern, Connection connection)
             throws SQLException {
+        val cache = CatalogSnapshotCache.of(connection);
+        if (cache != null) {
+            val index = cache.get(
+                    "columns",
+                    () -> new CatalogIndex(
+                            queryColumnData(null, null, null, connection),
+                            TABLE_SCHEMA_INDEX,
+                            TABLE_NAME_INDEX,
+                            COLUMN_NAME_INDEX));
+            return getMetadataResultSet(
+                    MetadataSchemas.COLUMNS, index.filter(schemaPattern, tableNamePattern, columnNamePattern));
+        }
 
-        final List<Object> data;
+        return streamColumnData(schemaPattern, tableNamePattern, columnNamePattern, connection);
+    }
+
+    /**
+     * Streams the columns into the returned result set page by page while it is iterated, so that wide catalogs are
+     * never fully materialised. The catalog statement stays open until the returned result set is closed.
+     */
+    private static ResultSet streamColumnData(
+            String schemaPattern, String tableNamePattern, String columnNamePattern, Connection connection)
+            throws SQLException {
+        val statement = connection.createStatement();
+        try {
+            val resultSet =
+                    statement.executeQuery(getColumnsQueryInner(schemaPattern, tableNamePattern, columnNamePattern));
+            return MetadataResultSets.ofPages(
+                    MetadataSchemas.COLUMNS,
+                    () -> {
+                        List<List<Object>> page = new ArrayList<>();
+                        while (page.size() < COLUMN_PAGE_ROWS && resultSet.next()) {
+                            page.add(constructColumnRow(resultSet));
+                        }
+                        return page;
+                    },
+                    statement);
+        } catch (SQLException | RuntimeException ex) {
+            statement.close();
+            throw ex;
+        }
+    }
 
+    private static List<Object> queryColumnData(
+            String schemaPattern, String tableNamePattern, String columnNamePattern, Connection connection)
+            throws SQLException {
         try (val statement = connection.createStatement()) {
             val getColumnsQuery = getColumnsQueryInner(schemaPattern, tableNamePattern, columnNamePattern);
             val resultSet = statement.executeQuery(getColumnsQuery);
-            data = constructColumnData(resultSet);
+            return constructColumnData(resultSet);
         }
-
-        return getMetadataResultSet(MetadataSchemas.COLUMNS, data);
     }
 
     private static String getColumnsQueryInner(
@@ -161,79 +215,88 @@ private static String getColumnsQueryInner(
     private static List<Object> constructColumnData(ResultSet resultSet) throws SQLException {
         List<Object> data = new ArrayList<>();
         while (resultSet.next()) {
-            Object[] rowData = new Object[24];
-
-            rowData[TABLE_CATALOG_INDEX] = null;
-            rowData[TABLE_SCHEMA_INDEX] = resultSet.getString("nspname");
-            rowData[TABLE_NAME_INDEX] = resultSet.getString("relname");
-            rowData[COLUMN_NAME_INDEX] = resultSet.getString("attname");
-
-            boolean notNull = resultSet.getBoolean("attnotnull");
-            String datatype = resultSet.getString("datatype");
-            HyperType hyperType;
-            try {
-                hyperType = PgCatalogTypeParser.parse(datatype, !notNull);
-            } catch (IllegalArgumentException ex) {
-                // Hyper may surface system-catalog types the driver does not model
-                // (e.g. aclitem, array(aclitem), tsvector). Callers that scan
-                // getColumns(null, null, null, null) will walk into pg_catalog and hit
-                // these — failing the whole metadata query is too aggressive, so we fall
-                // back to an UNKNOWN HyperType that preserves the raw name for debugging
-                // but surfaces as java.sql.Types.OTHER over JDBC.
-                hyperType = HyperType.unknown(datatype, !notNull);
-            }
-
-            rowData[DATA_TYPE_INDEX] = HyperTypes.toJdbcTypeCode(hyperType);
-            rowData[TYPE_NAME_INDEX] = HyperTypes.toJdbcTypeName(hyperType);
-
-            // COLUMN_SIZE: per JDBC spec this is the declared precision (digits for numerics,
-            // characters for strings). HyperTypes.getPrecision already implements this for
-            // every HyperTypeKind, so we just forward.
-            int columnSize = HyperTypes.getPrecision(hyperType);
-            rowData[COLUMN_SIZE_INDEX] = columnSize;
-
-            // DECIMAL_DIGITS: only meaningful for fixed-scale decimals; for those the scale
-            // comes from the HyperType that PgCatalogTypeParser extracted from
-            // format_type(atttypmod) (e.g. "numeric(10,5)" → scale=5).
-            rowData[DECIMAL_DIGITS_INDEX] = HyperTypes.needsDecimalDigits(hyperType) ? hyperType.getScale() : 0;
-            rowData[NUM_PREC_RADIX_INDEX] = 10;
-            rowData[NULLABLE_INDEX] = notNull ? DatabaseMetaData.columnNoNulls : DatabaseMetaData.columnNullable;
-            rowData[DESCRIPTION_INDEX] = resultSet.getString("description");
-            rowData[COLUMN_DEFAULT_INDEX] = resultSet.getString("adsrc");
-            rowData[SQL_DATA_TYPE_INDEX] = null;
-            rowData[SQL_DATE_TIME_SUB_INDEX] = null;
-            rowData[CHAR_OCTET_LENGTH_INDEX] = HyperTypes.needsCharOctetLength(hyperType) ? columnSize : null;
-            rowData[ORDINAL_POSITION_INDEX] = resultSet.getInt("attnum");
-            rowData[IS_NULLABLE_INDEX] = notNull ? "NO" : "YES";
-            rowData[SCOPE_CATALOG_INDEX] = null;
-            rowData[SCOPE_SCHEMA_INDEX] = null;
-            rowData[SCOPE_TABLE_INDEX] = null;
-            rowData[SOURCE_DATA_TYPE_INDEX] = null;
-
-            String identity = resultSet.getString("attidentity");
-            String defval = resultSet.getString("adsrc");
-            rowData[AUTO_INCREMENT_INDEX] =
-                    (defval != null && defval.contains("nextval(")) || identity != null ? "YES" : "NO";
-
-            String generated = resultSet.getString("attgenerated");
-            rowData[GENERATED_COLUMN_INDEX] = generated != null ? "YES" : "NO";
-
-            data.add(Arrays.asList(rowData));
+            data.add(constructColumnRow(resultSet));
         }
         return data;
     }
 
+    private static List<Object> constructColumnRow(ResultSet resultSet) throws SQLException {
+        Object[] rowData = new Object[24];
+
+        rowData[TABLE_CATALOG_INDEX] = null;
+        rowData[TABLE_SCHEMA_INDEX] = resultSet.getString("nspname");
+        rowData[TABLE_NAME_INDEX] = resultSet.getString("relname");
+        rowData[COLUMN_NAME_INDEX] = resultSet.getString("attname");
+
+        boolean notNull = resultSet.getBoolean("attnotnull");
+        String datatype = resultSet.getString("datatype");
+        HyperType hyperType;
+        try {
+            hyperType = PgCatalogTypeParser.parse(datatype, !notNull);
+        } catch (IllegalArgumentException ex) {
+            // Hyper may surface system-catalog types the driver does not model
+            // (e.g. aclitem, array(aclitem), tsvector). Callers that scan
+            // getColumns(null, null, null, null) will walk into pg_catalog and hit
+            // these — failing the whole metadata query is too aggressive, so we fall
+            // back to an UNKNOWN HyperType that preserves the raw name for debugging
+            // but surfaces as java.sql.Types.OTHER over JDBC.
+            hyperType = HyperType.unknown(datatype, !notNull);
+        }
+
+        rowData[DATA_TYPE_INDEX] = HyperTypes.toJdbcTypeCode(hyperType);
+        rowData[TYPE_NAME_INDEX] = HyperTypes.toJdbcTypeName(hyperType);
+
+        // COLUMN_SIZE: per JDBC spec this is the declared precision (digits for numerics,
+        // characters for strings). HyperTypes.getPrecision already implements this for
+        // every HyperTypeKind, so we just forward.
+        int columnSize = HyperTypes.getPrecision(hyperType);
+        rowData[COLUMN_SIZE_INDEX] = columnSize;
+
+        // DECIMAL_DIGITS: only meaningful for fixed-scale decimals; for those the scale
+        // comes from the HyperType that PgCatalogTypeParser extracted from
+        // format_type(atttypmod) (e.g. "numeric(10,5)" → scale=5).
+        rowData[DECIMAL_DIGITS_INDEX] = HyperTypes.needsDecimalDigits(hyperType) ? hyperType.getScale() : 0;
+        rowData[NUM_PREC_RADIX_INDEX] = 10;
+        rowData[NULLABLE_INDEX] = notNull ? DatabaseMetaData.columnNoNulls : DatabaseMetaData.columnNullable;
+        rowData[DESCRIPTION_INDEX] = resultSet.getString("description");
+        rowData[COLUMN_DEFAULT_INDEX] = resultSet.getString("adsrc");
+        rowData[SQL_DATA_TYPE_INDEX] = null;
+        rowData[SQL_DATE_TIME_SUB_INDEX] = null;
+        rowData[CHAR_OCTET_LENGTH_INDEX] = HyperTypes.needsCharOctetLength(hyperType) ? columnSize : null;
+        rowData[ORDINAL_POSITION_INDEX] = resultSet.getInt("attnum");
+        rowData[IS_NULLABLE_INDEX] = notNull ? "NO" : "YES";
+        rowData[SCOPE_CATALOG_INDEX] = null;
+        rowData[SCOPE_SCHEMA_INDEX] = null;
+        rowData[SCOPE_TABLE_INDEX] = null;
+        rowData[SOURCE_DATA_TYPE_INDEX] = null;
+
+        String identity = resultSet.getString("attidentity");
+        String defval = resultSet.getString("adsrc");
+        rowData[AUTO_INCREMENT_INDEX] =
+                (defval != null && defval.contains("nextval(")) || identity != null ? "YES" : "NO";
+
+        String generated = resultSet.getString("attgenerated");
+        rowData[GENERATED_COLUMN_INDEX] = generated != null ? "YES" : "NO";
+
+        return Arrays.asList(rowData);
+    }
+
     public static ResultSet createSchemaResultSet(String schemaPattern, Connection connection) throws SQLException {
+        val cache = CatalogSnapshotCache.of(connection);
+        if (cache != null) {
+            val index = cache.get("schemas", () -> new CatalogIndex(querySchemaData(null, connection), 0));
+            return getMetadataResultSet(MetadataSchemas.SCHEMAS, index.filter(schemaPattern));
+        }
 
-        final List<Object> data;
+        return getMetadataResultSet(MetadataSchemas.SCHEMAS, querySchemaData(schemaPattern, connection));
+    }
 
+    private static List<Object> querySchemaData(String schemaPattern, Connection connection) throws SQLException {
         try (val statement = connection.createStatement()) {
             val schemasQuery = getSchemasQuery(schemaPattern);
             val resultSet = statement.executeQuery(schemasQuery);
-            data = constructSchemaData(resultSet);
+            return constructSchemaData(resultSet);
         }
-
-        return getMetadataResultSet(MetadataSchemas.SCHEMAS, data);
     }
 
     private static String getSchemasQuery(String schemaPattern) {
@@ -0,0 +1,200 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import com.salesforce.datacloud.jdbc.protocol.CloseableIterator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import salesforce.cdp.hyperdb.v1.QueryParam;
+import salesforce.cdp.hyperdb.v1.QueryResult;
+import salesforce.cdp.hyperdb.v1.QueryResultPartBinary;
+import salesforce.cdp.hyperdb.v1.QueryStatus;
+
+/**
+ * Arrow results of queries, shared by all connections in the JVM that use the same capacity.
+ *
+ * A result is keyed by the connection's endpoint key (endpoint, user and connection settings) and the complete
+ * {@link QueryParam} of the execution, i.e. SQL, encoded parameters, query settings, attached databases and result
+ * limits. It is stored as the Arrow IPC messages the server sent, and a hit replays them through the same Arrow
+ * stream reader as a live result. Only results whose stream completed and whose final status reports no staleness
+ * reasons are stored; a result is served for {@code resultCacheTtl} after it was computed, which is
+ * {@code result_computed_at} when the server itself answered from its result cache and the submission time
+ * otherwise. Results of a single query larger than an eighth of the capacity are not stored.
+ *
+ * Only queries are cached. Any other statement executed on a connection, and
+ * {@link DataCloudConnection#invalidateCatalogCache()}, drop the cached results of its endpoint.
+ */
+@Slf4j
+final class QueryResultCache {
+    private static final Map<Integer, QueryResultCache> SHARED = new ConcurrentHashMap<>();
+
+    // Queries whose results can be replayed, everything else may change data or the catalog
+    private static final Pattern QUERY = Pattern.compile("^[\\s(]*(SELECT|WITH|VALUES)\\b", Pattern.CASE_INSENSITIVE);
+
+    // Accounts for the per-message bookkeeping next to the IPC bytes
+    private static final int MESSAGE_OVERHEAD_BYTES = 64;
+
+    @Value
+    static class Key {
+        String endpointKey;
+        QueryParam queryParam;
+    }
+
+    /** A stored result, the IPC messages in the order the server sent them. */
+    @Value
+    static class Entry {
+        List<ByteString> messages;
+        QueryStatus status;
+        long computedAtMillis;
+        int weight;
+
+        /** Replays the messages as the {@link QueryResult} stream they arrived in. */
+        CloseableIterator<QueryResult> replay() {
+            val iterator = messages.iterator();
+            return new CloseableIterator<QueryResult>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public QueryResult next() {
+                    return QueryResult.newBuilder()
+                            .setBinaryPart(QueryResultPartBinary.newBuilder().setData(iterator.next()))
+                            .build();
+                }
+
+                @Override
+                public void close() {}
+            };
+        }
+    }
+
+    private final Cache<Key, Entry> results;
+    private final int maxEntryBytes;
+
+    private QueryResultCache(int maxBytes) {
+        this.results = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.getWeight())
+                .build();
+        this.maxEntryBytes = maxBytes / 8;
+    }
+
+    /**
+     * Returns the cache shared by all connections configured with the given capacity.
+     *
+     * @param maxBytes the maximum total size of the stored results, at least 1
+     */
+    static QueryResultCache shared(int maxBytes) {
+        return SHARED.computeIfAbsent(maxBytes, QueryResultCache::new);
+    }
+
+    /** Creates a cache that is not shared, e.g. for tests. */
+    static QueryResultCache create(int maxBytes) {
+        return new QueryResultCache(maxBytes);
+    }
+
+    /** Whether the results of {@code sql} may be cached. */
+    static boolean isCacheable(String sql) {
+        return sql != null && QUERY.matcher(sql).find();
+    }
+
+    /** Returns the stored result if it was computed less than {@code ttl} ago, or {@code null}. */
+    Entry get(Key key, Duration ttl) {
+        val entry = results.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.getComputedAtMillis() >= ttl.toMillis()) {
+            results.asMap().remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Wraps the live result stream of {@code key}, storing the result once the stream is exhausted.
+     *
+     * @param status the query status, read once the stream is exhausted
+     * @param submittedAtMillis when the query was submitted, the age of results the server computed anew
+     */
+    CloseableIterator<QueryResult> record(
+            Key key, CloseableIterator<QueryResult> live, Supplier<QueryStatus> status, long submittedAtMillis) {
+        return new CloseableIterator<QueryResult>() {
+            private List<ByteString> messages = new ArrayList<>();
+            private int weight;
+
+            @Override
+            public boolean hasNext() {
+                val hasNext = live.hasNext();
+                if (!hasNext && messages != null) {
+                    store(key, messages, weight, status.get(), submittedAtMillis);
+                    messages = null;
+                }
+                return hasNext;
+            }
+
+            @Override
+            public QueryResult next() {
+                val result = live.next();
+                if (messages != null && result.hasBinaryPart()) {
+                    val data = result.getBinaryPart().getData();
+                    weight += data.size() + MESSAGE_OVERHEAD_BYTES;
+                    if (weight > maxEntryBytes) {
+                        // Too large to keep, stream the rest without recording it
+                        messages = null;
+                    } else {
+                        messages.add(data);
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public void close() throws Exception {
+                // A stream closed before it was exhausted is incomplete and not stored
+                messages = null;
+                live.close();
+            }
+        };
+    }
+
+    private void store(Key key, List<ByteString> messages, int weight, QueryStatus status, long submittedAtMillis) {
+        if (status == null
+                || status.getCompletionStatus() == QueryStatus.CompletionStatus.RUNNING_OR_UNSPECIFIED
+                || status.getStalenessReasonsCount() > 0) {
+            log.debug("Not caching query result. status={}", status);
+            return;
+        }
+        val computedAt = status.getResultComputedAt();
+        val computedAtMillis = status.hasResultComputedAt()
+                ? computedAt.getSeconds() * 1000 + computedAt.getNanos() / 1_000_000
+                : submittedAtMillis;
+        results.put(key, new Entry(messages, status, computedAtMillis, weight));
+    }
+
+    /** Drops all stored results of the given endpoint. */
+    void invalidate(String endpointKey) {
+        Iterator<Key> keys = results.asMap().keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().getEndpointKey().equals(endpointKey)) {
+                keys.remove();
+            }
+        }
+    }
+}
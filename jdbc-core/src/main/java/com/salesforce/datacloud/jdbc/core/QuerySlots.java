@@ -0,0 +1,96 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import lombok.Value;
+import lombok.val;
+
+/**
+ * The {@code maxConcurrentQueries} slots of a connection.
+ *
+ * A submitted task runs on its executor once it holds a slot, and the slot is handed to the next waiting task when
+ * it is released. Waiting tasks are queued in submission order and do not occupy a thread, so any number of queries
+ * can be submitted at once. Closing the slots rejects the waiting tasks.
+ */
+final class QuerySlots {
+    @Value
+    private static class Waiting {
+        Executor executor;
+        Runnable task;
+        Consumer<SQLException> reject;
+    }
+
+    private final Queue<Waiting> waiting = new ArrayDeque<>();
+    private int available;
+    private boolean closed;
+
+    QuerySlots(int slots) {
+        this.available = slots;
+    }
+
+    /**
+     * Runs {@code task} on {@code executor} once a slot is free. The task holds the slot until it calls
+     * {@link #release()}, which it must call exactly once.
+     *
+     * @param reject called instead of running the task if the slots are closed or the executor rejects the task
+     */
+    void submit(Executor executor, Runnable task, Consumer<SQLException> reject) {
+        val submitted = new Waiting(executor, task, reject);
+        synchronized (this) {
+            if (closed) {
+                reject.accept(new SQLException("Connection is closed", "08003"));
+                return;
+            }
+            if (available == 0) {
+                waiting.add(submitted);
+                return;
+            }
+            available--;
+        }
+        start(submitted);
+    }
+
+    /** Frees a slot, starting the next waiting task with it. */
+    void release() {
+        final Waiting next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                available++;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    /** Rejects the waiting tasks and every task submitted from now on. */
+    void close() {
+        final ArrayList<Waiting> rejected;
+        synchronized (this) {
+            closed = true;
+            rejected = new ArrayList<>(waiting);
+            waiting.clear();
+        }
+        for (val task : rejected) {
+            task.getReject()
+                    .accept(new SQLException("Connection was closed while the query waited for a slot", "08003"));
+        }
+    }
+
+    private void start(Waiting task) {
+        try {
+            task.getExecutor().execute(task.getTask());
+        } catch (RuntimeException ex) {
+            release();
+            task.getReject().accept(new SQLException("Failed to submit query", "HY000", ex));
+        }
+    }
+}
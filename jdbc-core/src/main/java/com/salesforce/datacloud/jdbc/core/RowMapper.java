@@ -0,0 +1,710 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.salesforce.datacloud.jdbc.core.accessor.QueryJDBCAccessor;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Maps the rows of a {@link DataCloudResultSet} to instances of a Java class.
+ *
+ * <p>A mapper is generated once for a (schema, type) pair: properties are matched to columns by
+ * name (exact, then case-insensitive, then ignoring underscores so that {@code first_name} maps to
+ * {@code firstName}), the column ordinals are bound up-front and every property gets a {@link
+ * MethodHandle} typed to its exact signature, so reading a row calls the primitive accessor of
+ * the column and the setter without boxing, column name lookups or reflection. The properties are
+ * grouped by type, and a row is populated by one loop per type, so that every loop calls the same
+ * accessor method and setter shape instead of dispatching on each cell. Use {@link
+ * DataCloudConnection#getRowMapper(DataCloudResultSet, Class)} to get a mapper that is cached
+ * per connection.
+ *
+ * <p>Supported target types are
+ * <ul>
+ *   <li>classes with a no-argument constructor, populated through public single-argument {@code
+ *       setXxx} methods or, if there is no setter, through non-final instance fields;
+ *   <li>records (on Java 16+), constructed through their canonical constructor.
+ * </ul>
+ * SQL {@code NULL} leaves a property at the value assigned by the constructor (for records: {@code
+ * null}, or {@code 0} / {@code false} for primitive components). Columns without a matching
+ * property are ignored.
+ *
+ * @param <T> the target type
+ */
+public final class RowMapper<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    @Getter
+    private final Class<T> type;
+
+    private final List<ColumnMetadata> columns;
+    private final Instantiator<T> instantiator;
+    private final RowWriter writer;
+
+    private RowMapper(
+            Class<T> type, List<ColumnMetadata> columns, Instantiator<T> instantiator, RowWriter.Builder writer) {
+        this.type = type;
+        this.columns = columns;
+        this.instantiator = instantiator;
+        this.writer = writer.build();
+    }
+
+    /**
+     * Generates a mapper from result sets with the given columns to {@code type}. Prefer {@link
+     * DataCloudConnection#getRowMapper(DataCloudResultSet, Class)}, which caches the result.
+     *
+     * @throws SQLException with SQLState {@code 0A000} if {@code type} cannot be instantiated
+     */
+    public static <T> RowMapper<T> of(@NonNull List<ColumnMetadata> columns, @NonNull Class<T> type)
+            throws SQLException {
+        val copy = Collections.unmodifiableList(new ArrayList<>(columns));
+        val resolver = new PropertyResolver(copy);
+        try {
+            val recordComponents = RecordSupport.components(type);
+            if (recordComponents != null) {
+                return forRecord(type, copy, resolver, recordComponents);
+            }
+            return forBean(type, copy, resolver);
+        } catch (IllegalAccessException | NoSuchMethodException | RuntimeException ex) {
+            throw new SQLException(
+                    "Cannot generate a row mapper for " + type.getName() + ": " + ex.getMessage(),
+                    SqlErrorCodes.FEATURE_NOT_SUPPORTED,
+                    ex);
+        }
+    }
+
+    /**
+     * Maps the current row of {@code resultSet}.
+     *
+     * @throws SQLException if the result set does not have the schema this mapper was generated
+     *     for, or if reading a column or populating the object fails
+     */
+    public T mapRow(DataCloudResultSet resultSet) throws SQLException {
+        return map(bind(resultSet));
+    }
+
+    /**
+     * Advances {@code resultSet} and maps up to {@code maxRows} rows, starting with the row after
+     * the current one. The schema is checked once for the whole call, so the per-row work is
+     * reduced to the accessor and setter calls.
+     *
+     * @param maxRows the maximum number of rows to read, {@code 0} for no limit
+     * @return the mapped rows; fewer than {@code maxRows} only if the result set was exhausted
+     */
+    public List<T> readAll(DataCloudResultSet resultSet, int maxRows) throws SQLException {
+        if (maxRows < 0) {
+            throw new SQLException("maxRows must be non-negative, got " + maxRows, "22023");
+        }
+        final QueryJDBCAccessor[] accessors = bind(resultSet);
+        final int limit = maxRows == 0 ? Integer.MAX_VALUE : maxRows;
+        final List<T> rows = new ArrayList<>(Math.min(limit, 1024));
+        while (rows.size() < limit && resultSet.next()) {
+            rows.add(map(accessors));
+        }
+        return rows;
+    }
+
+    /** Returns the accessors of the result set, indexed by column, once its schema was checked. */
+    private QueryJDBCAccessor[] bind(DataCloudResultSet resultSet) throws SQLException {
+        val actual = resultSet.getColumns();
+        if (actual != columns && !actual.equals(columns)) {
+            throw new SQLException(
+                    "Row mapper for " + type.getName() + " was generated for a different result set schema", "22000");
+        }
+        return resultSet.getAccessors();
+    }
+
+    private T map(QueryJDBCAccessor[] accessors) throws SQLException {
+        try {
+            final Object target = instantiator.begin();
+            writer.write(target, accessors);
+            return instantiator.finish(target);
+        } catch (SQLException | RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SQLException("Failed to map row to " + type.getName(), "22000", ex);
+        }
+    }
+
+    private static <T> RowMapper<T> forBean(Class<T> type, List<ColumnMetadata> columns, PropertyResolver resolver)
+            throws IllegalAccessException, NoSuchMethodException {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("type is abstract");
+        }
+        val constructor = type.getDeclaredConstructor();
+        val factory = newFactory(type, constructor);
+
+        // Setters take precedence over fields of the same name. Only matched properties are
+        // unreflected, so inaccessible members that no column maps to do not get in the way.
+        val properties = new LinkedHashMap<String, Object>();
+        for (Method method : type.getMethods()) {
+            if (isSetter(method)) {
+                properties.putIfAbsent(propertyName(method), method);
+            }
+        }
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) {
+                    properties.putIfAbsent(field.getName(), field);
+                }
+            }
+        }
+
+        val writer = new RowWriter.Builder();
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            final int column = resolver.find(property.getKey());
+            if (column < 0) {
+                continue;
+            }
+            final MethodHandle setter;
+            if (property.getValue() instanceof Method) {
+                // Public setters of non-public classes still need the access check suppressed.
+                val method = (Method) property.getValue();
+                method.setAccessible(true);
+                setter = LOOKUP.unreflect(method);
+            } else {
+                val field = (Field) property.getValue();
+                field.setAccessible(true);
+                setter = LOOKUP.unreflectSetter(field);
+            }
+            writer.addSetter(column, setter);
+        }
+        return new RowMapper<>(type, columns, new BeanInstantiator<>(factory), writer);
+    }
+
+    private static <T> RowMapper<T> forRecord(
+            Class<T> type,
+            List<ColumnMetadata> columns,
+            PropertyResolver resolver,
+            RecordSupport.Component[] components)
+            throws IllegalAccessException, NoSuchMethodException {
+        final Class<?>[] parameterTypes = new Class<?>[components.length];
+        final Object[] defaults = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            defaults[i] = defaultValue(parameterTypes[i]);
+        }
+        val constructor = type.getDeclaredConstructor(parameterTypes);
+        constructor.setAccessible(true);
+        val handle = LOOKUP.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        val writer = new RowWriter.Builder();
+        for (int i = 0; i < components.length; i++) {
+            final int column = resolver.find(components[i].getName());
+            if (column >= 0) {
+                writer.addArgument(column, i, parameterTypes[i]);
+            }
+        }
+        return new RowMapper<>(type, columns, new RecordInstantiator<>(type, handle, defaults), writer);
+    }
+
+    /**
+     * Returns a factory for {@code type}. When {@code type} is visible from the driver's class
+     * loader the factory is a {@link LambdaMetafactory}-generated {@link Supplier}, which the JIT
+     * treats like a plain {@code new}; otherwise the constructor handle is invoked directly.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> newFactory(Class<T> type, Constructor<T> constructor)
+            throws IllegalAccessException {
+        if (Modifier.isPublic(constructor.getModifiers())
+                && Modifier.isPublic(type.getModifiers())
+                && isVisibleFromDriver(type)) {
+            try {
+                val target = LOOKUP.unreflectConstructor(constructor);
+                val site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        target,
+                        MethodType.methodType(type));
+                return (Supplier<T>) site.getTarget().invokeExact();
+            } catch (Throwable ex) {
+                // Fall through to the plain method handle.
+            }
+        }
+        constructor.setAccessible(true);
+        val handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return (T) handle.invokeExact();
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Constructor of " + type.getName() + " failed", ex);
+            }
+        };
+    }
+
+    private static boolean isVisibleFromDriver(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, RowMapper.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static boolean isSetter(Method method) {
+        return !Modifier.isStatic(method.getModifiers())
+                && method.getParameterCount() == 1
+                && method.getName().length() > 3
+                && method.getName().startsWith("set")
+                && method.getDeclaringClass() != Object.class;
+    }
+
+    private static String propertyName(Method setter) {
+        val name = setter.getName().substring(3);
+        // Same rule as java.beans.Introspector.decapitalize: "URL" stays "URL", "Name" becomes "name".
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+
+    /** Finds the column for a property name, see the class documentation for the matching rules. */
+    private static final class PropertyResolver {
+        private final Map<String, Integer> exact = new LinkedHashMap<>();
+        private final Map<String, Integer> lowercase = new LinkedHashMap<>();
+        private final Map<String, Integer> normalized = new LinkedHashMap<>();
+
+        PropertyResolver(List<ColumnMetadata> columns) {
+            for (int i = 0; i < columns.size(); i++) {
+                val name = columns.get(i).getName();
+                if (name != null) {
+                    exact.putIfAbsent(name, i);
+                    lowercase.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+                    normalized.putIfAbsent(normalize(name), i);
+                }
+            }
+        }
+
+        int find(String property) {
+            Integer index = exact.get(property);
+            if (index == null) {
+                index = lowercase.get(property.toLowerCase(Locale.ROOT));
+            }
+            if (index == null) {
+                index = normalized.get(normalize(property));
+            }
+            return index == null ? -1 : index;
+        }
+
+        private static String normalize(String name) {
+            return name.replace("_", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Creates the row object; records collect their arguments first and are constructed at the end. */
+    private interface Instantiator<T> {
+        Object begin();
+
+        T finish(Object target) throws Throwable;
+    }
+
+    private static final class BeanInstantiator<T> implements Instantiator<T> {
+        private final Supplier<T> factory;
+
+        BeanInstantiator(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object begin() {
+            return factory.get();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T finish(Object target) {
+            return (T) target;
+        }
+    }
+
+    private static final class RecordInstantiator<T> implements Instantiator<T> {
+        private final Class<T> type;
+        private final MethodHandle constructor;
+        private final Object[] defaults;
+
+        RecordInstantiator(Class<T> type, MethodHandle constructor, Object[] defaults) {
+            this.type = type;
+            this.constructor = constructor;
+            this.defaults = defaults;
+        }
+
+        @Override
+        public Object begin() {
+            return defaults.clone();
+        }
+
+        @Override
+        public T finish(Object target) throws Throwable {
+            return type.cast((Object) constructor.invokeExact((Object[]) target));
+        }
+    }
+
+    /** How a column is copied into a property, one loop of {@link RowWriter#write} per kind. */
+    private enum Kind {
+        INT,
+        LONG,
+        DOUBLE,
+        FLOAT,
+        BOOLEAN,
+        SHORT,
+        BYTE,
+        STRING,
+        OBJECT,
+        ARGUMENT
+    }
+
+    /**
+     * Copies the mapped columns of a row into the row object. Primitive properties read the matching
+     * primitive accessor and call a setter typed {@code (Object, primitive)void}, so no value is
+     * boxed; other properties call a setter typed {@code (Object, Object)void}, and record components
+     * are collected into the constructor arguments.
+     */
+    private static final class RowWriter {
+        private final Columns ints;
+        private final Columns longs;
+        private final Columns doubles;
+        private final Columns floats;
+        private final Columns booleans;
+        private final Columns shorts;
+        private final Columns bytes;
+        private final Columns strings;
+        private final Columns objects;
+        private final Columns arguments;
+
+        private RowWriter(Map<Kind, Columns.Builder> columns) {
+            ints = columns.get(Kind.INT).build();
+            longs = columns.get(Kind.LONG).build();
+            doubles = columns.get(Kind.DOUBLE).build();
+            floats = columns.get(Kind.FLOAT).build();
+            booleans = columns.get(Kind.BOOLEAN).build();
+            shorts = columns.get(Kind.SHORT).build();
+            bytes = columns.get(Kind.BYTE).build();
+            strings = columns.get(Kind.STRING).build();
+            objects = columns.get(Kind.OBJECT).build();
+            arguments = columns.get(Kind.ARGUMENT).build();
+        }
+
+        void write(Object target, QueryJDBCAccessor[] accessors) throws Throwable {
+            for (int i = 0; i < ints.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[ints.ordinals[i]];
+                final int value = accessor.getInt();
+                if (!accessor.wasNull()) {
+                    ints.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < longs.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[longs.ordinals[i]];
+                final long value = accessor.getLong();
+                if (!accessor.wasNull()) {
+                    longs.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < doubles.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[doubles.ordinals[i]];
+                final double value = accessor.getDouble();
+                if (!accessor.wasNull()) {
+                    doubles.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < floats.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[floats.ordinals[i]];
+                final float value = accessor.getFloat();
+                if (!accessor.wasNull()) {
+                    floats.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < booleans.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[booleans.ordinals[i]];
+                final boolean value = accessor.getBoolean();
+                if (!accessor.wasNull()) {
+                    booleans.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < shorts.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[shorts.ordinals[i]];
+                final short value = accessor.getShort();
+                if (!accessor.wasNull()) {
+                    shorts.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < bytes.ordinals.length; i++) {
+                final QueryJDBCAccessor accessor = accessors[bytes.ordinals[i]];
+                final byte value = accessor.getByte();
+                if (!accessor.wasNull()) {
+                    bytes.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < strings.ordinals.length; i++) {
+                final Object value = accessors[strings.ordinals[i]].getString();
+                if (value != null) {
+                    strings.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < objects.ordinals.length; i++) {
+                final Object value = objects.readers[i].read(accessors[objects.ordinals[i]]);
+                if (value != null) {
+                    objects.setters[i].invokeExact(target, value);
+                }
+            }
+            for (int i = 0; i < arguments.ordinals.length; i++) {
+                final Object value = arguments.readers[i].read(accessors[arguments.ordinals[i]]);
+                if (value != null) {
+                    ((Object[]) target)[arguments.positions[i]] = value;
+                }
+            }
+        }
+
+        static final class Builder {
+            private final Map<Kind, Columns.Builder> columns = new EnumMap<>(Kind.class);
+
+            Builder() {
+                for (Kind kind : Kind.values()) {
+                    columns.put(kind, new Columns.Builder());
+                }
+            }
+
+            void addSetter(int column, MethodHandle setter) {
+                final Class<?> type = setter.type().parameterType(1);
+                final Class<?> parameterType = type.isPrimitive() ? type : Object.class;
+                final MethodHandle handle =
+                        setter.asType(MethodType.methodType(void.class, Object.class, parameterType));
+                if (type == int.class) {
+                    columns.get(Kind.INT).add(column, handle, null, -1);
+                } else if (type == long.class) {
+                    columns.get(Kind.LONG).add(column, handle, null, -1);
+                } else if (type == double.class) {
+                    columns.get(Kind.DOUBLE).add(column, handle, null, -1);
+                } else if (type == float.class) {
+                    columns.get(Kind.FLOAT).add(column, handle, null, -1);
+                } else if (type == boolean.class) {
+                    columns.get(Kind.BOOLEAN).add(column, handle, null, -1);
+                } else if (type == short.class) {
+                    columns.get(Kind.SHORT).add(column, handle, null, -1);
+                } else if (type == byte.class) {
+                    columns.get(Kind.BYTE).add(column, handle, null, -1);
+                } else if (type == String.class) {
+                    columns.get(Kind.STRING).add(column, handle, null, -1);
+                } else {
+                    columns.get(Kind.OBJECT).add(column, handle, reader(type), -1);
+                }
+            }
+
+            void addArgument(int column, int position, Class<?> type) {
+                final Class<?> boxed = type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+                columns.get(Kind.ARGUMENT).add(column, null, reader(boxed), position);
+            }
+
+            RowWriter build() {
+                return new RowWriter(columns);
+            }
+        }
+
+        /** Reads a column as a (possibly boxed) value of {@code type}, {@code null} for SQL NULL. */
+        private static ValueReader reader(Class<?> type) {
+            if (type == String.class) {
+                return QueryJDBCAccessor::getString;
+            } else if (type == Integer.class) {
+                return a -> {
+                    final int value = a.getInt();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == Long.class) {
+                return a -> {
+                    final long value = a.getLong();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == Double.class) {
+                return a -> {
+                    final double value = a.getDouble();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == Float.class) {
+                return a -> {
+                    final float value = a.getFloat();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == Boolean.class) {
+                return a -> {
+                    final boolean value = a.getBoolean();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == Short.class) {
+                return a -> {
+                    final short value = a.getShort();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == Byte.class) {
+                return a -> {
+                    final byte value = a.getByte();
+                    return a.wasNull() ? null : value;
+                };
+            } else if (type == BigDecimal.class) {
+                return QueryJDBCAccessor::getBigDecimal;
+            } else if (type == byte[].class) {
+                return QueryJDBCAccessor::getBytes;
+            } else if (type == Timestamp.class) {
+                return a -> a.getTimestamp(null);
+            } else if (type == Date.class) {
+                return a -> a.getDate(null);
+            } else if (type == Time.class) {
+                return a -> a.getTime(null);
+            } else if (type == java.sql.Array.class) {
+                return QueryJDBCAccessor::getArray;
+            }
+            return a -> a.getObject(type);
+        }
+    }
+
+    /** The columns of one {@link Kind}, as parallel arrays in property order. */
+    private static final class Columns {
+        final int[] ordinals;
+        final MethodHandle[] setters;
+        final ValueReader[] readers;
+        final int[] positions;
+
+        private Columns(int[] ordinals, MethodHandle[] setters, ValueReader[] readers, int[] positions) {
+            this.ordinals = ordinals;
+            this.setters = setters;
+            this.readers = readers;
+            this.positions = positions;
+        }
+
+        static final class Builder {
+            private final List<Integer> ordinals = new ArrayList<>();
+            private final List<MethodHandle> setters = new ArrayList<>();
+            private final List<ValueReader> readers = new ArrayList<>();
+            private final List<Integer> positions = new ArrayList<>();
+
+            void add(int ordinal, MethodHandle setter, ValueReader reader, int position) {
+                ordinals.add(ordinal);
+                setters.add(setter);
+                readers.add(reader);
+                positions.add(position);
+            }
+
+            Columns build() {
+                return new Columns(
+                        ordinals.stream().mapToInt(Integer::intValue).toArray(),
+                        setters.toArray(new MethodHandle[0]),
+                        readers.toArray(new ValueReader[0]),
+                        positions.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(QueryJDBCAccessor accessor) throws SQLException;
+    }
+
+    /**
+     * Reflective access to {@code java.lang.Record} support, which is not available on the Java 8
+     * API the driver is compiled against.
+     */
+    private static final class RecordSupport {
+        private static final Method IS_RECORD;
+        private static final Method GET_RECORD_COMPONENTS;
+        private static final Method COMPONENT_NAME;
+        private static final Method COMPONENT_TYPE;
+
+        static {
+            Method isRecord = null;
+            Method getRecordComponents = null;
+            Method componentName = null;
+            Method componentType = null;
+            try {
+                isRecord = Class.class.getMethod("isRecord");
+                getRecordComponents = Class.class.getMethod("getRecordComponents");
+                val componentClass = Class.forName("java.lang.reflect.RecordComponent");
+                componentName = componentClass.getMethod("getName");
+                componentType = componentClass.getMethod("getType");
+            } catch (ReflectiveOperationException ex) {
+                // Running on a JVM without records.
+            }
+            IS_RECORD = isRecord;
+            GET_RECORD_COMPONENTS = getRecordComponents;
+            COMPONENT_NAME = componentName;
+            COMPONENT_TYPE = componentType;
+        }
+
+        @lombok.Value
+        static class Component {
+            String name;
+            Class<?> type;
+        }
+
+        /** The record components of {@code type} in declaration order, {@code null} if it is not a record. */
+        static Component[] components(Class<?> type) throws IllegalAccessException {
+            if (COMPONENT_TYPE == null) {
+                return null;
+            }
+            try {
+                if (!(Boolean) IS_RECORD.invoke(type)) {
+                    return null;
+                }
+                val raw = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+                val result = new Component[raw.length];
+                for (int i = 0; i < raw.length; i++) {
+                    result[i] = new Component((String) COMPONENT_NAME.invoke(raw[i]), (Class<?>)
+                            COMPONENT_TYPE.invoke(raw[i]));
+                }
+                return result;
+            } catch (java.lang.reflect.InvocationTargetException ex) {
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import io.grpc.ManagedChannel;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Driver-wide registry of {@link ManagedChannel}s shared between connections to the same endpoint.
+ *
+ * <p>Channels are keyed by their target and every setting that influences how the channel is built
+ * (TLS and gRPC channel properties). Each {@link #acquire} hands out a {@link Lease} and increments
+ * the channel's reference count; once the last lease is closed the channel is kept open for an idle
+ * grace period, so that request-scoped connections opened in quick succession reuse the TCP / TLS /
+ * HTTP/2 session instead of paying for a new handshake each time.
+ */
+@Slf4j
+final class SharedChannelRegistry {
+    static final SharedChannelRegistry INSTANCE = new SharedChannelRegistry();
+
+    /** Identifies channels that can be shared. Settings may contain secrets and are not printed. */
+    @Value
+    static class Key {
+        String target;
+
+        @ToString.Exclude
+        Properties settings;
+    }
+
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private ScheduledExecutorService reaper;
+
+    /**
+     * Returns a lease on the channel for {@code key}, building it with {@code channelFactory} if
+     * there is no open channel for the key yet.
+     *
+     * @param idleGracePeriod how long the channel stays open after its last lease was closed
+     */
+    synchronized Lease acquire(Key key, Duration idleGracePeriod, ThrowingJdbcSupplier<ManagedChannel> channelFactory)
+            throws SQLException {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.channel.isShutdown()) {
+            entry = new Entry(key, channelFactory.get(), idleGracePeriod);
+            entries.put(key, entry);
+            log.info("Created shared channel. target={}", key.getTarget());
+        }
+        if (entry.pendingClose != null) {
+            entry.pendingClose.cancel(false);
+            entry.pendingClose = null;
+        }
+        entry.references++;
+        return new Lease(entry);
+    }
+
+    /** The number of channels currently held by the registry, including idle ones. */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void release(Entry entry) {
+        if (--entry.references > 0) {
+            return;
+        }
+        if (entry.idleGracePeriod.isZero() || entries.get(entry.key) != entry) {
+            expire(entry);
+        } else {
+            entry.pendingClose =
+                    reaper().schedule(() -> expire(entry), entry.idleGracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void expire(Entry entry) {
+        if (entry.references > 0) {
+            return;
+        }
+        entries.remove(entry.key, entry);
+        entry.pendingClose = null;
+        // Nobody holds a lease anymore, so any remaining stream belongs to a result set that was
+        // never closed; cancel it like JdbcDriverStubProvider#close does for unshared channels.
+        entry.channel.shutdownNow();
+        log.info("Closed idle shared channel. target={}", entry.key.getTarget());
+    }
+
+    private ScheduledExecutorService reaper() {
+        if (reaper == null) {
+            reaper = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("datacloud-jdbc-channel-reaper")
+                    .build());
+        }
+        return reaper;
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final ManagedChannel channel;
+        private final Duration idleGracePeriod;
+        private int references;
+        private ScheduledFuture<?> pendingClose;
+
+        private Entry(Key key, ManagedChannel channel, Duration idleGracePeriod) {
+            this.key = key;
+            this.channel = channel;
+            this.idleGracePeriod = idleGracePeriod;
+        }
+    }
+
+    /** A reference to a shared channel; closing it releases the reference. Idempotent. */
+    final class Lease implements AutoCloseable {
+        private final Entry entry;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        @Getter
+        private final ManagedChannel channel;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+            this.channel = entry.channel;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(entry);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@
  */
 package com.salesforce.datacloud.jdbc.core;
 
+import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalBoolean;
 import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalDuration;
 import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeRequired;
 
@@ -38,6 +39,16 @@ public class StatementProperties {
     @Builder.Default
     private final Duration queryTimeoutLocalEnforcementDelay = Duration.ofSeconds(5);
 
+    /**
+     * Whether closing a query's result set (or its statement) before all rows were read cancels the query on the
+     * server. The cancellation is sent asynchronously, so close() does not wait for the server. Disabled by default
+     * because the results of a closed query can otherwise still be fetched through
+     * {@link DataCloudConnection#getRowBasedResultSet} / {@link DataCloudConnection#getChunkBasedResultSet}.
+     */
+    @With
+    @Builder.Default
+    private final boolean cancelQueryOnEarlyClose = false;
+
     /**
      * The query settings to use for the connection
      */
@@ -58,6 +69,7 @@ public static StatementProperties ofDestructive(Properties props) throws SQLExce
         takeOptionalDuration(props, "queryTimeout").ifPresent(builder::queryTimeout);
         takeOptionalDuration(props, "queryTimeoutLocalEnforcementDelay")
                 .ifPresent(builder::queryTimeoutLocalEnforcementDelay);
+        takeOptionalBoolean(props, "cancelQueryOnEarlyClose").ifPresent(builder::cancelQueryOnEarlyClose);
 
         // Parse querySetting.* properties
         Map<String, String> querySettings = new HashMap<>();
@@ -95,6 +107,9 @@ public Properties toProperties() {
                     "queryTimeoutLocalEnforcementDelay",
                     String.valueOf(queryTimeoutLocalEnforcementDelay.getSeconds()));
         }
+        if (cancelQueryOnEarlyClose) {
+            props.setProperty("cancelQueryOnEarlyClose", "true");
+        }
         for (Map.Entry<String, String> entry : querySettings.entrySet()) {
             props.setProperty("querySetting." + entry.getKey(), entry.getValue());
         }
@@ -0,0 +1,224 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * A {@link ManagedChannel} that stripes calls over several independent subchannels to the same endpoint.
+ *
+ * <p>Every subchannel owns its own HTTP/2 connection, so streams are not limited by a single connection's
+ * concurrent stream limit, flow control window or event loop. Each new call goes to the healthy subchannel
+ * with the fewest outstanding calls. A subchannel is considered unhealthy while it is in
+ * {@link ConnectivityState#TRANSIENT_FAILURE} or for {@link #UNHEALTHY_BACKOFF_NANOS} after one of its calls
+ * failed with {@link Status.Code#UNAVAILABLE}; if no subchannel is healthy, calls still go to the least loaded
+ * one so that gRPC's own reconnect and retry logic applies.
+ */
+@Slf4j
+final class StripedManagedChannel extends ManagedChannel {
+    static final long UNHEALTHY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final List<Subchannel> subchannels;
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    private StripedManagedChannel(List<Subchannel> subchannels) {
+        this.subchannels = subchannels;
+    }
+
+    static StripedManagedChannel of(@NonNull List<ManagedChannel> channels) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("At least one subchannel is required");
+        }
+        val subchannels = new ArrayList<Subchannel>(channels.size());
+        for (val channel : channels) {
+            subchannels.add(new Subchannel(channel));
+        }
+        return new StripedManagedChannel(Collections.unmodifiableList(subchannels));
+    }
+
+    /** The number of calls that have been started but not yet closed, per subchannel. */
+    List<Integer> getOutstandingCalls() {
+        val result = new ArrayList<Integer>(subchannels.size());
+        for (val subchannel : subchannels) {
+            result.add(subchannel.outstanding.get());
+        }
+        return result;
+    }
+
+    /** Selects the subchannel for the next call. */
+    int select() {
+        val now = System.nanoTime();
+        // Rotate the starting point so that ties do not always favor the first subchannel
+        val start = Math.floorMod(nextStart.getAndIncrement(), subchannels.size());
+        int best = -1;
+        int bestOutstanding = Integer.MAX_VALUE;
+        boolean bestHealthy = false;
+        for (int i = 0; i < subchannels.size(); i++) {
+            val index = (start + i) % subchannels.size();
+            val subchannel = subchannels.get(index);
+            val healthy = subchannel.isHealthy(now);
+            val outstanding = subchannel.outstanding.get();
+            if ((healthy && !bestHealthy) || (healthy == bestHealthy && outstanding < bestOutstanding)) {
+                best = index;
+                bestOutstanding = outstanding;
+                bestHealthy = healthy;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+            MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+        val subchannel = subchannels.get(select());
+        return subchannel.track(subchannel.channel.newCall(methodDescriptor, callOptions));
+    }
+
+    @Override
+    public String authority() {
+        return subchannels.get(0).channel.authority();
+    }
+
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+        // Report the best state of any subchannel, as that is where the next call would go
+        ConnectivityState result = ConnectivityState.SHUTDOWN;
+        for (val subchannel : subchannels) {
+            val state = subchannel.channel.getState(requestConnection);
+            if (rank(state) < rank(result)) {
+                result = state;
+            }
+        }
+        return result;
+    }
+
+    private static int rank(ConnectivityState state) {
+        switch (state) {
+            case READY:
+                return 0;
+            case IDLE:
+                return 1;
+            case CONNECTING:
+                return 2;
+            case TRANSIENT_FAILURE:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    @Override
+    public void resetConnectBackoff() {
+        subchannels.forEach(s -> s.channel.resetConnectBackoff());
+    }
+
+    @Override
+    public void enterIdle() {
+        subchannels.forEach(s -> s.channel.enterIdle());
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        subchannels.forEach(s -> s.channel.shutdown());
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        subchannels.forEach(s -> s.channel.shutdownNow());
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return subchannels.stream().allMatch(s -> s.channel.isShutdown());
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return subchannels.stream().allMatch(s -> s.channel.isTerminated());
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        val deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (val subchannel : subchannels) {
+            val remaining = deadline - System.nanoTime();
+            if (!subchannel.channel.awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Subchannel {
+        private final ManagedChannel channel;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile long unhealthyUntilNanos;
+        private volatile boolean failed;
+
+        private Subchannel(ManagedChannel channel) {
+            this.channel = channel;
+        }
+
+        private boolean isHealthy(long now) {
+            if (failed && now - unhealthyUntilNanos < 0) {
+                return false;
+            }
+            return channel.getState(false) != ConnectivityState.TRANSIENT_FAILURE;
+        }
+
+        private void onClose(Status status) {
+            outstanding.decrementAndGet();
+            if (status.getCode() == Status.Code.UNAVAILABLE) {
+                unhealthyUntilNanos = System.nanoTime() + UNHEALTHY_BACKOFF_NANOS;
+                failed = true;
+                log.debug("Marked subchannel unhealthy after UNAVAILABLE. authority={}", channel.authority());
+            } else if (status.isOk()) {
+                failed = false;
+            }
+        }
+
+        private <ReqT, RespT> ClientCall<ReqT, RespT> track(ClientCall<ReqT, RespT> call) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(call) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    outstanding.incrementAndGet();
+                    try {
+                        super.start(
+                                new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                                        responseListener) {
+                                    @Override
+                                    public void onClose(Status status, Metadata trailers) {
+                                        Subchannel.this.onClose(status);
+                                        super.onClose(status, trailers);
+                                    }
+                                },
+                                headers);
+                    } catch (RuntimeException e) {
+                        outstanding.decrementAndGet();
+                        throw e;
+                    }
+                }
+            };
+        }
+    }
+}
@@ -38,6 +38,15 @@ protected int getCurrentRow() {
 
     public abstract Class<?> getObjectClass();
 
+    /**
+     * Called by the result set before the record batch backing the vectors is released, either
+     * because the next batch is loaded or because the result set is closed. Accessors that hand out
+     * objects which read lazily from the vectors must detach them here.
+     */
+    public void beforeBatchRelease() {
+        // Most accessors copy values out eagerly and have nothing to detach.
+    }
+
     @Override
     public boolean wasNull() {
         return wasNull;
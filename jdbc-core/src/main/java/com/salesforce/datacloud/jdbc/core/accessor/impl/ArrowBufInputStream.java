@@ -0,0 +1,81 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core.accessor.impl;
+
+import java.io.InputStream;
+import org.apache.arrow.memory.ArrowBuf;
+
+/**
+ * {@link InputStream} over the byte range {@code [start, end)} of an {@link ArrowBuf}, reading
+ * directly from the (possibly off-heap) buffer without materializing the range first.
+ *
+ * <p>The stream does not retain the buffer; it is only valid as long as the record batch that
+ * owns the buffer is loaded.
+ */
+final class ArrowBufInputStream extends InputStream {
+    private final ArrowBuf buffer;
+    private final long end;
+    private long position;
+    private long mark;
+
+    ArrowBufInputStream(ArrowBuf buffer, long start, long end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.mark = start;
+        this.end = end;
+    }
+
+    @Override
+    public int read() {
+        if (position >= end) {
+            return -1;
+        }
+        return buffer.getByte(position++) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= end) {
+            return -1;
+        }
+        final int count = (int) Math.min(len, end - position);
+        buffer.getBytes(position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        final long skipped = Math.max(0, Math.min(n, end - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, end - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        mark = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = mark;
+    }
+}
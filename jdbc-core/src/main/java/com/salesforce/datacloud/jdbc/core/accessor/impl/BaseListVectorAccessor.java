@@ -5,8 +5,10 @@
 package com.salesforce.datacloud.jdbc.core.accessor.impl;
 
 import com.salesforce.datacloud.jdbc.core.accessor.QueryJDBCAccessor;
+import java.lang.ref.WeakReference;
 import java.sql.Array;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.IntSupplier;
 import lombok.val;
@@ -22,10 +24,25 @@ public abstract class BaseListVectorAccessor extends QueryJDBCAccessor {
 
     protected abstract boolean isNull(int index);
 
+    // Arrays handed out for the current batch. They are lazy views over the data vector and have
+    // to be detached before the batch is released; weak references skip arrays the caller dropped.
+    private final List<WeakReference<DataCloudArray>> liveArrays = new ArrayList<>();
+
     protected BaseListVectorAccessor(IntSupplier currentRowSupplier) {
         super(currentRowSupplier);
     }
 
+    @Override
+    public void beforeBatchRelease() {
+        for (val reference : liveArrays) {
+            val array = reference.get();
+            if (array != null) {
+                array.detach();
+            }
+        }
+        liveArrays.clear();
+    }
+
     @Override
     public Class<?> getObjectClass() {
         return List.class;
@@ -62,6 +79,8 @@ public Array getArray() {
         val endOffset = getEndOffset(index);
 
         val valuesCount = endOffset - startOffset;
-        return new DataCloudArray(dataVector, startOffset, valuesCount);
+        val array = new DataCloudArray(dataVector, startOffset, valuesCount);
+        liveArrays.add(new WeakReference<>(array));
+        return array;
     }
 }
@@ -4,66 +4,96 @@
  */
 package com.salesforce.datacloud.jdbc.core.accessor.impl;
 
+import com.salesforce.datacloud.jdbc.core.metadata.MetadataResultSets;
 import com.salesforce.datacloud.jdbc.core.types.HyperTypes;
 import com.salesforce.datacloud.jdbc.protocol.data.ArrowToHyperTypeMapper;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
 import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
 import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.apache.arrow.memory.util.LargeMemoryUtil;
+import org.apache.arrow.vector.BaseIntVector;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.util.Text;
 
+/**
+ * {@link Array} over a slice of a list column's child vector.
+ *
+ * <p>The array is a lazy view: constructing it only validates the bounds, and elements are read
+ * from the child vector when they are requested, so asking for the length, a slice via {@link
+ * #getArray(long, int)} or a primitive copy via {@link #getDoubleArray()} and friends never boxes
+ * the rest of the array. {@link #getResultSet()} reads the elements page by page while the result
+ * set is iterated, from the child vector or, once detached, from the materialized elements.
+ *
+ * <p>The view must not outlive the record batch it points into. The list accessor therefore
+ * calls {@link #detach()} on every array it handed out before the result set releases the batch
+ * (when loading the next batch or on close); detaching materializes the elements on the heap, so
+ * arrays stay readable after the result set moved on or was closed, like in the PostgreSQL driver.
+ */
 public class DataCloudArray implements Array {
 
-    private final Object[] data;
     private final String baseTypeName;
     private final int baseType;
+    private final HyperType elementType;
+    private final int length;
+    private final int startOffset;
+    private FieldVector dataVector;
+    private Object[] detached;
+
+    /** Elements per Arrow batch of a result set over the array, bounds what {@link #getResultSet()} copies at once. */
+    private static final int RESULT_SET_PAGE_ROWS = 1024;
+
     protected static final String NOT_SUPPORTED_IN_DATACLOUD_QUERY =
             "Array method is not supported in Data Cloud query";
 
     public DataCloudArray(FieldVector dataVector, long startOffset, long valuesCount) {
-        // Extract data immediately during construction (following PostgreSQL JDBC pattern)
-        // This makes the object self-contained and independent of ValueVector lifecycle
-        this.data = extractDataFromVector(dataVector, startOffset, valuesCount);
-        HyperType elementType = ArrowToHyperTypeMapper.toHyperType(dataVector.getField());
+        this.length = valuesCount <= 0 ? 0 : LargeMemoryUtil.checkedCastToInt(valuesCount);
+        if (this.length > 0) {
+            // Validate bounds against actual vector size
+            if (startOffset < 0 || startOffset >= dataVector.getValueCount()) {
+                throw new ArrayIndexOutOfBoundsException("Start offset " + startOffset
+                        + " is out of bounds for vector size " + dataVector.getValueCount());
+            }
+            long endOffset = startOffset + valuesCount;
+            if (endOffset > dataVector.getValueCount()) {
+                throw new ArrayIndexOutOfBoundsException(
+                        "End offset " + endOffset + " exceeds vector size " + dataVector.getValueCount());
+            }
+        }
+        this.dataVector = dataVector;
+        this.startOffset = this.length > 0 ? LargeMemoryUtil.checkedCastToInt(startOffset) : 0;
+        this.elementType = ArrowToHyperTypeMapper.toHyperType(dataVector.getField());
         this.baseTypeName = HyperTypes.toJdbcTypeName(elementType);
         this.baseType = HyperTypes.toJdbcTypeCode(elementType);
     }
 
     /**
-     * Extracts data from ValueVector immediately to avoid lifecycle dependencies.
-     * This follows the same pattern as PostgreSQL JDBC: extract data during construction.
+     * Copies the elements out of the backing vector so that the array no longer depends on the
+     * vector's lifecycle. Idempotent.
      */
-    private Object[] extractDataFromVector(FieldVector dataVector, long startOffset, long valuesCount) {
-        // Handle empty array case
-        if (valuesCount <= 0) {
-            return new Object[0];
-        }
-
-        // Validate bounds against actual vector size
-        if (startOffset < 0 || startOffset >= dataVector.getValueCount()) {
-            throw new ArrayIndexOutOfBoundsException(
-                    "Start offset " + startOffset + " is out of bounds for vector size " + dataVector.getValueCount());
-        }
-
-        long endOffset = startOffset + valuesCount;
-        if (endOffset > dataVector.getValueCount()) {
-            throw new ArrayIndexOutOfBoundsException(
-                    "End offset " + endOffset + " exceeds vector size " + dataVector.getValueCount());
+    void detach() {
+        if (detached == null) {
+            detached = extract(0, length);
+            dataVector = null;
         }
+    }
 
-        // Extract data into a new array. For VarChar/VarBinary/FixedSizeBinary/TimeStamp inner
-        // types, FieldVector.getObject(int) is gated by arrow.enable_null_check_for_get and
-        // returns stale buffer bytes for null rows when the flag is off (set by Iceberg). Check
-        // validity explicitly via isNull(int), which is not flag-gated.
-        Object[] result = new Object[LargeMemoryUtil.checkedCastToInt(valuesCount)];
-        for (int i = 0; i < valuesCount; i++) {
-            int absIndex = LargeMemoryUtil.checkedCastToInt(startOffset + i);
-            result[i] = dataVector.isNull(absIndex) ? null : dataVector.getObject(absIndex);
-        }
-        return result;
+    /** The number of elements in this array. */
+    public int length() {
+        return length;
     }
 
     @Override
@@ -86,7 +116,7 @@ public Object getArray(Map<String, Class<?>> map) throws SQLException {
         if (map != null) {
             throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
         }
-        return this.data;
+        return extract(0, length);
     }
 
     @Override
@@ -100,30 +130,169 @@ public Object getArray(long index, int count, Map<String, Class<?>> map) throws
             throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
         }
         checkBoundaries(index, count);
-        int startIndex = (int) index - 1;
-        Object[] result = new Object[count];
-        System.arraycopy(this.data, startIndex, result, 0, count);
+        return extract((int) index - 1, count);
+    }
+
+    /**
+     * Returns the elements as a {@code long[]}. Supported for integer, floating point (truncated)
+     * and decimal (truncated) element types.
+     *
+     * @throws SQLException with SQLState {@code 22004} if the array contains a null element
+     */
+    public long[] getLongArray() throws SQLException {
+        final long[] result = new long[length];
+        if (detached != null) {
+            for (int i = 0; i < length; i++) {
+                result[i] = asNumber(detached[i], i).longValue();
+            }
+        } else if (dataVector instanceof BaseIntVector) {
+            final BaseIntVector vector = (BaseIntVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                result[i] = vector.getValueAsLong(checkNotNull(i));
+            }
+        } else if (dataVector instanceof FloatingPointVector) {
+            final FloatingPointVector vector = (FloatingPointVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                result[i] = (long) vector.getValueAsDouble(checkNotNull(i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                result[i] = asNumber(dataVector.getObject(checkNotNull(i)), i).longValue();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements as an {@code int[]}, narrowing like {@link #getLongArray()} followed
+     * by a cast.
+     *
+     * @throws SQLException with SQLState {@code 22004} if the array contains a null element
+     */
+    public int[] getIntArray() throws SQLException {
+        final int[] result = new int[length];
+        if (detached == null && dataVector instanceof BaseIntVector) {
+            final BaseIntVector vector = (BaseIntVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                result[i] = (int) vector.getValueAsLong(checkNotNull(i));
+            }
+            return result;
+        }
+        final long[] longs = getLongArray();
+        for (int i = 0; i < length; i++) {
+            result[i] = (int) longs[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements as a {@code double[]}. Supported for floating point, integer and decimal
+     * element types.
+     *
+     * @throws SQLException with SQLState {@code 22004} if the array contains a null element
+     */
+    public double[] getDoubleArray() throws SQLException {
+        final double[] result = new double[length];
+        if (detached != null) {
+            for (int i = 0; i < length; i++) {
+                result[i] = asNumber(detached[i], i).doubleValue();
+            }
+        } else if (dataVector instanceof FloatingPointVector) {
+            final FloatingPointVector vector = (FloatingPointVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                result[i] = vector.getValueAsDouble(checkNotNull(i));
+            }
+        } else if (dataVector instanceof BaseIntVector) {
+            final BaseIntVector vector = (BaseIntVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                result[i] = vector.getValueAsLong(checkNotNull(i));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                result[i] = asNumber(dataVector.getObject(checkNotNull(i)), i).doubleValue();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements as a {@code float[]}, which avoids widening for {@code REAL[]} columns.
+     *
+     * @throws SQLException with SQLState {@code 22004} if the array contains a null element
+     */
+    public float[] getFloatArray() throws SQLException {
+        final float[] result = new float[length];
+        if (detached == null && dataVector instanceof Float4Vector) {
+            final Float4Vector vector = (Float4Vector) dataVector;
+            for (int i = 0; i < length; i++) {
+                result[i] = vector.get(checkNotNull(i));
+            }
+            return result;
+        }
+        final double[] doubles = getDoubleArray();
+        for (int i = 0; i < length; i++) {
+            result[i] = (float) doubles[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the elements as a {@code String[]}; null elements are returned as {@code null}.
+     * Text elements are decoded directly from their UTF-8 bytes, other element types use their
+     * {@link Object#toString()} representation.
+     */
+    public String[] getStringArray() {
+        final String[] result = new String[length];
+        if (detached != null) {
+            for (int i = 0; i < length; i++) {
+                result[i] = detached[i] == null ? null : detached[i].toString();
+            }
+        } else if (dataVector instanceof VarCharVector) {
+            final VarCharVector vector = (VarCharVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                final int absIndex = startOffset + i;
+                result[i] = vector.isNull(absIndex) ? null : new String(vector.get(absIndex), StandardCharsets.UTF_8);
+            }
+        } else if (dataVector instanceof LargeVarCharVector) {
+            final LargeVarCharVector vector = (LargeVarCharVector) dataVector;
+            for (int i = 0; i < length; i++) {
+                final int absIndex = startOffset + i;
+                result[i] = vector.isNull(absIndex) ? null : new String(vector.get(absIndex), StandardCharsets.UTF_8);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                final int absIndex = startOffset + i;
+                result[i] = dataVector.isNull(absIndex) ? null : dataVector.getObject(absIndex).toString();
+            }
+        }
         return result;
     }
 
     @Override
     public ResultSet getResultSet() throws SQLException {
-        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        return getResultSet(null);
     }
 
     @Override
     public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
-        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        if (map != null) {
+            throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        }
+        return toResultSet(1, length);
     }
 
     @Override
     public ResultSet getResultSet(long index, int count) throws SQLException {
-        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        return getResultSet(index, count, null);
     }
 
     @Override
     public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException {
-        throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        if (map != null) {
+            throw new SQLException(NOT_SUPPORTED_IN_DATACLOUD_QUERY, SqlErrorCodes.FEATURE_NOT_SUPPORTED);
+        }
+        checkBoundaries(index, count);
+        return toResultSet(index, count);
     }
 
     @Override
@@ -131,6 +300,91 @@ public void free() {
         // no-op
     }
 
+    /**
+     * Builds the JDBC array result set: one row per element with the 1-based {@code INDEX} and
+     * the element {@code VALUE}, as specified by {@link Array#getResultSet()}. The rows are read
+     * from the array while the result set is iterated, see {@link ElementPages}.
+     */
+    private ResultSet toResultSet(long index, int count) throws SQLException {
+        final List<ColumnMetadata> columns = Arrays.asList(
+                new ColumnMetadata("INDEX", HyperType.int64(false)), new ColumnMetadata("VALUE", elementType));
+        try {
+            return MetadataResultSets.ofPages(columns, new ElementPages(index, count), null);
+        } catch (RuntimeException ex) {
+            throw new SQLException("Failed to create a result set over array elements of type " + baseTypeName, ex);
+        }
+    }
+
+    /** Supplies the rows of {@link #toResultSet} page by page, reading each page when it is requested. */
+    private final class ElementPages implements ThrowingJdbcSupplier<List<List<Object>>> {
+        private final long index;
+        private final int count;
+        private int read;
+
+        ElementPages(long index, int count) {
+            this.index = index;
+            this.count = count;
+        }
+
+        @Override
+        public List<List<Object>> get() {
+            final int size = Math.min(RESULT_SET_PAGE_ROWS, count - read);
+            if (size <= 0) {
+                return null;
+            }
+            final Object[] values = extract((int) index - 1 + read, size);
+            final List<List<Object>> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                // VarChar elements surface as Arrow Text, the vector populator expects Strings.
+                final Object value = values[i] instanceof Text ? values[i].toString() : values[i];
+                rows.add(Arrays.asList(index + read + i, value));
+            }
+            read += size;
+            return rows;
+        }
+    }
+
+    /** Boxes the elements {@code [offset, offset + count)} of this array. */
+    private Object[] extract(int offset, int count) {
+        if (detached != null) {
+            return Arrays.copyOfRange(detached, offset, offset + count);
+        }
+        // For VarChar/VarBinary/FixedSizeBinary/TimeStamp inner types, FieldVector.getObject(int)
+        // is gated by arrow.enable_null_check_for_get and returns stale buffer bytes for null rows
+        // when the flag is off (set by Iceberg). Check validity explicitly via isNull(int), which is
+        // not flag-gated.
+        final Object[] result = new Object[count];
+        for (int i = 0; i < count; i++) {
+            final int absIndex = startOffset + offset + i;
+            result[i] = dataVector.isNull(absIndex) ? null : dataVector.getObject(absIndex);
+        }
+        return result;
+    }
+
+    private int checkNotNull(int i) throws SQLException {
+        final int absIndex = startOffset + i;
+        if (dataVector.isNull(absIndex)) {
+            throw nullElement(i);
+        }
+        return absIndex;
+    }
+
+    private Number asNumber(Object value, int i) throws SQLException {
+        if (value == null) {
+            throw nullElement(i);
+        }
+        if (!(value instanceof Number)) {
+            throw new SQLFeatureNotSupportedException(
+                    "Cannot convert array elements of type " + baseTypeName + " to a primitive number");
+        }
+        return (Number) value;
+    }
+
+    private static SQLException nullElement(int i) {
+        return new SQLException(
+                "Array element " + (i + 1) + " is null and cannot be represented in a primitive array", "22004");
+    }
+
     private void checkBoundaries(long index, int count) {
         // JDBC arrays use 1-based indexing: valid range is 1 <= index <= array.length
         // Special case: getArray(1, 0) on empty array is valid (returns empty array)
@@ -142,15 +396,15 @@ private void checkBoundaries(long index, int count) {
             throw new ArrayIndexOutOfBoundsException(
                     "Index " + index + " is invalid (JDBC arrays use 1-based indexing)");
         }
-        if (dataIndex > this.data.length) {
+        if (dataIndex > this.length) {
             throw new ArrayIndexOutOfBoundsException("Index " + index + " is out of bounds for array size "
-                    + this.data.length + " (JDBC arrays use 1-based indexing)");
+                    + this.length + " (JDBC arrays use 1-based indexing)");
         }
 
         // Validate count bounds (only check when count > 0)
-        if (count > 0 && (dataIndex + count) > this.data.length) {
+        if (count > 0 && (dataIndex + count) > this.length) {
             throw new ArrayIndexOutOfBoundsException("Index " + index + " + count " + count + " exceeds array size "
-                    + this.data.length + " (JDBC arrays use 1-based indexing)");
+                    + this.length + " (JDBC arrays use 1-based indexing)");
         }
     }
 }
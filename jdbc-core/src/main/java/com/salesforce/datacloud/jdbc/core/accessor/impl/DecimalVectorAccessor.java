@@ -6,16 +6,51 @@
 
 import com.salesforce.datacloud.jdbc.core.accessor.QueryJDBCAccessor;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.function.IntSupplier;
 import lombok.val;
 import org.apache.arrow.vector.DecimalVector;
 
+/**
+ * Accessor for {@code DECIMAL} / {@code NUMERIC} columns.
+ *
+ * <p>Arrow stores every decimal as a 128-bit little-endian two's complement integer. Most values
+ * (in particular every value of a column with precision &le; 18, such as {@code NUMERIC(18,2)}
+ * money columns) fit into the low 64 bits, so the accessor reads those two words directly and
+ * serves {@link #getLong()}, {@link #getInt()} and {@link #getDouble()} without building a
+ * {@link java.math.BigInteger} / {@link BigDecimal} pair. Only values that need more than 64 bits
+ * go through {@link DecimalVector#getObject(int)}.
+ */
 public class DecimalVectorAccessor extends QueryJDBCAccessor {
+    private static final int MAX_EXACT_DOUBLE_POWER_OF_TEN = 22;
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    private static final long[] LONG_POWERS_OF_TEN = new long[19];
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[MAX_EXACT_DOUBLE_POWER_OF_TEN + 1];
+
+    static {
+        LONG_POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < LONG_POWERS_OF_TEN.length; i++) {
+            LONG_POWERS_OF_TEN[i] = LONG_POWERS_OF_TEN[i - 1] * 10;
+        }
+        DOUBLE_POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = DOUBLE_POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
     private final DecimalVector vector;
+    private final int scale;
+
+    // Last BigDecimal handed out, so that repeated reads of the same cell (e.g. getObject followed
+    // by getString) and runs of equal values do not allocate again.
+    private long cachedUnscaled;
+    private BigDecimal cachedValue;
 
     public DecimalVectorAccessor(DecimalVector vector, IntSupplier getCurrentRow) {
         super(getCurrentRow);
         this.vector = vector;
+        this.scale = vector.getScale();
     }
 
     @Override
@@ -23,18 +58,69 @@ public Class<?> getObjectClass() {
         return BigDecimal.class;
     }
 
-    @Override
-    public BigDecimal getBigDecimal() {
-        // Source wasNull from vector.isNull(int) rather than the getObject return value.
-        // DecimalVector.getObject is currently validity-correct, but other vector types
-        // (e.g. TimeStamp*) gate similar paths on arrow.enable_null_check_for_get; sourcing
-        // from isNull keeps null detection independent of any future flag extension.
+    /**
+     * Returns the current row, or {@code -1} if it is null.
+     *
+     * <p>Source wasNull from vector.isNull(int) rather than the getObject return value.
+     * DecimalVector.getObject is currently validity-correct, but other vector types
+     * (e.g. TimeStamp*) gate similar paths on arrow.enable_null_check_for_get; sourcing
+     * from isNull keeps null detection independent of any future flag extension.
+     */
+    private int currentNonNullRow() {
         final int row = getCurrentRow();
         this.wasNull = vector.isNull(row);
-        if (this.wasNull) {
+        return this.wasNull ? -1 : row;
+    }
+
+    /** Whether the 128-bit value at {@code row} can be represented as a {@code long}. */
+    private boolean fitsInLong(int row) {
+        final long offset = (long) row * DecimalVector.TYPE_WIDTH;
+        final long low = vector.getDataBuffer().getLong(offset);
+        final long high = vector.getDataBuffer().getLong(offset + Long.BYTES);
+        // The value fits iff the high word is just the sign extension of the low word.
+        return high == (low >> 63);
+    }
+
+    private long lowWord(int row) {
+        return vector.getDataBuffer().getLong((long) row * DecimalVector.TYPE_WIDTH);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        final int row = currentNonNullRow();
+        if (row < 0) {
             return null;
         }
-        return vector.getObject(row);
+        if (!fitsInLong(row)) {
+            return vector.getObject(row);
+        }
+        final long unscaled = lowWord(row);
+        if (cachedValue == null || cachedUnscaled != unscaled) {
+            cachedValue = BigDecimal.valueOf(unscaled, scale);
+            cachedUnscaled = unscaled;
+        }
+        return cachedValue;
+    }
+
+    /**
+     * Returns the unscaled value of the current decimal as a {@code long}, so that callers which
+     * model decimals as (unscaled, scale) pairs (e.g. Spark's {@code Decimal}) can consume it
+     * without going through {@link BigDecimal}. The scale is the column scale reported by the
+     * result set metadata.
+     *
+     * @return the unscaled value, or {@code 0} if the value is SQL {@code NULL}
+     * @throws SQLException with SQLState {@code 22003} if the value does not fit into a {@code
+     *     long}; this cannot happen for columns with a precision of at most 18
+     */
+    public long getUnscaledLong() throws SQLException {
+        final int row = currentNonNullRow();
+        if (row < 0) {
+            return 0;
+        }
+        if (!fitsInLong(row)) {
+            throw new SQLException("Decimal value " + vector.getObject(row) + " does not fit into a long", "22003");
+        }
+        return lowWord(row);
     }
 
     @Override
@@ -53,8 +139,42 @@ public String getString() {
 
     @Override
     public int getInt() {
-        final BigDecimal value = this.getBigDecimal();
+        // Truncating the long keeps BigDecimal.intValue() semantics: both return the low-order
+        // 32 bits of the integral part.
+        return (int) getLong();
+    }
 
-        return this.wasNull ? 0 : value.intValue();
+    @Override
+    public long getLong() {
+        final int row = currentNonNullRow();
+        if (row < 0) {
+            return 0;
+        }
+        if (!fitsInLong(row) || scale < 0) {
+            return vector.getObject(row).longValue();
+        }
+        final long unscaled = lowWord(row);
+        if (scale == 0) {
+            return unscaled;
+        }
+        // Integer division truncates towards zero, exactly like BigDecimal.longValue().
+        return scale < LONG_POWERS_OF_TEN.length ? unscaled / LONG_POWERS_OF_TEN[scale] : 0;
+    }
+
+    @Override
+    public double getDouble() {
+        final int row = currentNonNullRow();
+        if (row < 0) {
+            return 0;
+        }
+        if (fitsInLong(row) && scale >= 0 && scale <= MAX_EXACT_DOUBLE_POWER_OF_TEN) {
+            final long unscaled = lowWord(row);
+            if (-MAX_EXACT_DOUBLE_INTEGER <= unscaled && unscaled <= MAX_EXACT_DOUBLE_INTEGER) {
+                // Both operands are exactly representable, so the IEEE division is correctly rounded
+                // and yields the same result as BigDecimal.doubleValue().
+                return unscaled / DOUBLE_POWERS_OF_TEN[scale];
+            }
+        }
+        return vector.getObject(row).doubleValue();
     }
 }
@@ -27,13 +27,13 @@ public Object getObject() throws SQLException {
     @Override
     protected long getStartOffset(int index) {
         val offsetBuffer = vector.getOffsetBuffer();
-        return offsetBuffer.getInt((long) index * LargeListVector.OFFSET_WIDTH);
+        return offsetBuffer.getLong((long) index * LargeListVector.OFFSET_WIDTH);
     }
 
     @Override
     protected long getEndOffset(int index) {
         val offsetBuffer = vector.getOffsetBuffer();
-        return offsetBuffer.getInt((long) (index + 1) * LargeListVector.OFFSET_WIDTH);
+        return offsetBuffer.getLong((long) (index + 1) * LargeListVector.OFFSET_WIDTH);
     }
 
     @Override
@@ -5,34 +5,77 @@
 package com.salesforce.datacloud.jdbc.core.accessor.impl;
 
 import com.salesforce.datacloud.jdbc.core.accessor.QueryJDBCAccessor;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.util.LargeMemoryUtil;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.LargeVarCharVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarCharVector;
 
+/**
+ * Accessor for {@code VARCHAR} / {@code LARGEVARCHAR} columns.
+ *
+ * <p>Values are read from the vector's offset and data buffers instead of going through {@code
+ * vector.get(int)}, which allocates a fresh {@code byte[]} per cell. Building a {@link String}
+ * still copies every value twice: a {@code String} can only be created from heap memory, so the
+ * bytes of a cell are first copied out of the off-heap Arrow buffer into a scratch buffer that is
+ * reused across rows (accessors are confined to their result set's thread), and the {@code
+ * String} constructor copies them again. What this saves is the per-cell allocation, and the
+ * UTF-8 decoder for pure ASCII values — detected eight bytes at a time on the Arrow buffer — which
+ * are decoded as Latin-1 so the JVM can build a compact string with a plain array copy. Decoding
+ * through {@code nioBuffer} and a {@code CharsetDecoder} would not copy less, as it fills a
+ * {@code CharBuffer} that {@code toString()} copies again.
+ */
 public class VarCharVectorAccessor extends QueryJDBCAccessor {
 
+    /**
+     * Values above this size are decoded through a one-off array so that a single huge cell does
+     * not pin a large scratch buffer for the lifetime of the result set.
+     */
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024;
+
+    private static final long ASCII_MASK = 0x8080808080808080L;
+
     @FunctionalInterface
-    interface Getter {
-        byte[] get(int index);
+    interface OffsetGetter {
+        long get(int index);
     }
 
     private final ValueVector vector;
-    private final Getter getter;
+    private final OffsetGetter offsets;
+    private final Supplier<ArrowBuf> dataBuffer;
+    private byte[] scratch = new byte[64];
 
     public VarCharVectorAccessor(VarCharVector vector, IntSupplier currenRowSupplier) {
-        this(vector, vector::get, currenRowSupplier);
+        this(
+                vector,
+                index -> vector.getOffsetBuffer().getInt((long) index * BaseVariableWidthVector.OFFSET_WIDTH),
+                vector::getDataBuffer,
+                currenRowSupplier);
     }
 
     public VarCharVectorAccessor(LargeVarCharVector vector, IntSupplier currenRowSupplier) {
-        this(vector, vector::get, currenRowSupplier);
+        this(
+                vector,
+                index -> vector.getOffsetBuffer().getLong((long) index * BaseLargeVariableWidthVector.OFFSET_WIDTH),
+                vector::getDataBuffer,
+                currenRowSupplier);
     }
 
-    VarCharVectorAccessor(ValueVector vector, Getter getter, IntSupplier currentRowSupplier) {
+    VarCharVectorAccessor(
+            ValueVector vector, OffsetGetter offsets, Supplier<ArrowBuf> dataBuffer, IntSupplier currentRowSupplier) {
         super(currentRowSupplier);
         this.vector = vector;
-        this.getter = getter;
+        this.offsets = offsets;
+        this.dataBuffer = dataBuffer;
     }
 
     @Override
@@ -40,17 +83,30 @@ public Class<?> getObjectClass() {
         return String.class;
     }
 
-    @Override
-    public byte[] getBytes() {
-        // Arrow's vector.get(int) skips the isSet check when arrow.enable_null_check_for_get=false
-        // (e.g. set by Iceberg on the JVM), so a null entry returns stale buffer bytes (often empty,
-        // but not guaranteed) rather than null. Check the validity buffer explicitly via isNull(int).
+    /**
+     * Returns the current row, or {@code -1} if it is null.
+     *
+     * <p>Arrow's vector.get(int) skips the isSet check when arrow.enable_null_check_for_get=false
+     * (e.g. set by Iceberg on the JVM), so a null entry returns stale buffer bytes (often empty,
+     * but not guaranteed) rather than null. Check the validity buffer explicitly via isNull(int).
+     */
+    private int currentNonNullRow() {
         final int row = getCurrentRow();
         this.wasNull = vector.isNull(row);
-        if (this.wasNull) {
+        return this.wasNull ? -1 : row;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        final int row = currentNonNullRow();
+        if (row < 0) {
             return null;
         }
-        return getter.get(row);
+        final long start = offsets.get(row);
+        final int length = LargeMemoryUtil.checkedCastToInt(offsets.get(row + 1) - start);
+        final byte[] result = new byte[length];
+        dataBuffer.get().getBytes(start, result, 0, length);
+        return result;
     }
 
     @Override
@@ -60,7 +116,85 @@ public String getString() {
 
     @Override
     public String getObject() {
-        final byte[] bytes = getBytes();
-        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+        final int row = currentNonNullRow();
+        if (row < 0) {
+            return null;
+        }
+        final long start = offsets.get(row);
+        final int length = LargeMemoryUtil.checkedCastToInt(offsets.get(row + 1) - start);
+        return decode(dataBuffer.get(), start, length);
+    }
+
+    /**
+     * Streams the UTF-8 bytes of the current value straight from the Arrow data buffer.
+     *
+     * <p>As mandated by JDBC, the stream must be consumed before the cursor moves: it reads from
+     * the current record batch, which is released when the next batch is loaded.
+     */
+    @Override
+    public Reader getCharacterStream() {
+        final int row = currentNonNullRow();
+        if (row < 0) {
+            return null;
+        }
+        final long start = offsets.get(row);
+        return new InputStreamReader(
+                new ArrowBufInputStream(dataBuffer.get(), start, offsets.get(row + 1)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Streams ASCII values straight from the Arrow data buffer. Values that contain non-ASCII
+     * characters are re-encoded, replacing every such character with {@code '?'}.
+     *
+     * <p>The same lifetime restriction as for {@link #getCharacterStream()} applies.
+     */
+    @Override
+    public InputStream getAsciiStream() {
+        final int row = currentNonNullRow();
+        if (row < 0) {
+            return null;
+        }
+        final ArrowBuf data = dataBuffer.get();
+        final long start = offsets.get(row);
+        final long end = offsets.get(row + 1);
+        if (isAscii(data, start, end)) {
+            return new ArrowBufInputStream(data, start, end);
+        }
+        final String value = decode(data, start, LargeMemoryUtil.checkedCastToInt(end - start));
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String decode(ArrowBuf data, long start, int length) {
+        if (length == 0) {
+            return "";
+        }
+        final boolean ascii = isAscii(data, start, start + length);
+        // Strings cannot be built from off-heap memory, the copy into the scratch buffer is the only one besides the
+        // String constructor's own
+        final byte[] bytes = length <= MAX_SCRATCH_SIZE ? scratch(length) : new byte[length];
+        data.getBytes(start, bytes, 0, length);
+        return new String(bytes, 0, length, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.min(MAX_SCRATCH_SIZE, Math.max(length, scratch.length * 2))];
+        }
+        return scratch;
+    }
+
+    static boolean isAscii(ArrowBuf data, long start, long end) {
+        long i = start;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            if ((data.getLong(i) & ASCII_MASK) != 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            if (data.getByte(i) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 }
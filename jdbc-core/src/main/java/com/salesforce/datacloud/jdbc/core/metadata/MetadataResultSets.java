@@ -4,37 +4,35 @@
  */
 package com.salesforce.datacloud.jdbc.core.metadata;
 
+import com.google.common.collect.Lists;
 import com.salesforce.datacloud.jdbc.core.DataCloudResultSet;
 import com.salesforce.datacloud.jdbc.protocol.QueryResultArrowStream;
 import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
-import com.salesforce.datacloud.jdbc.protocol.data.HyperTypeToArrow;
 import com.salesforce.datacloud.jdbc.protocol.data.VectorPopulator;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
 import java.sql.SQLException;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import lombok.val;
 import org.apache.arrow.memory.RootAllocator;
-import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.arrow.vector.ipc.ArrowStreamReader;
-import org.apache.arrow.vector.ipc.ArrowStreamWriter;
-import org.apache.arrow.vector.types.pojo.Schema;
 
 /**
- * Factory for Arrow-backed metadata result sets. Materialises a row-oriented list of metadata
- * values into the Arrow IPC format used by every other driver result set, so streaming query
- * results and materialised metadata results both flow through {@link DataCloudResultSet}.
+ * Factory for Arrow-backed metadata result sets. Populates a row-oriented list of metadata
+ * values directly into the Arrow vectors behind a {@link DataCloudResultSet}, so streaming query
+ * results and materialised metadata results share the same accessors and cursor.
  *
- * <p>Each call builds a fresh single-batch Arrow stream: a writer-side {@link VectorSchemaRoot}
- * is populated via {@link VectorPopulator} (the same code path the JDBC parameter encoder uses),
- * serialised to bytes, and wrapped in an {@link ArrowStreamReader} that the result set owns.
+ * <p>Rows are written page by page by a {@link RowPageArrowReader} via {@link VectorPopulator}
+ * (the same code path the JDBC parameter encoder uses), without serialising them to Arrow IPC
+ * and reading them back. {@link #ofPages} streams pages from a supplier, so large results such
+ * as {@code getColumns} over a whole catalog never need to be fully materialised.
  */
 public final class MetadataResultSets {
 
+    /** Rows per Arrow batch, bounds the Arrow memory of a metadata result set. */
+    static final int PAGE_ROWS = 4096;
+
     private MetadataResultSets() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -59,27 +57,33 @@ public static DataCloudResultSet emptyNoColumns() throws SQLException {
      */
     public static DataCloudResultSet of(List<ColumnMetadata> columns, List<List<Object>> rows) throws SQLException {
         validateRowArity(columns, rows);
-        byte[] ipcBytes = writeArrowStream(columns, rows);
-        // Reuse the query-path allocator budget so a future caller materialising a multi-MB
-        // metadata response trips the cap cleanly instead of letting the JVM OOM.
+        val pages = Lists.partition(rows, PAGE_ROWS).iterator();
+        return ofPages(columns, () -> pages.hasNext() ? pages.next() : null, null);
+    }
+
+    /**
+     * Build a result set that pulls its rows page by page from {@code pages} while it is iterated.
+     * A {@code null} or empty page ends the result set. Rows follow the arity contract of
+     * {@link #of(List, List)}, violations surface when the offending page is loaded.
+     *
+     * @param columns the schema of the result set
+     * @param pages supplies the next page of rows
+     * @param source closed when the result set is closed, e.g. the statement the pages are read
+     *     from; may be {@code null}
+     */
+    public static DataCloudResultSet ofPages(
+            List<ColumnMetadata> columns, ThrowingJdbcSupplier<List<List<Object>>> pages, AutoCloseable source)
+            throws SQLException {
+        // Reuse the query-path allocator budget so a caller materialising a multi-MB metadata
+        // response trips the cap cleanly instead of letting the JVM OOM.
         RootAllocator allocator = new RootAllocator(QueryResultArrowStream.ROOT_ALLOCATOR_BUDGET_BYTES);
-        ArrowStreamReader reader;
-        try {
-            reader = new ArrowStreamReader(new ByteArrayInputStream(ipcBytes), allocator);
-        } catch (Throwable t) {
-            // Constructor-time leak guard: if ArrowStreamReader fails before DataCloudResultSet.of
-            // can take ownership, close the allocator on the way out.
-            try {
-                allocator.close();
-            } catch (Throwable s) {
-                t.addSuppressed(s);
-            }
-            throw t;
-        }
-        // Allocator and reader are now handed to DataCloudResultSet, which owns their lifecycle
-        // and closes both on close() — including the construction-failure path inside of(...).
+        // Allocator and reader are handed to DataCloudResultSet, which owns their lifecycle and
+        // closes both on close() — including the construction-failure path inside of(...).
         return DataCloudResultSet.of(
-                new QueryResultArrowStream.Result(reader, allocator), /*queryId=*/ null, ZoneId.systemDefault());
+                new RowPageArrowReader(columns, pages, source, allocator),
+                allocator,
+                /*queryId=*/ null,
+                ZoneId.systemDefault());
     }
 
     /**
@@ -91,38 +95,13 @@ public static DataCloudResultSet ofRawRows(List<ColumnMetadata> columns, List<Ob
         return of(columns, coerceRows(rawRows));
     }
 
-    /**
-     * Build the Arrow schema, populate a VSR via the shared {@link VectorPopulator}, and write it
-     * out as a single-batch Arrow IPC stream.
-     */
-    private static byte[] writeArrowStream(List<ColumnMetadata> columns, List<List<Object>> rows) throws SQLException {
-        Schema schema = new Schema(columns.stream()
-                .map(c -> HyperTypeToArrow.toField(c.getName(), c.getType()))
-                .collect(Collectors.toList()));
-        try (RootAllocator writeAllocator = new RootAllocator(Long.MAX_VALUE);
-                VectorSchemaRoot root = VectorSchemaRoot.create(schema, writeAllocator)) {
-            root.allocateNew();
-            VectorPopulator.populateVectors(root, columns, rows, /*calendar=*/ null);
-
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
-                writer.start();
-                writer.writeBatch();
-                writer.end();
-            }
-            return out.toByteArray();
-        } catch (IOException ex) {
-            throw new SQLException("Failed to build metadata result set", "XX000", ex);
-        }
-    }
-
     /**
      * Verify that every supplied row has exactly {@code columns.size()} elements. A {@code null}
      * row is allowed and is interpreted as a row of all-nulls (matching the old
      * {@code coerceRows} convention of converting null rows to empty lists, which is the only
      * shape with no positional values to populate). Anything else is a caller bug.
      */
-    private static void validateRowArity(List<ColumnMetadata> columns, List<List<Object>> rows) throws SQLException {
+    static void validateRowArity(List<ColumnMetadata> columns, List<List<Object>> rows) throws SQLException {
         int expected = columns.size();
         for (int i = 0; i < rows.size(); i++) {
             List<Object> row = rows.get(i);
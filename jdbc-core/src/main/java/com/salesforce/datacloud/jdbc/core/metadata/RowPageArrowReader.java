@@ -0,0 +1,108 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core.metadata;
+
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperTypeToArrow;
+import com.salesforce.datacloud.jdbc.protocol.data.VectorPopulator;
+import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * An {@link ArrowReader} that populates its {@link VectorSchemaRoot} directly from pages of Java rows, so that
+ * client-generated result sets skip the Arrow IPC round-trip.
+ *
+ * <p>Each {@link #loadNextBatch()} pulls one page from the supplier and writes it into the reader's vectors via
+ * {@link VectorPopulator}, releasing the buffers of the previous page. Only the current page is held in Arrow
+ * memory, so a page supplier that reads lazily (e.g. from another result set) never materialises the whole result.
+ * A {@code null} or empty page ends the stream.
+ */
+final class RowPageArrowReader extends ArrowReader {
+    private final List<ColumnMetadata> columns;
+    private final ThrowingJdbcSupplier<List<List<Object>>> pages;
+    private final AutoCloseable source;
+    private boolean exhausted;
+
+    /**
+     * @param columns the schema of the rows
+     * @param pages supplies the next page of rows, each row in column order
+     * @param source closed together with the reader, may be {@code null}
+     */
+    RowPageArrowReader(
+            List<ColumnMetadata> columns,
+            ThrowingJdbcSupplier<List<List<Object>>> pages,
+            AutoCloseable source,
+            BufferAllocator allocator) {
+        super(allocator);
+        this.columns = columns;
+        this.pages = pages;
+        this.source = source;
+    }
+
+    @Override
+    public boolean loadNextBatch() throws IOException {
+        if (exhausted) {
+            return false;
+        }
+        prepareLoadNextBatch();
+        final List<List<Object>> page;
+        try {
+            page = pages.get();
+            if (page != null) {
+                MetadataResultSets.validateRowArity(columns, page);
+            }
+        } catch (SQLException ex) {
+            throw new IOException("Failed to produce the next page of rows: " + ex.getMessage(), ex);
+        }
+        if (page == null || page.isEmpty()) {
+            exhausted = true;
+            return false;
+        }
+
+        // Size every vector for the whole page up front: the setters grow buffers on values, but
+        // null cells only flip validity bits and would otherwise run past the default capacity.
+        VectorSchemaRoot root = getVectorSchemaRoot();
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.setInitialCapacity(page.size());
+            vector.allocateNew();
+        }
+        VectorPopulator.populateVectors(root, columns, page, /*calendar=*/ null);
+        return true;
+    }
+
+    @Override
+    public long bytesRead() {
+        return 0;
+    }
+
+    @Override
+    protected void closeReadSource() throws IOException {
+        if (source == null) {
+            return;
+        }
+        try {
+            source.close();
+        } catch (IOException | RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException("Failed to close the row source", ex);
+        }
+    }
+
+    @Override
+    protected Schema readSchema() {
+        return new Schema(columns.stream()
+                .map(c -> HyperTypeToArrow.toField(c.getName(), c.getType()))
+                .collect(Collectors.toList()));
+    }
+}
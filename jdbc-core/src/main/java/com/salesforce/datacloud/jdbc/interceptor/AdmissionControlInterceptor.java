@@ -0,0 +1,208 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.interceptor;
+
+import com.salesforce.datacloud.jdbc.core.AdmissionController;
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
+
+/**
+ * A gRPC client interceptor that admits the queries of a connection through an {@link AdmissionController}.
+ *
+ * Only {@code ExecuteQuery} streams wait for a slot. Result, status and cancel calls of queries that were already
+ * admitted are never delayed, so that reading a result cannot wait behind a query that is not being read. Waiting does
+ * not block the caller: the returned call buffers what the caller sends and starts the actual call once the stream
+ * was admitted. The time spent waiting counts towards the call's deadline, and calls whose deadline expires while
+ * waiting fail with {@link Status#DEADLINE_EXCEEDED} without reaching the server.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements ClientInterceptor {
+    @NonNull private final AdmissionController controller;
+
+    @NonNull private final String workload;
+
+    private final int weight;
+
+    private final int limit;
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        if (!method.getFullMethodName().equals(HyperServiceGrpc.getExecuteQueryMethod().getFullMethodName())) {
+            return next.newCall(method, callOptions);
+        }
+        return new DelayedCall<>(method, callOptions, next);
+    }
+
+    /**
+     * A call that waits for admission once started. Until then, requests, messages and the half close are buffered
+     * and replayed on the actual call in their original order.
+     */
+    private final class DelayedCall<ReqT, RespT> extends ClientCall<ReqT, RespT>
+            implements AdmissionController.Admission {
+        private final MethodDescriptor<ReqT, RespT> method;
+        private final CallOptions callOptions;
+        private final Channel next;
+
+        // Guarded by this call
+        private Listener<RespT> listener;
+        private Metadata headers;
+        private AdmissionController.Ticket ticket;
+        private ClientCall<ReqT, RespT> delegate;
+        private List<Runnable> pending = new ArrayList<>();
+        private boolean finished;
+
+        DelayedCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            this.method = method;
+            this.callOptions = callOptions;
+            this.next = next;
+        }
+
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+            synchronized (this) {
+                this.listener = responseListener;
+                this.headers = headers;
+            }
+            val deadline = callOptions.getDeadline();
+            val timeoutNanos = deadline == null ? -1 : Math.max(0, deadline.timeRemaining(TimeUnit.NANOSECONDS));
+            // May admit or reject the call before it returns
+            val admission = controller.admit(workload, weight, limit, timeoutNanos, this);
+            synchronized (this) {
+                ticket = admission;
+            }
+        }
+
+        @Override
+        public void admitted(AdmissionController.Permit permit) {
+            synchronized (this) {
+                if (finished) {
+                    permit.close();
+                    return;
+                }
+                delegate = next.newCall(method, callOptions);
+                delegate.start(
+                        new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(listener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                permit.close();
+                                super.onClose(status, trailers);
+                            }
+                        },
+                        headers);
+                pending.forEach(Runnable::run);
+                pending = null;
+            }
+        }
+
+        @Override
+        public void rejected(SQLException ex) {
+            val code = "HYT00".equals(ex.getSQLState()) ? Status.DEADLINE_EXCEEDED : Status.FAILED_PRECONDITION;
+            fail(code.withDescription(ex.getMessage()).withCause(ex));
+        }
+
+        /**
+         * Closes a call that was not admitted.
+         *
+         * @return {@code false} if the call was admitted or closed already
+         */
+        private boolean fail(Status status) {
+            final Listener<RespT> failed;
+            synchronized (this) {
+                if (finished || delegate != null) {
+                    return false;
+                }
+                finished = true;
+                pending = null;
+                failed = listener;
+            }
+            if (failed != null) {
+                final Executor executor = callOptions.getExecutor();
+                if (executor == null) {
+                    failed.onClose(status, new Metadata());
+                } else {
+                    executor.execute(() -> failed.onClose(status, new Metadata()));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+            final AdmissionController.Ticket waiting;
+            synchronized (this) {
+                waiting = ticket;
+            }
+            if (fail(Status.CANCELLED.withDescription(message).withCause(cause))) {
+                // A stream admitted meanwhile finds the call finished and releases its slot right away
+                if (waiting != null) {
+                    waiting.withdraw();
+                }
+                return;
+            }
+            final ClientCall<ReqT, RespT> admitted;
+            synchronized (this) {
+                admitted = delegate;
+            }
+            if (admitted != null) {
+                admitted.cancel(message, cause);
+            }
+        }
+
+        @Override
+        public synchronized void request(int numMessages) {
+            run(() -> delegate.request(numMessages));
+        }
+
+        @Override
+        public synchronized void halfClose() {
+            run(() -> delegate.halfClose());
+        }
+
+        @Override
+        public synchronized void sendMessage(ReqT message) {
+            run(() -> delegate.sendMessage(message));
+        }
+
+        @Override
+        public synchronized void setMessageCompression(boolean enabled) {
+            run(() -> delegate.setMessageCompression(enabled));
+        }
+
+        @Override
+        public synchronized boolean isReady() {
+            return delegate != null && delegate.isReady();
+        }
+
+        @Override
+        public synchronized Attributes getAttributes() {
+            return delegate == null ? Attributes.EMPTY : delegate.getAttributes();
+        }
+
+        private void run(Runnable operation) {
+            if (delegate != null) {
+                operation.run();
+            } else if (pending != null) {
+                pending.add(operation);
+            }
+        }
+    }
+}
@@ -10,14 +10,22 @@
 import java.sql.SQLException;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+/**
+ * Adds the {@code Authorization} and {@code audience} headers to every call.
+ *
+ * If the {@link TokenProvider} reports a token generation, the headers are built once per generation and merged into
+ * each call from an immutable snapshot, so that a call only costs a volatile read and an identity comparison instead of
+ * resolving the token and parsing its audience again.
+ */
 @Slf4j
 @ToString
-@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class AuthorizationHeaderInterceptor implements HeaderMutatingClientInterceptor {
 
     @FunctionalInterface
@@ -27,6 +35,15 @@ public interface TokenProvider {
         default String getAudience() {
             return null;
         }
+
+        /**
+         * Identifies the token that {@link #getToken()} and {@link #getAudience()} currently return, typically the
+         * token object itself. The headers are rebuilt whenever the returned object changes by identity. The default
+         * {@code null} resolves token and audience on every call.
+         */
+        default Object getTokenGeneration() throws SQLException {
+            return null;
+        }
     }
 
     public static AuthorizationHeaderInterceptor of(TokenProvider supplier) {
@@ -42,15 +59,42 @@ public static AuthorizationHeaderInterceptor of(TokenProvider supplier) {
     @ToString.Exclude
     private final TokenProvider tokenSupplier;
 
+    @ToString.Exclude
+    private volatile Snapshot snapshot;
+
+    @AllArgsConstructor
+    private static final class Snapshot {
+        private final Object generation;
+        private final Metadata headers;
+    }
+
     @SneakyThrows
     @Override
     public void mutate(final Metadata headers) {
-        val token = tokenSupplier.getToken();
-        headers.put(AUTH_KEY, token);
+        val generation = tokenSupplier.getTokenGeneration();
+        if (generation == null) {
+            headers.merge(buildHeaders());
+            return;
+        }
+
+        Snapshot current = snapshot;
+        if (current == null || current.generation != generation) {
+            // Racing threads may both build a snapshot for a new generation, either result is correct
+            current = new Snapshot(generation, buildHeaders());
+            snapshot = current;
+            log.debug("Built authorization headers for a new token generation");
+        }
+        headers.merge(current.headers);
+    }
+
+    private Metadata buildHeaders() throws SQLException {
+        val result = new Metadata();
+        result.put(AUTH_KEY, tokenSupplier.getToken());
 
         val audience = tokenSupplier.getAudience();
         if (audience != null) {
-            headers.put(AUD_KEY, audience);
+            result.put(AUD_KEY, audience);
         }
+        return result;
     }
 }
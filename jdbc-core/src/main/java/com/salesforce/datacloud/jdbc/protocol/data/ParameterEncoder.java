@@ -0,0 +1,111 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.protocol.data;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Encodes prepared-statement parameters as a single-row Arrow IPC stream, keeping its allocator,
+ * schema and vectors across calls.
+ *
+ * <p>Unlike {@link ArrowUtils#toArrowByteArray}, repeated executions with unchanged parameter
+ * types only reset and refill the existing vectors, using the value setters built for the first
+ * call. The encoded bytes are handed to protobuf without a copy: every call writes into a fresh
+ * buffer sized from the previous encoding, which the returned {@link ByteString} then owns,
+ * because gRPC may still serialise a request after the call that sent it has returned.
+ *
+ * <p>Not thread-safe; meant to be owned by one statement at a time.
+ */
+public final class ParameterEncoder implements AutoCloseable {
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private RootAllocator allocator;
+    private Schema schema;
+    private VectorSchemaRoot root;
+    private int lastEncodedSize = INITIAL_BUFFER_SIZE;
+    // The setters built for settersCalendar, a statement encodes with the same calendar every time
+    private Calendar settersCalendar;
+    private Map<HyperTypeKind, VectorValueSetter<?>> setters;
+
+    /** Output stream whose buffer can be wrapped without the copy {@link #toByteArray()} makes. */
+    private static final class WrappableOutputStream extends ByteArrayOutputStream {
+        WrappableOutputStream(int size) {
+            super(size);
+        }
+
+        ByteString wrap() {
+            return UnsafeByteOperations.unsafeWrap(buf, 0, count);
+        }
+    }
+
+    /**
+     * Encodes {@code parameters} the same way as {@link ArrowUtils#toArrowByteArray}.
+     *
+     * @return the encoded parameters, which do not change when this encoder is used again
+     */
+    public ByteString encode(List<ParameterBinding> parameters, Calendar calendar) throws IOException {
+        VectorSchemaRoot vectors = prepareVectors(ArrowUtils.createSchemaFromParameters(parameters));
+        if (setters == null || settersCalendar != calendar) {
+            setters = VectorValueSetterFactory.getSetters(calendar);
+            settersCalendar = calendar;
+        }
+        VectorPopulator.populateParameters(vectors, parameters, setters);
+
+        WrappableOutputStream outputStream = new WrappableOutputStream(lastEncodedSize);
+        try (ArrowStreamWriter writer = new ArrowStreamWriter(vectors, null, outputStream)) {
+            writer.start();
+            writer.writeBatch();
+            writer.end();
+        }
+        lastEncodedSize = Math.max(outputStream.size(), INITIAL_BUFFER_SIZE);
+        return outputStream.wrap();
+    }
+
+    private VectorSchemaRoot prepareVectors(Schema parametersSchema) {
+        if (root != null && parametersSchema.equals(schema)) {
+            for (FieldVector vector : root.getFieldVectors()) {
+                vector.reset();
+            }
+            return root;
+        }
+
+        if (root != null) {
+            root.close();
+            root = null;
+        }
+        if (allocator == null) {
+            allocator = new RootAllocator(Long.MAX_VALUE);
+        }
+        VectorSchemaRoot created = VectorSchemaRoot.create(parametersSchema, allocator);
+        created.allocateNew();
+        root = created;
+        schema = parametersSchema;
+        return created;
+    }
+
+    @Override
+    public void close() {
+        if (root != null) {
+            root.close();
+            root = null;
+            schema = null;
+        }
+        if (allocator != null) {
+            allocator.close();
+            allocator = null;
+        }
+    }
+}
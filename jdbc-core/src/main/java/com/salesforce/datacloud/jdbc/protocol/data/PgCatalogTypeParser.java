@@ -4,6 +4,8 @@
  */
 package com.salesforce.datacloud.jdbc.protocol.data;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,6 +21,8 @@
  * ({@code int2}, {@code int4}, {@code int8}, {@code bool}, {@code float4}, {@code float8}) as
  * a safety net. Unrecognized names throw {@link IllegalArgumentException} — the driver prefers
  * failing loudly over silently surfacing a type it does not model.
+ *
+ * <p>Catalogs repeat the same few type names for thousands of columns, so successful parses are memoized.
  */
 public final class PgCatalogTypeParser {
 
@@ -31,6 +35,11 @@ public final class PgCatalogTypeParser {
     private static final Pattern ARRAY_PATTERN =
             Pattern.compile("array\\((.+)\\)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
+    // Bounds the memo, type names with lengths or precisions are unbounded in theory
+    private static final int MAX_MEMOIZED_TYPES = 1024;
+    private static final Map<String, HyperType> NULLABLE_TYPES = new ConcurrentHashMap<>();
+    private static final Map<String, HyperType> NON_NULLABLE_TYPES = new ConcurrentHashMap<>();
+
     private PgCatalogTypeParser() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -49,6 +58,19 @@ public static HyperType parse(String formatType, boolean nullable) {
         if (formatType == null || formatType.isEmpty()) {
             throw new IllegalArgumentException("Hyper type name cannot be null or empty");
         }
+        Map<String, HyperType> memo = nullable ? NULLABLE_TYPES : NON_NULLABLE_TYPES;
+        HyperType memoized = memo.get(formatType);
+        if (memoized != null) {
+            return memoized;
+        }
+        HyperType parsed = parseUncached(formatType, nullable);
+        if (memo.size() < MAX_MEMOIZED_TYPES) {
+            memo.put(formatType, parsed);
+        }
+        return parsed;
+    }
+
+    private static HyperType parseUncached(String formatType, boolean nullable) {
         String raw = formatType.trim();
         String lower = raw.toLowerCase();
 
@@ -24,6 +24,7 @@
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.DateDayVector;
 import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
 import org.apache.arrow.vector.Float8Vector;
 import org.apache.arrow.vector.IntVector;
@@ -35,6 +36,7 @@
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
 
 /**
  * Populates vectors in a {@link VectorSchemaRoot} with Java values, dispatching per column by
@@ -56,6 +58,17 @@ private VectorPopulator() {
      * encoding path; the VSR's schema is built from the bindings' {@link HyperType}s.
      */
     public static void populateVectors(VectorSchemaRoot root, List<ParameterBinding> parameters, Calendar calendar) {
+        populateParameters(root, parameters, VectorValueSetterFactory.getSetters(calendar));
+    }
+
+    /**
+     * Like {@link #populateVectors(VectorSchemaRoot, List, Calendar)}, with setters that the caller
+     * obtained once from {@link VectorValueSetterFactory#getSetters(Calendar)} and reuses.
+     */
+    static void populateParameters(
+            VectorSchemaRoot root,
+            List<ParameterBinding> parameters,
+            Map<HyperTypeKind, VectorValueSetter<?>> setters) {
         for (int i = 0; i < parameters.size(); i++) {
             ParameterBinding binding = parameters.get(i);
             if (binding == null) {
@@ -66,7 +79,7 @@ public static void populateVectors(VectorSchemaRoot root, List<ParameterBinding>
             HyperTypeKind kind = binding.getType().getKind();
             ValueVector vector =
                     root.getVector(root.getSchema().getFields().get(i).getName());
-            setCell(vector, kind, 0, binding.getValue(), calendar);
+            setCellWith(setters.get(kind), vector, kind, 0, binding.getValue());
         }
         root.setRowCount(1);
     }
@@ -96,9 +109,13 @@ public static void populateVectors(
 
     /** Sets cell ({@code vector}, {@code index}) to {@code value}, or null if value is null. */
     static void setCell(ValueVector vector, HyperTypeKind kind, int index, Object value, Calendar calendar) {
+        setCellWith(VectorValueSetterFactory.getSetter(kind, calendar), vector, kind, index, value);
+    }
+
+    private static void setCellWith(
+            VectorValueSetter<?> untypedSetter, ValueVector vector, HyperTypeKind kind, int index, Object value) {
         @SuppressWarnings("unchecked")
-        VectorValueSetter<ValueVector> setter =
-                (VectorValueSetter<ValueVector>) VectorValueSetterFactory.getSetter(kind, calendar);
+        VectorValueSetter<ValueVector> setter = (VectorValueSetter<ValueVector>) untypedSetter;
         if (setter == null) {
             throw new UnsupportedOperationException("Unsupported HyperTypeKind for vector population: " + kind);
         }
@@ -132,7 +149,8 @@ private static Map<HyperTypeKind, VectorValueSetter<?>> build(Calendar calendar)
                 Maps.immutableEntry(HyperTypeKind.TIME, new TimeMicroVectorSetter(calendar)),
                 Maps.immutableEntry(HyperTypeKind.TIMESTAMP, new TimeStampMicroVectorSetter()),
                 Maps.immutableEntry(HyperTypeKind.TIMESTAMP_TZ, new TimeStampMicroTZVectorSetter()),
-                Maps.immutableEntry(HyperTypeKind.INT8, new TinyIntVectorSetter()));
+                Maps.immutableEntry(HyperTypeKind.INT8, new TinyIntVectorSetter()),
+                Maps.immutableEntry(HyperTypeKind.ARRAY, new ListVectorSetter(calendar)));
     }
 
     static VectorValueSetter<?> getSetter(HyperTypeKind kind, Calendar calendar) {
@@ -143,6 +161,11 @@ static VectorValueSetter<?> getSetter(HyperTypeKind kind, Calendar calendar) {
         // pass different Calendars cannot race. This path is cold (parameter-binding only).
         return build(calendar).get(kind);
     }
+
+    /** All setters for {@code calendar}, for callers that encode many values with the same calendar. */
+    static Map<HyperTypeKind, VectorValueSetter<?>> getSetters(Calendar calendar) {
+        return calendar == null ? SETTERS_NO_CAL : build(calendar);
+    }
 }
 
 /** Base setter implementation for ValueVectors that need type validation. */
@@ -445,3 +468,42 @@ protected void setNullValue(TinyIntVector vector, int index) {
         vector.setNull(index);
     }
 }
+
+/**
+ * Setter implementation for ListVector, used for ARRAY parameters such as the key list of
+ * {@code WHERE id = ANY(?)}. Takes a {@link List} of element values and writes them into the
+ * list's data vector with the setter of the element type, so the whole array travels as one
+ * compact Arrow value.
+ */
+@SuppressWarnings("rawtypes")
+class ListVectorSetter extends BaseVectorSetter<ListVector, List> {
+    private final Calendar calendar;
+
+    ListVectorSetter(Calendar calendar) {
+        super(List.class);
+        this.calendar = calendar;
+    }
+
+    @Override
+    protected void setValueInternal(ListVector vector, int index, List value) {
+        FieldVector elements = vector.getDataVector();
+        HyperTypeKind elementKind = ArrowToHyperTypeMapper.toHyperType(elements.getField()).getKind();
+        @SuppressWarnings("unchecked")
+        VectorValueSetter<ValueVector> elementSetter =
+                (VectorValueSetter<ValueVector>) VectorValueSetterFactory.getSetter(elementKind, calendar);
+        if (elementSetter == null) {
+            throw new IllegalArgumentException("Unsupported ARRAY element type: " + elementKind);
+        }
+
+        int offset = vector.startNewValue(index);
+        for (int i = 0; i < value.size(); i++) {
+            elementSetter.setValue(elements, offset + i, value.get(i));
+        }
+        vector.endValue(index, value.size());
+    }
+
+    @Override
+    protected void setNullValue(ListVector vector, int index) {
+        vector.setNull(index);
+    }
+}
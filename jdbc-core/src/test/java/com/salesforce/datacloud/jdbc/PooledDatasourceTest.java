@@ -0,0 +1,194 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.salesforce.datacloud.jdbc.core.ConnectionProperties;
+import com.salesforce.datacloud.jdbc.core.DataCloudConnection;
+import com.salesforce.datacloud.jdbc.core.GrpcChannelProperties;
+import com.salesforce.datacloud.jdbc.core.SslProperties;
+import com.salesforce.datacloud.jdbc.hyper.HyperServerManager;
+import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(LocalHyperTestBase.class)
+class PooledDatasourceTest {
+
+    private static HyperDatasource hyperDatasource() {
+        val server = HyperServerManager.get(HyperServerManager.ConfigFile.SMALL_CHUNKS);
+        return HyperDatasource.builder()
+                .host("127.0.0.1")
+                .port(server.getPort())
+                .sslProperties(SslProperties.builder()
+                        .sslMode(SslProperties.SslMode.DISABLED)
+                        .build())
+                .connectionProperties(ConnectionProperties.defaultProperties())
+                .grpcChannelProperties(GrpcChannelProperties.defaultProperties())
+                .build();
+    }
+
+    @Test
+    @SneakyThrows
+    void reusesPhysicalConnectionAndResetsState() {
+        try (val pool = PooledDatasource.builder()
+                .dataSource(hyperDatasource())
+                .minIdle(1)
+                .build()
+                .prewarm()) {
+            assertThat(pool.getIdleCount()).isEqualTo(1);
+
+            DataCloudConnection physical;
+            try (val connection = pool.getConnection()) {
+                physical = connection.unwrap(DataCloudConnection.class);
+                connection.setNetworkTimeout(null, 1234);
+                try (val statement = connection.createStatement();
+                        val rs = statement.executeQuery("SELECT 1")) {
+                    assertThat(rs.next()).isTrue();
+                }
+                assertThat(pool.getIdleCount()).isZero();
+            }
+
+            assertThat(pool.getIdleCount()).isEqualTo(1);
+            assertThat(pool.getTotalCount()).isEqualTo(1);
+            assertThat(physical.isClosed()).isFalse();
+            assertThat(physical.getNetworkTimeout()).isZero();
+
+            try (val connection = pool.getConnection()) {
+                assertThat(connection.unwrap(DataCloudConnection.class)).isSameAs(physical);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void closedHandleRejectsFurtherUse() {
+        try (val pool = PooledDatasource.builder().dataSource(hyperDatasource()).build()) {
+            val connection = pool.getConnection();
+            connection.close();
+            connection.close();
+
+            assertThat(connection.isClosed()).isTrue();
+            assertThatThrownBy(connection::createStatement)
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("closed");
+            assertThat(pool.getIdleCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void closingHandleClosesItsStatements() {
+        try (val pool = PooledDatasource.builder().dataSource(hyperDatasource()).build()) {
+            DataCloudConnection physical;
+            ResultSet rs;
+            try (val connection = pool.getConnection()) {
+                physical = connection.unwrap(DataCloudConnection.class);
+                val statement = connection.createStatement();
+                assertThat(statement.getConnection()).isSameAs(connection);
+                rs = statement.executeQuery("select g from generate_series(1, 1000000) g");
+                assertThat(rs.next()).isTrue();
+
+                // Closing the statement's connection returns the physical connection to the pool
+                statement.getConnection().close();
+                assertThat(rs.isClosed()).isTrue();
+                assertThat(connection.isClosed()).isTrue();
+            }
+
+            assertThat(physical.isClosed()).isFalse();
+            assertThat(pool.getIdleCount()).isEqualTo(1);
+            try (val connection = pool.getConnection();
+                    val statement = connection.prepareStatement("select ?")) {
+                assertThat(statement.getConnection()).isSameAs(connection);
+                assertThat(connection.unwrap(DataCloudConnection.class)).isSameAs(physical);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void validatesIdleConnectionsAfterValidationInterval() {
+        try (val pool = PooledDatasource.builder()
+                .dataSource(hyperDatasource())
+                .validationInterval(Duration.ZERO)
+                .build()) {
+            DataCloudConnection physical;
+            try (val connection = pool.getConnection()) {
+                physical = connection.unwrap(DataCloudConnection.class);
+            }
+            try (val connection = pool.getConnection()) {
+                assertThat(connection.unwrap(DataCloudConnection.class)).isSameAs(physical);
+            }
+
+            // A physical connection that was closed behind the pool's back is replaced
+            physical.close();
+            try (val connection = pool.getConnection()) {
+                assertThat(connection.unwrap(DataCloudConnection.class)).isNotSameAs(physical);
+                assertThat(connection.isValid(1)).isTrue();
+            }
+            assertThat(pool.getTotalCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void limitsTotalConnections() {
+        try (val pool = PooledDatasource.builder()
+                .dataSource(hyperDatasource())
+                .maxIdle(1)
+                .maxTotal(2)
+                .borrowTimeout(Duration.ofMillis(100))
+                .build()) {
+            try (val first = pool.getConnection();
+                    val second = pool.getConnection()) {
+                assertThat(pool.getTotalCount()).isEqualTo(2);
+                assertThatThrownBy(pool::getConnection)
+                        .isInstanceOf(SQLException.class)
+                        .hasMessageContaining("Timed out waiting for a pooled connection");
+            }
+
+            // Only maxIdle connections are kept after they were returned
+            assertThat(pool.getIdleCount()).isEqualTo(1);
+            assertThat(pool.getTotalCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void rejectsInvalidConfiguration() {
+        val pool = PooledDatasource.builder()
+                .dataSource(hyperDatasource())
+                .minIdle(4)
+                .maxIdle(2)
+                .build();
+        assertThatThrownBy(pool::prewarm).isInstanceOf(SQLException.class).hasMessageContaining("minIdle=4");
+    }
+
+    @Test
+    @SneakyThrows
+    void closingPoolClosesIdleConnections() {
+        val pool = PooledDatasource.builder()
+                .dataSource(hyperDatasource())
+                .minIdle(2)
+                .build()
+                .prewarm();
+        val connection = pool.getConnection();
+        val physical = connection.unwrap(DataCloudConnection.class);
+        pool.close();
+
+        assertThat(pool.getTotalCount()).isEqualTo(1);
+        connection.close();
+        assertThat(physical.isClosed()).isTrue();
+        assertThat(pool.getTotalCount()).isZero();
+        assertThatThrownBy(pool::getConnection).isInstanceOf(SQLException.class);
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase.getHyperQueryConnection;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(LocalHyperTestBase.class)
+class AdmissionControllerTest {
+    private static final long NO_DEADLINE = -1;
+
+    @SneakyThrows
+    private static void awaitQueued(AdmissionController controller, String workload, int queued) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (controller.getStats().get(workload) == null
+                || controller.getStats().get(workload).getQueued() < queued) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void sharesSlotsByWeightWhileWorkloadsAreWaiting() {
+        val controller = AdmissionController.create(1);
+        val blocker = controller.acquire("blocker", 1, 0, NO_DEADLINE);
+
+        val executor = Executors.newFixedThreadPool(8);
+        val order = Collections.synchronizedList(new ArrayList<String>());
+        val waiters = new ArrayList<CompletableFuture<Void>>();
+        for (val workload : new String[] {"batch", "interactive"}) {
+            val weight = workload.equals("interactive") ? 3 : 1;
+            for (int i = 0; i < 4; i++) {
+                waiters.add(CompletableFuture.runAsync(() -> {
+                    try (val permit = controller.acquire(workload, weight, 0, NO_DEADLINE)) {
+                        order.add(workload);
+                    } catch (SQLException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                }, executor));
+            }
+            awaitQueued(controller, workload, 4);
+        }
+
+        blocker.close();
+        CompletableFuture.allOf(waiters.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // While both are waiting, the interactive workload receives three slots for every batch slot
+        assertThat(order.subList(0, 4)).filteredOn("interactive"::equals).hasSize(3);
+        assertThat(order).hasSize(8);
+    }
+
+    @Test
+    @SneakyThrows
+    void limitsConcurrentStreamsPerWorkload() {
+        val controller = AdmissionController.create(10);
+        val first = controller.acquire("batch", 1, 1, NO_DEADLINE);
+
+        // Other workloads still use the remaining capacity
+        controller.acquire("interactive", 1, 1, NO_DEADLINE).close();
+
+        assertThatThrownBy(() -> controller.acquire("batch", 1, 1, TimeUnit.MILLISECONDS.toNanos(50)))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("workload batch was rejected")
+                .extracting(ex -> ((SQLException) ex).getSQLState())
+                .isEqualTo("HYT00");
+
+        first.close();
+        first.close();
+        controller.acquire("batch", 1, 1, 0).close();
+
+        val stats = controller.getStats().get("batch");
+        assertThat(stats.getAdmitted()).isEqualTo(2);
+        assertThat(stats.getRejected()).isEqualTo(1);
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getQueued()).isZero();
+    }
+
+    /** Records the order of admissions and the permits of the admitted streams. */
+    private static AdmissionController.Admission record(
+            String workload, List<String> order, ArrayDeque<AdmissionController.Permit> permits) {
+        return new AdmissionController.Admission() {
+            @Override
+            public void admitted(AdmissionController.Permit permit) {
+                order.add(workload);
+                permits.addLast(permit);
+            }
+
+            @Override
+            public void rejected(SQLException ex) {
+                throw new AssertionError("Unexpected rejection", ex);
+            }
+        };
+    }
+
+    @Test
+    @SneakyThrows
+    void workloadsHeldBackByTheirLimitDoNotMoveVirtualTimeBackwards() {
+        val controller = AdmissionController.create(3);
+        val order = new ArrayList<String>();
+        val permits = new ArrayDeque<AdmissionController.Permit>();
+
+        val limited = controller.acquire("limited", 1, 1, NO_DEADLINE);
+        controller.admit("limited", 1, 1, NO_DEADLINE, record("limited", order, permits));
+        for (int i = 0; i < 10; i++) {
+            controller.acquire("steady", 1, 0, NO_DEADLINE).close();
+        }
+        val steady = controller.acquire("steady", 1, 0, NO_DEADLINE);
+
+        // The limited workload is far behind once its limit lets it run again
+        limited.close();
+        assertThat(order).containsExactly("limited");
+
+        // A workload that becomes active afterwards must not start that far behind as well
+        controller.admit("new", 1, 0, NO_DEADLINE, record("new", order, permits));
+        for (int i = 0; i < 2; i++) {
+            controller.admit("new", 1, 0, NO_DEADLINE, record("new", order, permits));
+            controller.admit("steady", 1, 0, NO_DEADLINE, record("steady", order, permits));
+        }
+        steady.close();
+        permits.pollLast().close();
+        assertThat(order.subList(0, 2)).containsExactly("limited", "new");
+        assertThat(order.subList(2, 4)).containsExactlyInAnyOrder("new", "steady");
+    }
+
+    @Test
+    @SneakyThrows
+    void workloadSettingsFollowTheLatestStream() {
+        val controller = AdmissionController.create(10);
+        val held = controller.acquire("batch", 1, 1, NO_DEADLINE);
+
+        val waiting = new CompletableFuture<AdmissionController.Permit>();
+        controller.admit("batch", 1, 1, NO_DEADLINE, new AdmissionController.Admission() {
+            @Override
+            public void admitted(AdmissionController.Permit permit) {
+                waiting.complete(permit);
+            }
+
+            @Override
+            public void rejected(SQLException ex) {
+                waiting.completeExceptionally(ex);
+            }
+        });
+        assertThat(waiting).isNotDone();
+
+        // A stream with a raised limit is admitted, and so is the stream that the old limit held back
+        val raised = controller.acquire("batch", 4, 3, NO_DEADLINE);
+        assertThat(waiting).isCompleted();
+        val stats = controller.getStats().get("batch");
+        assertThat(stats.getInFlight()).isEqualTo(3);
+        assertThat(stats.getRejected()).isZero();
+
+        held.close();
+        waiting.get().close();
+        raised.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void admitWaitsWithoutBlockingTheCaller() {
+        val controller = AdmissionController.create(1);
+        val held = controller.acquire("interactive", 1, 0, NO_DEADLINE);
+
+        val withdrawn = new CompletableFuture<AdmissionController.Permit>();
+        val ticket = controller.admit("interactive", 1, 0, NO_DEADLINE, new AdmissionController.Admission() {
+            @Override
+            public void admitted(AdmissionController.Permit permit) {
+                withdrawn.complete(permit);
+            }
+
+            @Override
+            public void rejected(SQLException ex) {
+                withdrawn.completeExceptionally(ex);
+            }
+        });
+        val expiring = new CompletableFuture<AdmissionController.Permit>();
+        controller.admit(
+                "interactive", 1, 0, TimeUnit.MILLISECONDS.toNanos(50), new AdmissionController.Admission() {
+                    @Override
+                    public void admitted(AdmissionController.Permit permit) {
+                        expiring.complete(permit);
+                    }
+
+                    @Override
+                    public void rejected(SQLException ex) {
+                        expiring.completeExceptionally(ex);
+                    }
+                });
+        assertThat(controller.getStats().get("interactive").getQueued()).isEqualTo(2);
+
+        assertThatThrownBy(() -> expiring.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("no admission slot was free within 50ms");
+        assertThat(ticket.withdraw()).isTrue();
+        assertThat(ticket.withdraw()).isFalse();
+
+        held.close();
+        assertThat(withdrawn).isNotDone();
+        val stats = controller.getStats().get("interactive");
+        assertThat(stats.getInFlight()).isZero();
+        assertThat(stats.getQueued()).isZero();
+        assertThat(stats.getRejected()).isEqualTo(2);
+    }
+
+    @Test
+    @SneakyThrows
+    void recordsQueueTime() {
+        val controller = AdmissionController.create(1);
+        val blocker = controller.acquire("interactive", 1, 0, NO_DEADLINE);
+        val waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return controller.acquire("interactive", 1, 0, NO_DEADLINE);
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        awaitQueued(controller, "interactive", 1);
+        Thread.sleep(100);
+        blocker.close();
+        waiter.get(10, TimeUnit.SECONDS).close();
+
+        val stats = controller.getStats().get("interactive");
+        assertThat(stats.getMaxQueueTime().toMillis()).isGreaterThanOrEqualTo(100);
+        assertThat(stats.getAverageQueueTime()).isEqualTo(stats.getTotalQueueTime().dividedBy(2));
+    }
+
+    @Test
+    @SneakyThrows
+    void admitsQueriesOfConnections() {
+        val properties = new Properties();
+        properties.setProperty("workload", "admission-test");
+        properties.setProperty("admissionMaxConcurrentQueries", "2");
+        properties.setProperty("workloadMaxConcurrentQueries", "1");
+        try (val connection = getHyperQueryConnection(properties)) {
+            List<CompletableFuture<DataCloudResultSet>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(connection.submitQuery("select a from generate_series(1, 10000) as s(a)"));
+            }
+            for (val future : futures) {
+                try (val resultSet = future.get(30, TimeUnit.SECONDS)) {
+                    while (resultSet.next()) {}
+                }
+            }
+        }
+
+        val stats = AdmissionController.shared(2).getStats().get("admission-test");
+        assertThat(stats.getAdmitted()).isGreaterThanOrEqualTo(4);
+        assertThat(stats.getRejected()).isZero();
+    }
+}
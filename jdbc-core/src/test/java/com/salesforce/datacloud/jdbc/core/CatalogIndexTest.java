@@ -0,0 +1,72 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class CatalogIndexTest {
+    private static final CatalogIndex INDEX = new CatalogIndex(
+            Arrays.asList(
+                    Arrays.asList("public", "orders"),
+                    Arrays.asList("public", "order_items"),
+                    Arrays.asList("public", "orderXitems"),
+                    Arrays.asList("sales", "orders"),
+                    Arrays.asList("sales", "100%_done"),
+                    Arrays.asList(null, "detached")),
+            0,
+            1);
+
+    private static List<String> tables(String schemaPattern, String tablePattern) {
+        val result = new ArrayList<String>();
+        for (val row : INDEX.filter(schemaPattern, tablePattern)) {
+            val values = (List<?>) row;
+            result.add(values.get(0) + "." + values.get(1));
+        }
+        return result;
+    }
+
+    @Test
+    void matchesEverythingWithoutPatterns() {
+        assertThat(tables(null, null)).hasSize(6);
+        assertThat(tables("", "")).hasSize(6);
+    }
+
+    @Test
+    void matchesExactNames() {
+        assertThat(tables("public", "orders")).containsExactly("public.orders");
+        assertThat(tables(null, "orders")).containsExactly("public.orders", "sales.orders");
+        assertThat(tables("Public", null)).isEmpty();
+    }
+
+    @Test
+    void matchesWildcardsInRowOrder() {
+        assertThat(tables(null, "order%"))
+                .containsExactly("public.orders", "public.order_items", "public.orderXitems", "sales.orders");
+        assertThat(tables("%", "%s"))
+                .containsExactly("public.orders", "public.order_items", "public.orderXitems", "sales.orders");
+        assertThat(tables("pub_ic", "order_items")).containsExactly("public.order_items", "public.orderXitems");
+        assertThat(tables("s%", "%e")).containsExactly("sales.100%_done");
+    }
+
+    @Test
+    void honoursEscapes() {
+        assertThat(tables(null, "order\\_items")).containsExactly("public.order_items");
+        assertThat(tables(null, "100\\%\\_%")).containsExactly("sales.100%_done");
+        assertThat(tables(null, "100\\%")).isEmpty();
+    }
+
+    @Test
+    void regexCharactersAreLiterals() {
+        assertThat(CatalogIndex.toRegex("a.b%").matcher("a.bc").matches()).isTrue();
+        assertThat(CatalogIndex.toRegex("a.b%").matcher("axbc").matches()).isFalse();
+        assertThat(CatalogIndex.toRegex("(x)_").matcher("(x)1").matches()).isTrue();
+    }
+}
@@ -11,6 +11,7 @@
 import io.grpc.inprocess.InProcessChannelBuilder;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
 
@@ -18,18 +19,31 @@ class DataCloudConnectionHeadersTest {
 
     private static class TestStubProvider implements HyperGrpcStubProvider {
         private final HyperServiceGrpc.HyperServiceStub stub;
+        private final boolean reusable;
+        private final AtomicInteger stubs = new AtomicInteger();
 
         TestStubProvider() {
+            this(false);
+        }
+
+        TestStubProvider(boolean reusable) {
             this.stub = HyperServiceGrpc.newStub(InProcessChannelBuilder.forName("headers-test")
                     .usePlaintext()
                     .build());
+            this.reusable = reusable;
         }
 
         @Override
         public HyperServiceGrpc.HyperServiceStub getStub() {
+            stubs.incrementAndGet();
             return stub;
         }
 
+        @Override
+        public boolean isStubReusable() {
+            return reusable;
+        }
+
         @Override
         public void close() {
             ((ManagedChannel) stub.getChannel()).shutdownNow();
@@ -69,4 +83,30 @@ void getStub_attachesInterceptors_andHonorsNetworkTimeout() throws SQLException
             assertThat(conn.getStub()).isNotNull();
         }
     }
+
+    @Test
+    void getStub_reusesStubOfReusableProvider() throws SQLException {
+        TestStubProvider provider = new TestStubProvider(true);
+        try (DataCloudConnection conn =
+                DataCloudConnection.of(provider, ConnectionProperties.defaultProperties(), null)) {
+            HyperServiceGrpc.HyperServiceStub first = conn.getStub();
+            assertThat(conn.getStub()).isSameAs(first);
+
+            // The network timeout is layered on top of the cached stub
+            conn.setNetworkTimeout(null, 1000);
+            assertThat(conn.getStub()).isNotSameAs(first);
+            assertThat(provider.stubs).hasValue(1);
+        }
+    }
+
+    @Test
+    void getStub_asksNonReusableProviderForEveryStub() throws SQLException {
+        TestStubProvider provider = new TestStubProvider(false);
+        try (DataCloudConnection conn =
+                DataCloudConnection.of(provider, ConnectionProperties.defaultProperties(), null)) {
+            conn.getStub();
+            conn.getStub();
+            assertThat(provider.stubs).hasValue(2);
+        }
+    }
 }
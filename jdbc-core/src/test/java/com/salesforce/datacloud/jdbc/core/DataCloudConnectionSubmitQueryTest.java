@@ -0,0 +1,101 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase.getHyperQueryConnection;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(LocalHyperTestBase.class)
+class DataCloudConnectionSubmitQueryTest {
+
+    private static DataCloudConnection connection(int maxConcurrentQueries) {
+        val properties = new Properties();
+        properties.setProperty("maxConcurrentQueries", String.valueOf(maxConcurrentQueries));
+        return getHyperQueryConnection(properties);
+    }
+
+    @Test
+    @SneakyThrows
+    void runsManyQueriesConcurrentlyOnOneConnection() {
+        try (val connection = connection(100)) {
+            val futures = new ArrayList<CompletableFuture<DataCloudResultSet>>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(connection.submitQuery("select a from generate_series(1, " + (1000 + i) + ") as s(a)"));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                try (val resultSet = futures.get(i).get(30, TimeUnit.SECONDS)) {
+                    long count = 0;
+                    while (resultSet.next()) {
+                        count++;
+                    }
+                    assertThat(count).isEqualTo(1000 + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void waitsForASlotUntilAResultSetIsClosed() {
+        try (val connection = connection(1)) {
+            val first = connection.submitQuery("select 1").get(30, TimeUnit.SECONDS);
+            val second = connection.submitQuery("select 2");
+
+            // The second query only starts once the first result set released its slot
+            Thread.sleep(300);
+            assertThat(second).isNotDone();
+
+            first.close();
+            try (val resultSet = second.get(30, TimeUnit.SECONDS)) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void releasesTheSlotOfFailedQueries() {
+        try (val connection = connection(1)) {
+            val failed = connection.submitQuery("select * from does_not_exist");
+            assertThatThrownBy(() -> failed.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(SQLException.class);
+
+            try (val resultSet = connection.submitQuery("select 1").get(30, TimeUnit.SECONDS)) {
+                assertThat(resultSet.next()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void failsWaitingQueriesWhenTheConnectionIsClosed() {
+        val connection = connection(1);
+        val first = connection.submitQuery("select 1").get(30, TimeUnit.SECONDS);
+        val second = connection.submitQuery("select 2");
+        connection.close();
+
+        assertThatThrownBy(() -> second.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(SQLException.class)
+                .hasMessageContaining("closed");
+        first.close();
+    }
+}
@@ -11,6 +11,9 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.salesforce.datacloud.jdbc.core.metadata.MetadataResultSets;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
 import io.grpc.ClientInterceptor;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -131,4 +134,34 @@ void connectionWithNullUserName_succeeds_refreshTokenAuth() throws SQLException
                     .satisfies(e -> assertThat(((SQLException) e).getSQLState()).isEqualTo("28000"));
         }
     }
+
+    @Test
+    @SneakyThrows
+    void getRowMapperIsCachedPerSchemaAndType() {
+        val columns = Collections.singletonList(new ColumnMetadata("id", HyperType.int64(false)));
+        val rows = Collections.singletonList(Collections.<Object>singletonList(1L));
+        try (val connection =
+                        DataCloudConnection.of(new TestStubProvider(), ConnectionProperties.defaultProperties(), null);
+                val first = MetadataResultSets.of(columns, rows);
+                val second = MetadataResultSets.of(columns, rows)) {
+            val mapper = connection.getRowMapper(first, RowMapperTest.Customer.class);
+            assertThat(connection.getRowMapper(second, RowMapperTest.Customer.class)).isSameAs(mapper);
+            assertThat(connection.getRowMapper(second, RowMapperTest.CustomerBean.class))
+                    .isNotSameAs(mapper);
+            assertThat(mapper.readAll(second, 0).size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void endpointKeyWithoutUrlIdentifiesTheStubProvider() {
+        val shared = new TestStubProvider();
+        try (val first = DataCloudConnection.of(shared, ConnectionProperties.defaultProperties(), null);
+                val second = DataCloudConnection.of(shared, ConnectionProperties.defaultProperties(), null);
+                val other = DataCloudConnection.of(
+                        new TestStubProvider(), ConnectionProperties.defaultProperties(), null)) {
+            assertThat(second.getCatalogEndpointKey()).isEqualTo(first.getCatalogEndpointKey());
+            assertThat(other.getCatalogEndpointKey()).isNotEqualTo(first.getCatalogEndpointKey());
+        }
+    }
 }
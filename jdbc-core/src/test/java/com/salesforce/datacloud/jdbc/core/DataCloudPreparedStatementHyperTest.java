@@ -10,18 +10,22 @@
 import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
 import com.salesforce.datacloud.jdbc.util.HyperLogScope;
 import java.math.BigDecimal;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Properties;
 import java.util.TimeZone;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -271,6 +275,179 @@ public void testGetMetaDataFollowedByExecuteReturnsData() {
         }
     }
 
+    @SneakyThrows
+    private static double countFinishedQueries(HyperLogScope logScope) {
+        try (ResultSet resultSet = logScope.executeQuery("SELECT COUNT(*) FROM hyper_log WHERE k='query-end'")) {
+            resultSet.next();
+            return resultSet.getDouble(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testGetMetaDataIsCachedPerStatementShape() {
+        try (HyperLogScope logScope = new HyperLogScope()) {
+            val properties = logScope.getProperties();
+            properties.setProperty("describeCacheTtl", "60");
+            try (val connection = getHyperQueryConnection(properties);
+                    val preparedStatement = connection.prepareStatement("select ? as a")) {
+                preparedStatement.setInt(1, 1);
+                assertThat(preparedStatement.getMetaData().getColumnTypeName(1)).isEqualTo("INTEGER");
+                assertThat(preparedStatement.getMetaData().getColumnTypeName(1)).isEqualTo("INTEGER");
+                assertThat(countFinishedQueries(logScope)).isEqualTo(1);
+
+                // Other parameter types are another shape, executing describes it as well
+                preparedStatement.setString(1, "a");
+                preparedStatement.executeQuery().close();
+                assertThat(preparedStatement.getMetaData().getColumnTypeName(1)).isEqualTo("VARCHAR");
+                assertThat(countFinishedQueries(logScope)).isEqualTo(2);
+
+                connection.invalidateCatalogCache();
+                assertThat(preparedStatement.getMetaData().getColumnTypeName(1)).isEqualTo("VARCHAR");
+                assertThat(countFinishedQueries(logScope)).isEqualTo(3);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testStatementCacheKeepsResultSchemaAcrossStatements() {
+        try (HyperLogScope logScope = new HyperLogScope()) {
+            val properties = logScope.getProperties();
+            properties.setProperty("statementCacheSize", "8");
+            properties.setProperty("describeCacheTtl", "60");
+            try (val connection = getHyperQueryConnection(properties)) {
+                val first = connection.prepareStatement("select ? as a");
+                first.setInt(1, 1);
+                assertThat(first.getMetaData().getColumnTypeName(1)).isEqualTo("INTEGER");
+                first.close();
+                assertThat(first.isClosed()).isTrue();
+                Assertions.assertThatThrownBy(() -> first.executeQuery())
+                        .isInstanceOf(SQLException.class)
+                        .hasMessage("Prepared statement is closed");
+
+                try (val second = connection.prepareStatement("select ? as a")) {
+                    second.setInt(1, 2);
+                    assertThat(second.getMetaData().getColumnTypeName(1)).isEqualTo("INTEGER");
+                    assertThat(countFinishedQueries(logScope)).isEqualTo(1);
+
+                    try (val resultSet = second.executeQuery()) {
+                        assertThat(resultSet.next()).isTrue();
+                        assertThat(resultSet.getInt(1)).isEqualTo(2);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testResultCacheReplaysRepeatedQueries() {
+        try (HyperLogScope logScope = new HyperLogScope()) {
+            val properties = logScope.getProperties();
+            properties.setProperty("resultCacheTtl", "60");
+            try (val connection = getHyperQueryConnection(properties);
+                    val preparedStatement = connection.prepareStatement("select ? + 1 as a")) {
+                connection.unwrap(DataCloudConnection.class).invalidateCatalogCache();
+                for (int value : new int[] {1, 1, 2, 1}) {
+                    preparedStatement.setInt(1, value);
+                    try (val resultSet = preparedStatement.executeQuery()) {
+                        assertThat(resultSet.next()).isTrue();
+                        assertThat(resultSet.getInt(1)).isEqualTo(value + 1);
+                        assertThat(resultSet.next()).isFalse();
+                    }
+                }
+                assertThat(countFinishedQueries(logScope)).isEqualTo(2);
+
+                connection.unwrap(DataCloudConnection.class).invalidateCatalogCache();
+                preparedStatement.setInt(1, 1);
+                preparedStatement.executeQuery().close();
+                assertThat(countFinishedQueries(logScope)).isEqualTo(3);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testArrayParameterWithAny() {
+        val keys = new long[100_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = 2L * i;
+        }
+        val sql = "select count(*) from generate_series(1, 1000) s(a) where a = any(?)";
+        try (val connection = getHyperQueryConnection();
+                val preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setObject(1, keys);
+            try (val resultSet = preparedStatement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getLong(1)).isEqualTo(500);
+            }
+
+            preparedStatement.setObject(1, Arrays.asList(3L, null, 7L));
+            try (val resultSet = preparedStatement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getLong(1)).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testStringArrayParameter() {
+        try (val connection = getHyperQueryConnection();
+                val preparedStatement = connection.prepareStatement("select 'b' = any(?), 'z' = any(?)")) {
+            preparedStatement.setObject(1, new String[] {"a", "b"});
+            preparedStatement.setObject(2, new String[] {"a", "b", "c"});
+            try (val resultSet = preparedStatement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getBoolean(1)).isTrue();
+                assertThat(resultSet.getBoolean(2)).isFalse();
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testExecuteBatchPipelinesParameterSets() {
+        val properties = new Properties();
+        properties.setProperty("maxConcurrentQueries", "2");
+        try (val connection = getHyperQueryConnection(properties);
+                val preparedStatement = connection.prepareStatement("select 10 / ? as a")) {
+            for (int i = 1; i <= 5; i++) {
+                preparedStatement.setInt(1, i);
+                preparedStatement.addBatch();
+            }
+            assertThat(preparedStatement.executeBatch()).containsOnly(Statement.SUCCESS_NO_INFO).hasSize(5);
+            assertThat(preparedStatement.executeBatch()).isEmpty();
+
+            preparedStatement.setInt(1, 1);
+            preparedStatement.addBatch();
+            preparedStatement.clearBatch();
+            assertThat(preparedStatement.executeBatch()).isEmpty();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testExecuteBatchReportsFailedEntries() {
+        try (val connection = getHyperQueryConnection();
+                val preparedStatement = connection.prepareStatement("select 10 / ? as a")) {
+            for (val divisor : new int[] {1, 0, 2, 0}) {
+                preparedStatement.setInt(1, divisor);
+                preparedStatement.addBatch();
+            }
+            Assertions.assertThatThrownBy(preparedStatement::executeBatch)
+                    .isInstanceOf(BatchUpdateException.class)
+                    .hasMessageContaining("division by zero")
+                    .satisfies(ex -> Assertions.assertThat(((BatchUpdateException) ex).getUpdateCounts())
+                            .containsExactly(
+                                    Statement.SUCCESS_NO_INFO,
+                                    Statement.EXECUTE_FAILED,
+                                    Statement.SUCCESS_NO_INFO,
+                                    Statement.EXECUTE_FAILED));
+        }
+    }
+
     @Test
     @SneakyThrows
     public void testGetMetaDataWithInvalidQueryThrowsSQLException() {
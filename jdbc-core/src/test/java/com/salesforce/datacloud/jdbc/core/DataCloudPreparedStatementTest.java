@@ -15,18 +15,27 @@
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.google.protobuf.Empty;
 import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
 import com.salesforce.datacloud.jdbc.protocol.data.ParameterBinding;
 import com.salesforce.datacloud.jdbc.util.DateTimeUtils;
 import com.salesforce.datacloud.jdbc.util.GrpcUtils;
 import com.salesforce.datacloud.jdbc.util.SqlErrorCodes;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -40,7 +49,10 @@
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedStatic;
+import salesforce.cdp.hyperdb.v1.ExecuteQueryResponse;
 import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
+import salesforce.cdp.hyperdb.v1.QueryInfo;
+import salesforce.cdp.hyperdb.v1.QueryStatus;
 
 public class DataCloudPreparedStatementTest extends InterceptedHyperTestBase {
 
@@ -231,6 +243,36 @@ void testAllSetMethods() {
                 .hasMessageContaining("Object type not supported for:");
     }
 
+    @Test
+    @SneakyThrows
+    void testSetArrayParameters() {
+        preparedStatement.setObject(1, new long[] {1, 2, 3});
+        assertThat(preparedStatement.parameters.getParameters().get(0))
+                .isEqualTo(new ParameterBinding(
+                        HyperType.array(HyperType.int64(true), true), Arrays.<Object>asList(1L, 2L, 3L)));
+
+        preparedStatement.setObject(2, Arrays.asList("a", null, "b"));
+        assertThat(preparedStatement.parameters.getParameters().get(1))
+                .isEqualTo(new ParameterBinding(
+                        HyperType.array(HyperType.varcharUnlimited(true), true),
+                        Arrays.<Object>asList("a", null, "b")));
+
+        preparedStatement.setObject(3, new Integer[] {4, null}, Types.ARRAY);
+        assertThat(preparedStatement.parameters.getParameters().get(2))
+                .isEqualTo(new ParameterBinding(
+                        HyperType.array(HyperType.int32(true), true), Arrays.<Object>asList(4, null)));
+
+        preparedStatement.setArray(4, null);
+        assertThat(preparedStatement.parameters.getParameters().get(3).getValue()).isNull();
+
+        assertThatThrownBy(() -> preparedStatement.setObject(1, Arrays.asList(1, 2L)))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("must be of type Integer, found Long");
+        assertThatThrownBy(() -> preparedStatement.setObject(1, new BigDecimal[] {BigDecimal.ONE}))
+                .isInstanceOf(SQLFeatureNotSupportedException.class)
+                .hasMessageContaining("BigDecimal elements are not supported");
+    }
+
     private static Arguments impl(String name, ThrowingConsumer<DataCloudPreparedStatement> impl) {
         return arguments(named(name, impl));
     }
@@ -240,13 +282,10 @@ private static Stream<Arguments> unsupported() {
                 impl("setAsciiStream", s -> s.setAsciiStream(1, null, 0)),
                 impl("setUnicodeStream", s -> s.setUnicodeStream(1, null, 0)),
                 impl("setBinaryStream", s -> s.setBinaryStream(1, null, 0)),
-                impl("addBatch", DataCloudPreparedStatement::addBatch),
-                impl("clearBatch", DataCloudStatement::clearBatch),
                 impl("setCharacterStream", s -> s.setCharacterStream(1, null, 0)),
                 impl("setRef", s -> s.setRef(1, null)),
                 impl("setBlob", s -> s.setBlob(1, (Blob) null)),
                 impl("setClob", s -> s.setClob(1, (Clob) null)),
-                impl("setArray", s -> s.setArray(1, null)),
                 impl("setURL", s -> s.setURL(1, null)),
                 impl("setRowId", s -> s.setRowId(1, null)),
                 impl("setNString", s -> s.setNString(1, null)),
@@ -275,7 +314,6 @@ private static Stream<Arguments> unsupported() {
                 impl("executeUpdate", DataCloudPreparedStatement::executeUpdate),
                 impl("executeUpdate", s -> s.executeUpdate("")),
                 impl("addBatch", s -> s.addBatch("")),
-                impl("executeBatch", DataCloudStatement::executeBatch),
                 impl("executeUpdate", s -> s.executeUpdate("", Statement.RETURN_GENERATED_KEYS)),
                 impl("executeUpdate", s -> s.executeUpdate("", new int[] {})),
                 impl("executeUpdate", s -> s.executeUpdate("", new String[] {})),
@@ -370,5 +408,84 @@ void testAllTypeHandlers() {
         verify(ps).setBoolean(1, true);
     }
 
+    @Test
+    @SneakyThrows
+    public void testExecuteBatchCancelsRunningEntriesWhenInterrupted() {
+        val sql = "select ? as interrupted_batch";
+        val entries = 3;
+        val executed = new AtomicInteger();
+        val waiting = new CountDownLatch(entries);
+        val releases = new ConcurrentHashMap<String, CountDownLatch>();
+        final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+
+        // Every entry's query keeps running until it is cancelled
+        GrpcMock.stubFor(GrpcMock.serverStreamingMethod(HyperServiceGrpc.getExecuteQueryMethod())
+                .withRequest(request -> request.getSql().equals(sql))
+                .willProxyTo((request, observer) -> {
+                    val queryId = "batch-entry-" + executed.incrementAndGet();
+                    releases.put(queryId, new CountDownLatch(1));
+                    observer.onNext(ExecuteQueryResponse.newBuilder()
+                            .setQueryInfo(QueryInfo.newBuilder()
+                                    .setQueryStatus(QueryStatus.newBuilder()
+                                            .setQueryId(queryId)
+                                            .setCompletionStatus(QueryStatus.CompletionStatus.RUNNING_OR_UNSPECIFIED)))
+                            .build());
+                    observer.onCompleted();
+                }));
+        // Polling the status shows that the entry knows its query id and waits for the result
+        GrpcMock.stubFor(GrpcMock.serverStreamingMethod(HyperServiceGrpc.getGetQueryInfoMethod())
+                .withRequest(request -> releases.containsKey(request.getQueryId()))
+                .willProxyTo((request, observer) -> {
+                    val release = releases.get(request.getQueryId());
+                    if (release.getCount() > 0) {
+                        waiting.countDown();
+                    }
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    observer.onError(Status.CANCELLED.withDescription("Query was cancelled").asRuntimeException());
+                }));
+        GrpcMock.stubFor(GrpcMock.unaryMethod(HyperServiceGrpc.getCancelQueryMethod())
+                .willProxyTo((request, observer) -> {
+                    cancelled.add(request.getQueryId());
+                    val release = releases.get(request.getQueryId());
+                    if (release != null) {
+                        release.countDown();
+                    }
+                    observer.onNext(Empty.getDefaultInstance());
+                    observer.onCompleted();
+                }));
+
+        try (val batch = new DataCloudPreparedStatement(connection, sql)) {
+            for (int i = 0; i < entries; i++) {
+                batch.setInt(1, i);
+                batch.addBatch();
+            }
+
+            val caller = Thread.currentThread();
+            val interrupter = CompletableFuture.runAsync(() -> {
+                try {
+                    waiting.await();
+                } catch (InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                }
+                caller.interrupt();
+            });
+            assertThatThrownBy(batch::executeBatch)
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("Interrupted while waiting for the batch")
+                    .extracting(ex -> ((SQLException) ex).getSQLState())
+                    .isEqualTo("HY008");
+            assertThat(Thread.interrupted()).isTrue();
+            interrupter.get();
+
+            // The entries were cancelled before executeBatch returned, and no further entry was started
+            assertThat(cancelled).containsExactlyInAnyOrder("batch-entry-1", "batch-entry-2", "batch-entry-3");
+            assertThat(executed).hasValue(entries);
+        }
+    }
+
     static class InvalidClass {}
 }
@@ -14,6 +14,7 @@
 
 import com.salesforce.datacloud.jdbc.protocol.QueryResultArrowStream;
 import com.salesforce.datacloud.jdbc.util.RootAllocatorTestExtension;
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
@@ -99,10 +100,8 @@ interface ResultSetMethod {
 
     static Stream<Arguments> unsupportedMethods() {
         return Stream.of(
-                Arguments.of(Named.of("getAsciiStream", (ResultSetMethod) rs -> rs.getAsciiStream(1))),
                 Arguments.of(Named.of("getUnicodeStream", (ResultSetMethod) rs -> rs.getUnicodeStream(1))),
                 Arguments.of(Named.of("getBinaryStream", (ResultSetMethod) rs -> rs.getBinaryStream(1))),
-                Arguments.of(Named.of("getCharacterStream", (ResultSetMethod) rs -> rs.getCharacterStream(1))),
                 Arguments.of(Named.of("getRef", (ResultSetMethod) rs -> rs.getRef(1))),
                 Arguments.of(Named.of("getBlob", (ResultSetMethod) rs -> rs.getBlob(1))),
                 Arguments.of(Named.of("getClob", (ResultSetMethod) rs -> rs.getClob(1))),
@@ -124,6 +123,16 @@ void unsupportedMethodThrows(ResultSetMethod method) throws Exception {
         }
     }
 
+    @Test
+    void streamGettersReadVarCharValues() throws Exception {
+        try (val rs = createResultSet()) {
+            rs.next();
+            assertThat(rs.getAsciiStream(1)).hasBinaryContent("hello".getBytes(StandardCharsets.US_ASCII));
+            assertThat(new BufferedReader(rs.getCharacterStream(1)).readLine()).isEqualTo("hello");
+            assertThat(rs.wasNull()).isFalse();
+        }
+    }
+
     // --- Column index bounds ---
 
     @Test
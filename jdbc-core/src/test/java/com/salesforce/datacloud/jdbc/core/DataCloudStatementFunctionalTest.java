@@ -18,6 +18,8 @@
 import com.salesforce.datacloud.query.v3.QueryStatus;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -103,6 +105,62 @@ public void canCancelAnotherQueryById() {
         }
     }
 
+    @Test
+    @SneakyThrows
+    public void earlyCloseCancelsQueryWhenEnabled() {
+        val properties = new Properties();
+        properties.setProperty("cancelQueryOnEarlyClose", "true");
+        try (val conn = LocalHyperTestBase.getHyperQueryConnection(properties);
+                val stmt = conn.createStatement().unwrap(DataCloudStatement.class)) {
+            val rs = stmt.executeQuery("select g from generate_series(1, 1000000000000) g");
+            val queryId = stmt.getQueryId();
+            assertThat(rs.next()).isTrue();
+
+            // Closing after the first row must not block on the server and must cancel the query
+            rs.close();
+            assertThatThrownBy(() -> conn.waitFor(queryId, QueryStatus::allResultsProduced))
+                    .hasMessageContaining("canceled by user")
+                    .hasMessageContaining("SQLSTATE: 57014");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void earlyCloseKeepsQueriesThatProducedAllResults() {
+        val properties = new Properties();
+        properties.setProperty("cancelQueryOnEarlyClose", "true");
+        try (val conn = LocalHyperTestBase.getHyperQueryConnection(properties);
+                val stmt = conn.createStatement().unwrap(DataCloudStatement.class)) {
+            val rs = stmt.executeQuery("select g from generate_series(1, 3) g");
+            val queryId = stmt.getQueryId();
+            conn.waitFor(queryId, QueryStatus::allResultsProduced);
+            for (int i = 0; i < 3; i++) {
+                assertThat(rs.next()).isTrue();
+            }
+
+            // All rows were read without next() returning false, the finished query is not cancelled
+            rs.close();
+            assertThat(conn.waitFor(queryId, QueryStatus::allResultsProduced).allResultsProduced())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void cancelQueryAsyncCompletes() {
+        try (val server = configWithSleep.start();
+                val conn = server.getConnection().unwrap(DataCloudConnection.class);
+                val stmt = conn.createStatement().unwrap(DataCloudStatement.class)) {
+            stmt.executeAsyncQuery("select pg_sleep(5000000);");
+            val queryId = stmt.getQueryId();
+            conn.waitFor(queryId, t -> true);
+
+            conn.cancelQueryAsync(queryId).get(30, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> conn.waitFor(queryId, QueryStatus::allResultsProduced))
+                    .hasMessageContaining("canceled by user");
+        }
+    }
+
     @Test
     @SneakyThrows
     public void noErrorOnCancelUnknownQuery() {
@@ -0,0 +1,126 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.salesforce.datacloud.jdbc.hyper.HyperServerManager;
+import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
+import com.salesforce.datacloud.jdbc.util.Deadline;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
+
+@ExtendWith(LocalHyperTestBase.class)
+class DeferredStubProviderTest {
+
+    @Test
+    @SneakyThrows
+    void firstCallWaitsForBootstrap() {
+        val server = HyperServerManager.get(HyperServerManager.ConfigFile.SMALL_CHUNKS);
+        val release = new CountDownLatch(1);
+        val stubProvider = DeferredStubProvider.start(() -> {
+            Uninterruptibles.awaitUninterruptibly(release);
+            return JdbcDriverStubProvider.of(ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort())
+                            .usePlaintext())
+                    .warmUp();
+        });
+
+        try (val connection = DataCloudConnection.of(stubProvider, ConnectionProperties.defaultProperties(), null)) {
+            // The connection is usable before the bootstrap finished
+            val statement = connection.createStatement();
+            release.countDown();
+            try (val rs = statement.executeQuery("SELECT 42")) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getInt(1)).isEqualTo(42);
+            }
+        }
+    }
+
+    @Test
+    void failedBootstrapIsReportedOnFirstCall() {
+        val stubProvider = DeferredStubProvider.start(() -> {
+            throw new SQLException("token exchange failed", "28000");
+        });
+
+        assertThatThrownBy(() -> stubProvider.await(Deadline.infinite()))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("token exchange failed");
+        assertThatThrownBy(stubProvider::getStub)
+                .isInstanceOf(StatusRuntimeException.class)
+                .hasMessageContaining("token exchange failed")
+                .satisfies(e -> assertThat(((StatusRuntimeException) e).getStatus().getCode())
+                        .isEqualTo(Status.Code.UNAVAILABLE));
+    }
+
+    @Test
+    @SneakyThrows
+    void awaitTimesOutWithTheCallersDeadline() {
+        val release = new CountDownLatch(1);
+        val bootstrapped = new HyperGrpcStubProvider() {
+            @Override
+            public HyperServiceGrpc.HyperServiceStub getStub() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void close() {}
+        };
+        val stubProvider = DeferredStubProvider.start(() -> {
+            Uninterruptibles.awaitUninterruptibly(release);
+            return bootstrapped;
+        });
+
+        assertThatThrownBy(() -> stubProvider.await(Deadline.of(Duration.ofMillis(50))))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("Timed out waiting for the connection to be established")
+                .satisfies(e -> assertThat(((SQLException) e).getSQLState()).isEqualTo("HYT00"));
+
+        // The bootstrap keeps running after the timeout and serves later calls
+        release.countDown();
+        assertThat(stubProvider.await(Deadline.of(Duration.ofSeconds(10)))).isSameAs(bootstrapped);
+    }
+
+    @Test
+    @SneakyThrows
+    void closeBeforeBootstrapFinishedClosesDelegateLater() {
+        val release = new CountDownLatch(1);
+        val closed = new CountDownLatch(1);
+        val delegateClosed = new AtomicBoolean(false);
+        val stubProvider = DeferredStubProvider.start(() -> {
+            Uninterruptibles.awaitUninterruptibly(release);
+            return new HyperGrpcStubProvider() {
+                @Override
+                public HyperServiceGrpc.HyperServiceStub getStub() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void close() {
+                    delegateClosed.set(true);
+                    closed.countDown();
+                }
+            };
+        });
+
+        stubProvider.close();
+        assertThat(delegateClosed).isFalse();
+
+        release.countDown();
+        assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterBinding;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class DescribeCacheTest {
+    private static final List<ColumnMetadata> COLUMNS =
+            Collections.singletonList(new ColumnMetadata("a", HyperType.int32(true)));
+
+    private static List<ParameterBinding> parameters(HyperType type, Object value) {
+        return Arrays.asList(null, new ParameterBinding(type, value));
+    }
+
+    @Test
+    void keysBySqlAndParameterTypes() {
+        val cache = new DescribeCache(Duration.ofMinutes(1));
+        cache.put("select ?", parameters(HyperType.int32(true), 1), COLUMNS);
+
+        assertThat(cache.get("select ?", parameters(HyperType.int32(true), 2))).isEqualTo(COLUMNS);
+        assertThat(cache.get("select ?", parameters(HyperType.int64(true), 2L))).isNull();
+        assertThat(cache.get("select ? ", parameters(HyperType.int32(true), 2))).isNull();
+    }
+
+    @Test
+    void catalogChangesInvalidate() {
+        val cache = new DescribeCache(Duration.ofMinutes(1));
+        cache.put("select 1", Collections.emptyList(), COLUMNS);
+
+        cache.onExecute("select * from created");
+        cache.onExecute("insert into t values (1)");
+        assertThat(cache.get("select 1", Collections.emptyList())).isEqualTo(COLUMNS);
+
+        cache.onExecute("\n  alter table t add column b int");
+        assertThat(cache.get("select 1", Collections.emptyList())).isNull();
+    }
+
+    @Test
+    void zeroTtlDisablesTheCache() {
+        val cache = new DescribeCache(Duration.ZERO);
+        cache.put("select 1", Collections.emptyList(), COLUMNS);
+        assertThat(cache.get("select 1", Collections.emptyList())).isNull();
+    }
+}
@@ -173,4 +173,45 @@ void testRoundtripConversion() throws SQLException {
         assertThat(roundtripProps.getProperty(GrpcChannelProperties.GRPC_RETRY_POLICY_RETRYABLE_STATUS_CODES))
                 .isEqualTo("UNAVAILABLE,DEADLINE_EXCEEDED");
     }
+
+    @Test
+    void testParseChannelSharingProperties() throws SQLException {
+        assertThat(GrpcChannelProperties.defaultProperties().isChannelSharingEnabled())
+                .isTrue();
+
+        Properties props = new Properties();
+        props.setProperty(GrpcChannelProperties.GRPC_CHANNEL_SHARING_ENABLED, "false");
+        props.setProperty(GrpcChannelProperties.GRPC_CHANNEL_SHARING_IDLE_SECONDS, "5");
+
+        GrpcChannelProperties grpcProps = GrpcChannelProperties.ofDestructive(props);
+
+        assertThat(grpcProps.isChannelSharingEnabled()).isFalse();
+        assertThat(grpcProps.getChannelSharingIdleSeconds()).isEqualTo(5);
+        assertThat(props).isEmpty();
+        assertThat(grpcProps.toProperties())
+                .containsEntry(GrpcChannelProperties.GRPC_CHANNEL_SHARING_ENABLED, "false")
+                .containsEntry(GrpcChannelProperties.GRPC_CHANNEL_SHARING_IDLE_SECONDS, "5");
+
+        Properties negative = new Properties();
+        negative.setProperty(GrpcChannelProperties.GRPC_CHANNEL_SHARING_IDLE_SECONDS, "-1");
+        assertThrows(SQLException.class, () -> GrpcChannelProperties.ofDestructive(negative));
+    }
+
+    @Test
+    void testParseChannelPoolSize() throws SQLException {
+        assertThat(GrpcChannelProperties.defaultProperties().getChannelPoolSize())
+                .isEqualTo(1);
+
+        Properties props = new Properties();
+        props.setProperty(GrpcChannelProperties.GRPC_CHANNEL_POOL_SIZE, "4");
+
+        GrpcChannelProperties grpcProps = GrpcChannelProperties.ofDestructive(props);
+
+        assertThat(grpcProps.getChannelPoolSize()).isEqualTo(4);
+        assertThat(grpcProps.toProperties()).containsEntry(GrpcChannelProperties.GRPC_CHANNEL_POOL_SIZE, "4");
+
+        Properties invalid = new Properties();
+        invalid.setProperty(GrpcChannelProperties.GRPC_CHANNEL_POOL_SIZE, "0");
+        assertThrows(SQLException.class, () -> GrpcChannelProperties.ofDestructive(invalid));
+    }
 }
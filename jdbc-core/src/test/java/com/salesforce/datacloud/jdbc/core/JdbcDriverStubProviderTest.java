@@ -11,23 +11,34 @@
 import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.salesforce.datacloud.jdbc.config.DriverVersion;
+import io.grpc.ClientCall;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
 import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salesforce.cdp.hyperdb.v1.QueryParam;
+import salesforce.cdp.hyperdb.v1.QueryResult;
 
 class JdbcDriverStubProviderTest {
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -215,4 +226,116 @@ void handlesInterruptDuringShutdown() {
         // Clear interrupt status for other tests
         Thread.interrupted();
     }
+
+    @Test
+    @SneakyThrows
+    void sharedProvidersReuseChannelForSameTargetAndSettings() {
+        val channelMock = mock(ManagedChannel.class);
+        val mockChannelBuilder = getMockChannelBuilderWithChannel(channelMock);
+        val target = "shared-" + UUID.randomUUID() + ":7483";
+        val properties = GrpcChannelProperties.builder()
+                .channelSharingIdleSeconds(0)
+                .build();
+
+        val first = JdbcDriverStubProvider.shared(target, new Properties(), () -> mockChannelBuilder, properties);
+        val second = JdbcDriverStubProvider.shared(target, new Properties(), () -> mockChannelBuilder, properties);
+        verify(mockChannelBuilder, times(1)).build();
+
+        first.close();
+        first.close();
+        verify(channelMock, never()).shutdownNow();
+
+        // With an idle grace period of zero the channel is shut down as soon as the last provider is closed
+        second.close();
+        verify(channelMock, times(1)).shutdownNow();
+    }
+
+    @Test
+    @SneakyThrows
+    void sharedProvidersUseSeparateChannelsForDifferentSettings() {
+        val mockChannelBuilder = getMockChannelBuilder();
+        val target = "shared-" + UUID.randomUUID() + ":7483";
+        val plaintext = new Properties();
+        plaintext.setProperty("ssl.disabled", "true");
+
+        try (val unused1 = JdbcDriverStubProvider.shared(
+                        target, new Properties(), () -> mockChannelBuilder, GrpcChannelProperties.defaultProperties());
+                val unused2 = JdbcDriverStubProvider.shared(
+                        target, plaintext, () -> mockChannelBuilder, GrpcChannelProperties.defaultProperties());
+                val unused3 = JdbcDriverStubProvider.shared(
+                        target,
+                        new Properties(),
+                        () -> mockChannelBuilder,
+                        GrpcChannelProperties.builder().retryMaxAttempts(2).build())) {
+            verify(mockChannelBuilder, times(3)).build();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void sharedChannelIsKeptOpenDuringIdleGracePeriod() {
+        val channelMock = mock(ManagedChannel.class);
+        val mockChannelBuilder = getMockChannelBuilderWithChannel(channelMock);
+        val target = "shared-" + UUID.randomUUID() + ":7483";
+        val properties = GrpcChannelProperties.defaultProperties();
+
+        JdbcDriverStubProvider.shared(target, new Properties(), () -> mockChannelBuilder, properties)
+                .close();
+        verify(channelMock, never()).shutdownNow();
+
+        try (val unused =
+                JdbcDriverStubProvider.shared(target, new Properties(), () -> mockChannelBuilder, properties)) {
+            verify(mockChannelBuilder, times(1)).build();
+            verify(channelMock, never()).shutdownNow();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldBuildOneChannelPerPoolMember() {
+        val channelMock = mock(ManagedChannel.class);
+        val mockChannelBuilder = getMockChannelBuilderWithChannel(channelMock);
+        val properties = GrpcChannelProperties.builder().channelPoolSize(3).build();
+
+        try (val unused = JdbcDriverStubProvider.of(mockChannelBuilder, properties)) {
+            verify(mockChannelBuilder, times(3)).build();
+        }
+        verify(channelMock, times(3)).shutdownNow();
+    }
+
+    @Test
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    void closingSharedProviderCancelsItsOpenStreamsOnly() {
+        val channelMock = mock(ManagedChannel.class);
+        val openCall = mock(ClientCall.class);
+        val finishedCall = mock(ClientCall.class);
+        val lateCall = mock(ClientCall.class);
+        when(channelMock.newCall(any(), any())).thenReturn(finishedCall, openCall, lateCall);
+        val mockChannelBuilder = getMockChannelBuilderWithChannel(channelMock);
+        val target = "shared-" + UUID.randomUUID() + ":7483";
+        val properties = GrpcChannelProperties.defaultProperties();
+        StreamObserver<QueryResult> observer = mock(StreamObserver.class);
+
+        // Another connection keeps the channel in use
+        try (val unused =
+                JdbcDriverStubProvider.shared(target, new Properties(), () -> mockChannelBuilder, properties)) {
+            val provider =
+                    JdbcDriverStubProvider.shared(target, new Properties(), () -> mockChannelBuilder, properties);
+            provider.getStub().executeQuery(QueryParam.getDefaultInstance(), observer);
+            val listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+            verify(finishedCall).start(listener.capture(), any(Metadata.class));
+            listener.getValue().onClose(Status.OK, new Metadata());
+            provider.getStub().executeQuery(QueryParam.getDefaultInstance(), observer);
+
+            provider.close();
+            verify(openCall).cancel(eq("Connection is closed"), isNull());
+            verify(finishedCall, never()).cancel(any(), any());
+            verify(channelMock, never()).shutdownNow();
+
+            // Calls through stubs of a closed provider are cancelled right away
+            provider.getStub().executeQuery(QueryParam.getDefaultInstance(), observer);
+            verify(lateCall).cancel(eq("Connection is closed"), isNull());
+        }
+    }
 }
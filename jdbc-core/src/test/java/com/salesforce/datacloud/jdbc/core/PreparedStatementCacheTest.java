@@ -0,0 +1,104 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
+import com.salesforce.datacloud.jdbc.protocol.data.ParameterBinding;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class PreparedStatementCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private static final List<ColumnMetadata> COLUMNS =
+            Collections.singletonList(new ColumnMetadata("a", HyperType.int32(true)));
+
+    private static List<ParameterBinding> parameters(HyperType type, Object value) {
+        return Collections.singletonList(new ParameterBinding(type, value));
+    }
+
+    @Test
+    void reusesCheckedInEntries() {
+        val cache = new PreparedStatementCache(2, 100, TTL);
+        val first = cache.checkOut("select ?");
+        assertThat(cache.checkOut("select ?")).isNotSameAs(first);
+
+        cache.checkIn("select ?", first);
+        assertThat(cache.checkOut("select ?")).isSameAs(first);
+        assertThat(cache.checkOut("select ?")).isNotSameAs(first);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        val cache = new PreparedStatementCache(2, 100, TTL);
+        val a = cache.checkOut("a");
+        val b = cache.checkOut("b");
+        val c = cache.checkOut("c");
+        cache.checkIn("a", a);
+        cache.checkIn("b", b);
+        cache.checkIn("c", c);
+
+        assertThat(cache.checkOut("a")).isNotSameAs(a);
+        assertThat(cache.checkOut("b")).isSameAs(b);
+        assertThat(cache.checkOut("c")).isSameAs(c);
+    }
+
+    @Test
+    void skipsLongSqlAndDisabledCache() {
+        assertThat(new PreparedStatementCache(2, 5, TTL).checkOut("select 1")).isNull();
+        assertThat(new PreparedStatementCache(0, 100, TTL).checkOut("select 1")).isNull();
+    }
+
+    @Test
+    void columnsAreKeyedByParameterTypesAndDroppedOnCatalogChanges() {
+        val cache = new PreparedStatementCache(2, 100, TTL);
+        val entry = cache.checkOut("select ?");
+        cache.putColumns(entry, parameters(HyperType.int32(true), 1), COLUMNS);
+
+        assertThat(cache.getColumns(entry, parameters(HyperType.int32(true), 2))).isEqualTo(COLUMNS);
+        assertThat(cache.getColumns(entry, parameters(HyperType.int64(true), 2L))).isNull();
+
+        cache.onExecute("select * from t");
+        assertThat(cache.getColumns(entry, parameters(HyperType.int32(true), 2))).isEqualTo(COLUMNS);
+        cache.onExecute("drop table t");
+        assertThat(cache.getColumns(entry, parameters(HyperType.int32(true), 2))).isNull();
+    }
+
+    @Test
+    @SneakyThrows
+    void columnsExpireAfterTheDescribeCacheTtl() {
+        val cache = new PreparedStatementCache(2, 100, Duration.ofMillis(50));
+        val entry = cache.checkOut("select ?");
+        cache.putColumns(entry, parameters(HyperType.int32(true), 1), COLUMNS);
+        assertThat(cache.getColumns(entry, parameters(HyperType.int32(true), 2))).isEqualTo(COLUMNS);
+
+        Thread.sleep(100);
+        assertThat(cache.getColumns(entry, parameters(HyperType.int32(true), 2))).isNull();
+    }
+
+    @Test
+    void columnsAreNotKeptWithoutDescribeCacheTtl() {
+        val cache = new PreparedStatementCache(2, 100, Duration.ZERO);
+        val entry = cache.checkOut("select ?");
+        cache.putColumns(entry, parameters(HyperType.int32(true), 1), COLUMNS);
+        assertThat(cache.getColumns(entry, parameters(HyperType.int32(true), 1))).isNull();
+    }
+
+    @Test
+    void closeReleasesEntriesCheckedInLater() {
+        val cache = new PreparedStatementCache(2, 100, TTL);
+        val entry = cache.checkOut("select 1");
+        cache.close();
+        cache.checkIn("select 1", entry);
+        assertThat(cache.checkOut("select 1")).isNull();
+    }
+}
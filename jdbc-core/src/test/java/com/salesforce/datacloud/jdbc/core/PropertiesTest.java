@@ -6,6 +6,7 @@
 
 import static com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase.getHyperQueryConnection;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableList;
@@ -15,6 +16,7 @@
 import com.salesforce.datacloud.jdbc.hyper.HyperServerManager.ConfigFile;
 import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Properties;
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -80,6 +82,136 @@ void testQuerySettingsParsing() throws SQLException {
                 .containsExactlyInAnyOrderEntriesOf(ImmutableMap.of("lc_time", "en_us"));
     }
 
+    @Test
+    void testLazyConnectParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("lazyConnect", "true");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.isLazyConnect()).isTrue();
+        assertThat(connectionProperties.toProperties()).containsEntry("lazyConnect", "true");
+        assertThat(properties).isEmpty();
+        assertThat(ConnectionProperties.defaultProperties().isLazyConnect()).isFalse();
+    }
+
+    @Test
+    void testMaxConcurrentQueriesParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("maxConcurrentQueries", "4");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.getMaxConcurrentQueries()).isEqualTo(4);
+        assertThat(connectionProperties.toProperties()).containsEntry("maxConcurrentQueries", "4");
+        assertThat(ConnectionProperties.defaultProperties().toProperties()).doesNotContainKey("maxConcurrentQueries");
+
+        properties.setProperty("maxConcurrentQueries", "0");
+        assertThatThrownBy(() -> ConnectionProperties.ofDestructive(properties))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("maxConcurrentQueries");
+    }
+
+    @Test
+    void testAdmissionControlParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("admissionMaxConcurrentQueries", "8");
+        properties.setProperty("workloadMaxConcurrentQueries", "2");
+        properties.setProperty("workloadWeight", "4");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.getAdmissionMaxConcurrentQueries()).isEqualTo(8);
+        assertThat(connectionProperties.getWorkloadMaxConcurrentQueries()).isEqualTo(2);
+        assertThat(connectionProperties.getWorkloadWeight()).isEqualTo(4);
+        assertThat(connectionProperties.toProperties())
+                .containsEntry("admissionMaxConcurrentQueries", "8")
+                .containsEntry("workloadMaxConcurrentQueries", "2")
+                .containsEntry("workloadWeight", "4");
+        assertThat(properties).isEmpty();
+
+        properties.setProperty("workloadWeight", "0");
+        assertThatThrownBy(() -> ConnectionProperties.ofDestructive(properties))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("workloadWeight");
+    }
+
+    @Test
+    void testCatalogCacheTtlParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("catalogCacheTtl", "300");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.getCatalogCacheTtl()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(connectionProperties.toProperties()).containsEntry("catalogCacheTtl", "300");
+        assertThat(ConnectionProperties.defaultProperties().getCatalogCacheTtl()).isZero();
+    }
+
+    @Test
+    void testDescribeCacheTtlParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("describeCacheTtl", "60");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.getDescribeCacheTtl()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(connectionProperties.toProperties()).containsEntry("describeCacheTtl", "60");
+        assertThat(ConnectionProperties.defaultProperties().getDescribeCacheTtl()).isZero();
+    }
+
+    @Test
+    void testResultCacheParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("resultCacheTtl", "30");
+        properties.setProperty("resultCacheMaxBytes", "1048576");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.getResultCacheTtl()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(connectionProperties.getResultCacheMaxBytes()).isEqualTo(1048576);
+        assertThat(connectionProperties.toProperties())
+                .containsEntry("resultCacheTtl", "30")
+                .containsEntry("resultCacheMaxBytes", "1048576");
+        assertThat(ConnectionProperties.defaultProperties().getResultCacheTtl()).isZero();
+    }
+
+    @Test
+    void testCoalesceQueriesParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("coalesceQueries", "true");
+        properties.setProperty("coalesceMaxBufferedBytes", "1048576");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.isCoalesceQueries()).isTrue();
+        assertThat(connectionProperties.getCoalesceMaxBufferedBytes()).isEqualTo(1048576);
+        assertThat(connectionProperties.toProperties())
+                .containsEntry("coalesceQueries", "true")
+                .containsEntry("coalesceMaxBufferedBytes", "1048576");
+        assertThat(ConnectionProperties.defaultProperties().isCoalesceQueries()).isFalse();
+
+        val zero = new Properties();
+        zero.setProperty("coalesceMaxBufferedBytes", "0");
+        assertThatThrownBy(() -> ConnectionProperties.ofDestructive(zero))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("coalesceMaxBufferedBytes");
+    }
+
+    @Test
+    void testStatementCacheParsing() throws SQLException {
+        val properties = new Properties();
+        properties.setProperty("statementCacheSize", "256");
+        properties.setProperty("statementCacheMaxSqlLength", "1024");
+        ConnectionProperties connectionProperties = ConnectionProperties.ofDestructive(properties);
+
+        assertThat(connectionProperties.getStatementCacheSize()).isEqualTo(256);
+        assertThat(connectionProperties.getStatementCacheMaxSqlLength()).isEqualTo(1024);
+        assertThat(connectionProperties.toProperties())
+                .containsEntry("statementCacheSize", "256")
+                .containsEntry("statementCacheMaxSqlLength", "1024");
+        assertThat(ConnectionProperties.defaultProperties().getStatementCacheSize()).isZero();
+
+        val negative = new Properties();
+        negative.setProperty("statementCacheSize", "-1");
+        assertThatThrownBy(() -> ConnectionProperties.ofDestructive(negative))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("statementCacheSize must not be negative");
+    }
+
     @Test
     void testInvalidSettingValue() throws SQLException {
         // This test case verifies that we raise the right exception when the user provides an invalid setting value
@@ -0,0 +1,259 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.protobuf.ByteString;
+import com.salesforce.datacloud.jdbc.protocol.CloseableIterator;
+import com.salesforce.datacloud.jdbc.util.Deadline;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import salesforce.cdp.hyperdb.v1.QueryParam;
+import salesforce.cdp.hyperdb.v1.QueryResult;
+import salesforce.cdp.hyperdb.v1.QueryResultPartBinary;
+import salesforce.cdp.hyperdb.v1.QueryStatus;
+
+class QueryCoalescerTest {
+    private static final QueryStatus STATUS =
+            QueryStatus.newBuilder().setQueryId("shared").build();
+
+    private static final Deadline NO_DEADLINE = Deadline.infinite();
+
+    private static final QueryCoalescer.Resumer NO_RESUME = (queryId, rowOffset, omitSchema, deadline) -> {
+        throw new SQLException("Not expected to continue on its own", "HY000");
+    };
+
+    /** Continues with the messages from the row offset on, recording where each member continued. */
+    private static QueryCoalescer.Resumer resumeFrom(List<String> messages, List<String> resumed) {
+        return (queryId, rowOffset, omitSchema, deadline) -> {
+            resumed.add(queryId + "@" + rowOffset + (omitSchema ? " without schema" : ""));
+            return new Source(messages.subList((int) rowOffset, messages.size()));
+        };
+    }
+
+    // Flights are JVM-wide, every test uses its own keys
+    private static QueryResultCache.Key uniqueKey() {
+        return new QueryResultCache.Key(
+                "endpoint", QueryParam.newBuilder().setSql("select '" + UUID.randomUUID() + "'").build());
+    }
+
+    /** A source of the given messages, one row each, that counts how often it was pulled from and closed. */
+    private static class Source implements CloseableIterator<QueryResult> {
+        private final Iterator<String> messages;
+        final AtomicInteger pulled = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+
+        Source(List<String> messages) {
+            this.messages = messages.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return messages.hasNext();
+        }
+
+        @Override
+        public QueryResult next() {
+            pulled.incrementAndGet();
+            return QueryResult.newBuilder()
+                    .setResultPartRowCount(1)
+                    .setBinaryPart(
+                            QueryResultPartBinary.newBuilder().setData(ByteString.copyFromUtf8(messages.next())))
+                    .build();
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    private static List<String> drain(Iterator<QueryResult> results) {
+        val messages = new ArrayList<String>();
+        while (results.hasNext()) {
+            messages.add(results.next().getBinaryPart().getData().toStringUtf8());
+        }
+        return messages;
+    }
+
+    private static List<String> messages(int count) {
+        val messages = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            messages.add("message " + i);
+        }
+        return messages;
+    }
+
+    @Test
+    @SneakyThrows
+    void membersShareOneSourceAndReadAtTheirOwnPace() {
+        val key = uniqueKey();
+        val leader = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        val follower = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        assertThat(leader.isLeader()).isTrue();
+        assertThat(follower.isLeader()).isFalse();
+
+        val source = new Source(messages(3));
+        val leaderResults = leader.start(source, () -> STATUS);
+        assertThat(follower.awaitStart()).isTrue();
+        assertThat(follower.getQueryStatus()).isEqualTo(STATUS);
+
+        assertThat(leaderResults.next().getBinaryPart().getData().toStringUtf8())
+                .isEqualTo("message 0");
+        // Joining is possible while the buffer holds the result from its start
+        val late = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        assertThat(late.isLeader()).isFalse();
+
+        assertThat(drain(follower)).containsExactly("message 0", "message 1", "message 2");
+        assertThat(drain(leaderResults)).containsExactly("message 1", "message 2");
+        assertThat(drain(late)).containsExactly("message 0", "message 1", "message 2");
+        assertThat(source.pulled).hasValue(3);
+
+        // A completely received result is not joined anymore
+        val next = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        assertThat(next.isLeader()).isTrue();
+        next.abandon();
+
+        leaderResults.close();
+        follower.close();
+        assertThat(source.closed).hasValue(0);
+        late.close();
+        assertThat(source.closed).hasValue(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void largeResultsStopAcceptingMembers() {
+        val key = uniqueKey();
+        val leader = QueryCoalescer.join(key, 1, NO_DEADLINE, NO_RESUME);
+        val results = leader.start(new Source(messages(3)), () -> STATUS);
+        assertThat(drain(results)).hasSize(3);
+        val next = QueryCoalescer.join(key, 1, NO_DEADLINE, NO_RESUME);
+        assertThat(next.isLeader()).isTrue();
+        next.abandon();
+        results.close();
+    }
+
+    @Test
+    @SneakyThrows
+    void membersRunTheirOwnQueryIfTheLeaderFailedToSubmit() {
+        val key = uniqueKey();
+        val leader = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        val follower = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        leader.abandon();
+        assertThat(follower.awaitStart()).isFalse();
+        val next = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        assertThat(next.isLeader()).isTrue();
+        next.abandon();
+    }
+
+    @Test
+    @SneakyThrows
+    void membersContinueOnTheirOwnIfTheSharedStreamFails() {
+        val key = uniqueKey();
+        val all = messages(3);
+        val resumed = new ArrayList<String>();
+        // The leader's connection was closed, which cancelled the shared stream
+        val leader = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, (queryId, rowOffset, omitSchema, deadline) -> {
+            throw new SQLException("Connection is closed", "08003");
+        });
+        val follower = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, resumeFrom(all, resumed));
+        Source failing = new Source(all) {
+            @Override
+            public boolean hasNext() {
+                if (pulled.get() > 0) {
+                    throw new IllegalStateException("stream cancelled");
+                }
+                return super.hasNext();
+            }
+        };
+        val results = leader.start(failing, () -> STATUS);
+        follower.awaitStart();
+
+        assertThat(results.next().getBinaryPart().getData().toStringUtf8()).isEqualTo("message 0");
+        assertThatThrownBy(results::hasNext)
+                .isInstanceOf(SQLException.class)
+                .extracting(ex -> ((SQLException) ex).getSQLState())
+                .isEqualTo("08003");
+        assertThat(drain(follower)).containsExactly("message 0", "message 1", "message 2");
+        assertThat(resumed).containsExactly("shared@1 without schema");
+        results.close();
+        follower.close();
+        assertThat(failing.closed).hasValue(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void stalledMembersContinueOnTheirOwnInsteadOfBlockingTheOthers() {
+        val key = uniqueKey();
+        val all = messages(3);
+        val resumed = new ArrayList<String>();
+        val leader = QueryCoalescer.join(key, 1, NO_DEADLINE, NO_RESUME);
+        val stalled = QueryCoalescer.join(key, 1, NO_DEADLINE, resumeFrom(all, resumed));
+        val source = new Source(all);
+        val results = leader.start(source, () -> STATUS);
+        assertThat(stalled.awaitStart()).isTrue();
+        assertThat(stalled.next().getBinaryPart().getData().toStringUtf8()).isEqualTo("message 0");
+
+        // The leader reads everything on the same thread while the other member does not read on
+        assertThat(drain(results)).containsExactly("message 0", "message 1", "message 2");
+        assertThat(source.pulled).hasValue(3);
+        results.close();
+        // The query is kept for the detached member
+        assertThat(source.closed).hasValue(0);
+
+        assertThat(drain(stalled)).containsExactly("message 1", "message 2");
+        assertThat(resumed).containsExactly("shared@1 without schema");
+        stalled.close();
+        assertThat(source.closed).hasValue(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void cancelledMembersLeaveWithoutCancellingTheQuery() {
+        val key = uniqueKey();
+        val leader = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        val follower = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        val source = new Source(messages(2));
+        val results = leader.start(source, () -> STATUS);
+        assertThat(follower.awaitStart()).isTrue();
+
+        follower.cancel();
+        assertThatThrownBy(follower::hasNext)
+                .isInstanceOf(SQLException.class)
+                .extracting(ex -> ((SQLException) ex).getSQLState())
+                .isEqualTo("HY008");
+        follower.close();
+        assertThat(source.closed).hasValue(0);
+
+        assertThat(drain(results)).containsExactly("message 0", "message 1");
+        results.close();
+        assertThat(source.closed).hasValue(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void waitingForTheLeaderIsBoundedByTheQueryTimeout() {
+        val key = uniqueKey();
+        val leader = QueryCoalescer.join(key, 1024 * 1024, NO_DEADLINE, NO_RESUME);
+        val follower = QueryCoalescer.join(key, 1024 * 1024, Deadline.of(Duration.ofMillis(50)), NO_RESUME);
+
+        assertThatThrownBy(follower::awaitStart)
+                .isInstanceOf(SQLException.class)
+                .extracting(ex -> ((SQLException) ex).getSQLState())
+                .isEqualTo("HYT00");
+        leader.abandon();
+    }
+}
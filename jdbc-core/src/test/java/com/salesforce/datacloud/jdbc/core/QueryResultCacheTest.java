@@ -0,0 +1,140 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.salesforce.datacloud.jdbc.protocol.CloseableIterator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import salesforce.cdp.hyperdb.v1.QueryParam;
+import salesforce.cdp.hyperdb.v1.QueryResult;
+import salesforce.cdp.hyperdb.v1.QueryResultPartBinary;
+import salesforce.cdp.hyperdb.v1.QueryStatus;
+
+class QueryResultCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final QueryStatus FINISHED = QueryStatus.newBuilder()
+            .setQueryId("query-1")
+            .setCompletionStatus(QueryStatus.CompletionStatus.FINISHED)
+            .build();
+
+    private static QueryResultCache.Key key(String endpoint, String sql) {
+        return new QueryResultCache.Key(endpoint, QueryParam.newBuilder().setSql(sql).build());
+    }
+
+    private static CloseableIterator<QueryResult> live(String... messages) {
+        val results = new ArrayList<QueryResult>();
+        for (val message : messages) {
+            results.add(QueryResult.newBuilder()
+                    .setBinaryPart(QueryResultPartBinary.newBuilder().setData(ByteString.copyFromUtf8(message)))
+                    .build());
+        }
+        val iterator = results.iterator();
+        return new CloseableIterator<QueryResult>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public QueryResult next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    private static List<String> drain(Iterator<QueryResult> results) {
+        val messages = new ArrayList<String>();
+        while (results.hasNext()) {
+            messages.add(results.next().getBinaryPart().getData().toStringUtf8());
+        }
+        return messages;
+    }
+
+    @Test
+    void storesExhaustedStreamsAndReplaysThem() {
+        val cache = QueryResultCache.create(1024 * 1024);
+        val key = key("endpoint", "select 1");
+        assertThat(drain(cache.record(key, live("schema", "batch"), () -> FINISHED, System.currentTimeMillis())))
+                .containsExactly("schema", "batch");
+
+        val entry = cache.get(key, TTL);
+        assertThat(entry).isNotNull();
+        assertThat(entry.getStatus()).isEqualTo(FINISHED);
+        assertThat(drain(entry.replay())).containsExactly("schema", "batch");
+        assertThat(cache.get(key("endpoint", "select 2"), TTL)).isNull();
+        assertThat(cache.get(key("other endpoint", "select 1"), TTL)).isNull();
+    }
+
+    @Test
+    @SneakyThrows
+    void doesNotStoreIncompleteStaleOrLargeResults() {
+        val cache = QueryResultCache.create(8 * 200);
+        val now = System.currentTimeMillis();
+
+        val closedEarly = cache.record(key("e", "select 1"), live("schema", "batch"), () -> FINISHED, now);
+        closedEarly.next();
+        closedEarly.close();
+        assertThat(cache.get(key("e", "select 1"), TTL)).isNull();
+
+        val stale = FINISHED.toBuilder().addStalenessReasons(QueryStatus.Staleness.STALE_DATA).build();
+        drain(cache.record(key("e", "select 2"), live("schema"), () -> stale, now));
+        assertThat(cache.get(key("e", "select 2"), TTL)).isNull();
+
+        val large = new char[300];
+        Arrays.fill(large, 'x');
+        drain(cache.record(key("e", "select 3"), live(new String(large)), () -> FINISHED, now));
+        assertThat(cache.get(key("e", "select 3"), TTL)).isNull();
+    }
+
+    @Test
+    void ageCountsFromWhenTheServerComputedTheResult() {
+        val cache = QueryResultCache.create(1024 * 1024);
+        val now = System.currentTimeMillis();
+        val computedLongAgo = FINISHED.toBuilder()
+                .setResultComputedAt(Timestamp.newBuilder().setSeconds(now / 1000 - 120))
+                .build();
+        drain(cache.record(key("e", "select 1"), live("schema"), () -> computedLongAgo, now));
+        assertThat(cache.get(key("e", "select 1"), TTL)).isNull();
+
+        drain(cache.record(key("e", "select 1"), live("schema"), () -> FINISHED, now - 120_000));
+        assertThat(cache.get(key("e", "select 1"), Duration.ofMinutes(5))).isNotNull();
+        assertThat(cache.get(key("e", "select 1"), TTL)).isNull();
+    }
+
+    @Test
+    void invalidateDropsTheResultsOfOneEndpoint() {
+        val cache = QueryResultCache.create(1024 * 1024);
+        val now = System.currentTimeMillis();
+        drain(cache.record(key("a", "select 1"), live("schema"), () -> FINISHED, now));
+        drain(cache.record(key("b", "select 1"), live("schema"), () -> FINISHED, now));
+
+        cache.invalidate("a");
+        assertThat(cache.get(key("a", "select 1"), TTL)).isNull();
+        assertThat(cache.get(key("b", "select 1"), TTL)).isNotNull();
+    }
+
+    @Test
+    void onlyQueriesAreCacheable() {
+        assertThat(QueryResultCache.isCacheable("select 1")).isTrue();
+        assertThat(QueryResultCache.isCacheable("  (SELECT 1) union (select 2)")).isTrue();
+        assertThat(QueryResultCache.isCacheable("with t as (select 1) select * from t")).isTrue();
+        assertThat(QueryResultCache.isCacheable("insert into t select 1")).isFalse();
+        assertThat(QueryResultCache.isCacheable("create table t as select 1")).isFalse();
+        assertThat(QueryResultCache.isCacheable("selected")).isFalse();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class QuerySlotsTest {
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void startsWaitingTasksInOrderAsSlotsAreReleased() {
+        val slots = new QuerySlots(2);
+        val started = new ArrayList<Integer>();
+        val rejected = new ArrayList<SQLException>();
+        for (int i = 0; i < 5; i++) {
+            val task = i;
+            slots.submit(DIRECT, () -> started.add(task), rejected::add);
+        }
+        assertThat(started).containsExactly(0, 1);
+
+        slots.release();
+        assertThat(started).containsExactly(0, 1, 2);
+        slots.release();
+        slots.release();
+        assertThat(started).containsExactly(0, 1, 2, 3, 4);
+
+        // Releasing the remaining slots makes them available again
+        slots.release();
+        slots.release();
+        slots.submit(DIRECT, () -> started.add(5), rejected::add);
+        slots.submit(DIRECT, () -> started.add(6), rejected::add);
+        assertThat(started).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(rejected).isEmpty();
+    }
+
+    @Test
+    void closeRejectsWaitingAndLaterTasks() {
+        val slots = new QuerySlots(1);
+        val started = new ArrayList<Integer>();
+        List<SQLException> rejected = new ArrayList<>();
+        slots.submit(DIRECT, () -> started.add(0), rejected::add);
+        slots.submit(DIRECT, () -> started.add(1), rejected::add);
+
+        slots.close();
+        slots.submit(DIRECT, () -> started.add(2), rejected::add);
+        slots.release();
+
+        assertThat(started).containsExactly(0);
+        assertThat(rejected).hasSize(2).allSatisfy(ex -> assertThat(ex.getSQLState()).isEqualTo("08003"));
+    }
+
+    @Test
+    void executorRejectionFreesTheSlot() {
+        val slots = new QuerySlots(1);
+        val started = new ArrayList<Integer>();
+        val rejected = new ArrayList<SQLException>();
+        slots.submit(
+                task -> {
+                    throw new RejectedExecutionException("shut down");
+                },
+                () -> started.add(0),
+                rejected::add);
+        slots.submit(DIRECT, () -> started.add(1), rejected::add);
+
+        assertThat(rejected).hasSize(1);
+        assertThat(started).containsExactly(1);
+    }
+}
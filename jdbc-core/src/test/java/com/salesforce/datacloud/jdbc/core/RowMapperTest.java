@@ -0,0 +1,174 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.salesforce.datacloud.jdbc.core.metadata.MetadataResultSets;
+import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
+import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+class RowMapperTest {
+
+    private static final List<ColumnMetadata> COLUMNS = Arrays.asList(
+            new ColumnMetadata("id", HyperType.int64(false)),
+            new ColumnMetadata("first_name", HyperType.varcharUnlimited(true)),
+            new ColumnMetadata("AGE", HyperType.int32(true)),
+            new ColumnMetadata("score", HyperType.float8(true)),
+            new ColumnMetadata("balance", HyperType.decimal(18, 2, true)),
+            new ColumnMetadata("active", HyperType.bool(true)),
+            new ColumnMetadata("unmapped", HyperType.varcharUnlimited(true)));
+
+    private static DataCloudResultSet resultSet() throws SQLException {
+        return MetadataResultSets.of(
+                COLUMNS,
+                Arrays.asList(
+                        Arrays.asList(1L, "Ada", 36, 9.5, new BigDecimal("12.34"), true, "x"),
+                        Arrays.asList(2L, null, null, null, null, null, null),
+                        Arrays.asList(3L, "Grace", 85, 7.25, new BigDecimal("-1.00"), false, "y")));
+    }
+
+    /** Populated through fields. */
+    public static class Customer {
+        long id;
+        String firstName;
+        int age = -1;
+        Double score;
+        BigDecimal balance;
+        boolean active;
+    }
+
+    /** Populated through setters, which take precedence over the field of the same name. */
+    public static class CustomerBean {
+        private long id;
+        private String name = "default";
+        private int years;
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setFirstName(String firstName) {
+            this.name = firstName.toUpperCase();
+        }
+
+        public void setAge(int age) {
+            this.years = age;
+        }
+    }
+
+    /** Not visible to the driver as a public type, so the constructor is called through a method handle. */
+    static class PackagePrivateCustomer {
+        private long id;
+
+        private PackagePrivateCustomer() {}
+    }
+
+    public interface NotInstantiable {}
+
+    @Test
+    @SneakyThrows
+    void mapsColumnsToFields() {
+        try (val rs = resultSet()) {
+            val rows = RowMapper.of(rs.getColumns(), Customer.class).readAll(rs, 0);
+
+            assertThat(rows).hasSize(3);
+            val first = rows.get(0);
+            assertThat(first.id).isEqualTo(1L);
+            assertThat(first.firstName).isEqualTo("Ada");
+            assertThat(first.age).isEqualTo(36);
+            assertThat(first.score).isEqualTo(9.5);
+            assertThat(first.balance).isEqualByComparingTo("12.34");
+            assertThat(first.active).isTrue();
+
+            // SQL NULL leaves the value assigned by the constructor
+            val second = rows.get(1);
+            assertThat(second.id).isEqualTo(2L);
+            assertThat(second.firstName).isNull();
+            assertThat(second.age).isEqualTo(-1);
+            assertThat(second.score).isNull();
+            assertThat(second.balance).isNull();
+            assertThat(second.active).isFalse();
+
+            assertThat(rows.get(2).firstName).isEqualTo("Grace");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void mapsColumnsThroughSetters() {
+        try (val rs = resultSet()) {
+            val mapper = RowMapper.of(rs.getColumns(), CustomerBean.class);
+            assertThat(rs.next()).isTrue();
+            val row = mapper.mapRow(rs);
+
+            assertThat(row.id).isEqualTo(1L);
+            assertThat(row.name).isEqualTo("ADA");
+            assertThat(row.years).isEqualTo(36);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void readAllStopsAtMaxRows() {
+        try (val rs = resultSet()) {
+            val mapper = RowMapper.of(rs.getColumns(), Customer.class);
+
+            val firstBatch = mapper.readAll(rs, 2);
+            assertThat(firstBatch).extracting(c -> c.id).containsExactly(1L, 2L);
+
+            val secondBatch = mapper.readAll(rs, 2);
+            assertThat(secondBatch).extracting(c -> c.id).containsExactly(3L);
+
+            assertThat(mapper.readAll(rs, 2)).isEmpty();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void usesConstructorHandleForInaccessibleTypes() {
+        try (val rs = resultSet()) {
+            val rows = RowMapper.of(rs.getColumns(), PackagePrivateCustomer.class).readAll(rs, 0);
+            assertThat(rows).extracting(c -> c.id).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void rejectsTypesWithoutConstructor() {
+        assertThatThrownBy(() -> RowMapper.of(COLUMNS, NotInstantiable.class))
+                .isInstanceOf(SQLException.class)
+                .extracting(e -> ((SQLException) e).getSQLState())
+                .isEqualTo("0A000");
+    }
+
+    @Test
+    @SneakyThrows
+    void rejectsResultSetWithDifferentSchema() {
+        val mapper = RowMapper.of(COLUMNS.subList(0, 2), Customer.class);
+        try (val rs = resultSet()) {
+            assertThatThrownBy(() -> mapper.readAll(rs, 0))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("different result set schema");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void rejectsNegativeMaxRows() {
+        try (val rs = resultSet()) {
+            val mapper = RowMapper.of(rs.getColumns(), Customer.class);
+            assertThatThrownBy(() -> mapper.readAll(rs, -1)).isInstanceOf(SQLException.class);
+        }
+    }
+}
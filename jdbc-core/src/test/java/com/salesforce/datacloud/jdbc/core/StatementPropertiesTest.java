@@ -19,6 +19,7 @@ void parsesAllProperties() throws SQLException {
         Properties props = new Properties();
         props.setProperty("queryTimeout", "10");
         props.setProperty("queryTimeoutLocalEnforcementDelay", "7");
+        props.setProperty("cancelQueryOnEarlyClose", "true");
         props.setProperty("querySetting.setting1", "value1");
         props.setProperty("querySetting.setting2", "value2");
         props.setProperty("querySetting.setting3", "value3");
@@ -28,6 +29,7 @@ void parsesAllProperties() throws SQLException {
         // Check the parsed properties
         assertThat(sp.getQueryTimeout()).isEqualTo(Duration.ofSeconds(10));
         assertThat(sp.getQueryTimeoutLocalEnforcementDelay()).isEqualTo(Duration.ofSeconds(7));
+        assertThat(sp.isCancelQueryOnEarlyClose()).isTrue();
         assertThat(sp.getQuerySettings()).hasSize(3);
         assertThat(sp.getQuerySettings()).containsEntry("setting1", "value1");
         assertThat(sp.getQuerySettings()).containsEntry("setting2", "value2");
@@ -0,0 +1,165 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.core;
+
+import static com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase.getHyperQueryConnection;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.salesforce.datacloud.jdbc.hyper.HyperServerManager;
+import com.salesforce.datacloud.jdbc.hyper.LocalHyperTestBase;
+import com.salesforce.datacloud.jdbc.protocol.QueryResultIterator;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
+import salesforce.cdp.hyperdb.v1.OutputFormat;
+import salesforce.cdp.hyperdb.v1.QueryParam;
+
+@ExtendWith(LocalHyperTestBase.class)
+class StripedManagedChannelTest {
+
+    @SuppressWarnings("unchecked")
+    private static ManagedChannel mockChannel(ConnectivityState state) {
+        val channel = mock(ManagedChannel.class);
+        when(channel.getState(false)).thenReturn(state);
+        when(channel.newCall(any(), any())).thenAnswer(invocation -> mock(ClientCall.class));
+        return channel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void startCall(StripedManagedChannel channel) {
+        channel.newCall(HyperServiceGrpc.getExecuteQueryMethod(), CallOptions.DEFAULT)
+                .start(mock(ClientCall.Listener.class), new Metadata());
+    }
+
+    @Test
+    void selectsSubchannelWithFewestOutstandingCalls() {
+        val channel = StripedManagedChannel.of(Arrays.asList(
+                mockChannel(ConnectivityState.READY),
+                mockChannel(ConnectivityState.READY),
+                mockChannel(ConnectivityState.READY)));
+
+        for (int i = 0; i < 6; i++) {
+            startCall(channel);
+        }
+
+        assertThat(channel.getOutstandingCalls()).containsExactly(2, 2, 2);
+        assertThat(channel.getState(false)).isEqualTo(ConnectivityState.READY);
+    }
+
+    @Test
+    void skipsUnhealthySubchannels() {
+        val channel = StripedManagedChannel.of(Arrays.asList(
+                mockChannel(ConnectivityState.TRANSIENT_FAILURE),
+                mockChannel(ConnectivityState.READY),
+                mockChannel(ConnectivityState.IDLE)));
+
+        for (int i = 0; i < 4; i++) {
+            startCall(channel);
+        }
+
+        assertThat(channel.getOutstandingCalls()).containsExactly(0, 2, 2);
+    }
+
+    @Test
+    void fallsBackToLeastLoadedSubchannelIfNoneIsHealthy() {
+        val channel = StripedManagedChannel.of(Arrays.asList(
+                mockChannel(ConnectivityState.TRANSIENT_FAILURE), mockChannel(ConnectivityState.TRANSIENT_FAILURE)));
+
+        for (int i = 0; i < 4; i++) {
+            startCall(channel);
+        }
+
+        assertThat(channel.getOutstandingCalls()).containsExactly(2, 2);
+        assertThat(channel.getState(false)).isEqualTo(ConnectivityState.TRANSIENT_FAILURE);
+    }
+
+    @Test
+    @SneakyThrows
+    void stripesConcurrentStreamsOverSubchannels() {
+        val server = HyperServerManager.get(HyperServerManager.ConfigFile.SMALL_CHUNKS);
+        val builder = ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort())
+                .usePlaintext()
+                .maxInboundMessageSize(64 * 1024 * 1024);
+        val channels = new ArrayList<ManagedChannel>();
+        for (int i = 0; i < 4; i++) {
+            channels.add(builder.build());
+        }
+        val channel = StripedManagedChannel.of(channels);
+
+        val iterators = new ArrayList<QueryResultIterator>();
+        try {
+            val stub = HyperServiceGrpc.newStub(channel);
+            val queryParam = QueryParam.newBuilder()
+                    .setSql("select a from generate_series(1, 100000) as s(a)")
+                    .setTransferMode(QueryParam.TransferMode.ADAPTIVE)
+                    .setOutputFormat(OutputFormat.ARROW_IPC)
+                    .build();
+            for (int i = 0; i < 4; i++) {
+                val iterator = QueryResultIterator.of(stub, queryParam);
+                assertThat(iterator.hasNext()).isTrue();
+                iterators.add(iterator);
+            }
+
+            // Each stream is still open, so every subchannel carries exactly one of them
+            assertThat(channel.getOutstandingCalls()).containsExactly(1, 1, 1, 1);
+        } finally {
+            iterators.forEach(QueryResultIterator::close);
+            channel.shutdownNow();
+            channel.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        assertThat(channel.isTerminated()).isTrue();
+    }
+
+    @Test
+    @SneakyThrows
+    void concurrentQueriesOverChannelPool() {
+        val properties = new Properties();
+        properties.setProperty(GrpcChannelProperties.GRPC_CHANNEL_POOL_SIZE, "4");
+        properties.setProperty(GrpcChannelProperties.GRPC_CHANNEL_SHARING_ENABLED, "false");
+
+        val executor = Executors.newFixedThreadPool(8);
+        try (val connection = getHyperQueryConnection(properties)) {
+            val tasks = new ArrayList<Callable<Long>>();
+            for (int i = 0; i < 16; i++) {
+                tasks.add(() -> {
+                    try (val statement = connection.createStatement();
+                            val rs = statement.executeQuery("select a from generate_series(1, 50000) as s(a)")) {
+                        long count = 0;
+                        while (rs.next()) {
+                            count++;
+                        }
+                        return count;
+                    }
+                });
+            }
+
+            List<Long> counts = new ArrayList<>();
+            for (val future : executor.invokeAll(tasks)) {
+                counts.add(future.get());
+            }
+            assertThat(counts).hasSize(16).containsOnly(50000L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
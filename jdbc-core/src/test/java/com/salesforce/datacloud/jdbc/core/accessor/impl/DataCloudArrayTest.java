@@ -13,7 +13,9 @@
 import com.salesforce.datacloud.jdbc.util.RootAllocatorTestExtension;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
@@ -294,6 +296,126 @@ void testGetArrayWithIndexPlusCountExceedingArraySize() {
                 () -> dataCloudArray.getArray(2, 3)); // index=2, count=3, end=4 > size=3
     }
 
+    @SneakyThrows
+    @Test
+    void testPrimitiveArraysFromFloatVector() {
+        val values = ImmutableList.of(0.5, 1.25, -3.0, 42.0);
+        dataVector = extension.createFloat8Vector(values);
+        val dataCloudArray = new DataCloudArray(dataVector, 1, 2);
+
+        collector.assertThat(dataCloudArray.length()).isEqualTo(2);
+        collector.assertThat(dataCloudArray.getDoubleArray()).containsExactly(1.25, -3.0);
+        collector.assertThat(dataCloudArray.getFloatArray()).containsExactly(1.25f, -3.0f);
+        collector.assertThat(dataCloudArray.getLongArray()).containsExactly(1L, -3L);
+        collector.assertThat(dataCloudArray.getIntArray()).containsExactly(1, -3);
+        collector.assertThat(dataCloudArray.getStringArray()).containsExactly("1.25", "-3.0");
+    }
+
+    @SneakyThrows
+    @Test
+    void testPrimitiveArraysFromIntVector() {
+        val values = ImmutableList.of(1, 2, 3, 4, 5);
+        dataVector = extension.createIntVector(values);
+        val dataCloudArray = new DataCloudArray(dataVector, 2, 3);
+
+        collector.assertThat(dataCloudArray.getIntArray()).containsExactly(3, 4, 5);
+        collector.assertThat(dataCloudArray.getLongArray()).containsExactly(3L, 4L, 5L);
+        collector.assertThat(dataCloudArray.getDoubleArray()).containsExactly(3.0, 4.0, 5.0);
+    }
+
+    @SneakyThrows
+    @Test
+    void testPrimitiveArraysRejectNullElements() {
+        VarCharVector varcharVector = new VarCharVector("test-varchar-vector", extension.getRootAllocator());
+        varcharVector.allocateNew(2);
+        varcharVector.setSafe(0, "abc".getBytes(StandardCharsets.UTF_8));
+        varcharVector.setNull(1);
+        varcharVector.setValueCount(2);
+        dataVector = varcharVector;
+        val dataCloudArray = new DataCloudArray(dataVector, 0, 2);
+
+        collector.assertThat(dataCloudArray.getStringArray()).containsExactly("abc", null);
+        collector
+                .assertThatThrownBy(dataCloudArray::getLongArray)
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+
+        val intVector = extension.createIntVector(ImmutableList.of(1));
+        try {
+            intVector.setNull(0);
+            val nullArray = new DataCloudArray(intVector, 0, 1);
+            collector
+                    .assertThatThrownBy(nullArray::getIntArray)
+                    .isInstanceOf(SQLException.class)
+                    .extracting(e -> ((SQLException) e).getSQLState())
+                    .isEqualTo("22004");
+        } finally {
+            intVector.close();
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testDetachedArrayOutlivesVector() {
+        val values = ImmutableList.of("abc", "def", "ghi");
+        val vector = extension.createVarCharVectorFrom(values);
+        val dataCloudArray = new DataCloudArray(vector, 0, vector.getValueCount());
+
+        dataCloudArray.detach();
+        vector.close();
+
+        collector
+                .assertThat((Object[]) dataCloudArray.getArray())
+                .containsExactly(new Text("abc"), new Text("def"), new Text("ghi"));
+        collector.assertThat((Object[]) dataCloudArray.getArray(2, 1)).containsExactly(new Text("def"));
+        collector.assertThat(dataCloudArray.getStringArray()).containsExactly("abc", "def", "ghi");
+    }
+
+    @SneakyThrows
+    @Test
+    void testGetResultSetReturnsIndexAndValue() {
+        val values = ImmutableList.of(10, 20, 30);
+        dataVector = extension.createIntVector(values);
+        val dataCloudArray = new DataCloudArray(dataVector, 0, dataVector.getValueCount());
+
+        try (val resultSet = dataCloudArray.getResultSet(2, 2)) {
+            collector.assertThat(resultSet.getMetaData().getColumnCount()).isEqualTo(2);
+            collector.assertThat(resultSet.next()).isTrue();
+            collector.assertThat(resultSet.getLong("INDEX")).isEqualTo(2L);
+            collector.assertThat(resultSet.getInt("VALUE")).isEqualTo(20);
+            collector.assertThat(resultSet.next()).isTrue();
+            collector.assertThat(resultSet.getLong(1)).isEqualTo(3L);
+            collector.assertThat(resultSet.getInt(2)).isEqualTo(30);
+            collector.assertThat(resultSet.next()).isFalse();
+        }
+
+        try (val resultSet = dataCloudArray.getResultSet()) {
+            int rows = 0;
+            while (resultSet.next()) {
+                rows++;
+            }
+            collector.assertThat(rows).isEqualTo(3);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testResultSetKeepsReadingAfterTheArrayWasDetached() {
+        val values = ImmutableList.of("abc", "def", "ghi");
+        val vector = extension.createVarCharVectorFrom(values);
+        val dataCloudArray = new DataCloudArray(vector, 0, vector.getValueCount());
+
+        try (val resultSet = dataCloudArray.getResultSet()) {
+            dataCloudArray.detach();
+            vector.close();
+
+            val read = new ArrayList<String>();
+            while (resultSet.next()) {
+                read.add(resultSet.getLong("INDEX") + "=" + resultSet.getString("VALUE"));
+            }
+            collector.assertThat(read).containsExactly("1=abc", "2=def", "3=ghi");
+        }
+    }
+
     private static Arguments impl(String name, ThrowingConsumer<DataCloudArray> impl) {
         return arguments(named(name, impl));
     }
@@ -302,10 +424,8 @@ private static Stream<Arguments> unsupported() {
         return Stream.of(
                 impl("getArray with map", a -> a.getArray(new HashMap<>())),
                 impl("getArray with map & index", a -> a.getArray(0, 1, new HashMap<>())),
-                impl("getResultSet", DataCloudArray::getResultSet),
                 impl("getResultSet with map", a -> a.getResultSet(new HashMap<>())),
-                impl("getResultSet with map & index", a -> a.getResultSet(0, 1, new HashMap<>())),
-                impl("getResultSet with count & index", a -> a.getResultSet(0, 1)));
+                impl("getResultSet with map & index", a -> a.getResultSet(0, 1, new HashMap<>())));
     }
 
     @ParameterizedTest
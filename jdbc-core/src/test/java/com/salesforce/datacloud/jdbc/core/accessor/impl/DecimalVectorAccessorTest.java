@@ -9,6 +9,9 @@
 import com.salesforce.datacloud.jdbc.core.accessor.SoftAssertions;
 import com.salesforce.datacloud.jdbc.util.RootAllocatorTestExtension;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -16,6 +19,7 @@
 import java.util.stream.IntStream;
 import lombok.SneakyThrows;
 import lombok.val;
+import org.apache.arrow.vector.DecimalVector;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.Test;
@@ -134,6 +138,90 @@ void testGetIntFromNullDecimalVector() {
         }
     }
 
+    @SneakyThrows
+    @Test
+    void testPrimitiveGettersFromScaledDecimalVector() {
+        val values = Arrays.asList(
+                new BigDecimal("0.00"),
+                new BigDecimal("19.99"),
+                new BigDecimal("-19.99"),
+                new BigDecimal("-0.01"),
+                new BigDecimal("9999999999999999.99"),
+                new BigDecimal("-9999999999999999.99"));
+
+        try (val vector = createDecimalVector(values, 18, 2)) {
+            val i = new AtomicInteger(0);
+            val sut = new DecimalVectorAccessor(vector, i::get);
+
+            for (; i.get() < vector.getValueCount(); i.incrementAndGet()) {
+                val expected = values.get(i.get());
+                collector.assertThat(sut.getBigDecimal()).isEqualTo(expected);
+                collector.assertThat(sut.getLong()).isEqualTo(expected.longValue());
+                collector.assertThat(sut.getInt()).isEqualTo(expected.intValue());
+                collector.assertThat(sut.getDouble()).isEqualTo(expected.doubleValue());
+                collector.assertThat(sut.getUnscaledLong()).isEqualTo(expected.unscaledValue().longValueExact());
+                collector.assertThat(sut.wasNull()).isFalse();
+            }
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testPrimitiveGettersFallBackForValuesWiderThanLong() {
+        val values = Arrays.asList(
+                new BigDecimal("123456789012345678901234567890.12"),
+                new BigDecimal("-123456789012345678901234567890.12"),
+                new BigDecimal(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), 2),
+                new BigDecimal(BigInteger.valueOf(Long.MIN_VALUE), 2));
+
+        try (val vector = createDecimalVector(values, 38, 2)) {
+            val i = new AtomicInteger(0);
+            val sut = new DecimalVectorAccessor(vector, i::get);
+
+            for (; i.get() < vector.getValueCount(); i.incrementAndGet()) {
+                val expected = values.get(i.get());
+                collector.assertThat(sut.getBigDecimal()).isEqualTo(expected);
+                collector.assertThat(sut.getLong()).isEqualTo(expected.longValue());
+                collector.assertThat(sut.getInt()).isEqualTo(expected.intValue());
+                collector.assertThat(sut.getDouble()).isEqualTo(expected.doubleValue());
+            }
+
+            i.set(0);
+            collector
+                    .assertThatThrownBy(sut::getUnscaledLong)
+                    .isInstanceOf(SQLException.class)
+                    .extracting(e -> ((SQLException) e).getSQLState())
+                    .isEqualTo("22003");
+            i.set(3);
+            collector.assertThat(sut.getUnscaledLong()).isEqualTo(Long.MIN_VALUE);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testPrimitiveGettersFromNullDecimalVector() {
+        try (val vector = nulledOutVector(extension.createDecimalVector(getBigDecimals()))) {
+            val sut = new DecimalVectorAccessor(vector, () -> 0);
+
+            collector.assertThat(sut.getLong()).isZero();
+            collector.assertThat(sut.wasNull()).isTrue();
+            collector.assertThat(sut.getDouble()).isZero();
+            collector.assertThat(sut.wasNull()).isTrue();
+            collector.assertThat(sut.getUnscaledLong()).isZero();
+            collector.assertThat(sut.wasNull()).isTrue();
+        }
+    }
+
+    private DecimalVector createDecimalVector(List<BigDecimal> values, int precision, int scale) {
+        val vector = new DecimalVector("test-decimal-vector", extension.getRootAllocator(), precision, scale);
+        vector.allocateNew(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            vector.setSafe(i, values.get(i));
+        }
+        vector.setValueCount(values.size());
+        return vector;
+    }
+
     private List<BigDecimal> getBigDecimals() {
         return IntStream.range(0, total)
                 .mapToObj(x -> new BigDecimal(random.nextLong()))
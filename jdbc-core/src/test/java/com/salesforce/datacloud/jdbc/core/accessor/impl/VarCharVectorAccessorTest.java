@@ -8,7 +8,10 @@
 
 import com.salesforce.datacloud.jdbc.core.accessor.SoftAssertions;
 import com.salesforce.datacloud.jdbc.util.RootAllocatorTestExtension;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -114,6 +117,87 @@ void testGetStringGetObjectAndGetObjectClassFromNulledLargeVarCharVector() {
         }
     }
 
+    @SneakyThrows
+    @Test
+    void testGetStringDecodesNonAsciiValues() {
+        val values = Arrays.asList(
+                "", "plain ascii value", "grüße", "日本語テキスト", "emoji \uD83D\uDE00 tail", "ascii-prefix-ü");
+
+        try (val vector = extension.createVarCharVectorFrom(values)) {
+            val i = new AtomicInteger(0);
+            val sut = new VarCharVectorAccessor(vector, i::get);
+
+            for (; i.get() < vector.getValueCount(); i.incrementAndGet()) {
+                val expected = values.get(i.get());
+                collector
+                        .assertThat(sut)
+                        .hasBytes(expected.getBytes(StandardCharsets.UTF_8))
+                        .hasObject(expected)
+                        .hasString(expected);
+            }
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testGetStringHandlesValuesLargerThanScratchBuffer() {
+        val large = String.join("", Collections.nCopies(20_000, "abcdé"));
+        val values = Arrays.asList("short", large, "short again");
+
+        try (val vector = extension.createLargeVarCharVectorFrom(values)) {
+            val i = new AtomicInteger(0);
+            val sut = new VarCharVectorAccessor(vector, i::get);
+
+            for (; i.get() < vector.getValueCount(); i.incrementAndGet()) {
+                collector.assertThat(sut.getString()).isEqualTo(values.get(i.get()));
+            }
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testGetCharacterStreamAndGetAsciiStream() {
+        val values = Arrays.asList("hello world", "grüße");
+
+        try (val vector = extension.createVarCharVectorFrom(values)) {
+            val i = new AtomicInteger(0);
+            val sut = new VarCharVectorAccessor(vector, i::get);
+
+            collector.assertThat(readAll(sut.getCharacterStream())).isEqualTo("hello world");
+            collector
+                    .assertThat(sut.getAsciiStream())
+                    .hasBinaryContent("hello world".getBytes(StandardCharsets.US_ASCII));
+
+            i.incrementAndGet();
+            collector.assertThat(readAll(sut.getCharacterStream())).isEqualTo("grüße");
+            collector.assertThat(sut.getAsciiStream()).hasBinaryContent("gr??e".getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void testStreamsFromNulledVarCharVector() {
+        try (val vector = nulledOutVector(extension.createVarCharVectorFrom(getStrings()))) {
+            val sut = new VarCharVectorAccessor(vector, () -> 0);
+
+            collector.assertThat(sut.getCharacterStream()).isNull();
+            collector.assertThat(sut.wasNull()).isTrue();
+            collector.assertThat(sut.getAsciiStream()).isNull();
+            collector.assertThat(sut.wasNull()).isTrue();
+        }
+    }
+
+    @SneakyThrows
+    private static String readAll(Reader reader) {
+        val builder = new StringBuilder();
+        val buffer = new char[4];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, read);
+        }
+        return builder.toString();
+    }
+
     private List<String> getStrings() {
         return IntStream.range(0, total)
                 .mapToObj(x -> UUID.randomUUID().toString())
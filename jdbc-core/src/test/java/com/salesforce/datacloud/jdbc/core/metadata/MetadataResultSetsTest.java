@@ -9,18 +9,22 @@
 
 import com.salesforce.datacloud.jdbc.protocol.data.ColumnMetadata;
 import com.salesforce.datacloud.jdbc.protocol.data.HyperType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
 /**
  * Tests the {@link MetadataResultSets#of} arity contract: rows must match the schema column
  * count; null rows are allowed as the all-nulls shape (matching the legacy {@code coerceRows}
- * convention). Generic JDBC {@link java.sql.ResultSet} shape (closeable, forward-only,
- * holdability, etc.) is exercised by {@code DataCloudResultSetMethodTest} since metadata
- * result sets share the {@link com.salesforce.datacloud.jdbc.core.DataCloudResultSet} plumbing.
+ * convention), and the paging of {@link MetadataResultSets#ofPages}. Generic JDBC
+ * {@link java.sql.ResultSet} shape (closeable, forward-only, holdability, etc.) is exercised by
+ * {@code DataCloudResultSetMethodTest} since metadata result sets share the
+ * {@link com.salesforce.datacloud.jdbc.core.DataCloudResultSet} plumbing.
  */
 class MetadataResultSetsTest {
 
@@ -69,6 +73,61 @@ void nullRowAcceptedAsAllNulls() throws Exception {
         }
     }
 
+    @Test
+    void rowsSpanningSeveralPages() throws Exception {
+        val rowCount = MetadataResultSets.PAGE_ROWS * 2 + 3;
+        val rows = new ArrayList<List<Object>>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(i % 2 == 0 ? Arrays.<Object>asList("row" + i, i, true) : null);
+        }
+        try (val rs = MetadataResultSets.of(THREE_COLUMNS, rows)) {
+            for (int i = 0; i < rowCount; i++) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getString(1)).isEqualTo(i % 2 == 0 ? "row" + i : null);
+                assertThat(rs.getInt(2)).isEqualTo(i % 2 == 0 ? i : 0);
+            }
+            assertThat(rs.next()).isFalse();
+        }
+    }
+
+    @Test
+    void pagesAreStreamedAndSourceIsClosed() throws Exception {
+        val pages = new ArrayDeque<List<List<Object>>>();
+        pages.add(Arrays.asList(Arrays.<Object>asList("a", 1, true), Arrays.<Object>asList("b", 2, false)));
+        pages.add(Collections.singletonList(Arrays.<Object>asList(null, null, null)));
+        pages.add(Collections.singletonList(Arrays.<Object>asList("c", 3, true)));
+        val closed = new AtomicBoolean();
+
+        try (val rs = MetadataResultSets.ofPages(THREE_COLUMNS, pages::poll, () -> closed.set(true))) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("a");
+            assertThat(pages).hasSize(2);
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("b");
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isNull();
+            rs.getInt(2);
+            assertThat(rs.wasNull()).isTrue();
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("c");
+            assertThat(rs.getInt(2)).isEqualTo(3);
+            assertThat(rs.next()).isFalse();
+            assertThat(closed).isFalse();
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void pageWithWrongArityFailsWhenLoaded() throws Exception {
+        val pages = new ArrayDeque<List<List<Object>>>();
+        pages.add(Collections.singletonList(Arrays.<Object>asList("a", 1, true)));
+        pages.add(Collections.singletonList(Arrays.<Object>asList("only-one")));
+        try (val rs = MetadataResultSets.ofPages(THREE_COLUMNS, pages::poll, null)) {
+            assertThat(rs.next()).isTrue();
+            assertThatThrownBy(rs::next).hasMessageContaining("3 columns");
+        }
+    }
+
     @Test
     void emptyRowsAccepted() throws Exception {
         try (val rs = MetadataResultSets.of(THREE_COLUMNS, Collections.emptyList())) {
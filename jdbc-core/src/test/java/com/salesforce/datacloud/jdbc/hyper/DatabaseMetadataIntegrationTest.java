@@ -6,6 +6,7 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.salesforce.datacloud.jdbc.core.ConnectionProperties;
 import com.salesforce.datacloud.jdbc.core.DataCloudConnection;
 import com.salesforce.datacloud.jdbc.core.JdbcDriverStubProvider;
 import com.salesforce.datacloud.jdbc.interceptor.DatabaseAttachInterceptor;
@@ -15,6 +16,7 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -695,6 +697,72 @@ private static String jdbcTypeName(int code) {
     // Helpers
     // ------------------------------------------------------------------
 
+    // ------------------------------------------------------------------
+    // catalog cache
+    // ------------------------------------------------------------------
+
+    @Test
+    @SneakyThrows
+    void catalogCache_matchesUncachedResults() {
+        try (val uncached = getConnection();
+                val cached = getCachedConnection()) {
+            val expected = uncached.getMetaData();
+            val actual = cached.getMetaData();
+            for (val pattern : Arrays.asList(null, TEST_SCHEMA, "metadata\\_%", "%test", "none")) {
+                assertThat(collectColumn(actual.getSchemas(null, pattern), "TABLE_SCHEM"))
+                        .isEqualTo(collectColumn(expected.getSchemas(null, pattern), "TABLE_SCHEM"));
+                assertThat(collectColumn(actual.getTables(null, pattern, "all%", new String[] {"TABLE"}), "TABLE_NAME"))
+                        .isEqualTo(collectColumn(
+                                expected.getTables(null, pattern, "all%", new String[] {"TABLE"}), "TABLE_NAME"));
+                assertThat(collectColumn(actual.getColumns(null, pattern, TEST_TABLE, "col%int%"), "TYPE_NAME"))
+                        .isEqualTo(collectColumn(
+                                expected.getColumns(null, pattern, TEST_TABLE, "col%int%"), "TYPE_NAME"));
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void catalogCache_servesSnapshotUntilInvalidated() {
+        try (val connection = getCachedConnection()) {
+            val metadata = connection.getMetaData();
+            assertThat(collectColumn(metadata.getTables(null, TEST_SCHEMA, "cache_probe", null), "TABLE_NAME"))
+                    .isEmpty();
+
+            executeWithDatabase("CREATE TABLE " + TEST_SCHEMA + ".cache_probe (a int)");
+            try {
+                // The snapshot predates the table
+                assertThat(collectColumn(metadata.getTables(null, TEST_SCHEMA, "cache_probe", null), "TABLE_NAME"))
+                        .isEmpty();
+
+                connection.invalidateCatalogCache();
+                assertThat(collectColumn(metadata.getTables(null, TEST_SCHEMA, "cache_probe", null), "TABLE_NAME"))
+                        .containsExactly("cache_probe");
+            } finally {
+                executeWithDatabase("DROP TABLE " + TEST_SCHEMA + ".cache_probe");
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void executeWithDatabase(String sql) {
+        ManagedChannelBuilder<?> channelBuilder =
+                ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort()).usePlaintext();
+        try (val stubProvider = JdbcDriverStubProvider.of(channelBuilder)) {
+            HyperDatabaseSetup.executeStatementWithDatabase(stubProvider.getStub(), databasePath, "default", sql);
+        }
+    }
+
+    private static DataCloudConnection getCachedConnection() throws SQLException {
+        ManagedChannelBuilder<?> channel = ManagedChannelBuilder.forAddress("127.0.0.1", server.getPort())
+                .usePlaintext()
+                .intercept(new DatabaseAttachInterceptor(databasePath, "default"));
+        val properties = ConnectionProperties.builder()
+                .catalogCacheTtl(Duration.ofMinutes(5))
+                .build();
+        return DataCloudConnection.of(JdbcDriverStubProvider.of(channel), properties, null);
+    }
+
     private static DataCloudConnection getConnection() throws SQLException {
         return LocalHyperTestBase.getHyperQueryConnection(
                 server, new DatabaseAttachInterceptor(databasePath, "default"));
@@ -0,0 +1,123 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.salesforce.datacloud.jdbc.core.AdmissionController;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import salesforce.cdp.hyperdb.v1.ExecuteQueryResponse;
+import salesforce.cdp.hyperdb.v1.HyperServiceGrpc;
+import salesforce.cdp.hyperdb.v1.QueryParam;
+
+@SuppressWarnings("unchecked")
+class AdmissionControlInterceptorTest {
+    private static final long NO_DEADLINE = -1;
+
+    private final AdmissionController controller = AdmissionController.shared(1);
+    private final String workload = "interceptor-test-" + UUID.randomUUID();
+    private final Channel channel = mock(Channel.class);
+    private final ClientCall<QueryParam, ExecuteQueryResponse> actual = mock(ClientCall.class);
+    private final ClientCall.Listener<ExecuteQueryResponse> listener = mock(ClientCall.Listener.class);
+
+    private ClientCall<QueryParam, ExecuteQueryResponse> interceptExecuteQuery() {
+        when(channel.newCall(eq(HyperServiceGrpc.getExecuteQueryMethod()), any(CallOptions.class)))
+                .thenReturn(actual);
+        return new AdmissionControlInterceptor(controller, workload, 1, 0)
+                .interceptCall(HyperServiceGrpc.getExecuteQueryMethod(), CallOptions.DEFAULT, channel);
+    }
+
+    @Test
+    @SneakyThrows
+    void startsQueuedCallOnceAdmitted() {
+        val held = controller.acquire(workload, 1, 0, NO_DEADLINE);
+        val call = interceptExecuteQuery();
+        val message = QueryParam.newBuilder().setQuery("select 1").build();
+
+        // Neither starting nor sending blocks while the stream waits for a slot
+        call.start(listener, new Metadata());
+        call.request(1);
+        call.sendMessage(message);
+        call.halfClose();
+        verify(channel, never()).newCall(any(), any());
+        assertThat(controller.getStats().get(workload).getQueued()).isEqualTo(1);
+
+        held.close();
+        val replayed = inOrder(actual);
+        val started = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        replayed.verify(actual).start(started.capture(), any(Metadata.class));
+        replayed.verify(actual).request(1);
+        replayed.verify(actual).sendMessage(message);
+        replayed.verify(actual).halfClose();
+        assertThat(controller.getStats().get(workload).getInFlight()).isEqualTo(1);
+
+        // The slot is held until the actual call closes
+        val trailers = new Metadata();
+        started.getValue().onClose(Status.OK, trailers);
+        verify(listener).onClose(Status.OK, trailers);
+        assertThat(controller.getStats().get(workload).getInFlight()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void cancelWhileWaitingClosesTheCallWithoutStartingIt() {
+        val held = controller.acquire(workload, 1, 0, NO_DEADLINE);
+        val call = interceptExecuteQuery();
+        call.start(listener, new Metadata());
+        call.request(1);
+
+        call.cancel("Query was cancelled", null);
+        verify(listener).onClose(argThat(status -> status.getCode() == Status.Code.CANCELLED), any(Metadata.class));
+        assertThat(controller.getStats().get(workload).getQueued()).isZero();
+
+        held.close();
+        verify(channel, never()).newCall(any(), any());
+        assertThat(controller.getStats().get(workload).getInFlight()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void differentWorkloadSettingsStillStartTheCall() {
+        controller.acquire(workload, 2, 1, NO_DEADLINE).close();
+        val call = interceptExecuteQuery();
+        call.start(listener, new Metadata());
+
+        val started = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(actual).start(started.capture(), any(Metadata.class));
+        verify(listener, never()).onClose(any(Status.class), any(Metadata.class));
+        assertThat(controller.getStats().get(workload).getInFlight()).isEqualTo(1);
+
+        started.getValue().onClose(Status.OK, new Metadata());
+        assertThat(controller.getStats().get(workload).getInFlight()).isZero();
+    }
+
+    @Test
+    void otherMethodsAreNotDelayed() {
+        val method = HyperServiceGrpc.getGetQueryResultMethod();
+        val other = mock(ClientCall.class);
+        when(channel.newCall(eq(method), any(CallOptions.class))).thenReturn(other);
+
+        val call = new AdmissionControlInterceptor(controller, workload, 1, 0)
+                .interceptCall(method, CallOptions.DEFAULT, channel);
+        assertThat(call).isSameAs(other);
+    }
+}
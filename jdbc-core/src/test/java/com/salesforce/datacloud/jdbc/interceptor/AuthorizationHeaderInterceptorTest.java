@@ -10,6 +10,8 @@
 import io.grpc.Metadata;
 import java.sql.SQLException;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -50,6 +52,57 @@ void interceptorIgnoresNullAudience() {
         assertThat(metadata.get(AUD_KEY)).isNull();
     }
 
+    @SneakyThrows
+    @Test
+    void interceptorReusesHeadersUntilTokenGenerationChanges() {
+        val generation = new AtomicReference<Object>(new Object());
+        val resolutions = new AtomicInteger();
+        val sut = AuthorizationHeaderInterceptor.of(new AuthorizationHeaderInterceptor.TokenProvider() {
+            @Override
+            public String getToken() {
+                return "Bearer " + resolutions.incrementAndGet();
+            }
+
+            @Override
+            public String getAudience() {
+                return "tenant";
+            }
+
+            @Override
+            public Object getTokenGeneration() {
+                return generation.get();
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            val metadata = new Metadata();
+            sut.mutate(metadata);
+            assertThat(metadata.get(AUTH_KEY)).isEqualTo("Bearer 1");
+            assertThat(metadata.get(AUD_KEY)).isEqualTo("tenant");
+        }
+
+        generation.set(new Object());
+        val metadata = new Metadata();
+        sut.mutate(metadata);
+
+        assertThat(metadata.get(AUTH_KEY)).isEqualTo("Bearer 2");
+        assertThat(resolutions.get()).isEqualTo(2);
+    }
+
+    @SneakyThrows
+    @Test
+    void interceptorResolvesTokenPerCallWithoutGeneration() {
+        val resolutions = new AtomicInteger();
+        val sut = AuthorizationHeaderInterceptor.of(() -> "Bearer " + resolutions.incrementAndGet());
+
+        sut.mutate(new Metadata());
+        val metadata = new Metadata();
+        sut.mutate(metadata);
+
+        assertThat(metadata.get(AUTH_KEY)).isEqualTo("Bearer 2");
+        assertThat(metadata.getAll(AUTH_KEY)).hasSize(1);
+    }
+
     private AuthorizationHeaderInterceptor sut(String token, String aud) {
         val supplier = new AuthorizationHeaderInterceptor.TokenProvider() {
 
@@ -0,0 +1,79 @@
+/**
+ * This file is part of https://github.com/forcedotcom/datacloud-jdbc which is released under the
+ * Apache 2.0 license. See https://github.com/forcedotcom/datacloud-jdbc/blob/main/LICENSE.txt
+ */
+package com.salesforce.datacloud.jdbc.protocol.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+
+class ParameterEncoderTest {
+
+    @SneakyThrows
+    private static List<Object> decode(ByteString encoded) {
+        try (val allocator = new RootAllocator(Long.MAX_VALUE);
+                val reader = new ArrowStreamReader(encoded.newInput(), allocator)) {
+            assertThat(reader.loadNextBatch()).isTrue();
+            val root = reader.getVectorSchemaRoot();
+            assertThat(root.getRowCount()).isEqualTo(1);
+            val values = new ArrayList<Object>();
+            for (val vector : root.getFieldVectors()) {
+                val value = vector.getObject(0);
+                values.add(value == null ? null : value.toString());
+            }
+            return values;
+        }
+    }
+
+    private static List<ParameterBinding> parameters(Object id, Object name) {
+        return Arrays.asList(
+                new ParameterBinding(HyperType.int32(true), id),
+                new ParameterBinding(HyperType.varcharUnlimited(true), name));
+    }
+
+    @Test
+    @SneakyThrows
+    void encodesLikeArrowUtils() {
+        try (val encoder = new ParameterEncoder()) {
+            val parameters = parameters(42, "answer");
+            assertThat(encoder.encode(parameters, null).toByteArray())
+                    .isEqualTo(ArrowUtils.toArrowByteArray(parameters, null));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void reusesVectorsWithoutChangingEarlierResults() {
+        try (val encoder = new ParameterEncoder()) {
+            val first = encoder.encode(parameters(1, "a much longer first value"), null);
+            val second = encoder.encode(parameters(null, "b"), null);
+            val third = encoder.encode(Arrays.asList(new ParameterBinding(HyperType.bool(true), true)), null);
+
+            assertThat(decode(first)).containsExactly("1", "a much longer first value");
+            assertThat(decode(second)).containsExactly(null, "b");
+            assertThat(decode(third)).containsExactly("true");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void canBeUsedAfterClose() {
+        val encoder = new ParameterEncoder();
+        encoder.encode(parameters(1, "a"), null);
+        encoder.close();
+        try {
+            assertThat(decode(encoder.encode(parameters(2, "b"), null))).containsExactly("2", "b");
+        } finally {
+            encoder.close();
+        }
+    }
+}
@@ -161,4 +161,15 @@ void caseInsensitiveMatching() {
         assertThat(PgCatalogTypeParser.parse("INTEGER", true)).isEqualTo(HyperType.int32(true));
         assertThat(PgCatalogTypeParser.parse("Character Varying(10)", true)).isEqualTo(HyperType.varchar(10, true));
     }
+
+    @Test
+    void memoizesParsedTypesPerNullability() {
+        HyperType first = PgCatalogTypeParser.parse("numeric(12,3)", true);
+        assertThat(PgCatalogTypeParser.parse("numeric(12,3)", true)).isSameAs(first);
+        assertThat(PgCatalogTypeParser.parse("numeric(12,3)", false)).isEqualTo(HyperType.decimal(12, 3, false));
+        assertThatThrownBy(() -> PgCatalogTypeParser.parse("aclitem", true))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PgCatalogTypeParser.parse("aclitem", true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -11,8 +11,9 @@
 import java.io.IOException;
 import java.net.URI;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
-import java.util.Calendar;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,7 +33,11 @@ public class DataCloudToken {
     private final String type;
     private final String token;
     private final URI tenant;
-    private final Calendar expiresIn;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    /** Decoded lazily from the JWT payload, since it is read for every call's headers. */
+    private volatile String tenantId;
 
     private static final String TENANT_IO_ERROR_RESPONSE = "Error while decoding tenantId.";
 
@@ -45,13 +50,13 @@ public static DataCloudToken of(DataCloudTokenResponse model) throws SQLExceptio
         requireNotNullOrBlank(token, "access_token");
         requireNotNullOrBlank(tenantUrl, "instance_url");
 
-        val expiresIn = Calendar.getInstance();
-        expiresIn.add(Calendar.SECOND, model.getExpiresIn());
+        val issuedAt = Instant.now();
+        val expiresAt = issuedAt.plusSeconds(model.getExpiresIn());
 
         try {
             val tenant = URI.create(tenantUrl);
 
-            return new DataCloudToken(type, token, tenant, expiresIn);
+            return new DataCloudToken(type, token, tenant, issuedAt, expiresAt);
         } catch (IllegalArgumentException ex) {
             val rootCauseException = new IllegalArgumentException(
                     "Failed to parse the provided tenantUrl: '" + tenantUrl + "'. " + ex.getMessage(), ex.getCause());
@@ -60,8 +65,22 @@ public static DataCloudToken of(DataCloudTokenResponse model) throws SQLExceptio
     }
 
     public boolean isAlive() {
-        val now = Calendar.getInstance();
-        return now.compareTo(expiresIn) <= 0;
+        return !Instant.now().isAfter(expiresAt);
+    }
+
+    /**
+     * The instant after which the token is no longer accepted.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * The instant at which {@code percent} percent of the token's lifetime have elapsed.
+     */
+    public Instant getRefreshAt(int percent) {
+        val lifetime = Duration.between(issuedAt, expiresAt);
+        return issuedAt.plus(lifetime.multipliedBy(percent).dividedBy(100));
     }
 
     public String getTenantUrl() {
@@ -69,7 +88,12 @@ public String getTenantUrl() {
     }
 
     public String getTenantId() throws SQLException {
-        return getTenantId(this.token);
+        String result = tenantId;
+        if (result == null) {
+            result = getTenantId(this.token);
+            tenantId = result;
+        }
+        return result;
     }
 
     public String getAccessToken() {
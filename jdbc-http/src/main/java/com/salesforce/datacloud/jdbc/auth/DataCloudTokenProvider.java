@@ -7,6 +7,11 @@
 import static com.salesforce.datacloud.jdbc.util.StringCompatibility.isNotEmpty;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.salesforce.datacloud.jdbc.auth.errors.AuthorizationException;
 import com.salesforce.datacloud.jdbc.auth.model.AuthenticationResponseWithError;
 import com.salesforce.datacloud.jdbc.auth.model.DataCloudTokenResponse;
@@ -18,12 +23,21 @@
 import dev.failsafe.RetryPolicy;
 import dev.failsafe.function.CheckedSupplier;
 import io.jsonwebtoken.Jwts;
+import java.lang.ref.WeakReference;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
@@ -32,6 +46,17 @@
 import okhttp3.OkHttpClient;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Acquires Data Cloud tokens through the OAuth flow configured in {@link SalesforceAuthProperties}.
+ *
+ * The token is cached and safe to use from many threads. Concurrent refreshes are coalesced into a single token
+ * exchange, and once {@link SalesforceAuthProperties#getTokenRefreshPercent()} percent of a token's lifetime have
+ * elapsed it is refreshed in the background while callers keep using the still valid token. The background refresh
+ * only happens for tokens that were used since they were acquired, so idle providers stop refreshing.
+ *
+ * Use {@link #shared} to obtain a provider that is shared by all connections with the same settings, so that opening
+ * many connections with the same credentials performs a single token exchange.
+ */
 @Slf4j
 @Builder(access = AccessLevel.PRIVATE)
 public class DataCloudTokenProvider {
@@ -42,9 +67,66 @@ public class DataCloudTokenProvider {
     private SalesforceAuthProperties settings;
 
     private OkHttpClient client;
-    private DataCloudToken cachedDataCloudToken;
     private RetryPolicy<AuthenticationResponseWithError> exponentialBackOffPolicy;
 
+    private volatile DataCloudToken cachedDataCloudToken;
+    private volatile boolean usedSinceRefresh;
+    private final Object refreshLock = new Object();
+    private CompletableFuture<DataCloudToken> inflightRefresh;
+
+    private static final class BackgroundRefresher {
+        private static final ScheduledExecutorService INSTANCE =
+                Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("datacloud-jdbc-token-refresh")
+                        .build());
+    }
+
+    /**
+     * Process-wide providers, keyed by a SHA-256 digest of the login URL, credentials, dataspace and HTTP settings so
+     * that no credentials are kept in the key. Values are weak, a provider is evicted once no connection uses it.
+     */
+    private static final class SharedProviders {
+        private static final Cache<String, DataCloudTokenProvider> INSTANCE =
+                CacheBuilder.newBuilder().weakValues().build();
+    }
+
+    /**
+     * Returns the provider shared by all callers with equal settings, or a new provider if
+     * {@link SalesforceAuthProperties#isTokenCache()} is disabled.
+     */
+    public static DataCloudTokenProvider shared(
+            HttpClientProperties clientProperties, SalesforceAuthProperties authProperties) throws SQLException {
+        if (!authProperties.isTokenCache()) {
+            return of(clientProperties, authProperties);
+        }
+        try {
+            return SharedProviders.INSTANCE.get(
+                    fingerprint(clientProperties, authProperties), () -> of(clientProperties, authProperties));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            val cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Failed to create the Data Cloud token provider", "28000", cause);
+        }
+    }
+
+    static String fingerprint(HttpClientProperties clientProperties, SalesforceAuthProperties authProperties) {
+        val entries = new TreeMap<String, String>();
+        authProperties.toProperties().forEach((k, v) -> entries.put("auth." + k, (String) v));
+        clientProperties.toProperties().forEach((k, v) -> entries.put("http." + k, (String) v));
+        entries.remove("auth." + SalesforceAuthProperties.AUTH_TOKEN_CACHE);
+        entries.put("loginUrl", authProperties.getLoginUrl().toString());
+
+        val digest = Hashing.sha256().newHasher();
+        entries.forEach((k, v) -> digest.putString(k, StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(v, StandardCharsets.UTF_8)
+                .putByte((byte) 0));
+        return digest.hash().toString();
+    }
+
     public static DataCloudTokenProvider of(
             HttpClientProperties clientProperties, SalesforceAuthProperties authProperties) throws SQLException {
         val settings = authProperties;
@@ -97,15 +179,119 @@ public OAuthToken getOAuthToken() throws SQLException {
     }
 
     public DataCloudToken getDataCloudToken() throws SQLException {
-        if (cachedDataCloudToken != null && cachedDataCloudToken.isAlive()) {
-            if (cachedDataCloudToken.isAlive()) {
-                return cachedDataCloudToken;
+        val cached = cachedDataCloudToken;
+        val token = cached != null && cached.isAlive() ? cached : refresh();
+        if (!usedSinceRefresh) {
+            // Only write once per token, this is read on every RPC
+            usedSinceRefresh = true;
+        }
+        return token;
+    }
+
+    /**
+     * Exchanges a new token, or waits for the exchange that another thread already started. Returns the cached token
+     * if an exchange that completed meanwhile already replaced the one the caller wanted to refresh.
+     */
+    DataCloudToken refresh() throws SQLException {
+        return refresh(null);
+    }
+
+    /**
+     * Like {@link #refresh()}, but exchanges a new token even before its refresh time if {@code replace} is still the
+     * cached token. Used by the background refresh, whose timer can fire shortly before the refresh time.
+     */
+    DataCloudToken refresh(DataCloudToken replace) throws SQLException {
+        final CompletableFuture<DataCloudToken> refresh;
+        boolean owner = false;
+        synchronized (refreshLock) {
+            if (inflightRefresh == null) {
+                val cached = cachedDataCloudToken;
+                if (cached != null
+                        && cached != replace
+                        && cached.isAlive()
+                        && Instant.now().isBefore(cached.getRefreshAt(settings.getTokenRefreshPercent()))) {
+                    return cached;
+                }
+                inflightRefresh = new CompletableFuture<>();
+                owner = true;
             }
-            cachedDataCloudToken = null;
+            refresh = inflightRefresh;
+        }
+
+        if (owner) {
+            try {
+                val token = exchangeOauthForDataCloudToken();
+                usedSinceRefresh = false;
+                cachedDataCloudToken = token;
+                scheduleBackgroundRefresh(token);
+                refresh.complete(token);
+            } catch (SQLException | RuntimeException e) {
+                refresh.completeExceptionally(e);
+            } finally {
+                synchronized (refreshLock) {
+                    inflightRefresh = null;
+                }
+            }
+        }
+
+        try {
+            return refresh.get();
+        } catch (ExecutionException e) {
+            val cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw (RuntimeException) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the Data Cloud token", "28000", e);
+        }
+    }
+
+    private void scheduleBackgroundRefresh(DataCloudToken token) {
+        if (settings.getTokenRefreshPercent() >= 100) {
+            return;
         }
+        val delay = Duration.between(Instant.now(), token.getRefreshAt(settings.getTokenRefreshPercent()));
+        scheduleBackgroundRefresh(new WeakReference<>(this), token, delay);
+    }
+
+    /**
+     * Only holds a weak reference to the provider, so that providers of closed connections can be collected.
+     */
+    private static void scheduleBackgroundRefresh(
+            WeakReference<DataCloudTokenProvider> provider, DataCloudToken token, Duration delay) {
+        BackgroundRefresher.INSTANCE.schedule(
+                () -> backgroundRefresh(provider, token), Math.max(delay.toNanos(), 0), TimeUnit.NANOSECONDS);
+    }
 
-        cachedDataCloudToken = exchangeOauthForDataCloudToken();
-        return cachedDataCloudToken;
+    private static void backgroundRefresh(WeakReference<DataCloudTokenProvider> reference, DataCloudToken token) {
+        val provider = reference.get();
+        if (provider == null || provider.cachedDataCloudToken != token) {
+            return;
+        }
+        if (!provider.usedSinceRefresh) {
+            log.debug("Skipping background refresh of unused Data Cloud token");
+            return;
+        }
+        try {
+            val refreshed = provider.refresh(token);
+            if (refreshed == token) {
+                // Not replaced, keep the refresh ahead of expiry scheduled
+                val refreshAt = token.getRefreshAt(provider.getSettings().getTokenRefreshPercent());
+                val delay = Duration.between(Instant.now(), refreshAt);
+                scheduleBackgroundRefresh(reference, token, delay.isNegative() ? Duration.ofSeconds(1) : delay);
+                return;
+            }
+            log.debug("Refreshed Data Cloud token in the background");
+        } catch (SQLException | RuntimeException e) {
+            // Callers keep using the current token; try again while it is still valid
+            val remaining = Duration.between(Instant.now(), token.getExpiresAt());
+            log.warn("Background refresh of Data Cloud token failed, remaining lifetime={}", remaining, e);
+            if (remaining.compareTo(Duration.ofSeconds(2)) > 0) {
+                scheduleBackgroundRefresh(reference, token, remaining.dividedBy(2));
+            }
+        }
     }
 
     public String getLakehouseName() throws SQLException {
@@ -5,6 +5,8 @@
 package com.salesforce.datacloud.jdbc.auth;
 
 import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptional;
+import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalBoolean;
+import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeOptionalInteger;
 import static com.salesforce.datacloud.jdbc.util.PropertyParsingUtils.takeRequired;
 
 import com.google.common.collect.ImmutableList;
@@ -24,6 +26,7 @@
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 /**
  * Authentication properties that control the Salesforce authentication behavior.
@@ -41,6 +44,10 @@
  * - clientId: OAuth client ID (required)
  * - dataspace: Data space identifier, default is null
  * - refreshToken: Refresh token for token-based authentication
+ * - tokenRefreshPercent: Percentage of the Data Cloud token's lifetime after which it is refreshed in the background,
+ *   default is 80; 100 disables the background refresh
+ * - tokenCache: Share one token provider, and thus one token, between all connections with the same login URL,
+ *   credentials, dataspace and HTTP settings, default is true
  */
 @Slf4j
 @Getter
@@ -60,6 +67,8 @@ public enum AuthenticationMode {
     static final String AUTH_CLIENT_SECRET = "clientSecret";
     static final String AUTH_REFRESH_TOKEN = "refreshToken";
     static final String AUTH_DATASPACE = "dataspace";
+    static final String AUTH_TOKEN_REFRESH_PERCENT = "tokenRefreshPercent";
+    static final String AUTH_TOKEN_CACHE = "tokenCache";
 
     // Required fields
     private final URI loginUrl;
@@ -86,6 +95,12 @@ public enum AuthenticationMode {
     @Builder.Default
     private final String dataspace = null;
 
+    @Builder.Default
+    private final int tokenRefreshPercent = 80;
+
+    @Builder.Default
+    private final boolean tokenCache = true;
+
     /**
      * Parses authentication properties from a Properties object.
      * Removes the interpreted properties from the Properties object.
@@ -106,6 +121,12 @@ public static SalesforceAuthProperties ofDestructive(@NonNull URI loginUrl, Prop
 
         // Optional fields
         builder.dataspace(takeOptional(props, AUTH_DATASPACE).orElse(null));
+        val tokenRefreshPercent = takeOptionalInteger(props, AUTH_TOKEN_REFRESH_PERCENT);
+        if (tokenRefreshPercent.isPresent() && (tokenRefreshPercent.get() < 1 || tokenRefreshPercent.get() > 100)) {
+            throw new SQLException(AUTH_TOKEN_REFRESH_PERCENT + " must be between 1 and 100", "HY000");
+        }
+        tokenRefreshPercent.ifPresent(builder::tokenRefreshPercent);
+        takeOptionalBoolean(props, AUTH_TOKEN_CACHE).ifPresent(builder::tokenCache);
 
         // Determine authentication mode and set credentials
         if (props.containsKey(AUTH_USER_NAME) && props.containsKey(AUTH_PASSWORD)) {
@@ -167,6 +188,12 @@ public Properties toProperties() {
         if (userName != null) {
             props.setProperty(AUTH_USER_NAME, userName);
         }
+        if (tokenRefreshPercent != 80) {
+            props.setProperty(AUTH_TOKEN_REFRESH_PERCENT, String.valueOf(tokenRefreshPercent));
+        }
+        if (!tokenCache) {
+            props.setProperty(AUTH_TOKEN_CACHE, "false");
+        }
 
         switch (authenticationMode) {
             case PASSWORD:
@@ -18,6 +18,8 @@
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -34,7 +36,12 @@
  * - http.connectTimeOutSeconds: connect timeout in seconds, default is 600
  * - http.callTimeOutSeconds: call timeout in seconds, default is 600
  * - http.disableSocksProxy: disable SOCKS proxy, default is false
- * - http.cacheTtlMs: metadata cache TTL in milliseconds, default is 10000
+ * - http.cacheTtlMs: metadata cache TTL in milliseconds, default is 10000; shorter if the response's Cache-Control
+ *   header says so, 0 disables the cache
+ * - http.cacheMaxBytes: maximum total size of the cached metadata responses in bytes, default is 1048576
+ *
+ * All clients built by {@link #buildOkHttpClient()} share one dispatcher and one connection pool per proxy setting,
+ * so token, tenant, dataspace and metadata calls of all connections reuse warm HTTP connections.
  */
 @Getter
 @Builder
@@ -45,8 +52,15 @@ public class HttpClientProperties {
     public static final String HTTP_CALL_TIMEOUT_SECONDS = "http.callTimeOutSeconds";
     public static final String HTTP_DISABLE_SOCKS_PROXY = "http.disableSocksProxy";
     public static final String HTTP_CACHE_TTL_MS = "http.cacheTtlMs";
+    public static final String HTTP_CACHE_MAX_BYTES = "http.cacheMaxBytes";
     public static final String HTTP_MAX_RETRIES = "http.maxRetries";
 
+    private static final class SharedResources {
+        private static final Dispatcher DISPATCHER = new Dispatcher();
+        private static final ConnectionPool DIRECT_POOL = new ConnectionPool(16, 5, TimeUnit.MINUTES);
+        private static final ConnectionPool SOCKS_POOL = new ConnectionPool(16, 5, TimeUnit.MINUTES);
+    }
+
     @Builder.Default
     private final HttpLoggingInterceptor.Level logLevel = HttpLoggingInterceptor.Level.BASIC;
 
@@ -65,6 +79,9 @@ public class HttpClientProperties {
     @Builder.Default
     private final int metadataCacheTtlMs = 10000;
 
+    @Builder.Default
+    private final int metadataCacheMaxBytes = MetadataCacheInterceptor.DEFAULT_MAX_BYTES;
+
     @Builder.Default
     private final int maxRetries = 3;
 
@@ -89,6 +106,11 @@ public static HttpClientProperties ofDestructive(Properties props) throws SQLExc
         takeOptionalInteger(props, HTTP_CALL_TIMEOUT_SECONDS).ifPresent(builder::callTimeoutSeconds);
         takeOptionalBoolean(props, HTTP_DISABLE_SOCKS_PROXY).ifPresent(builder::disableSocksProxy);
         takeOptionalInteger(props, HTTP_CACHE_TTL_MS).ifPresent(builder::metadataCacheTtlMs);
+        val cacheMaxBytes = takeOptionalInteger(props, HTTP_CACHE_MAX_BYTES);
+        if (cacheMaxBytes.isPresent() && cacheMaxBytes.get() < 0) {
+            throw new SQLException(HTTP_CACHE_MAX_BYTES + " must not be negative", "HY000");
+        }
+        cacheMaxBytes.ifPresent(builder::metadataCacheMaxBytes);
         takeOptionalInteger(props, HTTP_MAX_RETRIES).ifPresent(builder::maxRetries);
 
         return builder.build();
@@ -120,6 +142,9 @@ public Properties toProperties() {
         if (metadataCacheTtlMs != 10000) {
             props.setProperty(HTTP_CACHE_TTL_MS, String.valueOf(metadataCacheTtlMs));
         }
+        if (metadataCacheMaxBytes != MetadataCacheInterceptor.DEFAULT_MAX_BYTES) {
+            props.setProperty(HTTP_CACHE_MAX_BYTES, String.valueOf(metadataCacheMaxBytes));
+        }
         if (maxRetries != 3) {
             props.setProperty(HTTP_MAX_RETRIES, String.valueOf(maxRetries));
         }
@@ -127,18 +152,21 @@ public Properties toProperties() {
     }
 
     /**
-     * Builds an OkHttpClient with the properties of this instance.
+     * Builds an OkHttpClient with the properties of this instance. The client shares its dispatcher and connection
+     * pool with all other clients that use the same proxy setting, but has its own response cache.
      */
     public OkHttpClient buildOkHttpClient() throws SQLException {
         HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor(new HttpClientLogger());
         loggingInterceptor.setLevel(getLogLevel());
 
         return new OkHttpClient.Builder()
+                .dispatcher(SharedResources.DISPATCHER)
+                .connectionPool(isDisableSocksProxy() ? SharedResources.DIRECT_POOL : SharedResources.SOCKS_POOL)
                 .socketFactory(new SocketFactoryWrapper(isDisableSocksProxy()))
                 .callTimeout(getCallTimeoutSeconds(), TimeUnit.SECONDS)
                 .connectTimeout(getConnectTimeoutSeconds(), TimeUnit.SECONDS)
                 .readTimeout(getReadTimeoutSeconds(), TimeUnit.SECONDS)
-                .addInterceptor(new MetadataCacheInterceptor(metadataCacheTtlMs))
+                .addInterceptor(new MetadataCacheInterceptor(metadataCacheTtlMs, metadataCacheMaxBytes))
                 .addInterceptor(loggingInterceptor)
                 .addInterceptor(new Interceptor() {
                     @NonNull @Override
@@ -9,60 +9,134 @@
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import okhttp3.CacheControl;
 import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.Protocol;
+import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ByteString;
 
+/**
+ * Caches successful responses of the control plane REST calls.
+ *
+ * Entries are keyed by method, URL, authorization header and a digest of the request body, and live for at most
+ * {@code ttlMs}, or shorter if the response's {@code Cache-Control: max-age} says so. Responses marked
+ * {@code no-store} or {@code no-cache} are not cached, and the cache is bounded by the total size of the cached
+ * bodies.
+ */
 @Slf4j
 public class MetadataCacheInterceptor implements Interceptor {
+    static final int DEFAULT_MAX_BYTES = 1024 * 1024;
+
     private static final MediaType mediaType = MediaType.parse("application/json");
 
-    private final Cache<String, String> metaDataCache;
+    private final long ttlMs;
+    private final long maxBytes;
+    private final Cache<String, Entry> metaDataCache;
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final String body;
+        private final MediaType contentType;
+        private final long expiresAtMillis;
+    }
 
     public MetadataCacheInterceptor(int metaDataCacheDurationInMs) {
+        this(metaDataCacheDurationInMs, DEFAULT_MAX_BYTES);
+    }
+
+    public MetadataCacheInterceptor(long metaDataCacheDurationInMs, long maxBytes) {
+        this.ttlMs = metaDataCacheDurationInMs;
+        this.maxBytes = maxBytes;
         this.metaDataCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(metaDataCacheDurationInMs, TimeUnit.MILLISECONDS)
-                .maximumSize(10)
+                .expireAfterWrite(Math.max(metaDataCacheDurationInMs, 0), TimeUnit.MILLISECONDS)
+                .maximumWeight(Math.max(maxBytes, 0))
+                .weigher((String key, Entry entry) -> key.length() + entry.body.length())
                 .build();
     }
 
     @NonNull @Override
     public Response intercept(@NonNull Chain chain) throws IOException {
         val request = chain.request();
-        val cacheKey = request.url().toString();
-        val cachedResponse = metaDataCache.getIfPresent(cacheKey);
-        val builder = new Response.Builder()
-                .code(HttpURLConnection.HTTP_OK)
-                .request(request)
-                .protocol(Protocol.HTTP_1_1)
-                .message("OK");
+        if (ttlMs <= 0 || maxBytes <= 0) {
+            return chain.proceed(request);
+        }
 
-        if (cachedResponse != null) {
+        val cacheKey = cacheKey(request);
+        val cached = metaDataCache.getIfPresent(cacheKey);
+        if (cached != null && System.currentTimeMillis() < cached.expiresAtMillis) {
             log.trace("Getting the metadata response from local cache");
-            builder.body(ResponseBody.create(cachedResponse, mediaType));
+            return buildResponse(request, cached.body, cached.contentType);
+        }
+
+        log.trace("Cache miss for metadata response. Getting from server");
+        val response = chain.proceed(request);
+
+        if (!response.isSuccessful()) {
+            return response;
+        }
+
+        val body = response.body();
+        if (body == null) {
+            return response;
+        }
+
+        val contentType = body.contentType() != null ? body.contentType() : mediaType;
+        val responseString = body.string();
+        val lifetimeMs = lifetimeMs(response.cacheControl());
+        if (lifetimeMs > 0 && cacheKey.length() + responseString.length() <= maxBytes) {
+            metaDataCache.put(
+                    cacheKey, new Entry(responseString, contentType, System.currentTimeMillis() + lifetimeMs));
         } else {
-            log.trace("Cache miss for metadata response. Getting from server");
-            val response = chain.proceed(request);
+            metaDataCache.invalidate(cacheKey);
+        }
+        return buildResponse(request, responseString, contentType);
+    }
 
-            if (!response.isSuccessful()) {
-                return response;
-            }
+    private long lifetimeMs(CacheControl cacheControl) {
+        if (cacheControl.noStore() || cacheControl.noCache()) {
+            return 0;
+        }
+        if (cacheControl.maxAgeSeconds() >= 0) {
+            return Math.min(ttlMs, TimeUnit.SECONDS.toMillis(cacheControl.maxAgeSeconds()));
+        }
+        return ttlMs;
+    }
 
-            val body = response.body();
-            if (body == null) {
-                return response;
-            }
+    private static String cacheKey(Request request) throws IOException {
+        val key = new StringBuilder()
+                .append(request.method())
+                .append(' ')
+                .append(request.url());
 
-            val responseString = body.string();
-            builder.body(ResponseBody.create(responseString, mediaType));
-            metaDataCache.put(cacheKey, responseString);
+        // Never hand out a response to a caller with other credentials or another request body
+        val authorization = request.header("Authorization");
+        if (authorization != null) {
+            key.append(" auth=").append(ByteString.encodeUtf8(authorization).sha256().hex());
+        }
+        val body = request.body();
+        if (body != null) {
+            val buffer = new Buffer();
+            body.writeTo(buffer);
+            key.append(" body=").append(buffer.sha256().hex());
         }
+        return key.toString();
+    }
 
-        return builder.build();
+    private static Response buildResponse(Request request, String body, MediaType contentType) {
+        return new Response.Builder()
+                .code(HttpURLConnection.HTTP_OK)
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .message("OK")
+                .body(ResponseBody.create(body, contentType))
+                .build();
     }
 }
@@ -14,9 +14,14 @@
 import com.salesforce.datacloud.jdbc.auth.model.DataCloudTokenResponse;
 import com.salesforce.datacloud.jdbc.auth.model.OAuthTokenResponse;
 import com.salesforce.datacloud.jdbc.http.HttpClientProperties;
+import java.net.URI;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import lombok.val;
 import okhttp3.mockwebserver.MockResponse;
@@ -621,4 +626,213 @@ private static void assertSQLException(Throwable actual, CharSequence... message
                 .hasMessageContainingAll(messages)
                 .hasRootCauseInstanceOf(SQLException.class);
     }
+
+    private static DataCloudTokenResponse dataCloudTokenResponse(MockWebServer server, String type, int expiresIn) {
+        val response = new DataCloudTokenResponse();
+        response.setTokenType(type);
+        response.setExpiresIn(expiresIn);
+        response.setToken(FAKE_TOKEN);
+        response.setInstanceUrl(server.url("").toString());
+        return response;
+    }
+
+    @SneakyThrows
+    @Test
+    void concurrentCallersShareOneTokenExchange() {
+        val mapper = new ObjectMapper();
+        val properties = propertiesForPassword("un", "pw");
+        val oAuthTokenResponse = new OAuthTokenResponse();
+        oAuthTokenResponse.setToken(UUID.randomUUID().toString());
+
+        val executor = Executors.newFixedThreadPool(8);
+        try (val server = new MockWebServer()) {
+            server.start();
+            oAuthTokenResponse.setInstanceUrl(server.url("").toString());
+            server.enqueue(new MockResponse()
+                    .setBody(mapper.writeValueAsString(oAuthTokenResponse))
+                    .setBodyDelay(200, TimeUnit.MILLISECONDS));
+            val dataCloudTokenResponse = dataCloudTokenResponse(server, "Bearer", 3600);
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(dataCloudTokenResponse)));
+
+            val loginUrl = server.url("").uri();
+            val processor = DataCloudTokenProvider.of(
+                    HttpClientProperties.ofDestructive(properties),
+                    SalesforceAuthProperties.ofDestructive(loginUrl, properties));
+
+            val tasks = new ArrayList<Callable<String>>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> processor.getDataCloudToken().getAccessToken());
+            }
+            for (val result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isEqualTo("Bearer " + FAKE_TOKEN);
+            }
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void refreshAfterCompletedExchangeReusesItsToken() {
+        val mapper = new ObjectMapper();
+        val properties = propertiesForPassword("un", "pw");
+        val oAuthTokenResponse = new OAuthTokenResponse();
+        oAuthTokenResponse.setToken(UUID.randomUUID().toString());
+
+        try (val server = new MockWebServer()) {
+            server.start();
+            oAuthTokenResponse.setInstanceUrl(server.url("").toString());
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(oAuthTokenResponse)));
+            val dataCloudTokenResponse = dataCloudTokenResponse(server, "Bearer", 3600);
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(dataCloudTokenResponse)));
+
+            val loginUrl = server.url("").uri();
+            val processor = DataCloudTokenProvider.of(
+                    HttpClientProperties.ofDestructive(properties),
+                    SalesforceAuthProperties.ofDestructive(loginUrl, properties));
+
+            // A caller that waited for the lock while another caller's exchange completed gets that exchange's token
+            val token = processor.getDataCloudToken();
+            assertThat(processor.refresh()).isSameAs(token);
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void backgroundRefreshReplacesTokenBeforeItsRefreshTime() {
+        val mapper = new ObjectMapper();
+        val properties = propertiesForPassword("un", "pw");
+        val oAuthTokenResponse = new OAuthTokenResponse();
+        oAuthTokenResponse.setToken(UUID.randomUUID().toString());
+
+        try (val server = new MockWebServer()) {
+            server.start();
+            oAuthTokenResponse.setInstanceUrl(server.url("").toString());
+            for (val type : new String[] {"First", "Second"}) {
+                server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(oAuthTokenResponse)));
+                val response = dataCloudTokenResponse(server, type, 3600);
+                server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(response)));
+            }
+
+            val loginUrl = server.url("").uri();
+            val processor = DataCloudTokenProvider.of(
+                    HttpClientProperties.ofDestructive(properties),
+                    SalesforceAuthProperties.ofDestructive(loginUrl, properties));
+
+            // A timer that fires just before the refresh time still replaces the token it was scheduled for
+            val token = processor.getDataCloudToken();
+            val refreshed = processor.refresh(token);
+            assertThat(refreshed).isNotSameAs(token);
+            assertThat(refreshed.getAccessToken()).startsWith("Second ");
+            assertThat(processor.refresh(token)).isSameAs(refreshed);
+            assertThat(server.getRequestCount()).isEqualTo(4);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void refreshesUsedTokenInBackgroundBeforeExpiry() {
+        val mapper = new ObjectMapper();
+        val properties = propertiesForPassword("un", "pw");
+        properties.setProperty(SalesforceAuthProperties.AUTH_TOKEN_REFRESH_PERCENT, "1");
+        val oAuthTokenResponse = new OAuthTokenResponse();
+        oAuthTokenResponse.setToken(UUID.randomUUID().toString());
+
+        try (val server = new MockWebServer()) {
+            server.start();
+            oAuthTokenResponse.setInstanceUrl(server.url("").toString());
+            // The first token is refreshed after 1% of its 100s lifetime
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(oAuthTokenResponse)));
+            val first = dataCloudTokenResponse(server, "First", 100);
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(first)));
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(oAuthTokenResponse)));
+            val second = dataCloudTokenResponse(server, "Second", 3600);
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(second)));
+
+            val loginUrl = server.url("").uri();
+            val processor = DataCloudTokenProvider.of(
+                    HttpClientProperties.ofDestructive(properties),
+                    SalesforceAuthProperties.ofDestructive(loginUrl, properties));
+
+            assertThat(processor.getDataCloudToken().getAccessToken()).startsWith("First ");
+
+            for (int i = 0; i < 4; i++) {
+                assertThat(server.takeRequest(10, TimeUnit.SECONDS)).isNotNull();
+            }
+            val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (processor.getDataCloudToken().getAccessToken().startsWith("First ")
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(processor.getDataCloudToken().getAccessToken()).startsWith("Second ");
+            assertThat(server.getRequestCount()).isEqualTo(4);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    void sharedProviderIsReusedForEqualSettings() {
+        val loginUrl = URI.create("https://login.salesforce.com");
+        val first = DataCloudTokenProvider.shared(
+                HttpClientProperties.defaultProperties(),
+                SalesforceAuthProperties.ofDestructive(loginUrl, propertiesForPassword("un", "pw")));
+        val second = DataCloudTokenProvider.shared(
+                HttpClientProperties.defaultProperties(),
+                SalesforceAuthProperties.ofDestructive(loginUrl, propertiesForPassword("un", "pw")));
+        val otherPassword = DataCloudTokenProvider.shared(
+                HttpClientProperties.defaultProperties(),
+                SalesforceAuthProperties.ofDestructive(loginUrl, propertiesForPassword("un", "other")));
+
+        val optOut = propertiesForPassword("un", "pw");
+        optOut.setProperty(SalesforceAuthProperties.AUTH_TOKEN_CACHE, "false");
+        val unshared = DataCloudTokenProvider.shared(
+                HttpClientProperties.defaultProperties(), SalesforceAuthProperties.ofDestructive(loginUrl, optOut));
+
+        assertThat(second).isSameAs(first);
+        assertThat(otherPassword).isNotSameAs(first);
+        assertThat(unshared).isNotSameAs(first);
+    }
+
+    @Test
+    void fingerprintDoesNotContainCredentials() throws SQLException {
+        val loginUrl = URI.create("https://login.salesforce.com");
+        val auth = SalesforceAuthProperties.ofDestructive(loginUrl, propertiesForPassword("un", "secret-password"));
+        val fingerprint = DataCloudTokenProvider.fingerprint(HttpClientProperties.defaultProperties(), auth);
+
+        assertThat(fingerprint).hasSize(64).doesNotContain("secret-password");
+        assertThat(DataCloudTokenProvider.fingerprint(HttpClientProperties.defaultProperties(), auth))
+                .isEqualTo(fingerprint);
+    }
+
+    @SneakyThrows
+    @Test
+    void sharedProvidersExchangeTokenOnce() {
+        val mapper = new ObjectMapper();
+        val oAuthTokenResponse = new OAuthTokenResponse();
+        oAuthTokenResponse.setToken(UUID.randomUUID().toString());
+
+        try (val server = new MockWebServer()) {
+            server.start();
+            oAuthTokenResponse.setInstanceUrl(server.url("").toString());
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(oAuthTokenResponse)));
+            val dataCloudTokenResponse = dataCloudTokenResponse(server, "Bearer", 3600);
+            server.enqueue(new MockResponse().setBody(mapper.writeValueAsString(dataCloudTokenResponse)));
+
+            val loginUrl = server.url("").uri();
+            // Keep the providers reachable, like open connections do
+            val processors = new ArrayList<DataCloudTokenProvider>();
+            for (int i = 0; i < 5; i++) {
+                val properties = propertiesForPassword("un", "pw");
+                val processor = DataCloudTokenProvider.shared(
+                        HttpClientProperties.ofDestructive(properties),
+                        SalesforceAuthProperties.ofDestructive(loginUrl, properties));
+                assertThat(processor.getDataCloudToken().getAccessToken()).isEqualTo("Bearer " + FAKE_TOKEN);
+                processors.add(processor);
+            }
+            assertThat(processors).containsOnly(processors.get(0));
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
 }
@@ -10,6 +10,7 @@
 
 import com.salesforce.datacloud.jdbc.auth.model.DataCloudTokenResponse;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -106,4 +107,22 @@ void properlyReturnsCorrectValues() {
         softly.assertThat(actual.getTenantUrl()).isEqualTo(VALID_LOGIN_URL);
         softly.assertThat(actual.getTenantId()).isEqualTo(FAKE_TENANT_ID);
     }
+
+    @SneakyThrows
+    @Test
+    void refreshInstantIsFractionOfLifetime() {
+        val response = new DataCloudTokenResponse();
+        response.setTokenType("type");
+        response.setToken(VALID_TOKEN);
+        response.setInstanceUrl(VALID_LOGIN_URL);
+        response.setExpiresIn(1000);
+
+        val before = Instant.now();
+        val token = DataCloudToken.of(response);
+        val after = Instant.now();
+
+        softly.assertThat(token.getExpiresAt()).isBetween(before.plusSeconds(1000), after.plusSeconds(1000));
+        softly.assertThat(token.getRefreshAt(80)).isBetween(before.plusSeconds(800), after.plusSeconds(800));
+        softly.assertThat(token.getRefreshAt(100)).isEqualTo(token.getExpiresAt());
+    }
 }
@@ -342,4 +342,45 @@ void privateKeySerializationRoundtrip() throws Exception {
         assertThat(deserializedProps.getPrivateKey().getFormat())
                 .isEqualTo(authProps.getPrivateKey().getFormat());
     }
+
+    @Test
+    void parsesTokenRefreshPercent() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("clientId", TEST_CLIENT_ID);
+        props.setProperty("clientSecret", TEST_CLIENT_SECRET);
+        props.setProperty("tokenRefreshPercent", "50");
+
+        SalesforceAuthProperties authProps = SalesforceAuthProperties.ofDestructive(TEST_LOGIN_URL, props);
+
+        assertThat(authProps.getTokenRefreshPercent()).isEqualTo(50);
+        assertThat(authProps.toProperties()).containsEntry("tokenRefreshPercent", "50");
+        assertThat(props).isEmpty();
+
+        Properties invalid = new Properties();
+        invalid.setProperty("clientId", TEST_CLIENT_ID);
+        invalid.setProperty("clientSecret", TEST_CLIENT_SECRET);
+        invalid.setProperty("tokenRefreshPercent", "0");
+        assertThatThrownBy(() -> SalesforceAuthProperties.ofDestructive(TEST_LOGIN_URL, invalid))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("tokenRefreshPercent");
+    }
+
+    @Test
+    void parsesTokenCache() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("clientId", TEST_CLIENT_ID);
+        props.setProperty("clientSecret", TEST_CLIENT_SECRET);
+
+        assertThat(SalesforceAuthProperties.ofDestructive(TEST_LOGIN_URL, props).isTokenCache())
+                .isTrue();
+
+        props.setProperty("clientId", TEST_CLIENT_ID);
+        props.setProperty("clientSecret", TEST_CLIENT_SECRET);
+        props.setProperty("tokenCache", "false");
+        SalesforceAuthProperties authProps = SalesforceAuthProperties.ofDestructive(TEST_LOGIN_URL, props);
+
+        assertThat(authProps.isTokenCache()).isFalse();
+        assertThat(authProps.toProperties()).containsEntry("tokenCache", "false");
+        assertThat(props).isEmpty();
+    }
 }
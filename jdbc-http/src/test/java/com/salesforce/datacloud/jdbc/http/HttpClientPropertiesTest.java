@@ -5,6 +5,7 @@
 package com.salesforce.datacloud.jdbc.http;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.salesforce.datacloud.jdbc.http.internal.SocketFactoryWrapper;
 import java.sql.SQLException;
@@ -194,4 +195,38 @@ void createsClientWithSocketFactoryIfSocksProxyDisabled() {
 
         assertThat(actual.get()).isPresent().isEqualTo(Optional.of(true));
     }
+
+    @Test
+    void clientsShareConnectionPoolPerProxySetting() throws SQLException {
+        val direct = HttpClientProperties.builder().disableSocksProxy(true).build();
+        val socks = HttpClientProperties.defaultProperties();
+
+        val first = direct.buildOkHttpClient();
+        val second = direct.buildOkHttpClient();
+        val third = socks.buildOkHttpClient();
+
+        assertThat(second.connectionPool()).isSameAs(first.connectionPool());
+        assertThat(second.dispatcher()).isSameAs(first.dispatcher());
+        assertThat(third.connectionPool()).isNotSameAs(first.connectionPool());
+        assertThat(third.dispatcher()).isSameAs(first.dispatcher());
+    }
+
+    @Test
+    void testParseCacheMaxBytes() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(HttpClientProperties.HTTP_CACHE_MAX_BYTES, "4096");
+
+        HttpClientProperties httpProps = HttpClientProperties.ofDestructive(props);
+
+        assertThat(httpProps.getMetadataCacheMaxBytes()).isEqualTo(4096);
+        assertThat(httpProps.toProperties()).containsEntry(HttpClientProperties.HTTP_CACHE_MAX_BYTES, "4096");
+        assertThat(HttpClientProperties.defaultProperties().toProperties())
+                .doesNotContainKey(HttpClientProperties.HTTP_CACHE_MAX_BYTES);
+
+        Properties invalid = new Properties();
+        invalid.setProperty(HttpClientProperties.HTTP_CACHE_MAX_BYTES, "-1");
+        assertThatThrownBy(() -> HttpClientProperties.ofDestructive(invalid))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining(HttpClientProperties.HTTP_CACHE_MAX_BYTES);
+    }
 }
@@ -60,6 +60,62 @@ public void testMetadataRequestWithNoCachePresent() {
         verify(chain, times(1)).proceed(any(Request.class));
     }
 
+    @Test
+    @SneakyThrows
+    public void testMetadataRequestHonoursNoStore() {
+        doReturn(buildResponse(200, ResponseEnum.QUERY_RESPONSE, "no-store"))
+                .when(chain)
+                .proceed(any(Request.class));
+
+        metadataCacheInterceptor.intercept(chain);
+        metadataCacheInterceptor.intercept(chain);
+        verify(chain, times(2)).proceed(any(Request.class));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testMetadataRequestHonoursMaxAge() {
+        doReturn(buildResponse(200, ResponseEnum.QUERY_RESPONSE, "max-age=0"))
+                .doReturn(buildResponse(200, ResponseEnum.QUERY_RESPONSE, "max-age=60"))
+                .when(chain)
+                .proceed(any(Request.class));
+
+        metadataCacheInterceptor.intercept(chain);
+        metadataCacheInterceptor.intercept(chain);
+        metadataCacheInterceptor.intercept(chain);
+        verify(chain, times(2)).proceed(any(Request.class));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testMetadataRequestIsCachedPerAuthorization() {
+        doReturn(buildResponse(200, ResponseEnum.QUERY_RESPONSE))
+                .when(chain)
+                .proceed(any(Request.class));
+
+        metadataCacheInterceptor.intercept(chain);
+        doReturn(buildRequest().newBuilder().header("Authorization", "Bearer other").build())
+                .when(chain)
+                .request();
+        metadataCacheInterceptor.intercept(chain);
+        metadataCacheInterceptor.intercept(chain);
+        verify(chain, times(2)).proceed(any(Request.class));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testMetadataResponseLargerThanCacheIsNotCached() {
+        metadataCacheInterceptor = new MetadataCacheInterceptor(30000, 16);
+        doReturn(buildResponse(200, ResponseEnum.QUERY_RESPONSE))
+                .when(chain)
+                .proceed(any(Request.class));
+
+        Response first = metadataCacheInterceptor.intercept(chain);
+        metadataCacheInterceptor.intercept(chain);
+        verify(chain, times(2)).proceed(any(Request.class));
+        assertThat(first.body().string()).isEqualTo(ResponseEnum.QUERY_RESPONSE.getResponse());
+    }
+
     private Request buildRequest() {
         return new Request.Builder()
                 .url(URL)
@@ -106,13 +162,20 @@ public void testMetadataRequestWithNullBodyReturnsOriginalResponse() {
     }
 
     private Response buildResponse(int statusCode, ResponseEnum responseEnum) {
+        return buildResponse(statusCode, responseEnum, null);
+    }
+
+    private Response buildResponse(int statusCode, ResponseEnum responseEnum, String cacheControl) {
         String jsonString = responseEnum.getResponse();
-        return new Response.Builder()
+        Response.Builder builder = new Response.Builder()
                 .code(statusCode)
                 .request(buildRequest())
                 .protocol(Protocol.HTTP_1_1)
                 .message("Redirected")
-                .body(ResponseBody.create(jsonString, MediaType.parse("application/json")))
-                .build();
+                .body(ResponseBody.create(jsonString, MediaType.parse("application/json")));
+        if (cacheControl != null) {
+            builder.header("Cache-Control", cacheControl);
+        }
+        return builder.build();
     }
 }
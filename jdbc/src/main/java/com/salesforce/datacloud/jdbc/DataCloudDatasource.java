@@ -9,7 +9,9 @@
 import com.salesforce.datacloud.jdbc.auth.SalesforceAuthProperties;
 import com.salesforce.datacloud.jdbc.core.ConnectionProperties;
 import com.salesforce.datacloud.jdbc.core.DataCloudConnection;
+import com.salesforce.datacloud.jdbc.core.DeferredStubProvider;
 import com.salesforce.datacloud.jdbc.core.GrpcChannelProperties;
+import com.salesforce.datacloud.jdbc.core.HyperGrpcStubProvider;
 import com.salesforce.datacloud.jdbc.core.JdbcDriverStubProvider;
 import com.salesforce.datacloud.jdbc.http.HttpClientProperties;
 import com.salesforce.datacloud.jdbc.interceptor.AuthorizationHeaderInterceptor;
@@ -27,7 +29,6 @@
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
-import java.util.List;
 import java.util.Properties;
 import java.util.logging.Logger;
 import javax.sql.DataSource;
@@ -58,17 +59,8 @@ public class DataCloudDatasource implements DataSource {
 
     @Override
     public Connection getConnection() throws SQLException {
-        val tokenProvider = DataCloudTokenProvider.of(httpClientProperties, authProperties);
-        val dataspaceClient = new DataspaceClient(httpClientProperties, tokenProvider);
         return createConnection(
-                connectionProperties,
-                grpcChannelProperties,
-                new TokenProcessorSupplier(tokenProvider),
-                tokenProvider.getDataCloudToken().getTenantUrl(),
-                authProperties.getUserName() != null ? authProperties.getUserName() : "",
-                tokenProvider::getLakehouseName,
-                dataspaceClient,
-                null);
+                connectionProperties, grpcChannelProperties, httpClientProperties, authProperties, null);
     }
 
     /**
@@ -119,31 +111,24 @@ public static DataCloudConnection connectUsingProperties(@NonNull String url, Pr
                 log.info("Using direct CDP token authentication");
                 val cdpTokenProcessor = DirectCdpTokenProcessor.ofDestructive(properties);
                 PropertyParsingUtils.validateRemainingProperties(properties);
-                return createConnection(
-                        connectionProperties,
+                val stubProvider = createStubProvider(
                         grpcChannelProperties,
                         new TokenProcessorSupplier(cdpTokenProcessor),
-                        cdpTokenProcessor.getDataCloudToken().getTenantUrl(),
+                        cdpTokenProcessor.getDataCloudToken().getTenantUrl());
+                return DataCloudConnection.of(
+                        stubProvider.warmUp(),
+                        connectionProperties,
+                        jdbcUrl,
                         "",
                         cdpTokenProcessor::getLakehouseName,
-                        Collections::emptyList,
-                        jdbcUrl);
+                        Collections::emptyList);
             }
 
             val authProperties = SalesforceAuthProperties.ofDestructive(loginUrl, properties);
             PropertyParsingUtils.validateRemainingProperties(properties);
 
-            val tokenProvider = DataCloudTokenProvider.of(httpClientProperties, authProperties);
-            val dataspaceClient = new DataspaceClient(httpClientProperties, tokenProvider);
             return createConnection(
-                    connectionProperties,
-                    grpcChannelProperties,
-                    new TokenProcessorSupplier(tokenProvider),
-                    tokenProvider.getDataCloudToken().getTenantUrl(),
-                    authProperties.getUserName() != null ? authProperties.getUserName() : "",
-                    tokenProvider::getLakehouseName,
-                    dataspaceClient,
-                    jdbcUrl);
+                    connectionProperties, grpcChannelProperties, httpClientProperties, authProperties, jdbcUrl);
         } catch (SQLException e) {
             log.error("Failed to connect with URL {}: {}", url, e.getMessage(), e);
             throw e;
@@ -163,29 +148,64 @@ private static void normalizeUsernameProperty(Properties properties) throws SQLE
     }
 
     /**
-     * Internal utility function to create a DataCloudConnection with the given collaborators.
+     * Internal utility function to create a DataCloudConnection that authenticates with the OAuth flow.
+     *
+     * The gRPC endpoint is only known after the token exchange. Once it is known, the channel starts connecting in
+     * the background while the connection is handed to the caller; the lakehouse name and the dataspaces are only
+     * resolved when they are needed. With {@link ConnectionProperties#isLazyConnect()}, the token exchange itself runs
+     * in the background and the first call on the connection waits for it.
      *
      * The jdbcUrl is optional and will only influence `DatabaseMetaData.getURL()`.
      */
     private static DataCloudConnection createConnection(
             @NonNull ConnectionProperties connectionProperties,
             @NonNull GrpcChannelProperties grpcChannelProperties,
-            @NonNull TokenProcessorSupplier tokenSupplier,
-            @NonNull String host,
-            String userName,
-            @NonNull ThrowingJdbcSupplier<String> lakehouseSupplier,
-            @NonNull ThrowingJdbcSupplier<List<String>> dataspacesSupplier,
+            @NonNull HttpClientProperties httpClientProperties,
+            @NonNull SalesforceAuthProperties authProperties,
             JdbcURL jdbcUrl)
             throws SQLException {
+        val tokenProvider = DataCloudTokenProvider.shared(httpClientProperties, authProperties);
+        val tokenSupplier = new TokenProcessorSupplier(tokenProvider);
+        final ThrowingJdbcSupplier<JdbcDriverStubProvider> bootstrap = () -> {
+            val host = tokenProvider.getDataCloudToken().getTenantUrl();
+            return createStubProvider(grpcChannelProperties, tokenSupplier, host).warmUp();
+        };
+
+        final HyperGrpcStubProvider stubProvider =
+                connectionProperties.isLazyConnect() ? DeferredStubProvider.start(bootstrap) : bootstrap.get();
+        return DataCloudConnection.of(
+                stubProvider,
+                connectionProperties,
+                jdbcUrl,
+                authProperties.getUserName() != null ? authProperties.getUserName() : "",
+                tokenProvider::getLakehouseName,
+                new DataspaceClient(httpClientProperties, tokenProvider));
+    }
+
+    private static JdbcDriverStubProvider createStubProvider(
+            @NonNull GrpcChannelProperties grpcChannelProperties,
+            @NonNull TokenProcessorSupplier tokenSupplier,
+            @NonNull String host)
+            throws SQLException {
         val authInterceptor = AuthorizationHeaderInterceptor.of(tokenSupplier);
 
+        val tracingInterceptor = TracingHeadersInterceptor.of();
+
+        if (grpcChannelProperties.isChannelSharingEnabled()) {
+            // The interceptors carry the connection's credentials and trace id, so they are applied per stub
+            // instead of to the channel, which is shared by every connection to this tenant endpoint.
+            return JdbcDriverStubProvider.shared(
+                    host + ":443",
+                    new Properties(),
+                    () -> ManagedChannelBuilder.forAddress(host, 443),
+                    grpcChannelProperties,
+                    authInterceptor,
+                    tracingInterceptor);
+        }
         final ManagedChannelBuilder<?> builder = ManagedChannelBuilder.forAddress(host, 443)
                 .intercept(authInterceptor)
-                .intercept(TracingHeadersInterceptor.of());
-        val stubProvider = JdbcDriverStubProvider.of(builder, grpcChannelProperties);
-
-        return DataCloudConnection.of(
-                stubProvider, connectionProperties, jdbcUrl, userName, lakehouseSupplier, dataspacesSupplier);
+                .intercept(tracingInterceptor);
+        return JdbcDriverStubProvider.of(builder, grpcChannelProperties);
     }
 
     @Override
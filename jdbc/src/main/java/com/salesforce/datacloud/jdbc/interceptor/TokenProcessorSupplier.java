@@ -8,6 +8,7 @@
 import com.salesforce.datacloud.jdbc.auth.DataCloudTokenProvider;
 import com.salesforce.datacloud.jdbc.auth.DirectCdpTokenProcessor;
 import com.salesforce.datacloud.jdbc.util.ThrowingJdbcSupplier;
+import java.sql.SQLException;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -37,4 +38,13 @@ public String getAudience() {
         val token = tokenSupplier.get();
         return token.getTenantId();
     }
+
+    /**
+     * The current {@link DataCloudToken}, a refreshed token is a new instance, so that the authorization headers are
+     * only rebuilt after a refresh.
+     */
+    @Override
+    public Object getTokenGeneration() throws SQLException {
+        return tokenSupplier.get();
+    }
 }
@@ -13,6 +13,7 @@
 import com.salesforce.datacloud.jdbc.auth.DataCloudTokenProvider;
 import com.salesforce.datacloud.jdbc.auth.DirectCdpTokenProcessor;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
@@ -80,4 +81,18 @@ void getAudiencePropagatesSupplierException() {
                 .isInstanceOf(SQLException.class)
                 .hasMessage("supplier failed");
     }
+
+    @Test
+    void tokenGenerationIsTheCurrentToken() throws Exception {
+        val first = stubToken();
+        val second = stubToken();
+        val current = new AtomicReference<DataCloudToken>(first);
+        val supplier = new TokenProcessorSupplier(current::get);
+
+        assertThat(supplier.getTokenGeneration()).isSameAs(first);
+        assertThat(supplier.getTokenGeneration()).isSameAs(first);
+
+        current.set(second);
+        assertThat(supplier.getTokenGeneration()).isSameAs(second);
+    }
 }
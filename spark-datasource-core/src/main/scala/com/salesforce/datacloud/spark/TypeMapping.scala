@@ -18,6 +18,7 @@ import org.apache.spark.sql.types.{
   NullType
 }
 import java.sql.Types
+import com.salesforce.datacloud.jdbc.core.DataCloudResultSet
 import org.apache.spark.sql.types.BinaryType
 import java.sql.ResultSet
 import org.apache.spark.sql.catalyst.InternalRow
@@ -132,6 +133,25 @@ private object TypeMapping {
       case Types.BIGINT =>
         (rs: ResultSet, row: InternalRow, pos: Int) =>
           row.setLong(pos, rs.getLong(pos + 1))
+      case Types.DECIMAL | Types.NUMERIC
+          if md.getPrecision(columnId + 1) <= Decimal.MAX_LONG_DIGITS =>
+        // Decimals that fit into a long are handed to Spark as (unscaled, precision, scale)
+        // without materializing a BigDecimal per cell.
+        val precision = md.getPrecision(columnId + 1)
+        val scale = md.getScale(columnId + 1)
+        (rs: ResultSet, row: InternalRow, pos: Int) =>
+          rs match {
+            case dataCloudResultSet: DataCloudResultSet =>
+              val unscaled = dataCloudResultSet.getUnscaledLong(pos + 1)
+              if (!rs.wasNull) {
+                row.update(pos, Decimal(unscaled, precision, scale))
+              }
+            case _ =>
+              row.update(
+                pos,
+                nullSafeConvert(rs.getBigDecimal(pos + 1), Decimal.fromDecimal)
+              )
+          }
       case Types.DECIMAL | Types.NUMERIC =>
         (rs: ResultSet, row: InternalRow, pos: Int) =>
           row.update(